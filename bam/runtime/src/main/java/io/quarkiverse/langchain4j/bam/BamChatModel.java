@@ -19,6 +19,7 @@ import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.chat.TokenCountEstimator;
 import dev.langchain4j.model.output.Response;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakers;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
 
 public class BamChatModel implements ChatLanguageModel, TokenCountEstimator {
@@ -41,6 +42,7 @@ public class BamChatModel implements ChatLanguageModel, TokenCountEstimator {
     private Integer truncateInputTokens;
     private Integer beamWidth;
     private final BamRestApi client;
+    private final String baseUrl;
 
     public BamChatModel(Builder config) {
 
@@ -56,6 +58,7 @@ public class BamChatModel implements ChatLanguageModel, TokenCountEstimator {
         }
 
         this.client = builder.build(BamRestApi.class);
+        this.baseUrl = config.url.toString();
         this.token = config.accessToken;
         this.modelId = config.modelId;
         this.version = config.version;
@@ -102,7 +105,8 @@ public class BamChatModel implements ChatLanguageModel, TokenCountEstimator {
         TextGenerationRequest request = new TextGenerationRequest(modelId,
                 messages.stream().map(cm -> new Message(getRole(cm), cm.text())).toList(), parameters);
 
-        TextGenerationResponse textGenerationResponse = client.chat(request, token, version);
+        TextGenerationResponse textGenerationResponse = CircuitBreakers.call("bam", baseUrl,
+                () -> client.chat(request, token, version));
 
         return Response.from(AiMessage.from(textGenerationResponse.results().get(0).generatedText()));
     }
@@ -116,7 +120,7 @@ public class BamChatModel implements ChatLanguageModel, TokenCountEstimator {
                 .collect(joining("\n"));
 
         var request = new TokenizationRequest(modelId, input);
-        return client.tokenization(request, token, version).tokenCount();
+        return CircuitBreakers.call("bam", baseUrl, () -> client.tokenization(request, token, version)).tokenCount();
     }
 
     private String getRole(ChatMessage chatMessage) {
@@ -15,6 +15,7 @@ import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.embedding.TokenCountEstimator;
 import dev.langchain4j.model.output.Response;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakers;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
 
 public class BamEmbeddingModel implements EmbeddingModel, TokenCountEstimator {
@@ -25,6 +26,7 @@ public class BamEmbeddingModel implements EmbeddingModel, TokenCountEstimator {
     public boolean logResponses;
     public boolean logRequests;
     private final BamRestApi client;
+    private final String baseUrl;
 
     public BamEmbeddingModel(Builder config) {
 
@@ -41,6 +43,7 @@ public class BamEmbeddingModel implements EmbeddingModel, TokenCountEstimator {
         }
 
         this.client = builder.build(BamRestApi.class);
+        this.baseUrl = config.url.toString();
         this.token = config.accessToken;
         this.modelId = config.modelId;
         this.version = config.version;
@@ -57,7 +60,7 @@ public class BamEmbeddingModel implements EmbeddingModel, TokenCountEstimator {
         for (TextSegment textSegment : textSegments) {
 
             var request = new EmbeddingRequest(modelId, textSegment.text());
-            var response = client.embeddings(request, token, version);
+            var response = CircuitBreakers.call("bam", baseUrl, () -> client.embeddings(request, token, version));
 
             var vector = response.results().get(0);
             result.add(Embedding.from(vector));
@@ -70,7 +73,7 @@ public class BamEmbeddingModel implements EmbeddingModel, TokenCountEstimator {
     public int estimateTokenCount(String text) {
 
         var request = new TokenizationRequest(modelId, text);
-        return client.tokenization(request, token, version).tokenCount();
+        return CircuitBreakers.call("bam", baseUrl, () -> client.tokenization(request, token, version)).tokenCount();
     }
 
     public static final class Builder {
@@ -0,0 +1,22 @@
+package io.quarkiverse.langchain4j.bam;
+
+import java.util.OptionalInt;
+
+import jakarta.inject.Singleton;
+
+import io.quarkiverse.langchain4j.runtime.aiservice.HttpStatusResolver;
+
+/**
+ * Exposes the HTTP status of the failed requests to BAM
+ */
+@Singleton
+public class BamHttpStatusResolver implements HttpStatusResolver {
+
+    @Override
+    public OptionalInt status(Throwable failure) {
+        if ((failure instanceof BamException) && (((BamException) failure).getStatusCode() != null)) {
+            return OptionalInt.of(((BamException) failure).getStatusCode());
+        }
+        return OptionalInt.empty();
+    }
+}
@@ -57,9 +57,15 @@ import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceMethodCreateInfo;
 import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceMethodImplementationSupport;
 import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryRemovable;
 import io.quarkiverse.langchain4j.runtime.aiservice.DeclarativeAiServiceCreateInfo;
+import io.quarkiverse.langchain4j.runtime.aiservice.MetricsAiServiceInvocationListener;
+import io.quarkiverse.langchain4j.runtime.aiservice.MetricsAuditDispatcherBinder;
+import io.quarkiverse.langchain4j.runtime.aiservice.MetricsChatMemoryEvictionListener;
 import io.quarkiverse.langchain4j.runtime.aiservice.MetricsCountedWrapper;
+import io.quarkiverse.langchain4j.runtime.aiservice.MetricsResponseCacheListener;
 import io.quarkiverse.langchain4j.runtime.aiservice.MetricsTimedWrapper;
+import io.quarkiverse.langchain4j.runtime.aiservice.OpenTelemetryAiServiceTracer;
 import io.quarkiverse.langchain4j.runtime.aiservice.QuarkusAiServiceContext;
+import io.quarkiverse.langchain4j.runtime.aiservice.ResponseCacheWrapper;
 import io.quarkiverse.langchain4j.runtime.aiservice.SpanWrapper;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.ArcContainer;
@@ -83,6 +89,7 @@ import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.GeneratedClassBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.metrics.MetricsCapabilityBuildItem;
+import io.quarkus.gizmo.BytecodeCreator;
 import io.quarkus.gizmo.ClassCreator;
 import io.quarkus.gizmo.ClassOutput;
 import io.quarkus.gizmo.FieldDescriptor;
@@ -90,6 +97,7 @@ import io.quarkus.gizmo.Gizmo;
 import io.quarkus.gizmo.MethodCreator;
 import io.quarkus.gizmo.MethodDescriptor;
 import io.quarkus.gizmo.ResultHandle;
+import io.quarkus.qute.TemplateException;
 import io.quarkus.runtime.metrics.MetricsFactory;
 
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
@@ -144,7 +152,7 @@ public class AiServicesProcessor {
         }
         Set<DotName> returnTypesToRegister = new HashSet<>();
         for (AiServicesMethodBuildItem aiServicesMethodBuildItem : aiServicesMethodBuildItems) {
-            Type type = aiServicesMethodBuildItem.methodInfo.returnType();
+            Type type = resultType(aiServicesMethodBuildItem.methodInfo);
             if (type.kind() == Type.Kind.PRIMITIVE) {
                 continue;
             }
@@ -214,7 +222,9 @@ public class AiServicesProcessor {
             AnnotationValue chatMemoryProviderSupplierValue = instance.value("chatMemoryProviderSupplier");
             if (chatMemoryProviderSupplierValue != null) {
                 chatMemoryProviderSupplierClassDotName = chatMemoryProviderSupplierValue.asClass().name();
-                if (!chatMemoryProviderSupplierClassDotName
+                if (Langchain4jDotNames.NO_CHAT_MEMORY_PROVIDER_SUPPLIER.equals(chatMemoryProviderSupplierClassDotName)) {
+                    chatMemoryProviderSupplierClassDotName = null;
+                } else if (!chatMemoryProviderSupplierClassDotName
                         .equals(Langchain4jDotNames.BEAN_CHAT_MEMORY_PROVIDER_SUPPLIER)) {
                     validateSupplierAndRegisterForReflection(chatMemoryProviderSupplierClassDotName, index,
                             reflectiveClassProducer);
@@ -295,10 +305,13 @@ public class AiServicesProcessor {
     public void handleDeclarativeServices(AiServicesRecorder recorder,
             List<DeclarativeAiServiceBuildItem> declarativeAiServiceItems,
             List<SelectedChatModelProviderBuildItem> selectedChatModelProvider,
+            CombinedIndexBuildItem indexBuildItem,
             BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer,
             BuildProducer<UnremovableBeanBuildItem> unremoveableProducer) {
 
+        IndexView index = indexBuildItem.getIndex();
         boolean needsChatModelBean = false;
+        boolean needsStreamingChatModelBean = false;
         boolean needsChatMemoryProviderBean = false;
         boolean needsRetrieverBean = false;
         boolean needsAuditServiceBean = false;
@@ -332,6 +345,17 @@ public class AiServicesProcessor {
                     : null);
 
             String chatModelName = bi.getChatModelName();
+            String chatModelProvider = null;
+            if (chatLanguageModelSupplierClassName == null) {
+                for (SelectedChatModelProviderBuildItem selected : selectedChatModelProvider) {
+                    if (selected.getModelName().equals(chatModelName)) {
+                        chatModelProvider = selected.getProvider();
+                    }
+                }
+            }
+            boolean injectStreamingChatModel = (chatLanguageModelSupplierClassName == null)
+                    && !selectedChatModelProvider.isEmpty()
+                    && needsStreamingChatModel(declarativeAiServiceClassInfo, index);
             SyntheticBeanBuildItem.ExtendedBeanConfigurator configurator = SyntheticBeanBuildItem
                     .configure(QuarkusAiServiceContext.class)
                     .createWith(recorder.createDeclarativeAiService(
@@ -339,7 +363,8 @@ public class AiServicesProcessor {
                                     toolClassNames, chatMemoryProviderSupplierClassName,
                                     retrieverClassName,
                                     auditServiceClassSupplierName,
-                                    moderationModelSupplierClassName, chatModelName)))
+                                    moderationModelSupplierClassName, chatModelName, chatModelProvider,
+                                    injectStreamingChatModel)))
                     .setRuntimeInit()
                     .addQualifier()
                     .annotation(Langchain4jDotNames.QUARKUS_AI_SERVICE_CONTEXT_QUALIFIER).addValue("value", serviceClassName)
@@ -356,6 +381,19 @@ public class AiServicesProcessor {
                 needsChatModelBean = true;
             }
 
+            if (injectStreamingChatModel) {
+                // not every provider supports streaming, so we only fail when a method that needs it is called
+                Type streamingChatModelInstanceType = ParameterizedType.create(CDI_INSTANCE,
+                        new Type[] { ClassType.create(Langchain4jDotNames.STREAMING_CHAT_MODEL) }, null);
+                if (NamedModelUtil.isDefault(chatModelName)) {
+                    configurator.addInjectionPoint(streamingChatModelInstanceType);
+                } else {
+                    configurator.addInjectionPoint(streamingChatModelInstanceType,
+                            AnnotationInstance.builder(ModelName.class).add("value", chatModelName).build());
+                }
+                needsStreamingChatModelBean = true;
+            }
+
             if (!toolClassNames.isEmpty()) {
                 for (String toolClassName : toolClassNames) {
                     DotName dotName = DotName.createSimple(toolClassName);
@@ -369,6 +407,12 @@ public class AiServicesProcessor {
                 needsChatMemoryProviderBean = true;
             }
 
+            if (chatMemoryProviderSupplierClassName != null) {
+                configurator.addInjectionPoint(ClassType.create(Langchain4jDotNames.CHAT_MEMORY_CONFIG));
+                configurator.addInjectionPoint(ParameterizedType.create(CDI_INSTANCE,
+                        new Type[] { ClassType.create(Langchain4jDotNames.CHAT_MEMORY_EVICTION_LISTENER) }, null));
+            }
+
             if (retrieverClassName != null) {
                 configurator.addInjectionPoint(ClassType.create(retrieverClassName));
                 needsRetrieverBean = true;
@@ -391,6 +435,9 @@ public class AiServicesProcessor {
         if (needsChatModelBean) {
             unremoveableProducer.produce(UnremovableBeanBuildItem.beanTypes(Langchain4jDotNames.CHAT_MODEL));
         }
+        if (needsStreamingChatModelBean) {
+            unremoveableProducer.produce(UnremovableBeanBuildItem.beanTypes(Langchain4jDotNames.STREAMING_CHAT_MODEL));
+        }
         if (needsChatMemoryProviderBean) {
             unremoveableProducer.produce(UnremovableBeanBuildItem.beanTypes(Langchain4jDotNames.CHAT_MEMORY_PROVIDER));
         }
@@ -491,11 +538,28 @@ public class AiServicesProcessor {
         if (addMicrometerMetrics) {
             additionalBeanProducer.produce(AdditionalBeanBuildItem.builder().addBeanClass(MetricsTimedWrapper.class).build());
             additionalBeanProducer.produce(AdditionalBeanBuildItem.builder().addBeanClass(MetricsCountedWrapper.class).build());
+            additionalBeanProducer.produce(
+                    AdditionalBeanBuildItem.builder().addBeanClass(MetricsChatMemoryEvictionListener.class).build());
+            additionalBeanProducer.produce(AdditionalBeanBuildItem.builder()
+                    .addBeanClass(MetricsAuditDispatcherBinder.class).setUnremovable().build());
+            additionalBeanProducer.produce(
+                    AdditionalBeanBuildItem.builder().addBeanClass(MetricsAiServiceInvocationListener.class).build());
         }
 
         var addOpenTelemetrySpan = capabilities.isPresent(Capability.OPENTELEMETRY_TRACER);
         if (addOpenTelemetrySpan) {
             additionalBeanProducer.produce(AdditionalBeanBuildItem.builder().addBeanClass(SpanWrapper.class).build());
+            additionalBeanProducer.produce(AdditionalBeanBuildItem.builder()
+                    .addBeanClass(OpenTelemetryAiServiceTracer.class).setUnremovable().build());
+        }
+
+        if (!index.getAnnotations(Langchain4jDotNames.CACHE_AI_RESULT).isEmpty()) {
+            additionalBeanProducer
+                    .produce(AdditionalBeanBuildItem.builder().addBeanClass(ResponseCacheWrapper.class).build());
+            if (addMicrometerMetrics) {
+                additionalBeanProducer.produce(
+                        AdditionalBeanBuildItem.builder().addBeanClass(MetricsResponseCacheListener.class).build());
+            }
         }
 
         Map<String, AiServiceClassCreateInfo> perClassMetadata = new HashMap<>();
@@ -520,6 +584,10 @@ public class AiServicesProcessor {
                 String ifaceName = iface.name().toString();
                 String implClassName = ifaceName + "$$QuarkusImpl";
                 boolean isRegisteredService = registeredAiServiceClassNames.contains(ifaceName);
+                // the chat memory of the services created programmatically is only known at runtime
+                boolean usesChatMemory = isRegisteredService && declarativeAiServiceItems.stream()
+                        .anyMatch(bi -> bi.getServiceClassInfo().equals(iface)
+                                && (bi.getChatMemoryProviderSupplierClassDotName() != null));
 
                 ClassCreator.Builder classCreatorBuilder = ClassCreator.builder()
                         .classOutput(isRegisteredService ? generatedBeanOutput : generatedClassOutput)
@@ -543,34 +611,49 @@ public class AiServicesProcessor {
                             .setModifiers(Modifier.PRIVATE | Modifier.FINAL)
                             .getFieldDescriptor();
 
+                    {
+                        MethodCreator ctor = classCreator.getMethodCreator(MethodDescriptor.INIT, "V",
+                                QuarkusAiServiceContext.class);
+                        ctor.setModifiers(Modifier.PUBLIC);
+                        ctor.addAnnotation(Inject.class);
+                        ctor.getParameterAnnotations(0)
+                                .addAnnotation(Langchain4jDotNames.QUARKUS_AI_SERVICE_CONTEXT_QUALIFIER.toString())
+                                .add("value", ifaceName);
+                        ctor.invokeSpecialMethod(OBJECT_CONSTRUCTOR, ctor.getThis());
+                        ctor.writeInstanceField(contextField, ctor.getThis(),
+                                ctor.getMethodParam(0));
+                        ctor.returnValue(null);
+                    }
+
+                    {
+                        MethodCreator noArgsCtor = classCreator.getMethodCreator(MethodDescriptor.INIT, "V");
+                        noArgsCtor.setModifiers(Modifier.PUBLIC);
+                        noArgsCtor.invokeSpecialMethod(OBJECT_CONSTRUCTOR, noArgsCtor.getThis());
+                        noArgsCtor.writeInstanceField(contextField, noArgsCtor.getThis(), noArgsCtor.loadNull());
+                        noArgsCtor.returnValue(null);
+                    }
+
+                    // the support bean and the metadata of each method never change once the application has started,
+                    // so they are looked up on first use and cached in static fields of the generated class
+                    FieldDescriptor supportField = classCreator
+                            .getFieldCreator("support", AiServiceMethodImplementationSupport.class)
+                            .setModifiers(Modifier.PRIVATE | Modifier.STATIC | Modifier.VOLATILE)
+                            .getFieldDescriptor();
+
+                    int methodIndex = 0;
                     for (MethodInfo methodInfo : methodsToImplement) {
                         // The implementation essentially gets the context and delegates to
                         // MethodImplementationSupport#implement
 
                         String methodId = createMethodId(methodInfo);
                         perMethodMetadata.put(methodId,
-                                gatherMethodMetadata(methodInfo, addMicrometerMetrics, addOpenTelemetrySpan));
-                        {
-                            MethodCreator ctor = classCreator.getMethodCreator(MethodDescriptor.INIT, "V",
-                                    QuarkusAiServiceContext.class);
-                            ctor.setModifiers(Modifier.PUBLIC);
-                            ctor.addAnnotation(Inject.class);
-                            ctor.getParameterAnnotations(0)
-                                    .addAnnotation(Langchain4jDotNames.QUARKUS_AI_SERVICE_CONTEXT_QUALIFIER.toString())
-                                    .add("value", ifaceName);
-                            ctor.invokeSpecialMethod(OBJECT_CONSTRUCTOR, ctor.getThis());
-                            ctor.writeInstanceField(contextField, ctor.getThis(),
-                                    ctor.getMethodParam(0));
-                            ctor.returnValue(null);
-                        }
+                                gatherMethodMetadata(methodInfo, usesChatMemory, addMicrometerMetrics,
+                                        addOpenTelemetrySpan));
 
-                        {
-                            MethodCreator noArgsCtor = classCreator.getMethodCreator(MethodDescriptor.INIT, "V");
-                            noArgsCtor.setModifiers(Modifier.PUBLIC);
-                            noArgsCtor.invokeSpecialMethod(OBJECT_CONSTRUCTOR, noArgsCtor.getThis());
-                            noArgsCtor.writeInstanceField(contextField, noArgsCtor.getThis(), noArgsCtor.loadNull());
-                            noArgsCtor.returnValue(null);
-                        }
+                        FieldDescriptor methodCreateInfoField = classCreator
+                                .getFieldCreator("methodCreateInfo" + (methodIndex++), AiServiceMethodCreateInfo.class)
+                                .setModifiers(Modifier.PRIVATE | Modifier.STATIC | Modifier.VOLATILE)
+                                .getFieldDescriptor();
 
                         { // actual method we need to implement
                             MethodCreator mc = classCreator.getMethodCreator(MethodDescriptor.of(methodInfo));
@@ -587,15 +670,23 @@ public class AiServicesProcessor {
                             }
 
                             ResultHandle contextHandle = mc.readInstanceField(contextField, mc.getThis());
-                            ResultHandle methodCreateInfoHandle = mc.invokeStaticMethod(RECORDER_METHOD_CREATE_INFO,
-                                    mc.load(ifaceName),
-                                    mc.load(methodId));
+                            BytecodeCreator methodCreateInfoNotCached = mc
+                                    .ifNull(mc.readStaticField(methodCreateInfoField)).trueBranch();
+                            methodCreateInfoNotCached.writeStaticField(methodCreateInfoField,
+                                    methodCreateInfoNotCached.invokeStaticMethod(RECORDER_METHOD_CREATE_INFO,
+                                            methodCreateInfoNotCached.load(ifaceName),
+                                            methodCreateInfoNotCached.load(methodId)));
+                            ResultHandle methodCreateInfoHandle = mc.readStaticField(methodCreateInfoField);
                             ResultHandle paramsHandle = mc.newArray(Object.class, methodInfo.parametersCount());
                             for (int i = 0; i < methodInfo.parametersCount(); i++) {
                                 mc.writeArrayValue(paramsHandle, i, mc.getMethodParam(i));
                             }
 
-                            ResultHandle supportHandle = getFromCDI(mc, AiServiceMethodImplementationSupport.class.getName());
+                            BytecodeCreator supportNotCached = mc.ifNull(mc.readStaticField(supportField)).trueBranch();
+                            supportNotCached.writeStaticField(supportField, supportNotCached.checkCast(
+                                    getFromCDI(supportNotCached, AiServiceMethodImplementationSupport.class.getName()),
+                                    AiServiceMethodImplementationSupport.class));
+                            ResultHandle supportHandle = mc.readStaticField(supportField);
                             ResultHandle inputHandle = mc.newInstance(
                                     MethodDescriptor.ofConstructor(AiServiceMethodImplementationSupport.Input.class,
                                             QuarkusAiServiceContext.class, AiServiceMethodCreateInfo.class,
@@ -638,7 +729,7 @@ public class AiServicesProcessor {
         recorder.setMetadata(perClassMetadata);
     }
 
-    private ResultHandle getFromCDI(MethodCreator mc, String className) {
+    private ResultHandle getFromCDI(BytecodeCreator mc, String className) {
         ResultHandle containerHandle = mc
                 .invokeStaticMethod(MethodDescriptor.ofMethod(Arc.class, "container", ArcContainer.class));
         ResultHandle instanceHandle = mc.invokeInterfaceMethod(
@@ -681,8 +772,8 @@ public class AiServicesProcessor {
         }
     }
 
-    private AiServiceMethodCreateInfo gatherMethodMetadata(MethodInfo method, boolean addMicrometerMetrics,
-            boolean addOpenTelemetrySpans) {
+    private AiServiceMethodCreateInfo gatherMethodMetadata(MethodInfo method, boolean usesChatMemory,
+            boolean addMicrometerMetrics, boolean addOpenTelemetrySpans) {
         if (method.returnType().kind() == Type.Kind.VOID) {
             throw illegalConfiguration("Return type of method '%s' cannot be void", method);
         }
@@ -694,9 +785,12 @@ public class AiServicesProcessor {
         List<TemplateParameterInfo> templateParams = gatherTemplateParamInfo(params);
         Optional<AiServiceMethodCreateInfo.TemplateInfo> systemMessageInfo = gatherSystemMessageInfo(method, templateParams);
         Class<?> returnType = JandexUtil.load(method.returnType(), Thread.currentThread().getContextClassLoader());
+        Class<?> resultType = JandexUtil.load(resultType(method), Thread.currentThread().getContextClassLoader());
         AiServiceMethodCreateInfo.UserMessageInfo userMessageInfo = gatherUserMessageInfo(method, templateParams,
-                returnType);
+                resultType);
         Optional<Integer> memoryIdParamPosition = gatherMemoryIdParamName(method);
+        Optional<AiServiceMethodCreateInfo.CacheResultInfo> cacheResultInfo = gatherCacheResultInfo(method,
+                usesChatMemory, memoryIdParamPosition, resultType);
         Optional<AiServiceMethodCreateInfo.MetricsTimedInfo> metricsTimedInfo = gatherMetricsTimedInfo(method,
                 addMicrometerMetrics);
         Optional<AiServiceMethodCreateInfo.MetricsCountedInfo> metricsCountedInfo = gatherMetricsCountedInfo(method,
@@ -704,8 +798,90 @@ public class AiServicesProcessor {
         Optional<AiServiceMethodCreateInfo.SpanInfo> spanInfo = gatherSpanInfo(method, addOpenTelemetrySpans);
 
         return new AiServiceMethodCreateInfo(method.declaringClass().name().toString(), method.name(), systemMessageInfo,
-                userMessageInfo, memoryIdParamPosition, requiresModeration,
-                returnType, metricsTimedInfo, metricsCountedInfo, spanInfo);
+                userMessageInfo, memoryIdParamPosition, requiresModeration, cacheResultInfo,
+                returnType, resultType, metricsTimedInfo, metricsCountedInfo, spanInfo);
+    }
+
+    /**
+     * Cached results are looked up using the rendered messages only, so methods whose result depends on something else
+     * (like the conversation) or that stream their result can't be cached
+     */
+    private static Optional<AiServiceMethodCreateInfo.CacheResultInfo> gatherCacheResultInfo(MethodInfo method,
+            boolean usesChatMemory, Optional<Integer> memoryIdParamPosition, Class<?> resultType) {
+        AnnotationInstance instance = method.annotation(Langchain4jDotNames.CACHE_AI_RESULT);
+        if (instance == null) {
+            return Optional.empty();
+        }
+        if (memoryIdParamPosition.isPresent()) {
+            throw illegalConfigurationForMethod("@CacheAiResult cannot be used on methods having a @MemoryId parameter",
+                    method);
+        }
+        if (usesChatMemory) {
+            // a cache hit would ignore the conversation so far, and would not be added to it
+            throw illegalConfigurationForMethod(
+                    "@CacheAiResult can only be used in AI services that do not use any chat memory, which is configured"
+                            + " with '@RegisterAiService(chatMemoryProviderSupplier = "
+                            + "RegisterAiService.NoChatMemoryProviderSupplier.class)'",
+                    method);
+        }
+        DotName returnTypeName = method.returnType().name();
+        if (DotNames.MULTI.equals(returnTypeName) || Langchain4jDotNames.TOKEN_STREAM.equals(returnTypeName)) {
+            throw illegalConfigurationForMethod("@CacheAiResult cannot be used on methods streaming their result", method);
+        }
+        AnnotationValue semanticValue = instance.value("semantic");
+        boolean semantic = (semanticValue != null) && semanticValue.asBoolean();
+        if (semantic && !String.class.equals(resultType)) {
+            // the semantic cache only keeps textual results
+            throw illegalConfigurationForMethod(
+                    "@CacheAiResult(semantic = true) can only be used on methods returning 'String' or 'Uni<String>'",
+                    method);
+        }
+        return Optional.of(new AiServiceMethodCreateInfo.CacheResultInfo(semantic));
+    }
+
+    /**
+     * Determines the type the response of the LLM is parsed into, which for {@code Uni<T>} is {@code T}.
+     * {@code Multi} is only supported for streaming the raw text of the response.
+     */
+    private static Type resultType(MethodInfo method) {
+        Type returnType = method.returnType();
+        DotName returnTypeName = returnType.name();
+        if (!DotNames.UNI.equals(returnTypeName) && !DotNames.MULTI.equals(returnTypeName)) {
+            return returnType;
+        }
+        if (returnType.kind() != Type.Kind.PARAMETERIZED_TYPE) {
+            throw illegalConfigurationForMethod("Return type '" + returnTypeName.withoutPackagePrefix()
+                    + "' must declare its item type", method);
+        }
+        Type itemType = returnType.asParameterizedType().arguments().get(0);
+        if (DotNames.MULTI.equals(returnTypeName) && !DotNames.STRING.equals(itemType.name())) {
+            throw illegalConfigurationForMethod("Only 'Multi<String>' is supported as a streaming return type", method);
+        }
+        if ((itemType.kind() != Type.Kind.CLASS) && (itemType.kind() != Type.Kind.PARAMETERIZED_TYPE)) {
+            throw illegalConfigurationForMethod("Unsupported item type '" + itemType + "' of return type '"
+                    + returnTypeName.withoutPackagePrefix() + "'", method);
+        }
+        return itemType;
+    }
+
+    /**
+     * Whether any of the methods of the AiService need the {@link dev.langchain4j.model.chat.StreamingChatLanguageModel}
+     */
+    private static boolean needsStreamingChatModel(ClassInfo classInfo, IndexView index) {
+        for (MethodInfo method : classInfo.methods()) {
+            DotName returnTypeName = method.returnType().name();
+            if (DotNames.UNI.equals(returnTypeName) || DotNames.MULTI.equals(returnTypeName)
+                    || Langchain4jDotNames.TOKEN_STREAM.equals(returnTypeName)) {
+                return true;
+            }
+        }
+        for (DotName interfaceName : classInfo.interfaceNames()) {
+            ClassInfo interfaceInfo = index.getClassByName(interfaceName);
+            if ((interfaceInfo != null) && needsStreamingChatModel(interfaceInfo, index)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private List<TemplateParameterInfo> gatherTemplateParamInfo(List<MethodParameterInfo> params) {
@@ -766,8 +942,8 @@ public class AiServicesProcessor {
             if (systemMessageTemplate.isEmpty()) {
                 throw illegalConfigurationForMethod("@SystemMessage's template parameter cannot be empty", method);
             }
+            validateTemplate(systemMessageTemplate, "@SystemMessage", templateParams, method);
 
-            // TODO: we should probably add a lot more template validation here
             return Optional.of(
                     new AiServiceMethodCreateInfo.TemplateInfo(
                             systemMessageTemplate,
@@ -776,6 +952,22 @@ public class AiServicesProcessor {
         return Optional.empty();
     }
 
+    private void validateTemplate(String template, String annotationName, List<TemplateParameterInfo> templateParams,
+            MethodInfo method) {
+        Optional<String> unknownParameter;
+        try {
+            unknownParameter = TemplateUtil.unknownParameter(template,
+                    templateParams.stream().map(TemplateParameterInfo::getName).collect(Collectors.toSet()));
+        } catch (TemplateException e) {
+            throw illegalConfigurationForMethod(
+                    "Unable to parse the template of " + annotationName + ": " + e.getMessage(), method);
+        }
+        if (unknownParameter.isPresent()) {
+            throw illegalConfigurationForMethod("The template of " + annotationName + " uses '" + unknownParameter.get()
+                    + "', which is not a parameter of the method", method);
+        }
+    }
+
     private Optional<Integer> gatherMemoryIdParamName(MethodInfo method) {
         return method.annotations(Langchain4jDotNames.MEMORY_ID).stream().filter(IS_METHOD_PARAMETER_ANNOTATION)
                 .map(METHOD_PARAMETER_POSITION_FUNCTION)
@@ -804,7 +996,8 @@ public class AiServicesProcessor {
                 }
             }
 
-            // TODO: we should probably add a lot more template validation here
+            validateTemplate(userMessageTemplate, "@UserMessage", templateParams, method);
+
             return AiServiceMethodCreateInfo.UserMessageInfo.fromTemplate(
                     new AiServiceMethodCreateInfo.TemplateInfo(userMessageTemplate,
                             TemplateParameterInfo.toNameToArgsPositionMap(templateParams)),
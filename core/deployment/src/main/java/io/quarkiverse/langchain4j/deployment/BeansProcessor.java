@@ -71,6 +71,7 @@ public class BeansProcessor {
             List<RequestChatModelBeanBuildItem> requestChatModelBeanItems,
             List<RequestModerationModelBeanBuildItem> requestModerationModelBeanBuildItems,
             LangChain4jBuildConfig buildConfig,
+            ChatModelRouterBuildConfig routerBuildConfig,
             BuildProducer<SelectedChatModelProviderBuildItem> selectedChatProducer,
             BuildProducer<SelectedEmbeddingModelCandidateBuildItem> selectedEmbeddingProducer,
             BuildProducer<SelectedModerationModelProviderBuildItem> selectedModerationProducer,
@@ -109,6 +110,10 @@ public class BeansProcessor {
             Set<String> allChatModelNames = new HashSet<>(requestedChatModels);
             allChatModelNames.addAll(requestedStreamingChatModels);
             for (String modelName : allChatModelNames) {
+                if (routerBuildConfig.routers().containsKey(modelName)) {
+                    // the router is created by ChatModelRouterProcessor
+                    continue;
+                }
                 Optional<String> userSelectedProvider;
                 String configNamespace;
                 if (NamedModelUtil.isDefault(modelName)) {
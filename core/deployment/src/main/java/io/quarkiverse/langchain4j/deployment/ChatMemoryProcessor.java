@@ -10,21 +10,31 @@ import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.model.Tokenizer;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import io.quarkiverse.langchain4j.runtime.ChatMemoryRecorder;
+import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceTracer;
 import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryConfig;
 import io.quarkus.arc.SyntheticCreationalContext;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
 import io.quarkus.arc.deployment.UnremovableBeanBuildItem;
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.Capability;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 
 public class ChatMemoryProcessor {
 
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void validateConfig(ChatMemoryConfig config, ChatMemoryRecorder recorder) {
+        recorder.validateConfig(config);
+    }
+
     @BuildStep
     @Record(ExecutionTime.RUNTIME_INIT)
     void setupBeans(ChatMemoryBuildConfig buildConfig, ChatMemoryConfig runtimeConfig,
-            ChatMemoryRecorder recorder,
+            ChatMemoryRecorder recorder, ShutdownContextBuildItem shutdown, Capabilities capabilities,
             BuildProducer<UnremovableBeanBuildItem> unremovableProducer,
             BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer) {
 
@@ -37,11 +47,16 @@ public class ChatMemoryProcessor {
                 .scope(ApplicationScoped.class)
                 .defaultBean();
 
+        boolean traced = capabilities.isPresent(Capability.OPENTELEMETRY_TRACER);
+        if (traced) {
+            configurator.addInjectionPoint(ClassType.create(AiServiceTracer.class));
+        }
+
         if (buildConfig.type() == ChatMemoryBuildConfig.Type.MESSAGE_WINDOW) {
-            fun = recorder.messageWindow(runtimeConfig);
+            fun = recorder.messageWindow(runtimeConfig, traced, shutdown);
         } else if (buildConfig.type() == ChatMemoryBuildConfig.Type.TOKEN_WINDOW) {
             configurator.addInjectionPoint(ClassType.create(Tokenizer.class));
-            fun = recorder.tokenWindow(runtimeConfig);
+            fun = recorder.tokenWindow(runtimeConfig, traced, shutdown);
         } else {
             throw new IllegalStateException(
                     "Invalid configuration '" + buildConfig.type() + "' used in 'quarkus.langchain4j.chat-memory.type'");
@@ -0,0 +1,39 @@
+package io.quarkiverse.langchain4j.deployment;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.BUILD_TIME;
+
+import java.util.List;
+import java.util.Map;
+
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigDocSection;
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithParentName;
+
+@ConfigRoot(phase = BUILD_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.router")
+public interface ChatModelRouterBuildConfig {
+
+    /**
+     * Router config.
+     * <p>
+     * A router is a {@link dev.langchain4j.model.chat.ChatLanguageModel} named after the router (and used like any named
+     * model, for example with {@code @RegisterAiService(modelName = "router-name")}) that spreads the calls across the
+     * chat models of several named model configurations.
+     */
+    @ConfigDocSection
+    @ConfigDocMapKey("router-name")
+    @WithParentName
+    Map<String, RouterConfig> routers();
+
+    @ConfigGroup
+    interface RouterConfig {
+
+        /**
+         * The names of the models the calls are spread across, {@code <default>} designating the default model
+         */
+        List<String> models();
+    }
+}
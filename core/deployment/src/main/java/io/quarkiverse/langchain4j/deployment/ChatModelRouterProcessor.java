@@ -0,0 +1,93 @@
+package io.quarkiverse.langchain4j.deployment;
+
+import static io.quarkiverse.langchain4j.deployment.AiServicesProcessor.CDI_INSTANCE;
+import static io.quarkiverse.langchain4j.deployment.Langchain4jDotNames.CHAT_MODEL;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassType;
+import org.jboss.jandex.ParameterizedType;
+import org.jboss.jandex.Type;
+
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkiverse.langchain4j.runtime.ChatModelRouterRecorder;
+import io.quarkiverse.langchain4j.runtime.NamedModelUtil;
+import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceTracer;
+import io.quarkiverse.langchain4j.runtime.aiservice.HttpStatusResolver;
+import io.quarkiverse.langchain4j.runtime.router.ChatModelRouterConfig;
+import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.Capability;
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+public class ChatModelRouterProcessor {
+
+    @BuildStep
+    void requestModels(ChatModelRouterBuildConfig buildConfig,
+            BuildProducer<RequestChatModelBeanBuildItem> requestChatModelBeanProducer) {
+        Map<String, ChatModelRouterBuildConfig.RouterConfig> routers = buildConfig.routers();
+        for (Map.Entry<String, ChatModelRouterBuildConfig.RouterConfig> entry : routers.entrySet()) {
+            String routerName = entry.getKey();
+            List<String> modelNames = entry.getValue().models();
+            if (NamedModelUtil.isDefault(routerName)) {
+                throw new ConfigurationException("A router cannot be named '" + routerName + "'");
+            }
+            if (modelNames.isEmpty()) {
+                throw new ConfigurationException(
+                        "'quarkus.langchain4j.router." + routerName + ".models' needs to contain at least one model");
+            }
+            for (String modelName : modelNames) {
+                if (routers.containsKey(modelName)) {
+                    throw new ConfigurationException("Router '" + routerName + "' cannot use router '" + modelName
+                            + "' as one of its models");
+                }
+                requestChatModelBeanProducer.produce(new RequestChatModelBeanBuildItem(modelName));
+            }
+        }
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void createRouters(ChatModelRouterBuildConfig buildConfig, ChatModelRouterConfig runtimeConfig,
+            ChatModelRouterRecorder recorder, Capabilities capabilities,
+            BuildProducer<SyntheticBeanBuildItem> beanProducer) {
+        // the hedged calls are children of the span of the caller
+        boolean traced = capabilities.isPresent(Capability.OPENTELEMETRY_TRACER);
+        for (Map.Entry<String, ChatModelRouterBuildConfig.RouterConfig> entry : buildConfig.routers().entrySet()) {
+            String routerName = entry.getKey();
+            List<String> modelNames = entry.getValue().models();
+            var builder = SyntheticBeanBuildItem
+                    .configure(CHAT_MODEL)
+                    .setRuntimeInit()
+                    .scope(ApplicationScoped.class)
+                    .unremovable()
+                    .addQualifier(modelNameQualifier(routerName))
+                    .createWith(recorder.router(runtimeConfig, routerName, modelNames, traced))
+                    .addInjectionPoint(ParameterizedType.create(CDI_INSTANCE,
+                            new Type[] { ClassType.create(HttpStatusResolver.class) }, null));
+            if (traced) {
+                builder.addInjectionPoint(ClassType.create(AiServiceTracer.class));
+            }
+            for (String modelName : modelNames) {
+                if (NamedModelUtil.isDefault(modelName)) {
+                    builder.addInjectionPoint(ClassType.create(CHAT_MODEL));
+                } else {
+                    builder.addInjectionPoint(ClassType.create(CHAT_MODEL), modelNameQualifier(modelName));
+                }
+            }
+            beanProducer.produce(builder.done());
+        }
+    }
+
+    private static AnnotationInstance modelNameQualifier(String modelName) {
+        return AnnotationInstance.builder(ModelName.class).add("value", modelName).build();
+    }
+}
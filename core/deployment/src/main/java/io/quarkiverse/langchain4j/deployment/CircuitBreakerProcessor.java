@@ -0,0 +1,39 @@
+package io.quarkiverse.langchain4j.deployment;
+
+import java.util.Optional;
+
+import io.quarkiverse.langchain4j.runtime.CircuitBreakerRecorder;
+import io.quarkiverse.langchain4j.runtime.aiservice.HttpStatusResolver;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakerConfig;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.MetricsCircuitBreakerBinder;
+import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
+import io.quarkus.arc.deployment.UnremovableBeanBuildItem;
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
+import io.quarkus.deployment.metrics.MetricsCapabilityBuildItem;
+import io.quarkus.runtime.metrics.MetricsFactory;
+
+public class CircuitBreakerProcessor {
+
+    @BuildStep
+    void beans(Optional<MetricsCapabilityBuildItem> metricsCapability,
+            BuildProducer<AdditionalBeanBuildItem> additionalBeanProducer,
+            BuildProducer<UnremovableBeanBuildItem> unremovableBeanProducer) {
+        // looked up by the circuit breakers to know which failures are caused by the request itself
+        unremovableBeanProducer.produce(UnremovableBeanBuildItem.beanTypes(HttpStatusResolver.class));
+
+        if (metricsCapability.isPresent() && metricsCapability.get().metricsSupported(MetricsFactory.MICROMETER)) {
+            additionalBeanProducer.produce(AdditionalBeanBuildItem.builder()
+                    .addBeanClass(MetricsCircuitBreakerBinder.class).setUnremovable().build());
+        }
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void configure(CircuitBreakerConfig config, CircuitBreakerRecorder recorder, ShutdownContextBuildItem shutdown) {
+        recorder.configure(config, shutdown);
+    }
+}
@@ -32,4 +32,7 @@ class DotNames {
     public static final DotName SET = DotName.createSimple(Set.class);
 
     public static final DotName OBJECT = DotName.createSimple(Object.class.getName());
+
+    public static final DotName UNI = DotName.createSimple("io.smallrye.mutiny.Uni");
+    public static final DotName MULTI = DotName.createSimple("io.smallrye.mutiny.Multi");
 }
@@ -16,12 +16,16 @@ import dev.langchain4j.service.AiServices;
 import dev.langchain4j.service.MemoryId;
 import dev.langchain4j.service.Moderate;
 import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.UserMessage;
 import dev.langchain4j.service.UserName;
+import io.quarkiverse.langchain4j.CacheAiResult;
 import io.quarkiverse.langchain4j.CreatedAware;
 import io.quarkiverse.langchain4j.ModelName;
 import io.quarkiverse.langchain4j.RegisterAiService;
 import io.quarkiverse.langchain4j.audit.AuditService;
+import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryConfig;
+import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryEvictionListener;
 import io.quarkiverse.langchain4j.runtime.aiservice.QuarkusAiServiceContextQualifier;
 
 public class Langchain4jDotNames {
@@ -36,7 +40,9 @@ public class Langchain4jDotNames {
     static final DotName USER_MESSAGE = DotName.createSimple(UserMessage.class);
     static final DotName USER_NAME = DotName.createSimple(UserName.class);
     static final DotName MODERATE = DotName.createSimple(Moderate.class);
+    static final DotName CACHE_AI_RESULT = DotName.createSimple(CacheAiResult.class);
     static final DotName MEMORY_ID = DotName.createSimple(MemoryId.class);
+    static final DotName TOKEN_STREAM = DotName.createSimple(TokenStream.class);
     static final DotName DESCRIPTION = DotName.createSimple(Description.class);
     static final DotName STRUCTURED_PROMPT = DotName.createSimple(StructuredPrompt.class);
     static final DotName STRUCTURED_PROMPT_PROCESSOR = DotName.createSimple(StructuredPromptProcessor.class);
@@ -52,6 +58,13 @@ public class Langchain4jDotNames {
     static final DotName BEAN_CHAT_MEMORY_PROVIDER_SUPPLIER = DotName.createSimple(
             RegisterAiService.BeanChatMemoryProviderSupplier.class);
 
+    static final DotName NO_CHAT_MEMORY_PROVIDER_SUPPLIER = DotName.createSimple(
+            RegisterAiService.NoChatMemoryProviderSupplier.class);
+
+    static final DotName CHAT_MEMORY_CONFIG = DotName.createSimple(ChatMemoryConfig.class);
+
+    static final DotName CHAT_MEMORY_EVICTION_LISTENER = DotName.createSimple(ChatMemoryEvictionListener.class);
+
     static final DotName RETRIEVER = DotName.createSimple(Retriever.class);
     static final DotName NO_RETRIEVER = DotName.createSimple(
             RegisterAiService.NoRetriever.class);
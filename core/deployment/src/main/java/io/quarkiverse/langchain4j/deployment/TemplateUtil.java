@@ -1,25 +1,66 @@
 package io.quarkiverse.langchain4j.deployment;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import io.quarkiverse.langchain4j.QuarkusPromptTemplateFactory;
 import io.quarkus.qute.Engine;
 import io.quarkus.qute.Expression;
-import io.quarkus.qute.Template;
 
 class TemplateUtil {
 
+    /**
+     * The variables that {@link dev.langchain4j.model.input.PromptTemplate} adds to those given to the template
+     */
+    private static final Set<String> IMPLICIT_VARIABLES = Set.of("current_date", "current_time", "current_date_time");
+
+    /**
+     * The sections declaring variables of their own, which cannot be told apart from the parameters of the method
+     */
+    private static final Pattern DECLARING_SECTION = Pattern
+            .compile("\\{\\{?#(for|each|let|set|with|include|insert)\\b");
+
     static List<List<Expression.Part>> parts(String templateStr) {
-        Template template = Holder.ENGINE.parse(templateStr);
-        List<Expression> expressions = template.getExpressions();
+        List<Expression> expressions = expressions(templateStr);
         if (expressions.isEmpty()) {
             return Collections.emptyList();
         }
         return expressions.stream().map(Expression::getParts).collect(Collectors.toList());
     }
 
+    /**
+     * Parses the template in order to make sure that template errors are reported at build time instead of
+     * on the first invocation of the method
+     *
+     * @return the first variable used by the template that is not one of {@code parameterNames}, if any
+     * @throws io.quarkus.qute.TemplateException if the template cannot be parsed
+     */
+    static Optional<String> unknownParameter(String templateStr, Collection<String> parameterNames) {
+        List<Expression> expressions = expressions(templateStr);
+        if (DECLARING_SECTION.matcher(templateStr).find()) {
+            return Optional.empty();
+        }
+        for (Expression expression : expressions) {
+            if (expression.isLiteral() || (expression.getNamespace() != null)) {
+                continue;
+            }
+            String name = expression.getParts().get(0).getName();
+            if (!parameterNames.contains(name) && !IMPLICIT_VARIABLES.contains(name)) {
+                return Optional.of(name);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<Expression> expressions(String templateStr) {
+        return Holder.ENGINE.parse(templateStr).getExpressions();
+    }
+
     private static class Holder {
         private static final Engine ENGINE = Engine.builder().addDefaults()
                 .addParserHook(new QuarkusPromptTemplateFactory.MustacheTemplateVariableStyleParserHook()).build();
@@ -14,6 +14,7 @@ import static java.util.stream.Collectors.toList;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,7 @@ import dev.langchain4j.agent.tool.Tool;
 import dev.langchain4j.agent.tool.ToolParameters;
 import dev.langchain4j.agent.tool.ToolSpecification;
 import io.quarkiverse.langchain4j.runtime.ToolsRecorder;
+import io.quarkiverse.langchain4j.runtime.aiservice.ToolsConfig;
 import io.quarkiverse.langchain4j.runtime.prompt.Mappable;
 import io.quarkiverse.langchain4j.runtime.tool.ToolInvoker;
 import io.quarkiverse.langchain4j.runtime.tool.ToolMethodCreateInfo;
@@ -78,6 +80,8 @@ public class ToolProcessor {
     private static final MethodDescriptor HASHMAP_CTOR = MethodDescriptor.ofConstructor(HashMap.class);
     public static final MethodDescriptor MAP_PUT = MethodDescriptor.ofMethod(Map.class, "put", Object.class, Object.class,
             Object.class);
+    private static final MethodDescriptor UNMODIFIABLE_MAP = MethodDescriptor.ofMethod(Collections.class,
+            "unmodifiableMap", Map.class, Map.class);
 
     @BuildStep
     public void telemetry(Capabilities capabilities, BuildProducer<AdditionalBeanBuildItem> additionalBeanProducer) {
@@ -87,6 +91,12 @@ public class ToolProcessor {
         }
     }
 
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    public void validateConfig(ToolsConfig config, ToolsRecorder recorder) {
+        recorder.validateConfig(config);
+    }
+
     @BuildStep
     @Record(ExecutionTime.STATIC_INIT)
     public void handleTools(CombinedIndexBuildItem indexBuildItem,
@@ -289,19 +299,30 @@ public class ToolProcessor {
                 invokeMc.returnValue(result);
             }
 
-            MethodCreator methodMetadataMc = classCreator
-                    .getMethodCreator(MethodDescriptor.ofMethod(implClassName, "methodMetadata",
-                            ToolInvoker.MethodMetadata.class));
-            ResultHandle nameToParamPositionHandle = methodMetadataMc.newInstance(HASHMAP_CTOR);
+            // the metadata never changes, so it is created once when the class is initialized
+            FieldDescriptor methodMetadataField = FieldDescriptor.of(implClassName, "METHOD_METADATA",
+                    ToolInvoker.MethodMetadata.class);
+            classCreator.getFieldCreator(methodMetadataField)
+                    .setModifiers(Modifier.PRIVATE | Modifier.STATIC | Modifier.FINAL);
+
+            MethodCreator clinit = classCreator.getMethodCreator("<clinit>", void.class);
+            clinit.setModifiers(Modifier.STATIC);
+            ResultHandle nameToParamPositionHandle = clinit.newInstance(HASHMAP_CTOR);
             for (var entry : nameToParamPosition.entrySet()) {
-                methodMetadataMc.invokeInterfaceMethod(MAP_PUT, nameToParamPositionHandle,
-                        methodMetadataMc.load(entry.getKey()),
-                        methodMetadataMc.load(entry.getValue()));
+                clinit.invokeInterfaceMethod(MAP_PUT, nameToParamPositionHandle,
+                        clinit.load(entry.getKey()),
+                        clinit.load(entry.getValue()));
             }
+            ResultHandle metadataHandle = clinit.newInstance(METHOD_METADATA_CTOR,
+                    clinit.load(toolReturnsVoid),
+                    clinit.invokeStaticMethod(UNMODIFIABLE_MAP, nameToParamPositionHandle));
+            clinit.writeStaticField(methodMetadataField, metadataHandle);
+            clinit.returnVoid();
 
-            ResultHandle resultHandle = methodMetadataMc.newInstance(METHOD_METADATA_CTOR,
-                    methodMetadataMc.load(toolReturnsVoid), nameToParamPositionHandle);
-            methodMetadataMc.returnValue(resultHandle);
+            MethodCreator methodMetadataMc = classCreator
+                    .getMethodCreator(MethodDescriptor.ofMethod(implClassName, "methodMetadata",
+                            ToolInvoker.MethodMetadata.class));
+            methodMetadataMc.returnValue(methodMetadataMc.readStaticField(methodMetadataField));
         }
         return implClassName;
     }
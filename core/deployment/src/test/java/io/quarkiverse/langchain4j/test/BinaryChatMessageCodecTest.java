@@ -0,0 +1,144 @@
+package io.quarkiverse.langchain4j.test;
+
+import static dev.langchain4j.data.message.AiMessage.aiMessage;
+import static dev.langchain4j.data.message.ChatMessageSerializer.messageToJson;
+import static dev.langchain4j.data.message.ChatMessageSerializer.messagesToJson;
+import static dev.langchain4j.data.message.SystemMessage.systemMessage;
+import static dev.langchain4j.data.message.ToolExecutionResultMessage.toolExecutionResultMessage;
+import static dev.langchain4j.data.message.UserMessage.userMessage;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.image.Image;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ImageContent;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.UserMessage;
+import io.quarkiverse.langchain4j.BinaryChatMessageCodec;
+import io.quarkus.test.QuarkusUnitTest;
+
+class BinaryChatMessageCodecTest {
+
+    private static final byte MAGIC = (byte) 0xC7;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    private final BinaryChatMessageCodec codec = new BinaryChatMessageCodec();
+
+    @Test
+    void should_encode_and_decode_list_with_all_types_of_messages() {
+
+        List<ChatMessage> messages = asList(
+                systemMessage("Hello from system"),
+                userMessage("Hello from user"),
+                userMessage("Klaus", "Hello from Klaus"),
+                aiMessage("Hello from AI"),
+                aiMessage(ToolExecutionRequest.builder()
+                        .id("12345")
+                        .name("calculator")
+                        .arguments("{}")
+                        .build()),
+                toolExecutionResultMessage("12345", "calculator", "4"));
+
+        byte[] encoded = codec.encodeMessages(messages);
+
+        assertThat(codec.decodeMessages(encoded)).isEqualTo(messages);
+        assertThat(encoded.length).isLessThan(messagesToJson(messages).getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void should_encode_and_decode_user_message_with_image_content() {
+        String data = Base64.getEncoder().encodeToString(new byte[] { 1, 2, 3, 4, 5 });
+        UserMessage message = UserMessage.from(
+                TextContent.from("What is this?"),
+                ImageContent.from("http://image.url"),
+                new ImageContent(Image.builder().base64Data(data).mimeType("image/png").build(),
+                        ImageContent.DetailLevel.HIGH));
+
+        assertThat(codec.decodeMessage(codec.encodeMessage(message))).isEqualTo(message);
+    }
+
+    @Test
+    void should_compress_large_messages() {
+        ChatMessage message = userMessage("Hello ".repeat(1000));
+
+        byte[] compressed = codec.encodeMessage(message);
+        byte[] uncompressed = new BinaryChatMessageCodec(-1).encodeMessage(message);
+
+        assertThat(compressed.length).isLessThan(uncompressed.length);
+        assertThat(codec.decodeMessage(compressed)).isEqualTo(message);
+        // the compression threshold does not need to match to decode
+        assertThat(new BinaryChatMessageCodec(-1).decodeMessage(compressed)).isEqualTo(message);
+    }
+
+    @Test
+    void should_decode_json() {
+        ChatMessage message = userMessage("Klaus", "Hello from Klaus");
+        List<ChatMessage> messages = asList(systemMessage("Hello from system"), aiMessage("Hello from AI"));
+
+        assertThat(codec.decodeMessage(messageToJson(message).getBytes(StandardCharsets.UTF_8))).isEqualTo(message);
+        assertThat(codec.decodeMessages(messagesToJson(messages).getBytes(StandardCharsets.UTF_8))).isEqualTo(messages);
+    }
+
+    @Test
+    void should_reject_unknown_versions() {
+        byte[] encoded = codec.encodeMessage(userMessage("hello"));
+        encoded[1] = 42;
+
+        assertThatThrownBy(() -> codec.decodeMessage(encoded))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version 42");
+    }
+
+    @Test
+    void should_reject_unknown_detail_levels() {
+        UserMessage message = UserMessage.from(ImageContent.from("https://example.com/image.png"));
+        byte[] encoded = new BinaryChatMessageCodec(-1).encodeMessage(message);
+        // the detail level is the last byte of an image content
+        encoded[encoded.length - 1] = 42;
+
+        assertThatThrownBy(() -> codec.decodeMessage(encoded))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("detail level 42");
+    }
+
+    @Test
+    void should_reject_negative_lengths() {
+        // a system message whose text length is a five byte varint overflowing into the sign bit
+        byte[] encoded = { MAGIC, 1, 0, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+
+        assertThatThrownBy(() -> codec.decodeMessage(encoded))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("negative length");
+    }
+
+    @Test
+    void should_reject_lengths_exceeding_the_message() {
+        // a system message whose text would be 2^28 bytes long
+        byte[] encoded = { MAGIC, 1, 0, 1, (byte) 0x81, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01 };
+
+        assertThatThrownBy(() -> codec.decodeMessage(encoded))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid length 268435456");
+
+        // a list claiming to contain 2^28 messages
+        byte[] list = { MAGIC, 1, 0, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01 };
+
+        assertThatThrownBy(() -> codec.decodeMessages(list))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid number of elements 268435456");
+    }
+}
@@ -0,0 +1,32 @@
+package io.quarkiverse.langchain4j.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class InvalidChatMemoryWriteBehindMaxDelayTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-memory.write-behind.enabled", "true")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-memory.write-behind.max-delay", "0s")
+            .assertException(t -> {
+                assertThat(t).satisfiesAnyOf(
+                        e -> assertThat(e).isInstanceOf(ConfigurationException.class),
+                        e -> assertThat(e).hasRootCauseInstanceOf(ConfigurationException.class));
+                assertThat(t).hasStackTraceContaining("quarkus.langchain4j.chat-memory.write-behind.max-delay");
+            });
+
+    @Test
+    void test() {
+        fail("Should not be called");
+    }
+}
@@ -0,0 +1,101 @@
+package io.quarkiverse.langchain4j.test;
+
+import static dev.langchain4j.data.message.AiMessage.aiMessage;
+import static dev.langchain4j.data.message.SystemMessage.systemMessage;
+import static dev.langchain4j.data.message.UserMessage.userMessage;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.model.Tokenizer;
+import io.quarkus.test.QuarkusUnitTest;
+
+class TokenWindowChatMemoryTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .overrideConfigKey("quarkus.langchain4j.chat-memory.type", "token-window")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-memory.token-window.max-tokens", "30");
+
+    @Inject
+    ChatMemoryProvider chatMemoryProvider;
+
+    @Inject
+    CountingTokenizer tokenizer;
+
+    @Test
+    void should_estimate_each_message_once() {
+        ChatMemory chatMemory = chatMemoryProvider.get("test");
+
+        chatMemory.add(systemMessage("one two three four five"));
+        chatMemory.add(userMessage("one two three four five six seven eight nine ten"));
+        chatMemory.add(aiMessage("one two three four five six seven eight nine ten"));
+        assertThat(chatMemory.messages()).hasSize(3);
+
+        // 5 + 10 + 10 + 10 tokens exceed the limit of 30, so the oldest message after the system message is evicted
+        chatMemory.add(userMessage("one two three four five six seven eight nine ten eleven"));
+        assertThat(chatMemory.messages()).extracting(ChatMessage::text).containsExactly(
+                "one two three four five",
+                "one two three four five six seven eight nine ten",
+                "one two three four five six seven eight nine ten eleven");
+
+        // one estimation per message plus a single one for the overhead of the messages
+        assertThat(tokenizer.messageEstimations).hasValue(4);
+        assertThat(tokenizer.messagesEstimations).hasValue(1);
+    }
+
+    /**
+     * Counts one token per word, plus an overhead of 1 token for a list of messages
+     */
+    @Singleton
+    public static class CountingTokenizer implements Tokenizer {
+
+        final AtomicInteger messageEstimations = new AtomicInteger();
+        final AtomicInteger messagesEstimations = new AtomicInteger();
+
+        @Override
+        public int estimateTokenCountInText(String text) {
+            return text.split(" ").length;
+        }
+
+        @Override
+        public int estimateTokenCountInMessage(ChatMessage message) {
+            messageEstimations.incrementAndGet();
+            return estimateTokenCountInText(message.text());
+        }
+
+        @Override
+        public int estimateTokenCountInMessages(Iterable<ChatMessage> messages) {
+            messagesEstimations.incrementAndGet();
+            int result = 1;
+            for (ChatMessage message : messages) {
+                result += estimateTokenCountInText(message.text());
+            }
+            return result;
+        }
+
+        @Override
+        public int estimateTokenCountInToolSpecifications(Iterable<ToolSpecification> toolSpecifications) {
+            return 0;
+        }
+
+        @Override
+        public int estimateTokenCountInToolExecutionRequests(Iterable<ToolExecutionRequest> toolExecutionRequests) {
+            return 0;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.fail;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.jboss.shrinkwrap.api.ShrinkWrap;
@@ -79,6 +80,15 @@ class ToolExecutorTest {
         int noArgs() {
             return 1;
         }
+
+        @Tool
+        List<String> strings(int count) {
+            List<String> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add("item" + i);
+            }
+            return result;
+        }
     }
 
     @ParameterizedTest
@@ -251,6 +261,25 @@ class ToolExecutorTest {
         assertThat(result).isEqualTo("1");
     }
 
+    @Test
+    void should_serialize_result_compactly() {
+        executeAndAssert("{\"count\": 2}", "strings", "[\"item0\",\"item1\"]");
+    }
+
+    @Test
+    void should_truncate_result() {
+        ToolExecutionRequest request = ToolExecutionRequest.builder()
+                .arguments("{\"count\": 3}")
+                .build();
+
+        ToolExecutor toolExecutor = getToolExecutor("strings", 10);
+
+        String result = toolExecutor.execute(request, null);
+
+        // the truncated result is still valid JSON
+        assertThat(result).isEqualTo("\"[\\\"item0\\\",\\\"... [truncated 15 characters]\"");
+    }
+
     private void executeAndAssert(String arguments, String methodName,
             String expectedResult) {
         ToolExecutionRequest request = ToolExecutionRequest.builder()
@@ -276,6 +305,10 @@ class ToolExecutorTest {
     }
 
     private ToolExecutor getToolExecutor(String methodName) {
+        return getToolExecutor(methodName, QuarkusToolExecutor.UNLIMITED_RESULT_LENGTH);
+    }
+
+    private ToolExecutor getToolExecutor(String methodName, int maxResultLength) {
 
         List<ToolMethodCreateInfo> methodCreateInfos = ToolsRecorder.getMetadata().get(TestTool.class.getName());
         if (methodCreateInfos == null) {
@@ -291,7 +324,8 @@ class ToolExecutorTest {
                     toolSpecification.name())) { // this only works because TestTool does not contain overloaded methods
                 toolExecutor = new QuarkusToolExecutor(
                         new QuarkusToolExecutor.Context(testTool, invokerClassName, methodCreateInfo.getMethodName(),
-                                methodCreateInfo.getArgumentMapperClassName()));
+                                methodCreateInfo.getArgumentMapperClassName()),
+                        maxResultLength);
                 break;
             }
         }
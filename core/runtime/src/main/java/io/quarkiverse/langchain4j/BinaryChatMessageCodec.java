@@ -0,0 +1,440 @@
+package io.quarkiverse.langchain4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.image.Image;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.Content;
+import dev.langchain4j.data.message.ImageContent;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+
+/**
+ * A {@link ChatMessageCodec} using a compact, length-prefixed binary format instead of JSON.
+ * <p>
+ * Every encoded value starts with a header made of a magic byte, the version of the format and flags, followed by the
+ * payload, which is compressed with {@link Deflater} when it is larger than the compression threshold.
+ * Base64 image data is stored as raw bytes.
+ * <p>
+ * Values that don't start with the magic byte are decoded as JSON, so stores can switch from JSON to this codec
+ * without migrating the messages they already contain.
+ */
+public class BinaryChatMessageCodec implements ChatMessageCodec {
+
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 2048;
+
+    static final byte MAGIC = (byte) 0xC7;
+    static final byte VERSION = 1;
+
+    private static final byte FLAG_COMPRESSED = 0x01;
+    private static final int HEADER_SIZE = 3;
+
+    private static final byte SYSTEM = 1;
+    private static final byte USER = 2;
+    private static final byte AI = 3;
+    private static final byte TOOL_EXECUTION_RESULT = 4;
+
+    private static final byte TEXT_CONTENT = 1;
+    private static final byte IMAGE_CONTENT = 2;
+
+    private static final TypeReference<List<ChatMessage>> MESSAGE_LIST_TYPE = new TypeReference<>() {
+    };
+
+    private static final ImageContent.DetailLevel[] DETAIL_LEVELS = ImageContent.DetailLevel.values();
+
+    private final int compressionThreshold;
+
+    public BinaryChatMessageCodec() {
+        this(DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    /**
+     * @param compressionThreshold the size (in bytes) above which the payload is compressed, a negative value disables
+     *        compression
+     */
+    public BinaryChatMessageCodec(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] encodeMessage(ChatMessage message) {
+        Writer writer = new Writer();
+        writeMessage(writer, message);
+        return finish(writer);
+    }
+
+    @Override
+    public ChatMessage decodeMessage(byte[] bytes) {
+        if (!isBinary(bytes)) {
+            return fromJson(bytes, ChatMessage.class);
+        }
+        return readMessage(new Reader(payload(bytes)));
+    }
+
+    @Override
+    public byte[] encodeMessages(List<ChatMessage> messages) {
+        Writer writer = new Writer();
+        writer.writeVarInt(messages.size());
+        for (ChatMessage message : messages) {
+            writeMessage(writer, message);
+        }
+        return finish(writer);
+    }
+
+    @Override
+    public List<ChatMessage> decodeMessages(byte[] bytes) {
+        if (!isBinary(bytes)) {
+            return fromJson(bytes, MESSAGE_LIST_TYPE);
+        }
+        Reader reader = new Reader(payload(bytes));
+        int size = reader.readCount();
+        List<ChatMessage> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(readMessage(reader));
+        }
+        return result;
+    }
+
+    private static void writeMessage(Writer writer, ChatMessage message) {
+        if (message instanceof SystemMessage) {
+            writer.writeByte(SYSTEM);
+            writer.writeString(((SystemMessage) message).text());
+        } else if (message instanceof UserMessage) {
+            UserMessage userMessage = (UserMessage) message;
+            writer.writeByte(USER);
+            writer.writeString(userMessage.name());
+            List<Content> contents = userMessage.contents();
+            writer.writeVarInt(contents.size());
+            for (Content content : contents) {
+                writeContent(writer, content);
+            }
+        } else if (message instanceof AiMessage) {
+            AiMessage aiMessage = (AiMessage) message;
+            writer.writeByte(AI);
+            writer.writeString(aiMessage.text());
+            List<ToolExecutionRequest> toolExecutionRequests = aiMessage.hasToolExecutionRequests()
+                    ? aiMessage.toolExecutionRequests()
+                    : List.of();
+            writer.writeVarInt(toolExecutionRequests.size());
+            for (ToolExecutionRequest toolExecutionRequest : toolExecutionRequests) {
+                writer.writeString(toolExecutionRequest.id());
+                writer.writeString(toolExecutionRequest.name());
+                writer.writeString(toolExecutionRequest.arguments());
+            }
+        } else if (message instanceof ToolExecutionResultMessage) {
+            ToolExecutionResultMessage toolExecutionResultMessage = (ToolExecutionResultMessage) message;
+            writer.writeByte(TOOL_EXECUTION_RESULT);
+            writer.writeString(toolExecutionResultMessage.id());
+            writer.writeString(toolExecutionResultMessage.toolName());
+            writer.writeString(toolExecutionResultMessage.text());
+        } else {
+            throw new IllegalArgumentException("Unsupported message type " + message.getClass().getName());
+        }
+    }
+
+    private static void writeContent(Writer writer, Content content) {
+        if (content instanceof TextContent) {
+            writer.writeByte(TEXT_CONTENT);
+            writer.writeString(((TextContent) content).text());
+        } else if (content instanceof ImageContent) {
+            ImageContent imageContent = (ImageContent) content;
+            Image image = imageContent.image();
+            writer.writeByte(IMAGE_CONTENT);
+            writer.writeString(image.url() != null ? image.url().toString() : null);
+            writer.writeBytes(image.base64Data() != null ? Base64.getDecoder().decode(image.base64Data()) : null);
+            writer.writeString(image.mimeType());
+            writer.writeString(image.revisedPrompt());
+            writer.writeByte((byte) imageContent.detailLevel().ordinal());
+        } else {
+            throw new IllegalArgumentException("Unsupported content type " + content.getClass().getName());
+        }
+    }
+
+    private static ChatMessage readMessage(Reader reader) {
+        byte type = reader.readByte();
+        switch (type) {
+            case SYSTEM:
+                return SystemMessage.from(reader.readString());
+            case USER:
+                String name = reader.readString();
+                int size = reader.readCount();
+                List<Content> contents = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    contents.add(readContent(reader));
+                }
+                return name == null ? new UserMessage(contents) : new UserMessage(name, contents);
+            case AI:
+                String text = reader.readString();
+                int toolExecutionRequestsSize = reader.readCount();
+                if (toolExecutionRequestsSize == 0) {
+                    return new AiMessage(text);
+                }
+                List<ToolExecutionRequest> toolExecutionRequests = new ArrayList<>(toolExecutionRequestsSize);
+                for (int i = 0; i < toolExecutionRequestsSize; i++) {
+                    toolExecutionRequests.add(ToolExecutionRequest.builder()
+                            .id(reader.readString())
+                            .name(reader.readString())
+                            .arguments(reader.readString())
+                            .build());
+                }
+                return new AiMessage(toolExecutionRequests);
+            case TOOL_EXECUTION_RESULT:
+                return ToolExecutionResultMessage.from(reader.readString(), reader.readString(), reader.readString());
+            default:
+                throw new IllegalArgumentException("Unknown message type " + type);
+        }
+    }
+
+    private static Content readContent(Reader reader) {
+        byte type = reader.readByte();
+        switch (type) {
+            case TEXT_CONTENT:
+                return TextContent.from(reader.readString());
+            case IMAGE_CONTENT:
+                Image.Builder builder = Image.builder();
+                String url = reader.readString();
+                if (url != null) {
+                    builder.url(URI.create(url));
+                }
+                byte[] data = reader.readBytes();
+                if (data != null) {
+                    builder.base64Data(Base64.getEncoder().encodeToString(data));
+                }
+                builder.mimeType(reader.readString());
+                builder.revisedPrompt(reader.readString());
+                byte detailLevel = reader.readByte();
+                if ((detailLevel < 0) || (detailLevel >= DETAIL_LEVELS.length)) {
+                    throw new IllegalArgumentException("Unknown image detail level " + detailLevel);
+                }
+                return new ImageContent(builder.build(), DETAIL_LEVELS[detailLevel]);
+            default:
+                throw new IllegalArgumentException("Unknown content type " + type);
+        }
+    }
+
+    private byte[] finish(Writer writer) {
+        byte[] payload = writer.toByteArray();
+        byte flags = 0;
+        if ((compressionThreshold >= 0) && (payload.length > compressionThreshold)) {
+            byte[] compressed = deflate(payload);
+            // small or already compressed payloads (like images) don't always get smaller
+            if (compressed.length < payload.length) {
+                payload = compressed;
+                flags |= FLAG_COMPRESSED;
+            }
+        }
+        byte[] result = new byte[HEADER_SIZE + payload.length];
+        result[0] = MAGIC;
+        result[1] = VERSION;
+        result[2] = flags;
+        System.arraycopy(payload, 0, result, HEADER_SIZE, payload.length);
+        return result;
+    }
+
+    private static boolean isBinary(byte[] bytes) {
+        return (bytes.length >= HEADER_SIZE) && (bytes[0] == MAGIC);
+    }
+
+    private static byte[] payload(byte[] bytes) {
+        if (bytes[1] > VERSION) {
+            throw new IllegalArgumentException("Unsupported version " + bytes[1]
+                    + " of the binary chat message format, the highest supported version is " + VERSION);
+        }
+        if ((bytes[2] & FLAG_COMPRESSED) != 0) {
+            return inflate(bytes, HEADER_SIZE);
+        }
+        byte[] result = new byte[bytes.length - HEADER_SIZE];
+        System.arraycopy(bytes, HEADER_SIZE, result, 0, result.length);
+        return result;
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 2);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed chat message");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Invalid compressed chat message", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static <T> T fromJson(byte[] bytes, Class<T> type) {
+        try {
+            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to decode chat message", e);
+        }
+    }
+
+    private static <T> T fromJson(byte[] bytes, TypeReference<T> type) {
+        try {
+            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to decode chat messages", e);
+        }
+    }
+
+    /**
+     * Lengths are written as unsigned variable-length integers, {@code null} strings and byte arrays are written as
+     * a length of 0 while others are written with their length plus one
+     */
+    private static class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+
+        void writeByte(byte value) {
+            out.write(value);
+        }
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+
+        void writeBytes(byte[] value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(value.length + 1);
+            out.write(value, 0, value.length);
+        }
+
+        void writeString(String value) {
+            writeBytes(value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    private static class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated chat message");
+            }
+            return bytes[position++];
+        }
+
+        int readVarInt() {
+            int result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (shift > 28) {
+                    throw new IllegalArgumentException("Invalid length in chat message");
+                }
+                b = readByte();
+                result |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            if (result < 0) {
+                throw new IllegalArgumentException("Invalid negative length " + result + " in chat message");
+            }
+            return result;
+        }
+
+        /**
+         * Reads the number of elements that follow, which can't exceed the remaining bytes as each element takes at
+         * least one byte
+         */
+        int readCount() {
+            int count = readVarInt();
+            if (count > bytes.length - position) {
+                throw new IllegalArgumentException("Invalid number of elements " + count + " in chat message, only "
+                        + (bytes.length - position) + " bytes remain");
+            }
+            return count;
+        }
+
+        /**
+         * Reads the length of a byte array or string, which is stored plus one so that zero means {@code null}
+         *
+         * @return the length, or -1 for {@code null}
+         */
+        private int readLength() {
+            int length = readVarInt() - 1;
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("Invalid length " + length + " in chat message, only "
+                        + (bytes.length - position) + " bytes remain");
+            }
+            return length;
+        }
+
+        byte[] readBytes() {
+            int length = readLength();
+            if (length < 0) {
+                return null;
+            }
+            byte[] result = new byte[length];
+            System.arraycopy(bytes, position, result, 0, length);
+            position += length;
+            return result;
+        }
+
+        String readString() {
+            int length = readLength();
+            if (length < 0) {
+                return null;
+            }
+            String result = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return result;
+        }
+    }
+}
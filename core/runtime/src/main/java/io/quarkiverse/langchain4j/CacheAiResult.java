@@ -0,0 +1,39 @@
+package io.quarkiverse.langchain4j;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * When used on a method of an AiService, the result of the method is cached and returned for subsequent invocations
+ * that result in exactly the same system and user messages, without calling the LLM again.
+ * <p>
+ * As the result depends only on the rendered messages, this annotation cannot be used on methods that have a
+ * {@link dev.langchain4j.service.MemoryId} parameter or that stream their response, and can only be used in AI services
+ * that do not use any chat memory (see {@link RegisterAiService.NoChatMemoryProviderSupplier}).
+ * Cache hits are not added to the chat memory and do not execute any tools.
+ * <p>
+ * A cache hit returns the very instance that was returned to the invocation that populated the cache, so the results
+ * of such methods are shared between callers and must not be modified: prefer immutable result types like
+ * {@code String}, enums or records of immutable values.
+ * <p>
+ * The size of the cache and the expiration of its entries are configured using the
+ * {@code quarkus.langchain4j.response-cache} properties.
+ */
+@Retention(RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheAiResult {
+
+    /**
+     * When {@code true}, results are also returned for invocations whose user message is semantically similar
+     * (and whose system message is the same) to the user message of a previous invocation.
+     * <p>
+     * The user messages are embedded using the {@link dev.langchain4j.model.embedding.EmbeddingModel} bean and kept in
+     * the {@link dev.langchain4j.store.embedding.EmbeddingStore} bean qualified with {@link ResponseCacheStore}, or in
+     * memory when there is none, but never in the embedding store the application uses for RAG.
+     * This is only supported for methods returning {@code String} (or {@code Uni<String>}).
+     */
+    boolean semantic() default false;
+}
@@ -0,0 +1,22 @@
+package io.quarkiverse.langchain4j;
+
+import java.util.List;
+
+import dev.langchain4j.data.message.ChatMessage;
+
+/**
+ * Encodes chat messages to bytes and back, so that {@link dev.langchain4j.store.memory.chat.ChatMemoryStore}
+ * implementations do not need to care about the representation of the messages they store.
+ *
+ * @see BinaryChatMessageCodec
+ */
+public interface ChatMessageCodec {
+
+    byte[] encodeMessage(ChatMessage message);
+
+    ChatMessage decodeMessage(byte[] bytes);
+
+    byte[] encodeMessages(List<ChatMessage> messages);
+
+    List<ChatMessage> decodeMessages(byte[] bytes);
+}
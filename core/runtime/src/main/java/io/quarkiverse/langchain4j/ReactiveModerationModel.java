@@ -0,0 +1,24 @@
+package io.quarkiverse.langchain4j;
+
+import java.util.List;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import dev.langchain4j.model.output.Response;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * A {@link ModerationModel} that is also able to moderate messages without blocking the calling thread.
+ * <p>
+ * When the moderation model used by an AiService implements this interface, methods annotated with
+ * {@link dev.langchain4j.service.Moderate} use {@link #moderateAsync(List)} instead of occupying a worker thread
+ * while the moderation is performed.
+ */
+public interface ReactiveModerationModel extends ModerationModel {
+
+    /**
+     * Moderates the given messages, completing the returned {@link Uni} once the result is known
+     */
+    Uni<Response<Moderation>> moderateAsync(List<ChatMessage> messages);
+}
@@ -84,6 +84,7 @@ public @interface RegisterAiService {
      * {@code Supplier<ChatMemoryProvider>} configured in this property.
      * {@link Supplier<ChatMemoryProvider>} needs to be provided.
      * <p>
+     * If the AI service must not use any chat memory, {@link NoChatMemoryProviderSupplier} should be used.
      */
     Class<? extends Supplier<ChatMemoryProvider>> chatMemoryProviderSupplier() default BeanChatMemoryProviderSupplier.class;
 
@@ -139,6 +140,17 @@ public @interface RegisterAiService {
         }
     }
 
+    /**
+     * Marker class to indicate that no chat memory should be used
+     */
+    final class NoChatMemoryProviderSupplier implements Supplier<ChatMemoryProvider> {
+
+        @Override
+        public ChatMemoryProvider get() {
+            throw new UnsupportedOperationException("should never be called");
+        }
+    }
+
     /**
      * Marker class to indicate that no retriever should be used
      */
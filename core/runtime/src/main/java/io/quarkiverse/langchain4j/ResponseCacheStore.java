@@ -0,0 +1,36 @@
+package io.quarkiverse.langchain4j;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import jakarta.inject.Qualifier;
+
+/**
+ * Qualifies the {@code EmbeddingStore<TextSegment>} bean that keeps the user messages of the invocations cached by
+ * methods annotated with {@code @CacheAiResult(semantic = true)}.
+ * <p>
+ * The store must be dedicated to the cache: the entries it holds are not documents, so it must never be the store used
+ * to retrieve content for RAG. For example:
+ *
+ * <pre>
+ * &#64;Produces
+ * &#64;Singleton
+ * &#64;ResponseCacheStore
+ * EmbeddingStore&lt;TextSegment&gt; responseCacheStore() {
+ *     // a store with its own index, collection or table
+ *     return ...;
+ * }
+ * </pre>
+ *
+ * When no such bean exists, the entries are kept in memory.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RUNTIME)
+@Documented
+@Qualifier
+public @interface ResponseCacheStore {
+}
@@ -1,5 +1,7 @@
 package io.quarkiverse.langchain4j.audit;
 
+import java.util.List;
+
 /**
  * Allow applications to audit parts of the interactions with the LLM that interest them
  * <p>
@@ -18,4 +20,15 @@ public interface AuditService {
      * The {@param audit} parameter is meant to be built up by implementing its callbacks.
      */
     void complete(Audit audit);
+
+    /**
+     * Invoked instead of {@link #complete(Audit)} when audits are delivered asynchronously (see
+     * {@code quarkus.langchain4j.audit.async.enabled}), with the audits that were completed since the last call.
+     * Implementations writing to a database can override it to write all the audits at once.
+     */
+    default void completeAll(List<Audit> audits) {
+        for (Audit audit : audits) {
+            complete(audit);
+        }
+    }
 }
@@ -16,6 +16,7 @@ import jakarta.enterprise.util.TypeLiteral;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
 import dev.langchain4j.model.moderation.ModerationModel;
 import dev.langchain4j.retriever.Retriever;
 import io.quarkiverse.langchain4j.ModelName;
@@ -23,6 +24,8 @@ import io.quarkiverse.langchain4j.RegisterAiService;
 import io.quarkiverse.langchain4j.audit.AuditService;
 import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceClassCreateInfo;
 import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceMethodCreateInfo;
+import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryConfig;
+import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryEvictionListener;
 import io.quarkiverse.langchain4j.runtime.aiservice.DeclarativeAiServiceCreateInfo;
 import io.quarkiverse.langchain4j.runtime.aiservice.QuarkusAiServiceContext;
 import io.quarkus.arc.SyntheticCreationalContext;
@@ -35,6 +38,10 @@ public class AiServicesRecorder {
     };
     private static final TypeLiteral<Instance<AuditService>> AUDIT_SERVICE_TYPE_LITERAL = new TypeLiteral<>() {
     };
+    private static final TypeLiteral<Instance<StreamingChatLanguageModel>> STREAMING_CHAT_MODEL_TYPE_LITERAL = new TypeLiteral<>() {
+    };
+    private static final TypeLiteral<Instance<ChatMemoryEvictionListener>> CHAT_MEMORY_EVICTION_LISTENER_TYPE_LITERAL = new TypeLiteral<>() {
+    };
 
     // the key is the interface's class name
     private static final Map<String, AiServiceClassCreateInfo> metadata = new HashMap<>();
@@ -76,6 +83,10 @@ public class AiServicesRecorder {
                             .loadClass(info.getServiceClassName());
 
                     QuarkusAiServiceContext aiServiceContext = new QuarkusAiServiceContext(serviceClass);
+                    aiServiceContext.chatModelName = info.getChatModelName();
+                    aiServiceContext.chatModelProvider = info.getChatModelProvider();
+                    aiServiceContext.providerModelName = NamedModelUtil.chatModelName(info.getChatModelProvider(),
+                            info.getChatModelName());
                     // we don't really care about QuarkusAiServices here, all we care about is that it
                     // properly populates QuarkusAiServiceContext which is what we are trying to construct
                     var quarkusAiServices = INSTANCE.create(aiServiceContext);
@@ -95,6 +106,19 @@ public class AiServicesRecorder {
                         }
                     }
 
+                    if (info.getInjectStreamingChatModelBean()) {
+                        Instance<StreamingChatLanguageModel> instance;
+                        if (NamedModelUtil.isDefault(info.getChatModelName())) {
+                            instance = creationalContext.getInjectedReference(STREAMING_CHAT_MODEL_TYPE_LITERAL);
+                        } else {
+                            instance = creationalContext.getInjectedReference(STREAMING_CHAT_MODEL_TYPE_LITERAL,
+                                    ModelName.Literal.of(info.getChatModelName()));
+                        }
+                        if (instance.isResolvable()) {
+                            quarkusAiServices.streamingChatLanguageModel(instance.get());
+                        }
+                    }
+
                     List<String> toolsClasses = info.getToolsClassNames();
                     if ((toolsClasses != null) && !toolsClasses.isEmpty()) {
                         List<Object> tools = new ArrayList<>(toolsClasses.size());
@@ -118,6 +142,8 @@ public class AiServicesRecorder {
                                     .getConstructor().newInstance();
                             quarkusAiServices.chatMemoryProvider(supplier.get());
                         }
+                        aiServiceContext.limitChatMemories(creationalContext.getInjectedReference(ChatMemoryConfig.class),
+                                creationalContext.getInjectedReference(CHAT_MEMORY_EVICTION_LISTENER_TYPE_LITERAL));
                     }
 
                     if (info.getRetrieverClassName() != null) {
@@ -149,11 +175,11 @@ public class AiServicesRecorder {
                             quarkusAiServices.moderationModel(moderationModel);
                         } else {
                             @SuppressWarnings("rawtypes")
-                            Supplier<? extends AuditService> supplier = (Supplier<? extends AuditService>) Thread
+                            Supplier<? extends ModerationModel> supplier = (Supplier<? extends ModerationModel>) Thread
                                     .currentThread().getContextClassLoader()
                                     .loadClass(info.getModerationModelSupplierClassName())
                                     .getConstructor().newInstance();
-                            quarkusAiServices.auditService(supplier.get());
+                            quarkusAiServices.moderationModel(supplier.get());
                         }
                     }
 
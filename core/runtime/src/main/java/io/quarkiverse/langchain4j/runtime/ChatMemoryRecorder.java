@@ -5,54 +5,98 @@ import java.util.function.Function;
 import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
-import dev.langchain4j.memory.chat.TokenWindowChatMemory;
 import dev.langchain4j.model.Tokenizer;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceTracer;
 import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryConfig;
+import io.quarkiverse.langchain4j.runtime.aiservice.TracedChatMemoryStore;
+import io.quarkiverse.langchain4j.runtime.aiservice.WriteBehindChatMemoryStore;
 import io.quarkus.arc.SyntheticCreationalContext;
+import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
+import io.quarkus.runtime.configuration.ConfigurationException;
 
 @Recorder
 public class ChatMemoryRecorder {
 
-    public Function<SyntheticCreationalContext<ChatMemoryProvider>, ChatMemoryProvider> messageWindow(ChatMemoryConfig config) {
+    public void validateConfig(ChatMemoryConfig config) {
+        if (config.writeBehind().enabled() && (config.writeBehind().maxDelay().toMillis() <= 0)) {
+            throw new ConfigurationException("'quarkus.langchain4j.chat-memory.write-behind.max-delay' must be positive,"
+                    + " but was " + config.writeBehind().maxDelay());
+        }
+    }
+
+    public Function<SyntheticCreationalContext<ChatMemoryProvider>, ChatMemoryProvider> messageWindow(ChatMemoryConfig config,
+            boolean traced, ShutdownContext shutdownContext) {
         return new Function<>() {
             @Override
             public ChatMemoryProvider apply(SyntheticCreationalContext<ChatMemoryProvider> context) {
-                ChatMemoryStore chatMemoryStore = context.getInjectedReference(ChatMemoryStore.class);
+                ChatMemoryStore delegate = store(context, traced);
+                WriteBehindChatMemoryStore writeBehindStore = writeBehindStore(delegate, config, shutdownContext);
+                ChatMemoryStore chatMemoryStore = writeBehindStore != null ? writeBehindStore : delegate;
                 int maxMessages = config.memoryWindow().maxMessages();
                 return new ChatMemoryProvider() {
                     @Override
                     public ChatMemory get(Object memoryId) {
-                        return MessageWindowChatMemory.builder()
+                        ChatMemory chatMemory = MessageWindowChatMemory.builder()
                                 .maxMessages(maxMessages)
                                 .id(memoryId)
                                 .chatMemoryStore(chatMemoryStore)
                                 .build();
+                        return writeBehindStore != null ? writeBehindStore.flushable(chatMemory) : chatMemory;
                     }
                 };
             }
         };
     }
 
-    public Function<SyntheticCreationalContext<ChatMemoryProvider>, ChatMemoryProvider> tokenWindow(ChatMemoryConfig config) {
+    public Function<SyntheticCreationalContext<ChatMemoryProvider>, ChatMemoryProvider> tokenWindow(ChatMemoryConfig config,
+            boolean traced, ShutdownContext shutdownContext) {
         return new Function<>() {
             @Override
             public ChatMemoryProvider apply(SyntheticCreationalContext<ChatMemoryProvider> context) {
-                ChatMemoryStore chatMemoryStore = context.getInjectedReference(ChatMemoryStore.class);
+                ChatMemoryStore delegate = store(context, traced);
+                WriteBehindChatMemoryStore writeBehindStore = writeBehindStore(delegate, config, shutdownContext);
+                ChatMemoryStore chatMemoryStore = writeBehindStore != null ? writeBehindStore : delegate;
                 Tokenizer tokenizer = context.getInjectedReference(Tokenizer.class);
                 int maxTokens = config.tokenWindow().maxTokens();
+                MemoizedTokenWindowChatMemory.TokenCounter tokenCounter = new MemoizedTokenWindowChatMemory.TokenCounter(
+                        tokenizer);
                 return new ChatMemoryProvider() {
                     @Override
                     public ChatMemory get(Object memoryId) {
-                        return TokenWindowChatMemory.builder()
-                                .maxTokens(maxTokens, tokenizer)
-                                .id(memoryId)
-                                .chatMemoryStore(chatMemoryStore)
-                                .build();
+                        ChatMemory chatMemory = new MemoizedTokenWindowChatMemory(memoryId, maxTokens, tokenCounter,
+                                chatMemoryStore);
+                        return writeBehindStore != null ? writeBehindStore.flushable(chatMemory) : chatMemory;
                     }
                 };
             }
         };
     }
+
+    private static ChatMemoryStore store(SyntheticCreationalContext<ChatMemoryProvider> context, boolean traced) {
+        ChatMemoryStore chatMemoryStore = context.getInjectedReference(ChatMemoryStore.class);
+        if (!traced) {
+            return chatMemoryStore;
+        }
+        return new TracedChatMemoryStore(chatMemoryStore, context.getInjectedReference(AiServiceTracer.class));
+    }
+
+    /**
+     * @return {@code null} if the writes to the store are not buffered
+     */
+    private static WriteBehindChatMemoryStore writeBehindStore(ChatMemoryStore chatMemoryStore, ChatMemoryConfig config,
+            ShutdownContext shutdownContext) {
+        if (!config.writeBehind().enabled()) {
+            return null;
+        }
+        WriteBehindChatMemoryStore result = new WriteBehindChatMemoryStore(chatMemoryStore, config.writeBehind());
+        shutdownContext.addShutdownTask(new Runnable() {
+            @Override
+            public void run() {
+                result.flushAll();
+            }
+        });
+        return result;
+    }
 }
@@ -0,0 +1,47 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.util.TypeLiteral;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceTracer;
+import io.quarkiverse.langchain4j.runtime.aiservice.HttpStatusResolver;
+import io.quarkiverse.langchain4j.runtime.router.ChatModelRouter;
+import io.quarkiverse.langchain4j.runtime.router.ChatModelRouterConfig;
+import io.quarkus.arc.SyntheticCreationalContext;
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class ChatModelRouterRecorder {
+
+    private static final TypeLiteral<Instance<HttpStatusResolver>> HTTP_STATUS_RESOLVER_TYPE_LITERAL = new TypeLiteral<>() {
+    };
+
+    public Function<SyntheticCreationalContext<ChatLanguageModel>, ChatLanguageModel> router(ChatModelRouterConfig config,
+            String routerName, List<String> modelNames, boolean traced) {
+        return new Function<>() {
+            @Override
+            public ChatLanguageModel apply(SyntheticCreationalContext<ChatLanguageModel> context) {
+                Map<String, ChatLanguageModel> models = new LinkedHashMap<>();
+                for (String modelName : modelNames) {
+                    models.put(modelName, NamedModelUtil.isDefault(modelName)
+                            ? context.getInjectedReference(ChatLanguageModel.class)
+                            : context.getInjectedReference(ChatLanguageModel.class, ModelName.Literal.of(modelName)));
+                }
+                List<HttpStatusResolver> httpStatusResolvers = new ArrayList<>();
+                for (HttpStatusResolver resolver : context.getInjectedReference(HTTP_STATUS_RESOLVER_TYPE_LITERAL)) {
+                    httpStatusResolvers.add(resolver);
+                }
+                return new ChatModelRouter(routerName, models, config.routers().get(routerName),
+                        traced ? context.getInjectedReference(AiServiceTracer.class) : null, httpStatusResolvers);
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakerConfig;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakers;
+import io.quarkus.runtime.ShutdownContext;
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class CircuitBreakerRecorder {
+
+    public void configure(CircuitBreakerConfig config, ShutdownContext shutdown) {
+        CircuitBreakers.configure(config);
+        shutdown.addShutdownTask(new Runnable() {
+            @Override
+            public void run() {
+                CircuitBreakers.clear();
+            }
+        });
+    }
+}
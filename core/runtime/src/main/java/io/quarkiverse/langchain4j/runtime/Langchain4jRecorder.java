@@ -1,5 +1,6 @@
 package io.quarkiverse.langchain4j.runtime;
 
+import io.quarkiverse.langchain4j.runtime.tool.QuarkusToolExecutor;
 import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
 
@@ -13,6 +14,7 @@ public class Langchain4jRecorder {
                 StructuredPromptsRecorder.clearTemplates();
                 AiServicesRecorder.clearMetadata();
                 ToolsRecorder.clearMetadata();
+                QuarkusToolExecutor.clearResolvedInvokers();
             }
         });
     }
@@ -0,0 +1,156 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Behaves like {@link dev.langchain4j.memory.chat.TokenWindowChatMemory}, but only asks the {@link Tokenizer} for the
+ * token count of each message once, instead of estimating the tokens of the whole conversation every time the messages
+ * are read or a message is added.
+ * <p>
+ * This matters because some tokenizers (like the ones of hosted models) perform a remote call for every estimation.
+ * The counts are kept for the messages currently in the window only, so they never outlive the conversation.
+ */
+class MemoizedTokenWindowChatMemory implements ChatMemory {
+
+    private final Object id;
+    private final int maxTokens;
+    private final TokenCounter tokenCounter;
+    private final ChatMemoryStore store;
+
+    private Map<ChatMessage, Integer> tokenCounts = new HashMap<>();
+
+    MemoizedTokenWindowChatMemory(Object id, int maxTokens, TokenCounter tokenCounter, ChatMemoryStore store) {
+        this.id = id;
+        this.maxTokens = maxTokens;
+        this.tokenCounter = tokenCounter;
+        this.store = store;
+    }
+
+    @Override
+    public Object id() {
+        return id;
+    }
+
+    @Override
+    public synchronized void add(ChatMessage message) {
+        List<ChatMessage> messages = messages();
+        if (message instanceof SystemMessage) {
+            SystemMessage systemMessage = findSystemMessage(messages);
+            if (systemMessage != null) {
+                if (systemMessage.equals(message)) {
+                    return; // do not add the same system message
+                }
+                messages.remove(systemMessage); // need to replace the existing system message
+            }
+        }
+        messages.add(message);
+        ensureCapacity(messages);
+        store.updateMessages(id, messages);
+    }
+
+    @Override
+    public synchronized List<ChatMessage> messages() {
+        List<ChatMessage> messages = new LinkedList<>(store.getMessages(id));
+        ensureCapacity(messages);
+        return messages;
+    }
+
+    @Override
+    public synchronized void clear() {
+        store.deleteMessages(id);
+        tokenCounts = new HashMap<>();
+    }
+
+    private void ensureCapacity(List<ChatMessage> messages) {
+        Map<ChatMessage, Integer> currentTokenCounts = new HashMap<>();
+        int currentTokenCount = 0;
+        for (ChatMessage message : messages) {
+            currentTokenCount += tokenCount(message, currentTokenCounts);
+        }
+        if (!messages.isEmpty()) {
+            currentTokenCount += tokenCounter.messagesOverhead(messages.get(0), currentTokenCounts.get(messages.get(0)));
+        }
+
+        while (currentTokenCount > maxTokens && !messages.isEmpty()) {
+            int messageToEvictIndex = 0;
+            if (messages.get(0) instanceof SystemMessage) {
+                messageToEvictIndex = 1;
+            }
+            if (messageToEvictIndex >= messages.size()) {
+                break;
+            }
+            ChatMessage evictedMessage = messages.remove(messageToEvictIndex);
+            currentTokenCount -= currentTokenCounts.get(evictedMessage);
+
+            if (evictedMessage instanceof AiMessage && ((AiMessage) evictedMessage).hasToolExecutionRequests()) {
+                // the results of the requested tools make no sense without the request
+                while (messages.size() > messageToEvictIndex
+                        && messages.get(messageToEvictIndex) instanceof ToolExecutionResultMessage) {
+                    currentTokenCount -= currentTokenCounts.get(messages.remove(messageToEvictIndex));
+                }
+            }
+        }
+
+        // only keep the counts of the messages that are still part of the window
+        Map<ChatMessage, Integer> retained = new HashMap<>();
+        for (ChatMessage message : messages) {
+            retained.put(message, currentTokenCounts.get(message));
+        }
+        tokenCounts = retained;
+    }
+
+    private int tokenCount(ChatMessage message, Map<ChatMessage, Integer> currentTokenCounts) {
+        Integer count = currentTokenCounts.get(message);
+        if (count == null) {
+            count = tokenCounts.get(message);
+            if (count == null) {
+                count = tokenCounter.tokenizer.estimateTokenCountInMessage(message);
+            }
+            currentTokenCounts.put(message, count);
+        }
+        return count;
+    }
+
+    private static SystemMessage findSystemMessage(List<ChatMessage> messages) {
+        for (ChatMessage message : messages) {
+            if (message instanceof SystemMessage) {
+                return (SystemMessage) message;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Shared by all the memories created by a provider, so the number of tokens a {@link Tokenizer} adds on top of the
+     * tokens of the messages themselves is only determined once
+     */
+    static class TokenCounter {
+
+        private final Tokenizer tokenizer;
+        private volatile Integer messagesOverhead;
+
+        TokenCounter(Tokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        int messagesOverhead(ChatMessage message, int tokenCountOfMessage) {
+            Integer result = messagesOverhead;
+            if (result == null) {
+                result = Math.max(0, tokenizer.estimateTokenCountInMessages(List.of(message)) - tokenCountOfMessage);
+                messagesOverhead = result;
+            }
+            return result;
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package io.quarkiverse.langchain4j.runtime;
 
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
 public class NamedModelUtil {
 
     public static final String DEFAULT_NAME = "<default>";
@@ -7,4 +12,30 @@ public class NamedModelUtil {
     public static boolean isDefault(String modelName) {
         return DEFAULT_NAME.equals(modelName);
     }
+
+    /**
+     * Looks up the model requested by a chat model configuration, which the providers configure with
+     * {@code quarkus.langchain4j.<provider>[.<name>].chat-model.model-name} or {@code model-id}
+     *
+     * @return the configured model, or {@code modelName} when the provider does not configure it that way
+     */
+    public static String chatModelName(String provider, String modelName) {
+        if (provider == null) {
+            return modelName;
+        }
+        Config config = ConfigProvider.getConfig();
+        String prefix = "quarkus.langchain4j." + provider + ".";
+        String[] configPrefixes = isDefault(modelName)
+                ? new String[] { prefix + "chat-model." }
+                : new String[] { prefix + modelName + ".chat-model.", prefix + "\"" + modelName + "\".chat-model." };
+        for (String configPrefix : configPrefixes) {
+            for (String property : new String[] { "model-name", "model-id" }) {
+                Optional<String> value = config.getOptionalValue(configPrefix + property, String.class);
+                if (value.isPresent()) {
+                    return value.get();
+                }
+            }
+        }
+        return modelName;
+    }
 }
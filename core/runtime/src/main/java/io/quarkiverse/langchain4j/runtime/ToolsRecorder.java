@@ -2,10 +2,14 @@ package io.quarkiverse.langchain4j.runtime;
 
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.concurrent.ConcurrentHashMap;
 
+import io.quarkiverse.langchain4j.runtime.aiservice.ToolsConfig;
+import io.quarkiverse.langchain4j.runtime.tool.QuarkusToolExecutor;
 import io.quarkiverse.langchain4j.runtime.tool.ToolMethodCreateInfo;
 import io.quarkus.runtime.annotations.Recorder;
+import io.quarkus.runtime.configuration.ConfigurationException;
 
 @Recorder
 public class ToolsRecorder {
@@ -17,6 +21,25 @@ public class ToolsRecorder {
         ToolsRecorder.metadata.putAll(metadata);
     }
 
+    /**
+     * The executors of the tools are created lazily, so the configuration is validated when the application starts
+     */
+    public void validateConfig(ToolsConfig config) {
+        validateMaxResultLength("quarkus.langchain4j.tools.max-result-length", config.maxResultLength());
+        for (Map.Entry<String, ToolsConfig.ToolConfig> entry : config.tool().entrySet()) {
+            validateMaxResultLength("quarkus.langchain4j.tools.tool.\"" + entry.getKey() + "\".max-result-length",
+                    entry.getValue().maxResultLength());
+        }
+    }
+
+    private static void validateMaxResultLength(String property, OptionalInt maxResultLength) {
+        if (maxResultLength.isPresent() && (maxResultLength.getAsInt() != QuarkusToolExecutor.UNLIMITED_RESULT_LENGTH)
+                && (maxResultLength.getAsInt() <= 0)) {
+            throw new ConfigurationException("'" + property + "' must be positive or "
+                    + QuarkusToolExecutor.UNLIMITED_RESULT_LENGTH + ", but was " + maxResultLength.getAsInt());
+        }
+    }
+
     public static Map<String, List<ToolMethodCreateInfo>> getMetadata() {
         return metadata;
     }
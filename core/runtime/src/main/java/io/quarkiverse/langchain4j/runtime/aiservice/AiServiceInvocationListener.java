@@ -0,0 +1,53 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.Response;
+
+/**
+ * Beans implementing this interface are notified about the interactions with the model and the tools that happen
+ * while AiService methods are invoked.
+ * <p>
+ * Methods returning {@link dev.langchain4j.service.TokenStream} are not covered, as the interactions are performed by
+ * LangChain4j itself in that case.
+ */
+public interface AiServiceInvocationListener {
+
+    /**
+     * Invoked with each response of the model, including the ones that request the execution of tools
+     *
+     * @param modelName the model configured for the provider of the AiService (its {@code chat-model.model-name}),
+     *        or the name of the model configuration when the provider does not configure one
+     */
+    default void onModelResponse(AiServiceMethodCreateInfo createInfo, String modelName, Response<AiMessage> response) {
+    }
+
+    /**
+     * Invoked when a streamed response produces its first token
+     *
+     * @param nanos the time elapsed since the request was sent to the model
+     */
+    default void onFirstToken(AiServiceMethodCreateInfo createInfo, String modelName, long nanos) {
+    }
+
+    /**
+     * Invoked when the model could not produce a response
+     */
+    default void onModelFailure(AiServiceMethodCreateInfo createInfo, String modelName, Throwable failure) {
+    }
+
+    /**
+     * Invoked after each execution of a tool requested by the model
+     *
+     * @param failure the reason why the tool failed, {@code null} if it succeeded
+     */
+    default void onToolExecution(AiServiceMethodCreateInfo createInfo, String toolName, long nanos, Throwable failure) {
+    }
+
+    /**
+     * Invoked once the model produced its final response
+     *
+     * @param toolIterations the number of times the model requested the execution of tools before its final response
+     */
+    default void onCompletion(AiServiceMethodCreateInfo createInfo, String modelName, int toolIterations) {
+    }
+}
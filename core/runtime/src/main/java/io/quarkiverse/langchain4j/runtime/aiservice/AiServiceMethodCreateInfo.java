@@ -3,6 +3,7 @@ package io.quarkiverse.langchain4j.runtime.aiservice;
 import java.util.Map;
 import java.util.Optional;
 
+import dev.langchain4j.model.input.PromptTemplate;
 import io.quarkus.runtime.annotations.RecordableConstructor;
 
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
@@ -16,7 +17,10 @@ public class AiServiceMethodCreateInfo {
     private final Optional<Integer> memoryIdParamPosition;
 
     private final boolean requiresModeration;
+    private final Optional<CacheResultInfo> cacheResultInfo;
     private final Class<?> returnType;
+    // the type the LLM response is parsed into - this only differs from returnType for Uni and Multi methods
+    private final Class<?> resultType;
 
     private final Optional<MetricsTimedInfo> metricsTimedInfo;
     private final Optional<MetricsCountedInfo> metricsCountedInfo;
@@ -26,7 +30,8 @@ public class AiServiceMethodCreateInfo {
     public AiServiceMethodCreateInfo(String interfaceName, String methodName,
             Optional<TemplateInfo> systemMessageInfo, UserMessageInfo userMessageInfo,
             Optional<Integer> memoryIdParamPosition,
-            boolean requiresModeration, Class<?> returnType,
+            boolean requiresModeration, Optional<CacheResultInfo> cacheResultInfo,
+            Class<?> returnType, Class<?> resultType,
             Optional<MetricsTimedInfo> metricsTimedInfo,
             Optional<MetricsCountedInfo> metricsCountedInfo,
             Optional<SpanInfo> spanInfo) {
@@ -36,7 +41,9 @@ public class AiServiceMethodCreateInfo {
         this.userMessageInfo = userMessageInfo;
         this.memoryIdParamPosition = memoryIdParamPosition;
         this.requiresModeration = requiresModeration;
+        this.cacheResultInfo = cacheResultInfo;
         this.returnType = returnType;
+        this.resultType = resultType;
         this.metricsTimedInfo = metricsTimedInfo;
         this.metricsCountedInfo = metricsCountedInfo;
         this.spanInfo = spanInfo;
@@ -66,10 +73,18 @@ public class AiServiceMethodCreateInfo {
         return requiresModeration;
     }
 
+    public Optional<CacheResultInfo> getCacheResultInfo() {
+        return cacheResultInfo;
+    }
+
     public Class<?> getReturnType() {
         return returnType;
     }
 
+    public Class<?> getResultType() {
+        return resultType;
+    }
+
     public Optional<MetricsTimedInfo> getMetricsTimedInfo() {
         return metricsTimedInfo;
     }
@@ -131,6 +146,9 @@ public class AiServiceMethodCreateInfo {
         private final String text;
         private final Map<String, Integer> nameToParamPosition;
 
+        // the template can only be parsed once the Qute Engine is available, so we can't do it at static init
+        private volatile PromptTemplate promptTemplate;
+
         @RecordableConstructor
         public TemplateInfo(String text, Map<String, Integer> nameToParamPosition) {
             this.text = text;
@@ -144,6 +162,24 @@ public class AiServiceMethodCreateInfo {
         public Map<String, Integer> getNameToParamPosition() {
             return nameToParamPosition;
         }
+
+        /**
+         * Returns the parsed template which is created on first use and then reused for every subsequent invocation.
+         * This is intentionally not a getter as we don't want the recorder to pick it up.
+         */
+        PromptTemplate promptTemplate() {
+            PromptTemplate result = promptTemplate;
+            if (result == null) {
+                synchronized (this) {
+                    result = promptTemplate;
+                    if (result == null) {
+                        result = PromptTemplate.from(text);
+                        promptTemplate = result;
+                    }
+                }
+            }
+            return result;
+        }
     }
 
     public static class MetricsTimedInfo {
@@ -307,4 +343,17 @@ public class AiServiceMethodCreateInfo {
             return name;
         }
     }
+
+    public static class CacheResultInfo {
+        private final boolean semantic;
+
+        @RecordableConstructor
+        public CacheResultInfo(boolean semantic) {
+            this.semantic = semantic;
+        }
+
+        public boolean isSemantic() {
+            return semantic;
+        }
+    }
 }
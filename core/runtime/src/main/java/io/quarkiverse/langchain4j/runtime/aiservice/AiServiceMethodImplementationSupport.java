@@ -13,10 +13,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.jboss.logging.Logger;
 
@@ -29,18 +31,22 @@ import dev.langchain4j.data.message.ToolExecutionResultMessage;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.model.input.Prompt;
-import dev.langchain4j.model.input.PromptTemplate;
 import dev.langchain4j.model.input.structured.StructuredPrompt;
 import dev.langchain4j.model.input.structured.StructuredPromptProcessor;
 import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
 import dev.langchain4j.model.output.Response;
 import dev.langchain4j.model.output.TokenUsage;
 import dev.langchain4j.rag.query.Metadata;
 import dev.langchain4j.service.AiServiceContext;
 import dev.langchain4j.service.AiServiceTokenStream;
 import dev.langchain4j.service.TokenStream;
+import io.quarkiverse.langchain4j.ReactiveModerationModel;
 import io.quarkiverse.langchain4j.audit.Audit;
 import io.quarkiverse.langchain4j.audit.AuditService;
+import io.quarkus.arc.ClientProxy;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
 
 /**
@@ -50,7 +56,34 @@ public class AiServiceMethodImplementationSupport {
 
     private static final Logger log = Logger.getLogger(AiServiceMethodImplementationSupport.class);
 
-    private static final int MAX_SEQUENTIAL_TOOL_EXECUTIONS = 10;
+    static final int MAX_SEQUENTIAL_TOOL_EXECUTIONS = 10;
+
+    private final ToolExecutionDispatcher toolExecutionDispatcher;
+    private final ChatRequestCoalescer chatRequestCoalescer;
+    private final AuditDispatcher auditDispatcher;
+    private final List<AiServiceInvocationListener> invocationListeners;
+    private final AiServiceTracer tracer;
+
+    public AiServiceMethodImplementationSupport() {
+        this.toolExecutionDispatcher = ToolExecutionDispatcher.SERIAL;
+        this.chatRequestCoalescer = ChatRequestCoalescer.DISABLED;
+        this.auditDispatcher = null;
+        this.invocationListeners = List.of();
+        this.tracer = null;
+    }
+
+    /**
+     * @param tracer {@code null} when tracing is not enabled
+     */
+    public AiServiceMethodImplementationSupport(ToolsConfig toolsConfig, RequestCoalescingConfig requestCoalescingConfig,
+            AuditDispatcher auditDispatcher, List<AiServiceInvocationListener> invocationListeners,
+            AiServiceTracer tracer) {
+        this.toolExecutionDispatcher = ToolExecutionDispatcher.from(toolsConfig);
+        this.chatRequestCoalescer = ChatRequestCoalescer.from(requestCoalescingConfig);
+        this.auditDispatcher = auditDispatcher;
+        this.invocationListeners = invocationListeners;
+        this.tracer = tracer;
+    }
 
     /**
      * This method is called by the implementations of each ai service method.
@@ -63,80 +96,80 @@ public class AiServiceMethodImplementationSupport {
         AuditService auditService = context.auditService;
         Audit audit = null;
         if (auditService != null) {
-            audit = auditService.create(new Audit.CreateInfo(createInfo.getInterfaceName(), createInfo.getMethodName(),
+            audit = createAudit(auditService, new Audit.CreateInfo(createInfo.getInterfaceName(), createInfo.getMethodName(),
                     methodArgs, createInfo.getMemoryIdParamPosition()));
         }
 
         // TODO: add validation
         try {
-            var result = doImplement(createInfo, methodArgs, context, audit);
+            var result = flushChatMemoryOnTermination(doImplement(input, audit), input);
             if (audit != null) {
+                if (result instanceof Uni<?>) {
+                    return completeAuditOnTermination((Uni<?>) result, createInfo, audit, auditService,
+                            auditDispatcher);
+                }
+                if (result instanceof Multi<?>) {
+                    return completeAuditOnTermination((Multi<?>) result, createInfo, audit, auditService,
+                            auditDispatcher);
+                }
                 audit.onCompletion(result);
-                auditService.complete(audit);
+                completeAudit(auditService, audit, auditDispatcher);
             }
             return result;
         } catch (Exception e) {
+            try {
+                flushChatMemory(input);
+            } catch (RuntimeException flushFailure) {
+                e.addSuppressed(flushFailure);
+            }
             log.errorv(e, "Execution of {0}#{1} failed", createInfo.getInterfaceName(), createInfo.getMethodName());
             if (audit != null) {
                 audit.onFailure(e);
-                auditService.complete(audit);
+                completeAudit(auditService, audit, auditDispatcher);
             }
             throw e;
         }
     }
 
-    private static Object doImplement(AiServiceMethodCreateInfo createInfo, Object[] methodArgs,
-            QuarkusAiServiceContext context, Audit audit) {
-        Optional<SystemMessage> systemMessage = prepareSystemMessage(createInfo, methodArgs);
-        UserMessage userMessage = prepareUserMessage(context, createInfo, methodArgs);
-
-        if (audit != null) {
-            audit.initialMessages(systemMessage, userMessage);
-        }
-
-        Object memoryId = memoryId(createInfo, methodArgs).orElse("default");
-
-        if (context.retrievalAugmentor != null) { // TODO extract method/class
-            List<ChatMessage> chatMemory = context.hasChatMemory()
-                    ? context.chatMemory(memoryId).messages()
-                    : null;
-            Metadata metadata = Metadata.from(userMessage, memoryId, chatMemory);
-            userMessage = context.retrievalAugmentor.augment(userMessage, metadata);
+    private Object doImplement(Input input, Audit audit) {
+        QuarkusAiServiceContext context = input.context;
+        AiServiceMethodCreateInfo createInfo = input.createInfo;
+        Class<?> returnType = createInfo.getReturnType();
+        if (returnType.equals(Uni.class)) {
+            // nothing happens until the result is subscribed to, and the chat memory and the retrieval augmentor,
+            // which are free to block, are never used from an event loop thread
+            return Uni.createFrom().deferred(new Supplier<Uni<?>>() {
+                @Override
+                public Uni<?> get() {
+                    return reactiveExecution(input, audit).result();
+                }
+            }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
         }
-
-        // TODO give user ability to provide custom OutputParser
-        String outputFormatInstructions = createInfo.getUserMessageInfo().getOutputFormatInstructions();
-        userMessage = UserMessage.from(userMessage.text() + outputFormatInstructions);
-
-        if (context.hasChatMemory()) {
-            ChatMemory chatMemory = context.chatMemory(memoryId);
-            if (systemMessage.isPresent()) {
-                chatMemory.add(systemMessage.get());
-            }
-            chatMemory.add(userMessage);
+        if (returnType.equals(Multi.class)) {
+            return Multi.createFrom().deferred(new Supplier<Multi<?>>() {
+                @Override
+                public Multi<?> get() {
+                    return reactiveExecution(input, audit).tokens();
+                }
+            }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
         }
 
-        List<ChatMessage> messages;
-        if (context.hasChatMemory()) {
-            messages = context.chatMemory(memoryId).messages();
-        } else {
-            messages = new ArrayList<>();
-            systemMessage.ifPresent(messages::add);
-            messages.add(userMessage);
-        }
+        PreparedInvocation invocation = prepare(input, audit, isBlocking(returnType));
+        Object memoryId = invocation.memoryId;
+        InvocationInstrumentation instrumentation = invocation.instrumentation;
+        List<ChatMessage> messages = invocation.messages;
+        CompletableFuture<Moderation> inputModeration = invocation.inputModeration;
 
-        Class<?> returnType = createInfo.getReturnType();
         if (returnType.equals(TokenStream.class)) {
             return new AiServiceTokenStream(messages, context, memoryId);
         }
 
-        Future<Moderation> moderationFuture = triggerModerationIfNeeded(context, createInfo, messages);
+        Future<Moderation> moderationFuture = inputModeration != null
+                ? rememberModerated(context, memoryId, removeToolMessages(messages),
+                        Uni.createFrom().completionStage(inputModeration)).subscribeAsCompletionStage()
+                : null;
 
-        log.debug("Attempting to obtain AI response");
-        Response<AiMessage> response = context.toolSpecifications == null
-                ? context.chatModel.generate(messages)
-                : context.chatModel.generate(messages, context.toolSpecifications);
-        log.debug("AI response obtained");
+        Response<AiMessage> response = generate(context, messages, instrumentation);
         if (audit != null) {
             audit.addLLMToApplicationMessage(response);
         }
@@ -145,6 +178,7 @@ public class AiServiceMethodImplementationSupport {
         verifyModerationIfNeeded(moderationFuture);
 
         int executionsLeft = MAX_SEQUENTIAL_TOOL_EXECUTIONS;
+        int toolIterations = 0;
         while (true) {
 
             if (executionsLeft-- == 0) {
@@ -164,26 +198,13 @@ public class AiServiceMethodImplementationSupport {
 
             ChatMemory chatMemory = context.chatMemory(memoryId);
 
-            for (ToolExecutionRequest toolExecutionRequest : aiMessage.toolExecutionRequests()) {
-                log.debugv("Attempting to execute tool {0}", toolExecutionRequest);
-                ToolExecutor toolExecutor = context.toolExecutors.get(toolExecutionRequest.name());
-                if (toolExecutor == null) {
-                    throw runtime("Tool executor %s not found", toolExecutionRequest.name());
-                }
-                String toolExecutionResult = toolExecutor.execute(toolExecutionRequest, memoryId);
-                log.debugv("Result of {0} is '{1}'", toolExecutionRequest, toolExecutionResult);
-                ToolExecutionResultMessage toolExecutionResultMessage = ToolExecutionResultMessage.from(
-                        toolExecutionRequest,
-                        toolExecutionResult);
-                if (audit != null) {
-                    audit.addApplicationToLLMMessage(toolExecutionResultMessage);
-                }
+            toolIterations++;
+            for (ToolExecutionResultMessage toolExecutionResultMessage : toolExecutionDispatcher.execute(context,
+                    aiMessage.toolExecutionRequests(), memoryId, audit, instrumentation)) {
                 chatMemory.add(toolExecutionResultMessage);
             }
 
-            log.debug("Attempting to obtain AI response");
-            response = context.chatModel.generate(chatMemory.messages(), context.toolSpecifications);
-            log.debug("AI response obtained");
+            response = generate(context, chatMemory.messages(), instrumentation);
 
             if (audit != null) {
                 audit.addLLMToApplicationMessage(response);
@@ -192,35 +213,326 @@ public class AiServiceMethodImplementationSupport {
             tokenUsageAccumulator = tokenUsageAccumulator.add(response.tokenUsage());
         }
 
+        instrumentation.completion(toolIterations);
         response = Response.from(response.content(), tokenUsageAccumulator, response.finishReason());
         return parse(response, returnType);
     }
 
-    private static Future<Moderation> triggerModerationIfNeeded(AiServiceContext context,
-            AiServiceMethodCreateInfo createInfo,
-            List<ChatMessage> messages) {
-        Future<Moderation> moderationFuture = null;
-        if (createInfo.isRequiresModeration()) {
+    private ReactiveAiServiceMethodExecution reactiveExecution(Input input, Audit audit) {
+        PreparedInvocation invocation = prepare(input, audit, false);
+        return new ReactiveAiServiceMethodExecution(input.context, input.createInfo, invocation.memoryId,
+                invocation.messages, audit, toolExecutionDispatcher, invocation.instrumentation);
+    }
+
+    /**
+     * Builds the messages sent to the LLM, augmenting the user message and adding it to the chat memory
+     *
+     * @param moderateInput whether the moderation of the augmented conversation is started before the user message is
+     *        added to the chat memory
+     */
+    private PreparedInvocation prepare(Input input, Audit audit, boolean moderateInput) {
+        QuarkusAiServiceContext context = input.context;
+        AiServiceMethodCreateInfo createInfo = input.createInfo;
+        Object[] methodArgs = input.methodArgs;
+        Optional<SystemMessage> systemMessage = input.systemMessage();
+        UserMessage userMessage = input.userMessage();
+
+        if (audit != null) {
+            audit.initialMessages(systemMessage, userMessage);
+        }
+
+        Object memoryId = memoryId(createInfo, methodArgs).orElse("default");
+        InvocationInstrumentation instrumentation = new InvocationInstrumentation(createInfo, context,
+                invocationListeners, tracer);
+
+        ChatMemory memory = null;
+        List<ChatMessage> chatMemory = null;
+        if (context.hasChatMemory()) {
+            memory = context.chatMemory(memoryId);
+            input.chatMemory = memory;
+            if ((context.retrievalAugmentor != null) || (createInfo.isRequiresModeration() && moderateInput)) {
+                chatMemory = memory.messages();
+            }
+        }
+
+        if (context.retrievalAugmentor != null) { // TODO extract method/class
+            Metadata metadata = Metadata.from(userMessage, memoryId, chatMemory);
+            AiServiceTracer.Span span = instrumentation.startRetrieval();
+            try (AiServiceTracer.Scope ignored = span.makeCurrent()) {
+                userMessage = context.retrievalAugmentor.augment(userMessage, metadata);
+            } catch (RuntimeException e) {
+                span.end(e);
+                throw e;
+            }
+            span.end(null);
+        }
+
+        // TODO give user ability to provide custom OutputParser
+        String outputFormatInstructions = createInfo.getUserMessageInfo().getOutputFormatInstructions();
+        userMessage = UserMessage.from(userMessage.text() + outputFormatInstructions);
+
+        CompletableFuture<Moderation> inputModeration = null;
+        if (createInfo.isRequiresModeration() && moderateInput) {
+            // a single moderation covers what the user sent and the retrieved content, and does not need to wait for
+            // the chat memory to write the new messages to its store
             log.debug("Moderation is required and it will be executed in the background");
+            inputModeration = instrumentation.traceModeration(moderateConversation(context, memoryId,
+                    inputConversation(chatMemory, systemMessage, userMessage))).subscribeAsCompletionStage();
+        }
 
-            // TODO: don't occupy a worker thread for this and instead use the reactive API provided by the client
+        if (memory != null) {
+            if (systemMessage.isPresent()) {
+                memory.add(systemMessage.get());
+            }
+            memory.add(userMessage);
+        }
 
-            ExecutorService defaultExecutor = (ExecutorService) Infrastructure.getDefaultExecutor();
-            moderationFuture = defaultExecutor.submit(new Callable<>() {
+        List<ChatMessage> messages;
+        if (memory != null) {
+            messages = memory.messages();
+        } else {
+            messages = new ArrayList<>();
+            systemMessage.ifPresent(messages::add);
+            messages.add(userMessage);
+        }
+
+        return new PreparedInvocation(memoryId, instrumentation, messages, inputModeration);
+    }
+
+    private Response<AiMessage> generate(QuarkusAiServiceContext context, List<ChatMessage> messages,
+            InvocationInstrumentation instrumentation) {
+        log.debug("Attempting to obtain AI response");
+        Response<AiMessage> response;
+        AiServiceTracer.Span span = instrumentation.startModelCall();
+        try (AiServiceTracer.Scope ignored = span.makeCurrent()) {
+            response = chatRequestCoalescer.generate(context.chatModel, messages, context.toolSpecifications);
+        } catch (RuntimeException e) {
+            span.end(e);
+            instrumentation.modelFailure(e);
+            throw e;
+        }
+        log.debug("AI response obtained");
+        span.modelResponse(response);
+        span.end(null);
+        instrumentation.modelResponse(response);
+        return response;
+    }
+
+    static ToolExecutionResultMessage executeTool(QuarkusAiServiceContext context, ToolExecutionRequest toolExecutionRequest,
+            Object memoryId) {
+        log.debugv("Attempting to execute tool {0}", toolExecutionRequest);
+        ToolExecutor toolExecutor = context.toolExecutors.get(toolExecutionRequest.name());
+        if (toolExecutor == null) {
+            throw runtime("Tool executor %s not found", toolExecutionRequest.name());
+        }
+        String toolExecutionResult = toolExecutor.execute(toolExecutionRequest, memoryId);
+        log.debugv("Result of {0} is '{1}'", toolExecutionRequest, toolExecutionResult);
+        return ToolExecutionResultMessage.from(toolExecutionRequest, toolExecutionResult);
+    }
+
+    /**
+     * When the writes to the chat memory store are buffered (see {@link WriteBehindChatMemoryStore}), the messages added
+     * during the invocation are written once the invocation is over. The messages of a {@link TokenStream} are written
+     * after the maximum delay of the store.
+     * <p>
+     * Reactive methods can terminate on an event loop thread, so their writes are performed on a worker thread, before
+     * the termination is propagated.
+     */
+    private static Object flushChatMemoryOnTermination(Object result, Input input) {
+        Supplier<Uni<?>> flush = new Supplier<Uni<?>>() {
+            @Override
+            public Uni<?> get() {
+                return Uni.createFrom().item(new Supplier<Void>() {
+                    @Override
+                    public Void get() {
+                        flushChatMemory(input);
+                        return null;
+                    }
+                }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+            }
+        };
+        if (result instanceof Uni<?>) {
+            return ((Uni<?>) result).onTermination().call(flush);
+        }
+        if (result instanceof Multi<?>) {
+            return ((Multi<?>) result).onTermination().call(flush);
+        }
+        if (!(result instanceof TokenStream)) {
+            flushChatMemory(input);
+        }
+        return result;
+    }
+
+    /**
+     * The memory used by the invocation is flushed even if it was evicted in the meantime, as its updates are still
+     * buffered
+     */
+    private static void flushChatMemory(Input input) {
+        ChatMemory chatMemory = input.chatMemory;
+        if (chatMemory != null) {
+            WriteBehindChatMemoryStore.flush(chatMemory);
+        }
+    }
+
+    /**
+     * The result of reactive methods is only known once the returned {@link Uni} completes, so the audit can't be
+     * completed when the method returns
+     */
+    private static Uni<?> completeAuditOnTermination(Uni<?> uni, AiServiceMethodCreateInfo createInfo, Audit audit,
+            AuditService auditService, AuditDispatcher auditDispatcher) {
+        return uni.onItemOrFailure().invoke(new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(Object result, Throwable failure) {
+                if (failure == null) {
+                    audit.onCompletion(result);
+                } else {
+                    log.errorv(failure, "Execution of {0}#{1} failed", createInfo.getInterfaceName(),
+                            createInfo.getMethodName());
+                    audit.onFailure(toException(failure));
+                }
+                completeAudit(auditService, audit, auditDispatcher);
+            }
+        });
+    }
+
+    /**
+     * The audit of streamed methods is completed with the entire text that was streamed
+     */
+    private static Multi<?> completeAuditOnTermination(Multi<?> multi, AiServiceMethodCreateInfo createInfo, Audit audit,
+            AuditService auditService, AuditDispatcher auditDispatcher) {
+        // items are never emitted concurrently, so there is no need to synchronize
+        StringBuilder text = new StringBuilder();
+        return multi.onItem().invoke(new Consumer<Object>() {
+            @Override
+            public void accept(Object token) {
+                text.append(token);
+            }
+        }).onCompletion().invoke(new Runnable() {
+            @Override
+            public void run() {
+                audit.onCompletion(text.toString());
+                completeAudit(auditService, audit, auditDispatcher);
+            }
+        }).onFailure().invoke(new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable failure) {
+                log.errorv(failure, "Execution of {0}#{1} failed", createInfo.getInterfaceName(),
+                        createInfo.getMethodName());
+                audit.onFailure(toException(failure));
+                completeAudit(auditService, audit, auditDispatcher);
+            }
+        });
+    }
+
+    private Audit createAudit(AuditService auditService, Audit.CreateInfo createInfo) {
+        if (auditDispatcher == null) {
+            return auditService.create(createInfo);
+        }
+        return auditDispatcher.create(auditService, createInfo);
+    }
+
+    private static void completeAudit(AuditService auditService, Audit audit, AuditDispatcher auditDispatcher) {
+        if (auditDispatcher == null) {
+            auditService.complete(audit);
+        } else {
+            auditDispatcher.complete(auditService, audit);
+        }
+    }
+
+    private static Exception toException(Throwable failure) {
+        return failure instanceof Exception ? (Exception) failure : new RuntimeException(failure);
+    }
+
+    /**
+     * Moderation is performed using the non-blocking API of the model when it provides one,
+     * otherwise the blocking call is offloaded to a worker thread.
+     * <p>
+     * When chat memory is used, the messages of the conversation that already passed moderation are not sent again,
+     * so only the messages added since the previous moderation are moderated.
+     */
+    static Uni<Moderation> moderate(QuarkusAiServiceContext context, Object memoryId, List<ChatMessage> messages) {
+        List<ChatMessage> conversation = removeToolMessages(messages);
+        return rememberModerated(context, memoryId, conversation, moderateConversation(context, memoryId, conversation));
+    }
+
+    private static Uni<Moderation> moderateConversation(QuarkusAiServiceContext context, Object memoryId,
+            List<ChatMessage> conversation) {
+        List<ChatMessage> messagesToModerate = context.hasChatMemory()
+                ? context.moderatedMessages.pending(memoryId, conversation)
+                : conversation;
+        if (messagesToModerate.isEmpty()) {
+            log.debug("All messages have already been moderated");
+            return Uni.createFrom().item(Moderation.notFlagged());
+        }
+
+        Uni<Moderation> moderation;
+        ModerationModel moderationModel = ClientProxy.unwrap(context.moderationModel);
+        if (moderationModel instanceof ReactiveModerationModel) {
+            moderation = ((ReactiveModerationModel) moderationModel).moderateAsync(messagesToModerate)
+                    .map(new Function<Response<Moderation>, Moderation>() {
+                        @Override
+                        public Moderation apply(Response<Moderation> response) {
+                            log.debug("Moderation completed");
+                            return response.content();
+                        }
+                    });
+        } else {
+            moderation = Uni.createFrom().item(new Supplier<Moderation>() {
                 @Override
-                public Moderation call() {
-                    List<ChatMessage> messagesToModerate = removeToolMessages(messages);
+                public Moderation get() {
                     log.debug("Attempting to moderate messages");
-                    var result = context.moderationModel.moderate(messagesToModerate).content();
+                    var result = moderationModel.moderate(messagesToModerate).content();
                     log.debug("Moderation completed");
                     return result;
                 }
-            });
+            }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        }
+        return moderation;
+    }
+
+    /**
+     * Records that the conversation passed moderation once the moderation completes, so that its messages are not
+     * moderated again
+     */
+    private static Uni<Moderation> rememberModerated(QuarkusAiServiceContext context, Object memoryId,
+            List<ChatMessage> conversation, Uni<Moderation> moderation) {
+        if (!context.hasChatMemory()) {
+            return moderation;
         }
-        return moderationFuture;
+        return moderation.invoke(new Consumer<Moderation>() {
+            @Override
+            public void accept(Moderation result) {
+                if (!result.flagged()) {
+                    context.moderatedMessages.passed(memoryId, conversation);
+                }
+            }
+        });
     }
 
-    private static Optional<SystemMessage> prepareSystemMessage(AiServiceMethodCreateInfo createInfo, Object[] methodArgs) {
+    /**
+     * The conversation as it will be once the user message is added to the chat memory
+     */
+    private static List<ChatMessage> inputConversation(List<ChatMessage> chatMemory, Optional<SystemMessage> systemMessage,
+            UserMessage userMessage) {
+        List<ChatMessage> result = new ArrayList<>();
+        if (chatMemory != null) {
+            for (ChatMessage message : removeToolMessages(chatMemory)) {
+                // the chat memory replaces its system message by the new one
+                if (!(systemMessage.isPresent() && (message instanceof SystemMessage))) {
+                    result.add(message);
+                }
+            }
+        }
+        systemMessage.ifPresent(result::add);
+        result.add(userMessage);
+        return result;
+    }
+
+    private static boolean isBlocking(Class<?> returnType) {
+        return !returnType.equals(TokenStream.class) && !returnType.equals(Uni.class) && !returnType.equals(Multi.class);
+    }
+
+    static Optional<SystemMessage> prepareSystemMessage(AiServiceMethodCreateInfo createInfo, Object[] methodArgs) {
         if (createInfo.getSystemMessageInfo().isEmpty()) {
             return Optional.empty();
         }
@@ -230,11 +542,11 @@ public class AiServiceMethodImplementationSupport {
         for (var entry : nameToParamPosition.entrySet()) {
             templateParams.put(entry.getKey(), methodArgs[entry.getValue()]);
         }
-        Prompt prompt = PromptTemplate.from(systemMessageInfo.getText()).apply(templateParams);
+        Prompt prompt = systemMessageInfo.promptTemplate().apply(templateParams);
         return Optional.of(prompt.toSystemMessage());
     }
 
-    private static UserMessage prepareUserMessage(AiServiceContext context, AiServiceMethodCreateInfo createInfo,
+    static UserMessage prepareUserMessage(AiServiceContext context, AiServiceMethodCreateInfo createInfo,
             Object[] methodArgs) {
         AiServiceMethodCreateInfo.UserMessageInfo userMessageInfo = createInfo.getUserMessageInfo();
 
@@ -253,7 +565,7 @@ public class AiServiceMethodImplementationSupport {
                 templateParams.put(entry.getKey(), value);
             }
             // we do not need to apply the instructions as they have already been added to the template text at build time
-            Prompt prompt = PromptTemplate.from(templateInfo.getText()).apply(templateParams);
+            Prompt prompt = templateInfo.promptTemplate().apply(templateParams);
 
             return createUserMessage(userName, prompt.text());
         } else if (userMessageInfo.getParamPosition().isPresent()) {
@@ -324,16 +636,66 @@ public class AiServiceMethodImplementationSupport {
         final QuarkusAiServiceContext context;
         final AiServiceMethodCreateInfo createInfo;
         final Object[] methodArgs;
+        /**
+         * Rendered on first use, so that the wrappers needing the messages (like the response cache) and the
+         * invocation itself only render them once
+         */
+        private volatile Optional<SystemMessage> systemMessage;
+        private volatile UserMessage userMessage;
+        /**
+         * The chat memory the invocation uses, {@code null} until the invocation is prepared or when the AiService has
+         * no chat memory
+         */
+        volatile ChatMemory chatMemory;
 
         public Input(QuarkusAiServiceContext context, AiServiceMethodCreateInfo createInfo, Object[] methodArgs) {
             this.context = context;
             this.createInfo = createInfo;
             this.methodArgs = methodArgs;
         }
+
+        Optional<SystemMessage> systemMessage() {
+            Optional<SystemMessage> result = systemMessage;
+            if (result == null) {
+                // rendering is deterministic, so a concurrent rendering does no harm
+                result = prepareSystemMessage(createInfo, methodArgs);
+                systemMessage = result;
+            }
+            return result;
+        }
+
+        UserMessage userMessage() {
+            UserMessage result = userMessage;
+            if (result == null) {
+                result = prepareUserMessage(context, createInfo, methodArgs);
+                userMessage = result;
+            }
+            return result;
+        }
     }
 
     public interface Wrapper {
 
         Object wrap(Input input, Function<Input, Object> fun);
     }
+
+    private static class PreparedInvocation {
+
+        private final Object memoryId;
+        private final InvocationInstrumentation instrumentation;
+        private final List<ChatMessage> messages;
+        /**
+         * The moderation of the conversation started before the user message was added to the chat memory, {@code null}
+         * when there is none
+         */
+        private final CompletableFuture<Moderation> inputModeration;
+
+        private PreparedInvocation(Object memoryId, InvocationInstrumentation instrumentation, List<ChatMessage> messages,
+                CompletableFuture<Moderation> inputModeration) {
+            this.memoryId = memoryId;
+            this.instrumentation = instrumentation;
+            this.messages = messages;
+            this.inputModeration = inputModeration;
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.Response;
+
+/**
+ * Creates the spans of the operations performed while an AiService method is invoked, as children of the span of the
+ * invocation itself.
+ * <p>
+ * The parent is passed explicitly because some operations (like the callbacks of streamed responses or the moderation)
+ * don't run on the thread that invoked the method.
+ */
+public interface AiServiceTracer {
+
+    /**
+     * @return the tracing context of the calling thread, to be used as the parent of the spans of the invocation
+     */
+    Object currentContext();
+
+    /**
+     * @param provider the provider of the model, such as {@code openai}, {@code null} when it is unknown
+     * @param modelName the model configured for the provider
+     */
+    Span startModelCall(Object parentContext, String provider, String modelName);
+
+    /**
+     * Makes the given context the current one until the returned scope is closed, so that the spans of the tools
+     * executed on other threads have the right parent
+     */
+    Scope makeCurrent(Object context);
+
+    Span startRetrieval(Object parentContext);
+
+    Span startModeration(Object parentContext);
+
+    /**
+     * Starts a span for an operation of the {@link dev.langchain4j.store.memory.chat.ChatMemoryStore}, as a child of
+     * the current span
+     *
+     * @param operation either {@code load}, {@code store} or {@code delete}
+     */
+    Span startChatMemoryOperation(String operation);
+
+    interface Span {
+
+        /**
+         * Makes the span the current one until the returned scope is closed, so that the spans created by the model
+         * clients or the tools are its children
+         */
+        Scope makeCurrent();
+
+        /**
+         * Records the token usage, the finish reason and the tools requested by the model
+         */
+        void modelResponse(Response<AiMessage> response);
+
+        /**
+         * @param failure the reason why the operation failed, {@code null} if it succeeded
+         */
+        void end(Throwable failure);
+    }
+
+    interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
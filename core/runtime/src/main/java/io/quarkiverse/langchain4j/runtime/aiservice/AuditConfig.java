@@ -0,0 +1,82 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
+
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigRoot(phase = RUN_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.audit")
+public interface AuditConfig {
+
+    /**
+     * Configures the delivery of audits to the {@link io.quarkiverse.langchain4j.audit.AuditService} on a background
+     * thread
+     */
+    Async async();
+
+    @ConfigGroup
+    interface Async {
+
+        /**
+         * Whether the audits are delivered to the {@code AuditService} on a background thread instead of the thread
+         * invoking the AiService.
+         * When enabled, the callbacks of the {@code Audit} are recorded during the invocation and replayed on the
+         * background thread, so neither the {@code AuditService} nor the {@code Audit} add to the latency of the
+         * invocation. They then can't rely on the request context or the thread of the invocation.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The maximum number of completed audits waiting to be delivered
+         */
+        @WithDefault("10000")
+        int queueSize();
+
+        /**
+         * The maximum number of audits handed to
+         * {@link io.quarkiverse.langchain4j.audit.AuditService#completeAll(java.util.List)} at once
+         */
+        @WithDefault("100")
+        int batchSize();
+
+        /**
+         * What happens to audits that are completed while the queue is full
+         */
+        @WithDefault("drop")
+        OverflowPolicy overflowPolicy();
+
+        /**
+         * The fraction of the audits that are kept once the queue is more than half full, when the overflow policy is
+         * {@code sample}
+         */
+        @WithDefault("0.1")
+        double sampleRate();
+
+        /**
+         * How long the delivery of the queued audits can take on shutdown
+         */
+        @WithDefault("10s")
+        Duration shutdownTimeout();
+    }
+
+    enum OverflowPolicy {
+        /**
+         * The audits that don't fit in the queue are dropped
+         */
+        DROP,
+        /**
+         * The invocation waits until the audit fits in the queue
+         */
+        BLOCK,
+        /**
+         * Once the queue is more than half full, only a sample of the audits is kept, the others are dropped
+         */
+        SAMPLE
+    }
+}
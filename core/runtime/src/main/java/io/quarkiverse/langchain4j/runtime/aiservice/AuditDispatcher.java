@@ -0,0 +1,292 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.output.Response;
+import io.quarkiverse.langchain4j.audit.Audit;
+import io.quarkiverse.langchain4j.audit.AuditService;
+
+/**
+ * Hands the audits of AiService invocations to their {@link AuditService}, either on the invoking thread or, when
+ * enabled via {@link AuditConfig.Async}, in batches on a background thread.
+ * <p>
+ * In the latter case, the invocation only records the callbacks of an {@link Audit} and queues the recording once the
+ * invocation completes. The background thread creates the actual audits with the {@link AuditService}, replays the
+ * recorded callbacks and completes the audits with {@link AuditService#completeAll(List)}.
+ */
+public class AuditDispatcher {
+
+    private static final Logger log = Logger.getLogger(AuditDispatcher.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final AuditConfig.Async config;
+    private final BlockingQueue<QueuedAudit> queue;
+    private final Thread worker;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private volatile boolean closed;
+
+    public AuditDispatcher(AuditConfig config) {
+        this.config = config.async();
+        if (this.config.enabled()) {
+            this.queue = new ArrayBlockingQueue<>(this.config.queueSize());
+            this.worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    deliverQueuedAudits();
+                }
+            }, "langchain4j-audit");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        } else {
+            this.queue = null;
+            this.worker = null;
+        }
+    }
+
+    public boolean isAsync() {
+        return queue != null;
+    }
+
+    Audit create(AuditService auditService, Audit.CreateInfo createInfo) {
+        if (!isAsync()) {
+            return auditService.create(createInfo);
+        }
+        return new RecordedAudit(createInfo);
+    }
+
+    void complete(AuditService auditService, Audit audit) {
+        if (!(audit instanceof RecordedAudit)) {
+            auditService.complete(audit);
+            return;
+        }
+        QueuedAudit queuedAudit = new QueuedAudit(auditService, (RecordedAudit) audit);
+        if (closed) {
+            // nothing would deliver it anymore
+            deliver(List.of(queuedAudit));
+            return;
+        }
+        if (!enqueue(queuedAudit)) {
+            long count = dropped.incrementAndGet();
+            log.debugf("Dropped the audit of %s#%s, %d audits dropped so far",
+                    audit.getCreateInfo().interfaceName(), audit.getCreateInfo().methodName(), count);
+        }
+    }
+
+    private boolean enqueue(QueuedAudit queuedAudit) {
+        switch (config.overflowPolicy()) {
+            case BLOCK:
+                try {
+                    queue.put(queuedAudit);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            case SAMPLE:
+                if ((queue.size() > config.queueSize() / 2)
+                        && (ThreadLocalRandom.current().nextDouble() >= config.sampleRate())) {
+                    return false;
+                }
+                return queue.offer(queuedAudit);
+            default:
+                return queue.offer(queuedAudit);
+        }
+    }
+
+    /**
+     * @return the number of audits waiting to be delivered
+     */
+    public int queueSize() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * @return the number of audits that were dropped because of the overflow policy
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of audits that were delivered from the background thread
+     */
+    public long deliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * Delivers the queued audits, waiting at most {@link AuditConfig.Async#shutdownTimeout()}.
+     * Audits completed afterwards are delivered on the invoking thread.
+     */
+    public void close() {
+        if (worker == null) {
+            return;
+        }
+        closed = true;
+        try {
+            worker.join(config.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warnf("%d audits could not be delivered before shutdown", queue.size());
+        }
+    }
+
+    private void deliverQueuedAudits() {
+        List<QueuedAudit> batch = new ArrayList<>(config.batchSize());
+        while (true) {
+            QueuedAudit first;
+            try {
+                first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, config.batchSize() - 1);
+            deliver(batch);
+            batch.clear();
+        }
+    }
+
+    private void deliver(List<QueuedAudit> batch) {
+        // the batch is usually meant for a single AuditService, but each AiService can use its own
+        Map<AuditService, List<Audit>> auditsPerService = new LinkedHashMap<>();
+        for (QueuedAudit queuedAudit : batch) {
+            try {
+                Audit audit = queuedAudit.auditService.create(queuedAudit.recordedAudit.getCreateInfo());
+                queuedAudit.recordedAudit.replay(audit);
+                auditsPerService.computeIfAbsent(queuedAudit.auditService, new Function<AuditService, List<Audit>>() {
+                    @Override
+                    public List<Audit> apply(AuditService ignored) {
+                        return new ArrayList<>();
+                    }
+                }).add(audit);
+            } catch (RuntimeException e) {
+                log.warnf(e, "Unable to audit %s#%s", queuedAudit.recordedAudit.getCreateInfo().interfaceName(),
+                        queuedAudit.recordedAudit.getCreateInfo().methodName());
+            }
+        }
+        for (Map.Entry<AuditService, List<Audit>> entry : auditsPerService.entrySet()) {
+            try {
+                entry.getKey().completeAll(entry.getValue());
+                delivered.addAndGet(entry.getValue().size());
+            } catch (RuntimeException e) {
+                log.warnf(e, "Unable to complete %d audits", entry.getValue().size());
+            }
+        }
+    }
+
+    private record QueuedAudit(AuditService auditService, RecordedAudit recordedAudit) {
+    }
+
+    /**
+     * Records the callbacks of an invocation so that they can be replayed on the actual {@link Audit}.
+     * Callbacks can come from different threads (for example with reactive methods), hence the synchronization.
+     */
+    private static class RecordedAudit extends Audit {
+
+        private final List<Event> events = new ArrayList<>();
+
+        private RecordedAudit(CreateInfo createInfo) {
+            super(createInfo);
+        }
+
+        @Override
+        public void initialMessages(Optional<SystemMessage> systemMessage, UserMessage userMessage) {
+            record(new Event(EventType.INITIAL_MESSAGES, systemMessage, userMessage));
+        }
+
+        @Override
+        public void addRelevantDocument(List<TextSegment> segments, UserMessage userMessage) {
+            record(new Event(EventType.RELEVANT_DOCUMENT, segments, userMessage));
+        }
+
+        @Override
+        public void addLLMToApplicationMessage(Response<AiMessage> response) {
+            record(new Event(EventType.LLM_TO_APPLICATION_MESSAGE, response, null));
+        }
+
+        @Override
+        public void addApplicationToLLMMessage(ToolExecutionResultMessage toolExecutionResultMessage) {
+            record(new Event(EventType.APPLICATION_TO_LLM_MESSAGE, toolExecutionResultMessage, null));
+        }
+
+        @Override
+        public void onCompletion(Object result) {
+            record(new Event(EventType.COMPLETION, result, null));
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            record(new Event(EventType.FAILURE, e, null));
+        }
+
+        private synchronized void record(Event event) {
+            events.add(event);
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized void replay(Audit audit) {
+            for (Event event : events) {
+                switch (event.type) {
+                    case INITIAL_MESSAGES:
+                        audit.initialMessages((Optional<SystemMessage>) event.first, (UserMessage) event.second);
+                        break;
+                    case RELEVANT_DOCUMENT:
+                        audit.addRelevantDocument((List<TextSegment>) event.first, (UserMessage) event.second);
+                        break;
+                    case LLM_TO_APPLICATION_MESSAGE:
+                        audit.addLLMToApplicationMessage((Response<AiMessage>) event.first);
+                        break;
+                    case APPLICATION_TO_LLM_MESSAGE:
+                        audit.addApplicationToLLMMessage((ToolExecutionResultMessage) event.first);
+                        break;
+                    case COMPLETION:
+                        audit.onCompletion(event.first);
+                        break;
+                    case FAILURE:
+                        audit.onFailure((Exception) event.first);
+                        break;
+                }
+            }
+        }
+
+        private enum EventType {
+            INITIAL_MESSAGES,
+            RELEVANT_DOCUMENT,
+            LLM_TO_APPLICATION_MESSAGE,
+            APPLICATION_TO_LLM_MESSAGE,
+            COMPLETION,
+            FAILURE
+        }
+
+        private record Event(EventType type, Object first, Object second) {
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import dev.langchain4j.memory.ChatMemory;
+
+/**
+ * Replaces the unbounded map of {@link ChatMemory} instances of an AiService, evicting the least recently used memories
+ * once {@code maxEntries} is exceeded and the memories that have not been used for longer than the idle timeout.
+ * <p>
+ * Evicted memories are dropped (and not cleared), so the messages of the
+ * {@link dev.langchain4j.store.memory.chat.ChatMemoryStore} are used again by the memory created the next time the
+ * memory id is used. Each evicted memory is handed to the {@link EvictionCallback}, which writes its buffered updates
+ * to the store. The messages of memories that are not backed by a store (like the ones a custom
+ * {@link dev.langchain4j.memory.chat.ChatMemoryProvider} keeps in the memory objects) are lost on eviction.
+ * <p>
+ * The memories are kept in a {@link ConcurrentHashMap}, so looking them up never contends on a lock and creating a
+ * memory (which loads its messages from the store) only holds up the callers using the same memory id.
+ * Each entry records when it was last used; an idle memory is never returned, while the idle memories that are not
+ * used anymore are removed by a sweep running at most once per idle timeout. The memories exceeding
+ * {@code maxEntries} are removed right after an insertion, by a single thread at a time, so the map may briefly hold a
+ * few more entries when memories are created concurrently.
+ */
+class BoundedChatMemories extends AbstractMap<Object, ChatMemory> {
+
+    private final int maxEntries;
+    private final long idleTimeoutNanos;
+    private final EvictionCallback onEviction;
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile long lastIdleSweep = System.nanoTime();
+
+    /**
+     * @param maxEntries a value less than or equal to zero means the number of entries is unbounded
+     * @param idleTimeoutNanos a value less than or equal to zero means entries never become idle
+     * @param onEviction called (outside of any map operation) for every evicted memory
+     */
+    BoundedChatMemories(int maxEntries, long idleTimeoutNanos, EvictionCallback onEviction) {
+        this.maxEntries = maxEntries;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.onEviction = onEviction;
+    }
+
+    @Override
+    public ChatMemory get(Object memoryId) {
+        long now = System.nanoTime();
+        ChatMemory result = use(memoryId, now);
+        sweepIfNeeded(now);
+        return result;
+    }
+
+    @Override
+    public ChatMemory computeIfAbsent(Object memoryId, Function<? super Object, ? extends ChatMemory> mappingFunction) {
+        long now = System.nanoTime();
+        ChatMemory result = use(memoryId, now);
+        if (result == null) {
+            ChatMemory created = mappingFunction.apply(memoryId);
+            if (created == null) {
+                return null;
+            }
+            Entry existing = entries.putIfAbsent(memoryId, new Entry(created, now));
+            if (existing != null) {
+                // another caller created the memory of this id in the meantime, so its instance is used by everyone
+                existing.lastAccess = now;
+                result = existing.chatMemory;
+            } else {
+                result = created;
+            }
+        }
+        sweepIfNeeded(now);
+        return result;
+    }
+
+    @Override
+    public ChatMemory put(Object memoryId, ChatMemory chatMemory) {
+        long now = System.nanoTime();
+        Entry previous = entries.put(memoryId, new Entry(chatMemory, now));
+        sweepIfNeeded(now);
+        return previous != null ? previous.chatMemory : null;
+    }
+
+    @Override
+    public ChatMemory remove(Object memoryId) {
+        Entry removed = entries.remove(memoryId);
+        return removed != null ? removed.chatMemory : null;
+    }
+
+    @Override
+    public boolean containsKey(Object memoryId) {
+        return entries.containsKey(memoryId);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns a snapshot, so that removing memories while iterating over it does not affect the iteration
+     */
+    @Override
+    public Set<Map.Entry<Object, ChatMemory>> entrySet() {
+        Map<Object, ChatMemory> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<Object, Entry> entry : entries.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().chatMemory);
+        }
+        return snapshot.entrySet();
+    }
+
+    /**
+     * @return the memory of the id, or {@code null} if there is none or if it was idle, in which case it is evicted
+     */
+    private ChatMemory use(Object memoryId, long now) {
+        Entry entry = entries.get(memoryId);
+        if (entry == null) {
+            return null;
+        }
+        if (isIdle(entry, now)) {
+            if (entries.remove(memoryId, entry)) {
+                onEviction.onEviction(memoryId, entry.chatMemory, ChatMemoryEvictionListener.Cause.IDLE);
+            }
+            return null;
+        }
+        entry.lastAccess = now;
+        return entry.chatMemory;
+    }
+
+    private boolean isIdle(Entry entry, long now) {
+        return (idleTimeoutNanos > 0) && (now - entry.lastAccess > idleTimeoutNanos);
+    }
+
+    private void sweepIfNeeded(long now) {
+        boolean idleSweepDue = (idleTimeoutNanos > 0) && (now - lastIdleSweep >= idleTimeoutNanos);
+        boolean oversized = (maxEntries > 0) && (entries.size() > maxEntries);
+        if ((!idleSweepDue && !oversized) || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        List<Eviction> evicted = new ArrayList<>();
+        try {
+            if (idleSweepDue) {
+                lastIdleSweep = now;
+                evictIdle(now, evicted);
+            }
+            if ((maxEntries > 0) && (entries.size() > maxEntries)) {
+                evictLeastRecentlyUsed(evicted);
+            }
+        } finally {
+            sweeping.set(false);
+        }
+        notifyEvicted(evicted);
+    }
+
+    private void evictIdle(long now, List<Eviction> evicted) {
+        for (Map.Entry<Object, Entry> entry : entries.entrySet()) {
+            if (isIdle(entry.getValue(), now) && entries.remove(entry.getKey(), entry.getValue())) {
+                evicted.add(new Eviction(entry.getKey(), entry.getValue().chatMemory,
+                        ChatMemoryEvictionListener.Cause.IDLE));
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed(List<Eviction> evicted) {
+        // the access times are copied, as they keep changing while the candidates are sorted
+        List<Candidate> candidates = new ArrayList<>(entries.size());
+        for (Map.Entry<Object, Entry> entry : entries.entrySet()) {
+            candidates.add(new Candidate(entry.getKey(), entry.getValue()));
+        }
+        candidates.sort(new Comparator<>() {
+            @Override
+            public int compare(Candidate c1, Candidate c2) {
+                return Long.compare(c1.lastAccess, c2.lastAccess);
+            }
+        });
+        int excess = entries.size() - maxEntries;
+        for (int i = 0; (i < candidates.size()) && (excess > 0); i++) {
+            Candidate candidate = candidates.get(i);
+            // the entry is only removed if it was not replaced in the meantime
+            if (entries.remove(candidate.memoryId, candidate.entry)) {
+                evicted.add(new Eviction(candidate.memoryId, candidate.entry.chatMemory,
+                        ChatMemoryEvictionListener.Cause.SIZE));
+                excess--;
+            }
+        }
+    }
+
+    private void notifyEvicted(List<Eviction> evicted) {
+        for (Eviction eviction : evicted) {
+            onEviction.onEviction(eviction.memoryId, eviction.chatMemory, eviction.cause);
+        }
+    }
+
+    interface EvictionCallback {
+
+        void onEviction(Object memoryId, ChatMemory chatMemory, ChatMemoryEvictionListener.Cause cause);
+    }
+
+    private static class Entry {
+        private final ChatMemory chatMemory;
+        private volatile long lastAccess;
+
+        private Entry(ChatMemory chatMemory, long lastAccess) {
+            this.chatMemory = chatMemory;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private static class Eviction {
+        private final Object memoryId;
+        private final ChatMemory chatMemory;
+        private final ChatMemoryEvictionListener.Cause cause;
+
+        private Eviction(Object memoryId, ChatMemory chatMemory, ChatMemoryEvictionListener.Cause cause) {
+            this.memoryId = memoryId;
+            this.chatMemory = chatMemory;
+            this.cause = cause;
+        }
+    }
+
+    private static class Candidate {
+        private final Object memoryId;
+        private final Entry entry;
+        private final long lastAccess;
+
+        private Candidate(Object memoryId, Entry entry) {
+            this.memoryId = memoryId;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+}
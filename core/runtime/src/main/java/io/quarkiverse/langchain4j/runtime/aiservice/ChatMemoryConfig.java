@@ -2,6 +2,10 @@ package io.quarkiverse.langchain4j.runtime.aiservice;
 
 import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
+
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
 import dev.langchain4j.memory.chat.TokenWindowChatMemory;
@@ -31,6 +35,32 @@ public interface ChatMemoryConfig {
      */
     TokenWindow tokenWindow();
 
+    /**
+     * The maximum number of {@link dev.langchain4j.memory.ChatMemory} instances (one per memory id) an AiService keeps in
+     * memory. When the limit is reached, the least recently used one is evicted.
+     * Eviction only drops the in-process {@link dev.langchain4j.memory.ChatMemory}, the messages kept in the
+     * {@link dev.langchain4j.store.memory.chat.ChatMemoryStore} are left untouched and are used again the next time the
+     * memory id is used. The messages of memories that are not backed by a store, like the ones of a custom
+     * {@link ChatMemoryProvider} keeping them in the memory instances, are lost on eviction.
+     * When not set, the number of instances is unbounded.
+     */
+    OptionalInt maxEntries();
+
+    /**
+     * How long the {@link dev.langchain4j.memory.ChatMemory} of a memory id is kept in memory after it was last used.
+     * Like for {@code max-entries}, eviction leaves the messages of the
+     * {@link dev.langchain4j.store.memory.chat.ChatMemoryStore} untouched, but loses the messages of memories that are
+     * not backed by a store.
+     * When not set, instances are never evicted because of inactivity.
+     */
+    Optional<Duration> idleTimeout();
+
+    /**
+     * Configures the buffering of the writes to the {@link dev.langchain4j.store.memory.chat.ChatMemoryStore} made by the
+     * {@link ChatMemoryProvider} setup by the extension
+     */
+    WriteBehind writeBehind();
+
     @ConfigGroup
     interface MemoryWindow {
 
@@ -41,6 +71,27 @@ public interface ChatMemoryConfig {
         int maxMessages();
     }
 
+    @ConfigGroup
+    interface WriteBehind {
+
+        /**
+         * Whether the messages added to a chat memory during an AiService invocation (the system message, the user message,
+         * the responses of the LLM and the results of the tools) are written to the
+         * {@link dev.langchain4j.store.memory.chat.ChatMemoryStore} once, when the invocation ends, instead of every time
+         * a message is added
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The maximum amount of time the messages of an invocation stay buffered when the invocation has not ended by then,
+         * which for example happens for streamed responses. Pending messages are also written when the application stops.
+         * Must be positive.
+         */
+        @WithDefault("10s")
+        Duration maxDelay();
+    }
+
     @ConfigGroup
     interface TokenWindow {
 
@@ -0,0 +1,22 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+/**
+ * Beans implementing this interface are notified each time the {@link dev.langchain4j.memory.ChatMemory} of a memory id
+ * is evicted because of the {@code quarkus.langchain4j.chat-memory.max-entries} or
+ * {@code quarkus.langchain4j.chat-memory.idle-timeout} configuration
+ */
+public interface ChatMemoryEvictionListener {
+
+    void onEviction(Class<?> aiServiceClass, Object memoryId, Cause cause);
+
+    enum Cause {
+        /**
+         * The maximum number of entries was reached
+         */
+        SIZE,
+        /**
+         * The memory id was not used for longer than the idle timeout
+         */
+        IDLE
+    }
+}
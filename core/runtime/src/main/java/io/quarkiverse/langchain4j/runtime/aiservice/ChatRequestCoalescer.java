@@ -0,0 +1,139 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+/**
+ * Sends the requests of AiService methods to the chat model, making sure that when enabled via
+ * {@link RequestCoalescingConfig}, only a single request is in flight for identical messages and tools.
+ * <p>
+ * The first caller performs the request while the callers arriving before it completes wait for its response.
+ * When the first caller is interrupted, the waiting callers don't fail but one of them performs the request instead.
+ * A waiting caller that is interrupted stops waiting without affecting the others.
+ */
+class ChatRequestCoalescer {
+
+    private static final Logger log = Logger.getLogger(ChatRequestCoalescer.class);
+
+    static final ChatRequestCoalescer DISABLED = new ChatRequestCoalescer(false);
+
+    private final boolean enabled;
+    private final ConcurrentMap<Key, CompletableFuture<Response<AiMessage>>> inFlight = new ConcurrentHashMap<>();
+
+    private ChatRequestCoalescer(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    static ChatRequestCoalescer from(RequestCoalescingConfig config) {
+        return config.enabled() ? new ChatRequestCoalescer(true) : DISABLED;
+    }
+
+    Response<AiMessage> generate(ChatLanguageModel model, List<ChatMessage> messages,
+            List<ToolSpecification> toolSpecifications) {
+        if (!enabled) {
+            return doGenerate(model, messages, toolSpecifications);
+        }
+
+        Key key = new Key(model, messages, toolSpecifications);
+        while (true) {
+            CompletableFuture<Response<AiMessage>> own = new CompletableFuture<>();
+            CompletableFuture<Response<AiMessage>> existing = inFlight.putIfAbsent(key, own);
+            if (existing == null) {
+                return lead(key, own, model, messages, toolSpecifications);
+            }
+
+            log.debug("Waiting for the response of an identical request that is in flight");
+            try {
+                return existing.get();
+            } catch (CancellationException e) {
+                // the caller performing the request was interrupted, so try again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the response of the chat model", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+
+    private Response<AiMessage> lead(Key key, CompletableFuture<Response<AiMessage>> own, ChatLanguageModel model,
+            List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        try {
+            Response<AiMessage> response = doGenerate(model, messages, toolSpecifications);
+            own.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            if (Thread.currentThread().isInterrupted()) {
+                own.cancel(false);
+            } else {
+                own.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private static Response<AiMessage> doGenerate(ChatLanguageModel model, List<ChatMessage> messages,
+            List<ToolSpecification> toolSpecifications) {
+        return toolSpecifications == null
+                ? model.generate(messages)
+                : model.generate(messages, toolSpecifications);
+    }
+
+    /**
+     * The model is compared by identity as different beans (or configurations) must never share responses
+     */
+    private static final class Key {
+        private final ChatLanguageModel model;
+        private final List<ChatMessage> messages;
+        private final List<ToolSpecification> toolSpecifications;
+        private final int hash;
+
+        private Key(ChatLanguageModel model, List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+            this.model = model;
+            // the list of the chat memory can change while the request is in flight
+            this.messages = List.copyOf(messages);
+            this.toolSpecifications = toolSpecifications == null ? null : List.copyOf(toolSpecifications);
+            this.hash = Objects.hash(System.identityHashCode(model), this.messages, this.toolSpecifications);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return model == other.model && messages.equals(other.messages)
+                    && Objects.equals(toolSpecifications, other.toolSpecifications);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
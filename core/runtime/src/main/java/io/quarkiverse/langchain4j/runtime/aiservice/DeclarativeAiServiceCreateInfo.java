@@ -15,6 +15,8 @@ public class DeclarativeAiServiceCreateInfo {
     private final String auditServiceClassSupplierName;
     private final String moderationModelSupplierClassName;
     private final String chatModelName;
+    private final String chatModelProvider;
+    private final boolean injectStreamingChatModelBean;
 
     @RecordableConstructor
     public DeclarativeAiServiceCreateInfo(String serviceClassName, String languageModelSupplierClassName,
@@ -22,7 +24,9 @@ public class DeclarativeAiServiceCreateInfo {
             String retrieverClassName,
             String auditServiceClassSupplierName,
             String moderationModelSupplierClassName,
-            String chatModelName) {
+            String chatModelName,
+            String chatModelProvider,
+            boolean injectStreamingChatModelBean) {
         this.serviceClassName = serviceClassName;
         this.languageModelSupplierClassName = languageModelSupplierClassName;
         this.toolsClassNames = toolsClassNames;
@@ -31,6 +35,8 @@ public class DeclarativeAiServiceCreateInfo {
         this.auditServiceClassSupplierName = auditServiceClassSupplierName;
         this.moderationModelSupplierClassName = moderationModelSupplierClassName;
         this.chatModelName = chatModelName;
+        this.chatModelProvider = chatModelProvider;
+        this.injectStreamingChatModelBean = injectStreamingChatModelBean;
     }
 
     public String getServiceClassName() {
@@ -64,4 +70,15 @@ public class DeclarativeAiServiceCreateInfo {
     public String getChatModelName() {
         return chatModelName;
     }
+
+    /**
+     * @return the provider of the chat model, {@code null} when the model is supplied by the application
+     */
+    public String getChatModelProvider() {
+        return chatModelProvider;
+    }
+
+    public boolean getInjectStreamingChatModelBean() {
+        return injectStreamingChatModelBean;
+    }
 }
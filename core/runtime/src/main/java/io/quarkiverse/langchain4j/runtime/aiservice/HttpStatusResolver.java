@@ -0,0 +1,51 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Beans implementing this interface allow the extension to know the HTTP status with which a model provider rejected
+ * a request, as each provider client surfaces it with its own exception type
+ */
+public interface HttpStatusResolver {
+
+    /**
+     * @return the HTTP status carried by the {@code failure} itself (not its causes), if this resolver knows its type
+     */
+    OptionalInt status(Throwable failure);
+
+    /**
+     * @return the first HTTP status found by one of the {@code resolvers} in the {@code failure} or its causes
+     */
+    static OptionalInt resolve(List<HttpStatusResolver> resolvers, Throwable failure) {
+        Throwable current = failure;
+        // guards against cycles in the cause chain
+        int depth = 0;
+        while ((current != null) && (depth++ < 10)) {
+            for (HttpStatusResolver resolver : resolvers) {
+                OptionalInt status = resolver.status(current);
+                if (status.isPresent()) {
+                    return status;
+                }
+            }
+            current = current.getCause();
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * The requests rejected by the provider because of the request itself, with HTTP 4xx except 408 and 429, do not
+     * tell anything about the health of the provider, so they neither open circuit breakers nor eject the models of
+     * routers
+     *
+     * @return whether the {@code failure} tells that the provider is unhealthy
+     */
+    static boolean isProviderFailure(List<HttpStatusResolver> resolvers, Throwable failure) {
+        OptionalInt status = resolve(resolvers, failure);
+        if (status.isEmpty()) {
+            return true;
+        }
+        int code = status.getAsInt();
+        return (code < 400) || (code >= 500) || (code == 408) || (code == 429);
+    }
+}
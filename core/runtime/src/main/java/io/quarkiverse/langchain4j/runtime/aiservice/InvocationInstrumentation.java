@@ -0,0 +1,145 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.output.Response;
+import io.quarkiverse.langchain4j.runtime.NamedModelUtil;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Notifies the {@link AiServiceInvocationListener}s about what happens during a single invocation and creates the spans
+ * of its operations with the {@link AiServiceTracer}, doing nothing when there are none
+ */
+class InvocationInstrumentation {
+
+    private static final AiServiceTracer.Scope NOOP_SCOPE = new AiServiceTracer.Scope() {
+        @Override
+        public void close() {
+        }
+    };
+
+    private static final AiServiceTracer.Span NOOP_SPAN = new AiServiceTracer.Span() {
+        @Override
+        public AiServiceTracer.Scope makeCurrent() {
+            return NOOP_SCOPE;
+        }
+
+        @Override
+        public void modelResponse(Response<AiMessage> response) {
+        }
+
+        @Override
+        public void end(Throwable failure) {
+        }
+    };
+
+    private final AiServiceMethodCreateInfo createInfo;
+    private final String provider;
+    private final String modelName;
+    private final List<AiServiceInvocationListener> listeners;
+    private final AiServiceTracer tracer;
+    private final Object tracingContext;
+
+    /**
+     * Needs to be created on the thread invoking the AiService method, so that the spans of the invocation have the
+     * right parent
+     *
+     * @param tracer {@code null} when tracing is not enabled
+     */
+    InvocationInstrumentation(AiServiceMethodCreateInfo createInfo, QuarkusAiServiceContext context,
+            List<AiServiceInvocationListener> listeners, AiServiceTracer tracer) {
+        this.createInfo = createInfo;
+        this.provider = context.chatModelProvider;
+        this.modelName = context.providerModelName != null ? context.providerModelName : NamedModelUtil.DEFAULT_NAME;
+        this.listeners = listeners;
+        this.tracer = tracer;
+        this.tracingContext = tracer != null ? tracer.currentContext() : null;
+    }
+
+    boolean isEnabled() {
+        return !listeners.isEmpty();
+    }
+
+    long start() {
+        return isEnabled() ? System.nanoTime() : 0;
+    }
+
+    AiServiceTracer.Span startModelCall() {
+        return tracer != null ? tracer.startModelCall(tracingContext, provider, modelName) : NOOP_SPAN;
+    }
+
+    /**
+     * Makes the tracing context of the invocation current while a tool is executed, as tools can be executed on other
+     * threads
+     */
+    AiServiceTracer.Scope restoreTracingContext() {
+        return tracer != null ? tracer.makeCurrent(tracingContext) : NOOP_SCOPE;
+    }
+
+    AiServiceTracer.Span startRetrieval() {
+        return tracer != null ? tracer.startRetrieval(tracingContext) : NOOP_SPAN;
+    }
+
+    /**
+     * @return the moderation, with a span covering each subscription
+     */
+    Uni<Moderation> traceModeration(Uni<Moderation> moderation) {
+        if (tracer == null) {
+            return moderation;
+        }
+        return Uni.createFrom().deferred(new Supplier<Uni<? extends Moderation>>() {
+            @Override
+            public Uni<? extends Moderation> get() {
+                AiServiceTracer.Span span = tracer.startModeration(tracingContext);
+                return moderation.onItemOrFailure().invoke(new BiConsumer<Moderation, Throwable>() {
+                    @Override
+                    public void accept(Moderation result, Throwable failure) {
+                        span.end(failure);
+                    }
+                });
+            }
+        });
+    }
+
+    void modelResponse(Response<AiMessage> response) {
+        for (AiServiceInvocationListener listener : listeners) {
+            listener.onModelResponse(createInfo, modelName, response);
+        }
+    }
+
+    void firstToken(long start) {
+        if (!isEnabled()) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        for (AiServiceInvocationListener listener : listeners) {
+            listener.onFirstToken(createInfo, modelName, nanos);
+        }
+    }
+
+    void modelFailure(Throwable failure) {
+        for (AiServiceInvocationListener listener : listeners) {
+            listener.onModelFailure(createInfo, modelName, failure);
+        }
+    }
+
+    void toolExecution(String toolName, long start, Throwable failure) {
+        if (!isEnabled()) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        for (AiServiceInvocationListener listener : listeners) {
+            listener.onToolExecution(createInfo, toolName, nanos, failure);
+        }
+    }
+
+    void completion(int toolIterations) {
+        for (AiServiceInvocationListener listener : listeners) {
+            listener.onCompletion(createInfo, modelName, toolIterations);
+        }
+    }
+}
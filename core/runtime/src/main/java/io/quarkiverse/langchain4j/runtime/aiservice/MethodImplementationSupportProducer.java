@@ -1,49 +1,66 @@
 package io.quarkiverse.langchain4j.runtime.aiservice;
 
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Singleton;
 
+import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceMethodImplementationSupport.Input;
+import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceMethodImplementationSupport.Wrapper;
 import io.quarkus.arc.All;
 import io.quarkus.arc.Unremovable;
 
 public class MethodImplementationSupportProducer {
 
+    @Produces
+    @Singleton
+    @Unremovable
+    AuditDispatcher auditDispatcher(AuditConfig auditConfig) {
+        return new AuditDispatcher(auditConfig);
+    }
+
+    void closeAuditDispatcher(@Disposes AuditDispatcher auditDispatcher) {
+        auditDispatcher.close();
+    }
+
     @Produces
     @Singleton
     @Unremovable
     AiServiceMethodImplementationSupport methodImplementationSupport(
-            @All List<AiServiceMethodImplementationSupport.Wrapper> wrappers) {
-        AiServiceMethodImplementationSupport base = new AiServiceMethodImplementationSupport();
+            @All List<AiServiceMethodImplementationSupport.Wrapper> wrappers, ToolsConfig toolsConfig,
+            RequestCoalescingConfig requestCoalescingConfig, AuditDispatcher auditDispatcher,
+            @All List<AiServiceInvocationListener> invocationListeners, Instance<AiServiceTracer> tracer) {
+        AiServiceMethodImplementationSupport base = new AiServiceMethodImplementationSupport(toolsConfig,
+                requestCoalescingConfig, auditDispatcher, invocationListeners,
+                tracer.isResolvable() ? tracer.get() : null);
         if (wrappers.isEmpty()) {
             return base;
         }
-        return new AiServiceMethodImplementationSupport() {
+        // the chain is the same for every invocation, so it is only assembled once
+        Function<Input, Object> chain = new Function<Input, Object>() {
             @Override
-            public Object implement(Input input) {
-
-                AtomicReference<Function<Input, Object>> funRef = new AtomicReference<>(new Function<Input, Object>() {
-                    @Override
-                    public Object apply(Input input) {
-                        return base.implement(input);
-                    }
-                });
-
-                for (Wrapper wrapper : wrappers) {
-                    var currentFun = funRef.get();
-                    var newFunction = new Function<Input, Object>() {
-                        @Override
-                        public Object apply(Input input) {
-                            return wrapper.wrap(input, currentFun);
-                        }
-                    };
-                    funRef.set(newFunction);
+            public Object apply(Input input) {
+                return base.implement(input);
+            }
+        };
+        for (Wrapper wrapper : wrappers) {
+            var currentFun = chain;
+            chain = new Function<Input, Object>() {
+                @Override
+                public Object apply(Input input) {
+                    return wrapper.wrap(input, currentFun);
                 }
+            };
+        }
 
-                return funRef.get().apply(input);
+        Function<Input, Object> wrappedImplement = chain;
+        return new AiServiceMethodImplementationSupport() {
+            @Override
+            public Object implement(Input input) {
+                return wrappedImplement.apply(input);
             }
         };
     }
@@ -0,0 +1,188 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import jakarta.inject.Inject;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.arc.All;
+
+/**
+ * Publishes the following metrics, all of them tagged with the AiService and the method:
+ * <ul>
+ * <li>{@code langchain4j.aiservices.tokens}: the tokens used by the model, tagged with the model and the type
+ * ({@code input} or {@code output})</li>
+ * <li>{@code langchain4j.aiservices.time.to.first.token}: the time it took for streamed responses to produce their
+ * first token, tagged with the model</li>
+ * <li>{@code langchain4j.aiservices.tool.iterations}: the number of times the model requested the execution of tools
+ * before its final response, tagged with the model</li>
+ * <li>{@code langchain4j.aiservices.tool.executions}: the duration of the tool executions, tagged with the tool and
+ * the result</li>
+ * <li>{@code langchain4j.aiservices.model.errors}: the failed model requests, tagged with the model and the HTTP
+ * status ({@code unknown} when the provider does not expose it)</li>
+ * </ul>
+ * The meters of each AiService method are registered the first time the method needs them and reused afterwards.
+ */
+public class MetricsAiServiceInvocationListener implements AiServiceInvocationListener {
+
+    private static final String TOKENS = "langchain4j.aiservices.tokens";
+    private static final String TIME_TO_FIRST_TOKEN = "langchain4j.aiservices.time.to.first.token";
+    private static final String TOOL_ITERATIONS = "langchain4j.aiservices.tool.iterations";
+    private static final String TOOL_EXECUTIONS = "langchain4j.aiservices.tool.executions";
+    private static final String MODEL_ERRORS = "langchain4j.aiservices.model.errors";
+
+    private final List<HttpStatusResolver> httpStatusResolvers;
+    private final Map<AiServiceMethodCreateInfo, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    @Inject
+    public MetricsAiServiceInvocationListener(@All List<HttpStatusResolver> httpStatusResolvers) {
+        this.httpStatusResolvers = httpStatusResolvers;
+    }
+
+    @Override
+    public void onModelResponse(AiServiceMethodCreateInfo createInfo, String modelName, Response<AiMessage> response) {
+        MethodMeters methodMeters = meters(createInfo, modelName);
+        TokenUsage tokenUsage = response.tokenUsage();
+        if (tokenUsage == null) {
+            return;
+        }
+        if (tokenUsage.inputTokenCount() != null) {
+            methodMeters.inputTokens.increment(tokenUsage.inputTokenCount());
+        }
+        if (tokenUsage.outputTokenCount() != null) {
+            methodMeters.outputTokens.increment(tokenUsage.outputTokenCount());
+        }
+    }
+
+    @Override
+    public void onFirstToken(AiServiceMethodCreateInfo createInfo, String modelName, long nanos) {
+        meters(createInfo, modelName).timeToFirstToken.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onModelFailure(AiServiceMethodCreateInfo createInfo, String modelName, Throwable failure) {
+        OptionalInt status = HttpStatusResolver.resolve(httpStatusResolvers, failure);
+        meters(createInfo, modelName).modelErrors(status.isPresent() ? String.valueOf(status.getAsInt()) : "unknown")
+                .increment();
+    }
+
+    @Override
+    public void onToolExecution(AiServiceMethodCreateInfo createInfo, String toolName, long nanos, Throwable failure) {
+        MethodMeters methodMeters = meters.get(createInfo);
+        if (methodMeters == null) {
+            // tools are only executed after a response of the model, which registered the meters of the method
+            return;
+        }
+        methodMeters.toolExecutions(toolName, failure == null ? "success" : "failure")
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onCompletion(AiServiceMethodCreateInfo createInfo, String modelName, int toolIterations) {
+        meters(createInfo, modelName).toolIterations.record(toolIterations);
+    }
+
+    /**
+     * An AiService method always uses the same model, so its meters only need to be looked up by method
+     */
+    private MethodMeters meters(AiServiceMethodCreateInfo createInfo, String modelName) {
+        MethodMeters result = meters.get(createInfo);
+        if (result != null) {
+            return result;
+        }
+        return meters.computeIfAbsent(createInfo, new Function<AiServiceMethodCreateInfo, MethodMeters>() {
+            @Override
+            public MethodMeters apply(AiServiceMethodCreateInfo createInfo) {
+                return new MethodMeters(createInfo, modelName);
+            }
+        });
+    }
+
+    private static class MethodMeters {
+
+        private final AiServiceMethodCreateInfo createInfo;
+        private final String modelName;
+        private final Counter inputTokens;
+        private final Counter outputTokens;
+        private final Timer timeToFirstToken;
+        private final DistributionSummary toolIterations;
+        /**
+         * The meters tagged with something that depends on the invocation are registered when first needed
+         */
+        private final Map<String, Counter> modelErrors = new ConcurrentHashMap<>();
+        private final Map<String, Timer> toolExecutions = new ConcurrentHashMap<>();
+
+        private MethodMeters(AiServiceMethodCreateInfo createInfo, String modelName) {
+            this.createInfo = createInfo;
+            this.modelName = modelName;
+            this.inputTokens = tokens("input");
+            this.outputTokens = tokens("output");
+            this.timeToFirstToken = Timer.builder(TIME_TO_FIRST_TOKEN)
+                    .description("Time elapsed between sending a request to the model and receiving the first token")
+                    .tag("aiservice", createInfo.getInterfaceName())
+                    .tag("method", createInfo.getMethodName())
+                    .tag("model", modelName)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+            this.toolIterations = DistributionSummary.builder(TOOL_ITERATIONS)
+                    .description("Times the model requested the execution of tools before its final response")
+                    .tag("aiservice", createInfo.getInterfaceName())
+                    .tag("method", createInfo.getMethodName())
+                    .tag("model", modelName)
+                    .register(Metrics.globalRegistry);
+        }
+
+        private Counter tokens(String type) {
+            return Counter.builder(TOKENS)
+                    .description("Tokens used by the model")
+                    .baseUnit("tokens")
+                    .tag("aiservice", createInfo.getInterfaceName())
+                    .tag("method", createInfo.getMethodName())
+                    .tag("model", modelName)
+                    .tag("type", type)
+                    .register(Metrics.globalRegistry);
+        }
+
+        Counter modelErrors(String status) {
+            return modelErrors.computeIfAbsent(status, new Function<String, Counter>() {
+                @Override
+                public Counter apply(String status) {
+                    return Counter.builder(MODEL_ERRORS)
+                            .description("Requests to the model that failed")
+                            .tag("aiservice", createInfo.getInterfaceName())
+                            .tag("method", createInfo.getMethodName())
+                            .tag("model", modelName)
+                            .tag("status", status)
+                            .register(Metrics.globalRegistry);
+                }
+            });
+        }
+
+        Timer toolExecutions(String toolName, String result) {
+            return toolExecutions.computeIfAbsent(toolName + '#' + result, new Function<String, Timer>() {
+                @Override
+                public Timer apply(String ignored) {
+                    return Timer.builder(TOOL_EXECUTIONS)
+                            .description("Executions of the tools requested by the model")
+                            .tag("aiservice", createInfo.getInterfaceName())
+                            .tag("method", createInfo.getMethodName())
+                            .tag("tool", toolName)
+                            .tag("result", result)
+                            .publishPercentileHistogram()
+                            .register(Metrics.globalRegistry);
+                }
+            });
+        }
+    }
+}
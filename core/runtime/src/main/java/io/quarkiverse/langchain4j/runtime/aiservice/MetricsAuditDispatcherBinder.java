@@ -0,0 +1,35 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the depth of the queue of audits delivered asynchronously as the {@code langchain4j.audit.queue.size}
+ * gauge, along with the {@code langchain4j.audit.dropped} and {@code langchain4j.audit.delivered} counters
+ */
+public class MetricsAuditDispatcherBinder implements MeterBinder {
+
+    private final AuditDispatcher auditDispatcher;
+
+    public MetricsAuditDispatcherBinder(AuditDispatcher auditDispatcher) {
+        this.auditDispatcher = auditDispatcher;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!auditDispatcher.isAsync()) {
+            return;
+        }
+        Gauge.builder("langchain4j.audit.queue.size", auditDispatcher, AuditDispatcher::queueSize)
+                .description("Audits waiting to be delivered to the AuditService")
+                .register(registry);
+        FunctionCounter.builder("langchain4j.audit.dropped", auditDispatcher, AuditDispatcher::droppedCount)
+                .description("Audits dropped because the queue was full")
+                .register(registry);
+        FunctionCounter.builder("langchain4j.audit.delivered", auditDispatcher, AuditDispatcher::deliveredCount)
+                .description("Audits delivered to the AuditService from the background thread")
+                .register(registry);
+    }
+}
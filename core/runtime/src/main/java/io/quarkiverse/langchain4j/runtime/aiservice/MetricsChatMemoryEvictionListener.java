@@ -0,0 +1,35 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Counts the evicted chat memories as {@code langchain4j.chat-memory.evictions} counters, tagged with the AiService and
+ * the cause of the eviction
+ */
+public class MetricsChatMemoryEvictionListener implements ChatMemoryEvictionListener {
+
+    private static final String METRIC_NAME = "langchain4j.chat-memory.evictions";
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void onEviction(Class<?> aiServiceClass, Object memoryId, Cause cause) {
+        String key = aiServiceClass.getName() + '#' + cause;
+        counters.computeIfAbsent(key, new Function<String, Counter>() {
+            @Override
+            public Counter apply(String ignored) {
+                return Counter.builder(METRIC_NAME)
+                        .description("Chat memories evicted from AiServices")
+                        .tag("aiservice", aiServiceClass.getName())
+                        .tag("cause", cause.name().toLowerCase(Locale.ROOT))
+                        .register(Metrics.globalRegistry);
+            }
+        }).increment();
+    }
+}
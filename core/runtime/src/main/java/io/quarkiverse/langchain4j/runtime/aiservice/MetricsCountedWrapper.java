@@ -1,7 +1,10 @@
 package io.quarkiverse.langchain4j.runtime.aiservice;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Metrics;
@@ -12,12 +15,30 @@ public class MetricsCountedWrapper implements AiServiceMethodImplementationSuppo
     private static final String RESULT_TAG_SUCCESS_VALUE = "success";
     private static final String DEFAULT_EXCEPTION_TAG_VALUE = "none";
 
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
     @Override
     public Object wrap(AiServiceMethodImplementationSupport.Input input,
             Function<AiServiceMethodImplementationSupport.Input, Object> fun) {
         Optional<AiServiceMethodCreateInfo.MetricsCountedInfo> metricsInfoOpt = input.createInfo.getMetricsCountedInfo();
         if (metricsInfoOpt.isPresent()) {
             AiServiceMethodCreateInfo.MetricsCountedInfo metricsCountedInfo = metricsInfoOpt.get();
+            if (ReactiveMethodObservation.isReactive(input)) {
+                // a cancelled execution is counted as a success
+                return ReactiveMethodObservation.wrap(input, fun, new Supplier<ReactiveMethodObservation>() {
+                    @Override
+                    public ReactiveMethodObservation get() {
+                        return new ReactiveMethodObservation() {
+                            @Override
+                            public void end(Throwable failure) {
+                                if ((failure != null) || !metricsCountedInfo.isRecordFailuresOnly()) {
+                                    record(metricsCountedInfo, failure);
+                                }
+                            }
+                        };
+                    }
+                });
+            }
             try {
                 Object result = fun.apply(input);
                 if (!metricsCountedInfo.isRecordFailuresOnly()) {
@@ -34,15 +55,22 @@ public class MetricsCountedWrapper implements AiServiceMethodImplementationSuppo
     }
 
     private void record(AiServiceMethodCreateInfo.MetricsCountedInfo metricsCountedInfo, Throwable throwable) {
-        Counter.Builder builder = Counter.builder(metricsCountedInfo.getName())
-                .tags(metricsCountedInfo.getExtraTags())
-                .tag("exception", getExceptionTag(throwable))
-                .tag("result", throwable == null ? RESULT_TAG_SUCCESS_VALUE : RESULT_TAG_FAILURE_VALUE);
-        String description = metricsCountedInfo.getDescription();
-        if (!description.isEmpty()) {
-            builder.description(description);
-        }
-        builder.register(Metrics.globalRegistry).increment();
+        CounterKey key = new CounterKey(metricsCountedInfo, getExceptionTag(throwable),
+                throwable == null ? RESULT_TAG_SUCCESS_VALUE : RESULT_TAG_FAILURE_VALUE);
+        counters.computeIfAbsent(key, new Function<CounterKey, Counter>() {
+            @Override
+            public Counter apply(CounterKey counterKey) {
+                Counter.Builder builder = Counter.builder(counterKey.info.getName())
+                        .tags(counterKey.info.getExtraTags())
+                        .tag("exception", counterKey.exception)
+                        .tag("result", counterKey.result);
+                String description = counterKey.info.getDescription();
+                if (!description.isEmpty()) {
+                    builder.description(description);
+                }
+                return builder.register(Metrics.globalRegistry);
+            }
+        }).increment();
     }
 
     private String getExceptionTag(Throwable throwable) {
@@ -54,4 +82,10 @@ public class MetricsCountedWrapper implements AiServiceMethodImplementationSuppo
         }
         return throwable.getCause().getClass().getSimpleName();
     }
+
+    /**
+     * The info is created once per method, so the counters are only registered once per method and outcome
+     */
+    private record CounterKey(AiServiceMethodCreateInfo.MetricsCountedInfo info, String exception, String result) {
+    }
 }
@@ -0,0 +1,37 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Counts the hits and misses of the result caches as {@code langchain4j.aiservices.cache} counters, tagged with the
+ * AiService, the method, the type of cache and the result of the lookup
+ */
+public class MetricsResponseCacheListener implements ResponseCacheListener {
+
+    private static final String METRIC_NAME = "langchain4j.aiservices.cache";
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void onLookup(AiServiceMethodCreateInfo createInfo, String cacheType, boolean hit) {
+        String result = hit ? "hit" : "miss";
+        String key = createInfo.getInterfaceName() + '#' + createInfo.getMethodName() + '#' + cacheType + '#' + result;
+        counters.computeIfAbsent(key, new Function<String, Counter>() {
+            @Override
+            public Counter apply(String ignored) {
+                return Counter.builder(METRIC_NAME)
+                        .description("Lookups of cached AiService method results")
+                        .tag("aiservice", createInfo.getInterfaceName())
+                        .tag("method", createInfo.getMethodName())
+                        .tag("cache", cacheType)
+                        .tag("result", result)
+                        .register(Metrics.globalRegistry);
+            }
+        }).increment();
+    }
+}
@@ -1,6 +1,8 @@
 package io.quarkiverse.langchain4j.runtime.aiservice;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -10,6 +12,10 @@ import io.micrometer.core.instrument.Timer;
 
 public class MetricsTimedWrapper implements AiServiceMethodImplementationSupport.Wrapper {
 
+    // the info is created once per method, so the timers are only registered once per method
+    private final Map<AiServiceMethodCreateInfo.MetricsTimedInfo, LongTaskTimer> longTaskTimers = new ConcurrentHashMap<>();
+    private final Map<AiServiceMethodCreateInfo.MetricsTimedInfo, Timer> timers = new ConcurrentHashMap<>();
+
     @Override
     public Object wrap(AiServiceMethodImplementationSupport.Input input,
             Function<AiServiceMethodImplementationSupport.Input, Object> fun) {
@@ -17,12 +23,32 @@ public class MetricsTimedWrapper implements AiServiceMethodImplementationSupport
         if (metricsInfoOpt.isPresent()) {
             AiServiceMethodCreateInfo.MetricsTimedInfo metricsTimedInfo = metricsInfoOpt.get();
             if (metricsTimedInfo.isLongTask()) {
-                LongTaskTimer timer = LongTaskTimer.builder(metricsTimedInfo.getName())
-                        .description(metricsTimedInfo.getDescription())
-                        .publishPercentiles(metricsTimedInfo.getPercentiles())
-                        .publishPercentileHistogram(metricsTimedInfo.isHistogram())
-                        .tags(metricsTimedInfo.getExtraTags())
-                        .register(Metrics.globalRegistry);
+                LongTaskTimer timer = longTaskTimers.computeIfAbsent(metricsTimedInfo,
+                        new Function<AiServiceMethodCreateInfo.MetricsTimedInfo, LongTaskTimer>() {
+                            @Override
+                            public LongTaskTimer apply(AiServiceMethodCreateInfo.MetricsTimedInfo info) {
+                                return LongTaskTimer.builder(info.getName())
+                                        .description(info.getDescription())
+                                        .publishPercentiles(info.getPercentiles())
+                                        .publishPercentileHistogram(info.isHistogram())
+                                        .tags(info.getExtraTags())
+                                        .register(Metrics.globalRegistry);
+                            }
+                        });
+                if (ReactiveMethodObservation.isReactive(input)) {
+                    return ReactiveMethodObservation.wrap(input, fun, new Supplier<ReactiveMethodObservation>() {
+                        @Override
+                        public ReactiveMethodObservation get() {
+                            LongTaskTimer.Sample sample = timer.start();
+                            return new ReactiveMethodObservation() {
+                                @Override
+                                public void end(Throwable failure) {
+                                    sample.stop();
+                                }
+                            };
+                        }
+                    });
+                }
                 return timer.record(new Supplier<Object>() {
                     @Override
                     public Object get() {
@@ -30,12 +56,32 @@ public class MetricsTimedWrapper implements AiServiceMethodImplementationSupport
                     }
                 });
             } else {
-                Timer timer = Timer.builder(metricsTimedInfo.getName())
-                        .description(metricsTimedInfo.getDescription())
-                        .publishPercentiles(metricsTimedInfo.getPercentiles())
-                        .publishPercentileHistogram(metricsTimedInfo.isHistogram())
-                        .tags(metricsTimedInfo.getExtraTags())
-                        .register(Metrics.globalRegistry);
+                Timer timer = timers.computeIfAbsent(metricsTimedInfo,
+                        new Function<AiServiceMethodCreateInfo.MetricsTimedInfo, Timer>() {
+                            @Override
+                            public Timer apply(AiServiceMethodCreateInfo.MetricsTimedInfo info) {
+                                return Timer.builder(info.getName())
+                                        .description(info.getDescription())
+                                        .publishPercentiles(info.getPercentiles())
+                                        .publishPercentileHistogram(info.isHistogram())
+                                        .tags(info.getExtraTags())
+                                        .register(Metrics.globalRegistry);
+                            }
+                        });
+                if (ReactiveMethodObservation.isReactive(input)) {
+                    return ReactiveMethodObservation.wrap(input, fun, new Supplier<ReactiveMethodObservation>() {
+                        @Override
+                        public ReactiveMethodObservation get() {
+                            Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+                            return new ReactiveMethodObservation() {
+                                @Override
+                                public void end(Throwable failure) {
+                                    sample.stop(timer);
+                                }
+                            };
+                        }
+                    });
+                }
                 return timer.record(new Supplier<Object>() {
                     @Override
                     public Object get() {
@@ -0,0 +1,55 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.langchain4j.data.message.ChatMessage;
+
+/**
+ * Keeps track of the messages of each conversation that have already passed moderation,
+ * so they don't need to be sent to the moderation model on every turn.
+ * <p>
+ * Only the messages that were part of the last successful moderation of a conversation are remembered,
+ * so the amount of data kept is bounded by the size of the chat memory.
+ */
+class ModeratedMessages {
+
+    private final Map<Object, Set<ChatMessage>> passedByMemoryId = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the messages of the conversation that have not passed moderation yet
+     */
+    List<ChatMessage> pending(Object memoryId, List<ChatMessage> conversation) {
+        Set<ChatMessage> passed = passedByMemoryId.get(memoryId);
+        if (passed == null) {
+            return conversation;
+        }
+        List<ChatMessage> result = new ArrayList<>(conversation.size());
+        for (ChatMessage message : conversation) {
+            if (!passed.contains(message)) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records that all the messages of the conversation have passed moderation
+     */
+    void passed(Object memoryId, List<ChatMessage> conversation) {
+        passedByMemoryId.put(memoryId, Collections.unmodifiableSet(new HashSet<>(conversation)));
+    }
+
+    void remove(Object memoryId) {
+        passedByMemoryId.remove(memoryId);
+    }
+
+    void clear() {
+        passedByMemoryId.clear();
+    }
+}
@@ -0,0 +1,150 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import jakarta.inject.Inject;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+
+/**
+ * Creates the spans of the operations of AiService invocations with OpenTelemetry, using the attributes of the GenAI
+ * semantic conventions where they exist
+ */
+public class OpenTelemetryAiServiceTracer implements AiServiceTracer {
+
+    private static final String INSTRUMENTATION_NAME = "io.quarkus.opentelemetry";
+
+    private static final AttributeKey<String> OPERATION_NAME = AttributeKey.stringKey("gen_ai.operation.name");
+    private static final AttributeKey<String> SYSTEM = AttributeKey.stringKey("gen_ai.system");
+    private static final AttributeKey<String> REQUEST_MODEL = AttributeKey.stringKey("gen_ai.request.model");
+    private static final AttributeKey<Long> INPUT_TOKENS = AttributeKey.longKey("gen_ai.usage.input_tokens");
+    private static final AttributeKey<Long> OUTPUT_TOKENS = AttributeKey.longKey("gen_ai.usage.output_tokens");
+    private static final AttributeKey<List<String>> FINISH_REASONS = AttributeKey
+            .stringArrayKey("gen_ai.response.finish_reasons");
+    private static final AttributeKey<List<String>> REQUESTED_TOOL_NAMES = AttributeKey
+            .stringArrayKey("langchain4j.response.tool_names");
+    private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+
+    private final Tracer tracer;
+
+    @Inject
+    public OpenTelemetryAiServiceTracer(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    @Override
+    public Object currentContext() {
+        return Context.current();
+    }
+
+    @Override
+    public AiServiceTracer.Span startModelCall(Object parentContext, String provider, String modelName) {
+        SpanBuilder builder = tracer.spanBuilder("chat " + modelName)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(OPERATION_NAME, "chat")
+                .setAttribute(REQUEST_MODEL, modelName);
+        if (provider != null) {
+            builder.setAttribute(SYSTEM, provider);
+        }
+        return start((Context) parentContext, builder);
+    }
+
+    @Override
+    public AiServiceTracer.Scope makeCurrent(Object context) {
+        return scope(((Context) context).makeCurrent());
+    }
+
+    @Override
+    public AiServiceTracer.Span startRetrieval(Object parentContext) {
+        return start((Context) parentContext, tracer.spanBuilder("langchain4j.retrieval")
+                .setSpanKind(SpanKind.INTERNAL));
+    }
+
+    @Override
+    public AiServiceTracer.Span startModeration(Object parentContext) {
+        return start((Context) parentContext, tracer.spanBuilder("langchain4j.moderation")
+                .setSpanKind(SpanKind.CLIENT));
+    }
+
+    @Override
+    public AiServiceTracer.Span startChatMemoryOperation(String operation) {
+        return start(Context.current(), tracer.spanBuilder("langchain4j.chat_memory." + operation)
+                .setSpanKind(SpanKind.INTERNAL));
+    }
+
+    private static AiServiceTracer.Span start(Context parentContext, SpanBuilder builder) {
+        io.opentelemetry.api.trace.Span span = builder.setParent(parentContext).startSpan();
+        return new OpenTelemetrySpan(parentContext.with(span), span);
+    }
+
+    private static AiServiceTracer.Scope scope(io.opentelemetry.context.Scope scope) {
+        return new AiServiceTracer.Scope() {
+            @Override
+            public void close() {
+                scope.close();
+            }
+        };
+    }
+
+    private static class OpenTelemetrySpan implements AiServiceTracer.Span {
+
+        private final Context context;
+        private final io.opentelemetry.api.trace.Span span;
+
+        private OpenTelemetrySpan(Context context, io.opentelemetry.api.trace.Span span) {
+            this.context = context;
+            this.span = span;
+        }
+
+        @Override
+        public Scope makeCurrent() {
+            return scope(context.makeCurrent());
+        }
+
+        @Override
+        public void modelResponse(Response<AiMessage> response) {
+            TokenUsage tokenUsage = response.tokenUsage();
+            if (tokenUsage != null) {
+                if (tokenUsage.inputTokenCount() != null) {
+                    span.setAttribute(INPUT_TOKENS, tokenUsage.inputTokenCount().longValue());
+                }
+                if (tokenUsage.outputTokenCount() != null) {
+                    span.setAttribute(OUTPUT_TOKENS, tokenUsage.outputTokenCount().longValue());
+                }
+            }
+            if (response.finishReason() != null) {
+                span.setAttribute(FINISH_REASONS, List.of(response.finishReason().name().toLowerCase(Locale.ROOT)));
+            }
+            AiMessage aiMessage = response.content();
+            if ((aiMessage != null) && aiMessage.hasToolExecutionRequests()) {
+                List<String> toolNames = new ArrayList<>(aiMessage.toolExecutionRequests().size());
+                for (ToolExecutionRequest toolExecutionRequest : aiMessage.toolExecutionRequests()) {
+                    toolNames.add(toolExecutionRequest.name());
+                }
+                span.setAttribute(REQUESTED_TOOL_NAMES, toolNames);
+            }
+        }
+
+        @Override
+        public void end(Throwable failure) {
+            if (failure != null) {
+                span.recordException(failure);
+                span.setAttribute(ERROR_TYPE, failure.getClass().getName());
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end();
+        }
+    }
+}
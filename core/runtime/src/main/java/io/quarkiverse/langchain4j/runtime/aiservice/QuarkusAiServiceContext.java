@@ -2,6 +2,10 @@ package io.quarkiverse.langchain4j.runtime.aiservice;
 
 import java.util.function.BiConsumer;
 
+import jakarta.enterprise.inject.Instance;
+
+import org.jboss.logging.Logger;
+
 import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.service.AiServiceContext;
 import io.quarkiverse.langchain4j.RegisterAiService;
@@ -9,8 +13,29 @@ import io.quarkiverse.langchain4j.audit.AuditService;
 
 public class QuarkusAiServiceContext extends AiServiceContext {
 
+    private static final Logger log = Logger.getLogger(QuarkusAiServiceContext.class);
+
     public AuditService auditService;
 
+    /**
+     * The name of the configured chat model the AiService uses, {@code null} when the AiService was not created via
+     * {@link RegisterAiService}
+     */
+    public String chatModelName;
+
+    /**
+     * The provider of the chat model the AiService uses (like {@code openai}), {@code null} when it is not known
+     */
+    public String chatModelProvider;
+
+    /**
+     * The model the chat model requests from its provider, as configured with {@code chat-model.model-name}, or
+     * {@link #chatModelName} when it is not known
+     */
+    public String providerModelName;
+
+    final ModeratedMessages moderatedMessages = new ModeratedMessages();
+
     // needed by Arc
     public QuarkusAiServiceContext() {
         super(null);
@@ -20,15 +45,51 @@ public class QuarkusAiServiceContext extends AiServiceContext {
         super(aiServiceClass);
     }
 
+    /**
+     * Makes sure the chat memories of the memory ids used with this AiService do not accumulate when
+     * {@code quarkus.langchain4j.chat-memory.max-entries} or {@code quarkus.langchain4j.chat-memory.idle-timeout}
+     * is configured
+     */
+    public void limitChatMemories(ChatMemoryConfig config, Instance<ChatMemoryEvictionListener> listeners) {
+        if ((chatMemories == null) || (config.maxEntries().isEmpty() && config.idleTimeout().isEmpty())) {
+            return;
+        }
+        int maxEntries = config.maxEntries().orElse(0);
+        long idleTimeoutNanos = config.idleTimeout().isPresent() ? config.idleTimeout().get().toNanos() : 0;
+        BoundedChatMemories boundedChatMemories = new BoundedChatMemories(maxEntries, idleTimeoutNanos,
+                new BoundedChatMemories.EvictionCallback() {
+                    @Override
+                    public void onEviction(Object memoryId, ChatMemory chatMemory, ChatMemoryEvictionListener.Cause cause) {
+                        // the updates of a streamed response may still be buffered, and would only be written later
+                        try {
+                            WriteBehindChatMemoryStore.flush(chatMemory);
+                        } catch (RuntimeException e) {
+                            log.warnf(e, "Unable to write the messages of evicted memory id '%s'", memoryId);
+                        }
+                        // the memory id will be moderated from scratch if it is ever used again
+                        moderatedMessages.remove(memoryId);
+                        for (ChatMemoryEvictionListener listener : listeners) {
+                            listener.onEviction(aiServiceClass, memoryId, cause);
+                        }
+                    }
+                });
+        boundedChatMemories.putAll(chatMemories);
+        chatMemories = boundedChatMemories;
+    }
+
     /**
      * This is called by the {@code close} method of AiServices registered with {@link RegisterAiService}
      * when the bean's scope is closed
      */
     public void close() {
         clearChatMemory();
+        moderatedMessages.clear();
     }
 
     private void clearChatMemory() {
+        if (chatMemories == null) {
+            return;
+        }
         chatMemories.forEach(new BiConsumer<>() {
             @Override
             public void accept(Object memoryId, ChatMemory chatMemory) {
@@ -45,6 +106,10 @@ public class QuarkusAiServiceContext extends AiServiceContext {
      */
     public void removeChatMemoryIds(Object... ids) {
         for (Object id : ids) {
+            moderatedMessages.remove(id);
+            if (chatMemories == null) {
+                continue;
+            }
             ChatMemory chatMemory = chatMemories.remove(id);
             if (chatMemory != null) {
                 chatMemory.clear();
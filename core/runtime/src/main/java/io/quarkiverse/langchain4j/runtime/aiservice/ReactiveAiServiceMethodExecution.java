@@ -0,0 +1,276 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static dev.langchain4j.internal.Exceptions.runtime;
+import static dev.langchain4j.service.ServiceOutputParser.parse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.service.ModerationException;
+import io.quarkiverse.langchain4j.audit.Audit;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.smallrye.mutiny.tuples.Tuple2;
+
+/**
+ * Implements AiService methods that return {@link Uni} or {@link Multi} on top of the {@link StreamingChatLanguageModel}.
+ * <p>
+ * The streaming model notifies us via callbacks when tokens and the final response are available, so no thread is
+ * parked while waiting for the LLM. The handling of each final response, which adds it to the chat memory and executes
+ * the requested tools, is dispatched to a worker thread, as the chat memory store and the tools are free to block.
+ */
+class ReactiveAiServiceMethodExecution {
+
+    private static final Logger log = Logger.getLogger(ReactiveAiServiceMethodExecution.class);
+
+    private final QuarkusAiServiceContext context;
+    private final AiServiceMethodCreateInfo createInfo;
+    private final Object memoryId;
+    private final List<ChatMessage> messages;
+    private final Audit audit;
+    private final ToolExecutionDispatcher toolExecutionDispatcher;
+    private final InvocationInstrumentation instrumentation;
+
+    ReactiveAiServiceMethodExecution(QuarkusAiServiceContext context, AiServiceMethodCreateInfo createInfo,
+            Object memoryId, List<ChatMessage> messages, Audit audit, ToolExecutionDispatcher toolExecutionDispatcher,
+            InvocationInstrumentation instrumentation) {
+        if (context.streamingChatModel == null) {
+            throw new IllegalStateException("Method '" + createInfo.getInterfaceName() + "#" + createInfo.getMethodName()
+                    + "' returns '" + createInfo.getReturnType().getSimpleName()
+                    + "' which requires a StreamingChatLanguageModel, but none has been configured for the AiService");
+        }
+        this.context = context;
+        this.createInfo = createInfo;
+        this.memoryId = memoryId;
+        this.messages = messages;
+        this.audit = audit;
+        this.toolExecutionDispatcher = toolExecutionDispatcher;
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * The final (parsed) result of the method
+     */
+    Uni<Object> result() {
+        Uni<Object> result = Uni.createFrom().emitter(new Consumer<UniEmitter<? super Object>>() {
+            @Override
+            public void accept(UniEmitter<? super Object> emitter) {
+                AtomicBoolean terminated = new AtomicBoolean();
+                emitter.onTermination(new Runnable() {
+                    @Override
+                    public void run() {
+                        terminated.set(true);
+                    }
+                });
+                generate(messages, AiServiceMethodImplementationSupport.MAX_SEQUENTIAL_TOOL_EXECUTIONS, null, new Sink() {
+                    @Override
+                    public void onToken(String token) {
+                        // we only care about the final response
+                    }
+
+                    @Override
+                    public void onResponse(Response<AiMessage> response) {
+                        emitter.complete(parse(response, createInfo.getResultType()));
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        emitter.fail(error);
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return terminated.get();
+                    }
+                });
+            }
+        });
+
+        if (!createInfo.isRequiresModeration()) {
+            return result;
+        }
+        // moderation and generation are performed concurrently, just like the blocking flow does
+        return Uni.combine().all().unis(moderation(), result).asTuple()
+                .map(new Function<Tuple2<Moderation, Object>, Object>() {
+                    @Override
+                    public Object apply(Tuple2<Moderation, Object> tuple) {
+                        verifyModeration(tuple.getItem1());
+                        return tuple.getItem2();
+                    }
+                });
+    }
+
+    /**
+     * The tokens of the final response as they are produced by the LLM
+     */
+    Multi<String> tokens() {
+        Multi<String> tokens = Multi.createFrom().emitter(new Consumer<MultiEmitter<? super String>>() {
+            @Override
+            public void accept(MultiEmitter<? super String> emitter) {
+                generate(messages, AiServiceMethodImplementationSupport.MAX_SEQUENTIAL_TOOL_EXECUTIONS, null, new Sink() {
+                    @Override
+                    public void onToken(String token) {
+                        emitter.emit(token);
+                    }
+
+                    @Override
+                    public void onResponse(Response<AiMessage> response) {
+                        emitter.complete();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        emitter.fail(error);
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return emitter.isCancelled();
+                    }
+                });
+            }
+        });
+
+        if (!createInfo.isRequiresModeration()) {
+            return tokens;
+        }
+        // tokens cannot be taken back once emitted, so moderation needs to complete before we start streaming
+        return moderation().onItem().transformToMulti(new Function<Moderation, Multi<? extends String>>() {
+            @Override
+            public Multi<? extends String> apply(Moderation moderation) {
+                verifyModeration(moderation);
+                return tokens;
+            }
+        });
+    }
+
+    private void generate(List<ChatMessage> messages, int executionsLeft, TokenUsage tokenUsageAccumulator, Sink sink) {
+        log.debug("Attempting to obtain AI response");
+        long start = instrumentation.start();
+        AiServiceTracer.Span span = instrumentation.startModelCall();
+        StreamingResponseHandler<AiMessage> handler = new StreamingResponseHandler<>() {
+
+            private boolean firstToken = true;
+
+            @Override
+            public void onNext(String token) {
+                // tokens of a single response are never emitted concurrently
+                if (firstToken) {
+                    firstToken = false;
+                    instrumentation.firstToken(start);
+                }
+                if (!sink.isCancelled()) {
+                    sink.onToken(token);
+                }
+            }
+
+            @Override
+            public void onComplete(Response<AiMessage> response) {
+                log.debug("AI response obtained");
+                span.modelResponse(response);
+                span.end(null);
+                instrumentation.modelResponse(response);
+                // we are most likely on an event loop thread here
+                Infrastructure.getDefaultWorkerPool().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            handleResponse(response, executionsLeft, tokenUsageAccumulator, sink);
+                        } catch (Exception e) {
+                            sink.onError(e);
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                span.end(error);
+                instrumentation.modelFailure(error);
+                sink.onError(error);
+            }
+        };
+        try (AiServiceTracer.Scope ignored = span.makeCurrent()) {
+            if (context.toolSpecifications == null) {
+                context.streamingChatModel.generate(messages, handler);
+            } else {
+                context.streamingChatModel.generate(messages, context.toolSpecifications, handler);
+            }
+        } catch (RuntimeException e) {
+            span.end(e);
+            throw e;
+        }
+    }
+
+    private void handleResponse(Response<AiMessage> response, int executionsLeft, TokenUsage tokenUsageAccumulator,
+            Sink sink) {
+        if (audit != null) {
+            audit.addLLMToApplicationMessage(response);
+        }
+        TokenUsage tokenUsage = tokenUsageAccumulator == null ? response.tokenUsage()
+                : tokenUsageAccumulator.add(response.tokenUsage());
+
+        AiMessage aiMessage = response.content();
+        if (context.hasChatMemory()) {
+            context.chatMemory(memoryId).add(aiMessage);
+        }
+
+        if (!aiMessage.hasToolExecutionRequests()) {
+            instrumentation.completion(AiServiceMethodImplementationSupport.MAX_SEQUENTIAL_TOOL_EXECUTIONS - executionsLeft);
+            sink.onResponse(Response.from(aiMessage, tokenUsage, response.finishReason()));
+            return;
+        }
+
+        if (executionsLeft == 0) {
+            throw runtime("Something is wrong, exceeded %s sequential tool executions",
+                    AiServiceMethodImplementationSupport.MAX_SEQUENTIAL_TOOL_EXECUTIONS);
+        }
+        if (sink.isCancelled()) {
+            return;
+        }
+
+        ChatMemory chatMemory = context.chatMemory(memoryId);
+        for (ToolExecutionResultMessage toolExecutionResultMessage : toolExecutionDispatcher.execute(context,
+                aiMessage.toolExecutionRequests(), memoryId, audit, instrumentation)) {
+            chatMemory.add(toolExecutionResultMessage);
+        }
+        generate(chatMemory.messages(), executionsLeft - 1, tokenUsage, sink);
+    }
+
+    private Uni<Moderation> moderation() {
+        return instrumentation.traceModeration(AiServiceMethodImplementationSupport.moderate(context, memoryId, messages));
+    }
+
+    private static void verifyModeration(Moderation moderation) {
+        if (moderation.flagged()) {
+            throw new ModerationException(String.format("Text \"%s\" violates content policy", moderation.flaggedText()));
+        }
+    }
+
+    private interface Sink {
+
+        void onToken(String token);
+
+        void onResponse(Response<AiMessage> response);
+
+        void onError(Throwable error);
+
+        boolean isCancelled();
+    }
+}
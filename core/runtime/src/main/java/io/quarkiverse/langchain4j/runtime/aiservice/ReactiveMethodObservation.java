@@ -0,0 +1,89 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.tuples.Functions;
+
+/**
+ * What a {@link AiServiceMethodImplementationSupport.Wrapper} measures around one execution of an AI service method.
+ * <p>
+ * Methods returning {@link Uni} or {@link Multi} only assemble their result when they are called: they are executed
+ * each time the result is subscribed to, and are over once it terminates. {@link #wrap} starts the observation when
+ * the result is subscribed to and ends it when it terminates, so that the wrappers do not only measure the assembly.
+ */
+interface ReactiveMethodObservation {
+
+    /**
+     * Called once the method returned, before the result is subscribed to
+     */
+    default void assembled() {
+    }
+
+    /**
+     * @param failure {@code null} when the execution succeeded or was cancelled
+     */
+    void end(Throwable failure);
+
+    static boolean isReactive(AiServiceMethodImplementationSupport.Input input) {
+        Class<?> returnType = input.createInfo.getReturnType();
+        return returnType.equals(Uni.class) || returnType.equals(Multi.class);
+    }
+
+    /**
+     * @param start called each time the result is subscribed to, right before the method is called
+     */
+    static Object wrap(AiServiceMethodImplementationSupport.Input input,
+            Function<AiServiceMethodImplementationSupport.Input, Object> fun,
+            Supplier<ReactiveMethodObservation> start) {
+        if (input.createInfo.getReturnType().equals(Uni.class)) {
+            return Uni.createFrom().deferred(new Supplier<Uni<?>>() {
+                @Override
+                public Uni<?> get() {
+                    ReactiveMethodObservation observation = start.get();
+                    return observe((Uni<?>) call(input, fun, observation), observation);
+                }
+            });
+        }
+        return Multi.createFrom().deferred(new Supplier<Multi<?>>() {
+            @Override
+            public Multi<?> get() {
+                ReactiveMethodObservation observation = start.get();
+                return observe((Multi<?>) call(input, fun, observation), observation);
+            }
+        });
+    }
+
+    private static Object call(AiServiceMethodImplementationSupport.Input input,
+            Function<AiServiceMethodImplementationSupport.Input, Object> fun, ReactiveMethodObservation observation) {
+        try {
+            return fun.apply(input);
+        } catch (RuntimeException | Error e) {
+            observation.end(e);
+            throw e;
+        } finally {
+            observation.assembled();
+        }
+    }
+
+    private static <T> Uni<T> observe(Uni<T> uni, ReactiveMethodObservation observation) {
+        return uni.onTermination().invoke(new Functions.TriConsumer<T, Throwable, Boolean>() {
+            @Override
+            public void accept(T item, Throwable failure, Boolean cancelled) {
+                observation.end(failure);
+            }
+        });
+    }
+
+    private static <T> Multi<T> observe(Multi<T> multi, ReactiveMethodObservation observation) {
+        return multi.onTermination().invoke(new BiConsumer<Throwable, Boolean>() {
+            @Override
+            public void accept(Throwable failure, Boolean cancelled) {
+                observation.end(failure);
+            }
+        });
+    }
+}
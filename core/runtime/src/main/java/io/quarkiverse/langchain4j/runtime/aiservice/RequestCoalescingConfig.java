@@ -0,0 +1,21 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
+
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigRoot(phase = RUN_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.request-coalescing")
+public interface RequestCoalescingConfig {
+
+    /**
+     * Whether AiService invocations that send exactly the same messages (and tools) to the same chat model while an
+     * identical request is still in flight wait for the response of that request instead of sending their own.
+     * All the coalesced invocations receive the same response, so this should not be enabled when invocations are
+     * expected to receive different answers for the same messages.
+     */
+    @WithDefault("false")
+    boolean enabled();
+}
@@ -0,0 +1,119 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A cache evicting the least recently used entries once {@code maxSize} is exceeded, and optionally expiring entries a
+ * fixed amount of time after they were written.
+ * <p>
+ * The entries are kept in a {@link ConcurrentHashMap}, so looking up and caching results never contends on a lock.
+ * Each entry records when it was last used, and once {@code maxSize} is exceeded a single thread at a time evicts the
+ * least recently used entries (and the expired ones), down to 90% of {@code maxSize} so that the entries only need to
+ * be sorted once every so many insertions. The cache may briefly hold a few more entries when results are cached
+ * concurrently.
+ */
+class ResponseCache {
+
+    private final int maxSize;
+    private final int sizeAfterEviction;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * @param ttlNanos a value less than or equal to zero means entries never expire
+     */
+    ResponseCache(int maxSize, long ttlNanos) {
+        this.maxSize = maxSize;
+        this.sizeAfterEviction = maxSize - maxSize / 10;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * @return the cached value or {@code null} if there is no (unexpired) value for the key
+     */
+    Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (isExpired(entry, now)) {
+            entries.remove(key, entry);
+            return null;
+        }
+        entry.lastAccess = now;
+        return entry.value;
+    }
+
+    void put(String key, Object value) {
+        if ((value == null) || (maxSize <= 0)) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.put(key, new Entry(value, now));
+        if ((entries.size() > maxSize) && evicting.compareAndSet(false, true)) {
+            try {
+                evict(now);
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return (ttlNanos > 0) && (now - entry.writtenAt > ttlNanos);
+    }
+
+    private void evict(long now) {
+        // the access times are copied, as they keep changing while the candidates are sorted
+        List<Candidate> candidates = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (isExpired(entry.getValue(), now)) {
+                entries.remove(entry.getKey(), entry.getValue());
+            } else {
+                candidates.add(new Candidate(entry.getKey(), entry.getValue()));
+            }
+        }
+        candidates.sort(new Comparator<>() {
+            @Override
+            public int compare(Candidate c1, Candidate c2) {
+                return Long.compare(c1.lastAccess, c2.lastAccess);
+            }
+        });
+        for (int i = 0; (i < candidates.size()) && (entries.size() > sizeAfterEviction); i++) {
+            Candidate candidate = candidates.get(i);
+            // the entry is only removed if it was not replaced in the meantime
+            entries.remove(candidate.key, candidate.entry);
+        }
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long writtenAt;
+        private volatile long lastAccess;
+
+        private Entry(Object value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+            this.lastAccess = writtenAt;
+        }
+    }
+
+    private static class Candidate {
+        private final String key;
+        private final Entry entry;
+        private final long lastAccess;
+
+        private Candidate(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+}
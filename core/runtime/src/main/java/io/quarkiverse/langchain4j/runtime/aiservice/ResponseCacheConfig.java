@@ -0,0 +1,47 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigRoot(phase = RUN_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.response-cache")
+public interface ResponseCacheConfig {
+
+    /**
+     * The maximum number of results cached for each method annotated with {@link io.quarkiverse.langchain4j.CacheAiResult}.
+     * When the limit is reached, the least recently used result is evicted.
+     * For semantic caching, when no {@link io.quarkiverse.langchain4j.ResponseCacheStore} embedding store is provided,
+     * the in-memory store of each method is emptied once it holds that many user messages.
+     */
+    @WithDefault("1000")
+    int maxSize();
+
+    /**
+     * How long a cached result is used after it has been obtained from the LLM.
+     * When not set, results are only evicted because of the size limit.
+     */
+    Optional<Duration> ttl();
+
+    /**
+     * Configures the lookup of results for methods annotated with {@code @CacheAiResult(semantic = true)}
+     */
+    Semantic semantic();
+
+    @ConfigGroup
+    interface Semantic {
+
+        /**
+         * The minimum similarity score (between 0 and 1) the user message of a previous invocation needs to have
+         * for its result to be used
+         */
+        @WithDefault("0.95")
+        double minScore();
+    }
+}
@@ -0,0 +1,14 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+/**
+ * Beans implementing this interface are notified about each lookup performed for methods annotated with
+ * {@link io.quarkiverse.langchain4j.CacheAiResult}
+ */
+public interface ResponseCacheListener {
+
+    /**
+     * @param cacheType either {@code exact} or {@code semantic}
+     * @param hit whether a cached result was found
+     */
+    void onLookup(AiServiceMethodCreateInfo createInfo, String cacheType, boolean hit);
+}
@@ -0,0 +1,219 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import io.quarkiverse.langchain4j.ResponseCacheStore;
+import io.quarkus.arc.All;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Returns the cached result of methods annotated with {@link io.quarkiverse.langchain4j.CacheAiResult} when the rendered
+ * messages of the invocation are exactly the same as the ones of a previous invocation, or when semantic caching is
+ * enabled, when the user message is similar enough to the one of a previous invocation
+ */
+public class ResponseCacheWrapper implements AiServiceMethodImplementationSupport.Wrapper {
+
+    private static final Logger log = Logger.getLogger(ResponseCacheWrapper.class);
+
+    static final String EXACT_CACHE = "exact";
+    static final String SEMANTIC_CACHE = "semantic";
+
+    private final ResponseCacheConfig config;
+    private final Instance<EmbeddingModel> embeddingModel;
+    private final Instance<EmbeddingStore<TextSegment>> embeddingStore;
+    private final List<ResponseCacheListener> listeners;
+    private final long ttlNanos;
+    private final Map<AiServiceMethodCreateInfo, ResponseCache> caches = new ConcurrentHashMap<>();
+    private final Map<AiServiceMethodCreateInfo, SemanticResponseCache> semanticCaches = new ConcurrentHashMap<>();
+
+    @Inject
+    public ResponseCacheWrapper(ResponseCacheConfig config, Instance<EmbeddingModel> embeddingModel,
+            @ResponseCacheStore Instance<EmbeddingStore<TextSegment>> embeddingStore,
+            @All List<ResponseCacheListener> listeners) {
+        this.config = config;
+        this.embeddingModel = embeddingModel;
+        this.embeddingStore = embeddingStore;
+        this.listeners = listeners;
+        this.ttlNanos = config.ttl().isPresent() ? config.ttl().get().toNanos() : 0;
+    }
+
+    @Override
+    public Object wrap(AiServiceMethodImplementationSupport.Input input,
+            Function<AiServiceMethodImplementationSupport.Input, Object> fun) {
+        AiServiceMethodCreateInfo createInfo = input.createInfo;
+        Optional<AiServiceMethodCreateInfo.CacheResultInfo> cacheResultInfo = createInfo.getCacheResultInfo();
+        if (cacheResultInfo.isEmpty()) {
+            return fun.apply(input);
+        }
+        if (input.context.hasChatMemory()) {
+            // only possible for AI services created programmatically, declarative ones are validated at build time
+            throw new IllegalStateException("@CacheAiResult can only be used in AI services that do not use any chat"
+                    + " memory, which is not the case of " + createInfo.getInterfaceName());
+        }
+
+        ResponseCache cache = caches.computeIfAbsent(createInfo,
+                new Function<AiServiceMethodCreateInfo, ResponseCache>() {
+                    @Override
+                    public ResponseCache apply(AiServiceMethodCreateInfo ignored) {
+                        return new ResponseCache(config.maxSize(), ttlNanos);
+                    }
+                });
+        RenderedMessages messages = RenderedMessages.from(input);
+        String key = messages.key();
+        boolean isUni = createInfo.getReturnType().equals(Uni.class);
+
+        Object cached = cache.get(key);
+        notifyListeners(createInfo, EXACT_CACHE, cached != null);
+        if (cached != null) {
+            log.debugf("Using cached result for %s#%s", createInfo.getInterfaceName(), createInfo.getMethodName());
+            return isUni ? Uni.createFrom().item(cached) : cached;
+        }
+
+        if (!cacheResultInfo.get().isSemantic()) {
+            return invoke(input, fun, isUni, new Consumer<Object>() {
+                @Override
+                public void accept(Object result) {
+                    cache.put(key, result);
+                }
+            });
+        }
+
+        if (isUni) {
+            // embedding the message and searching the store are blocking operations
+            return Uni.createFrom().item(new Supplier<SemanticResponseCache.Lookup>() {
+                @Override
+                public SemanticResponseCache.Lookup get() {
+                    return semanticLookup(createInfo, messages);
+                }
+            }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                    .onItem().transformToUni(new Function<SemanticResponseCache.Lookup, Uni<?>>() {
+                        @Override
+                        public Uni<?> apply(SemanticResponseCache.Lookup lookup) {
+                            return (Uni<?>) semanticInvoke(input, fun, true, cache, key, lookup);
+                        }
+                    });
+        }
+        return semanticInvoke(input, fun, false, cache, key, semanticLookup(createInfo, messages));
+    }
+
+    private Object semanticInvoke(AiServiceMethodImplementationSupport.Input input,
+            Function<AiServiceMethodImplementationSupport.Input, Object> fun, boolean isUni, ResponseCache cache,
+            String key, SemanticResponseCache.Lookup lookup) {
+        AiServiceMethodCreateInfo createInfo = input.createInfo;
+        String cached = lookup != null ? lookup.result() : null;
+        notifyListeners(createInfo, SEMANTIC_CACHE, cached != null);
+        if (cached != null) {
+            log.debugf("Using result of a similar invocation for %s#%s", createInfo.getInterfaceName(),
+                    createInfo.getMethodName());
+            cache.put(key, cached);
+            return isUni ? Uni.createFrom().item(cached) : cached;
+        }
+        return invoke(input, fun, isUni, new Consumer<Object>() {
+            @Override
+            public void accept(Object result) {
+                cache.put(key, result);
+                if (lookup != null) {
+                    try {
+                        semanticCache(createInfo).put(lookup, (String) result);
+                    } catch (RuntimeException e) {
+                        log.warn("Unable to store the result in the semantic cache", e);
+                    }
+                }
+            }
+        });
+    }
+
+    private static Object invoke(AiServiceMethodImplementationSupport.Input input,
+            Function<AiServiceMethodImplementationSupport.Input, Object> fun, boolean isUni, Consumer<Object> onResult) {
+        Object result = fun.apply(input);
+        if (isUni) {
+            return ((Uni<?>) result).invoke(onResult);
+        }
+        onResult.accept(result);
+        return result;
+    }
+
+    /**
+     * A failing lookup is treated as a cache miss, as the cache should never be the reason an invocation fails
+     */
+    private SemanticResponseCache.Lookup semanticLookup(AiServiceMethodCreateInfo createInfo, RenderedMessages messages) {
+        try {
+            return semanticCache(createInfo).lookup(messages.systemMessage, messages.userMessage);
+        } catch (RuntimeException e) {
+            log.warn("Unable to look up the semantic cache", e);
+            return null;
+        }
+    }
+
+    private SemanticResponseCache semanticCache(AiServiceMethodCreateInfo createInfo) {
+        return semanticCaches.computeIfAbsent(createInfo,
+                new Function<AiServiceMethodCreateInfo, SemanticResponseCache>() {
+                    @Override
+                    public SemanticResponseCache apply(AiServiceMethodCreateInfo ignored) {
+                        if (!embeddingModel.isResolvable()) {
+                            throw new IllegalStateException(
+                                    "Semantic caching of results requires a single bean of type EmbeddingModel");
+                        }
+                        // without a dedicated store, the entries are kept in memory
+                        return new SemanticResponseCache(embeddingModel.get(),
+                                embeddingStore.isResolvable() ? embeddingStore.get() : null,
+                                createInfo.getInterfaceName() + "#" + createInfo.getMethodName(), config.maxSize(),
+                                TimeUnit.NANOSECONDS.toMillis(ttlNanos), config.semantic().minScore());
+                    }
+                });
+    }
+
+    private void notifyListeners(AiServiceMethodCreateInfo createInfo, String cacheType, boolean hit) {
+        for (ResponseCacheListener listener : listeners) {
+            listener.onLookup(createInfo, cacheType, hit);
+        }
+    }
+
+    /**
+     * The messages are rendered exactly like they are when the LLM is called, so two invocations share a cache entry
+     * only if the LLM would have received the same messages
+     */
+    private static class RenderedMessages {
+        private final String systemMessage;
+        private final String userName;
+        private final String userMessage;
+
+        private RenderedMessages(String systemMessage, String userName, String userMessage) {
+            this.systemMessage = systemMessage;
+            this.userName = userName;
+            this.userMessage = userMessage;
+        }
+
+        /**
+         * The messages are kept by the input, so the invocation does not render them again
+         */
+        static RenderedMessages from(AiServiceMethodImplementationSupport.Input input) {
+            Optional<SystemMessage> systemMessage = input.systemMessage();
+            UserMessage userMessage = input.userMessage();
+            return new RenderedMessages(systemMessage.isPresent() ? systemMessage.get().text() : "",
+                    userMessage.name() != null ? userMessage.name() : "", userMessage.text());
+        }
+
+        String key() {
+            return systemMessage + '\u0000' + userName + '\u0000' + userMessage;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+
+/**
+ * Keeps the embedded user messages of the cached invocations of a single method in an {@link EmbeddingStore}, so that
+ * the result of an invocation can be reused for later invocations having a similar user message.
+ * <p>
+ * The store is the bean qualified with {@link io.quarkiverse.langchain4j.ResponseCacheStore}, which may be shared by
+ * several methods and application instances: each entry records the method, the system message, the result and when
+ * it was written, and lookups only use the matches of the same method and system message that have not expired.
+ * As the store is never the one of the application, cached entries never show up in the content retrieved for RAG.
+ * <p>
+ * When there is no such bean, the entries of the method are kept in an in-memory store, which is emptied once it holds
+ * {@code maxSize} entries since the store itself cannot evict entries.
+ */
+class SemanticResponseCache {
+
+    /**
+     * How many matches are requested from the store, as some may belong to other methods or have expired
+     */
+    static final int MAX_MATCHES = 10;
+
+    static final String METHOD = "cache_method";
+    static final String SYSTEM_MESSAGE = "cache_system_message";
+    static final String RESULT = "cache_result";
+    static final String WRITTEN_AT = "cache_written_at";
+
+    private final EmbeddingModel embeddingModel;
+    private final String method;
+    private final long ttlMillis;
+    private final double minScore;
+    private final int maxSize;
+    private final boolean inMemory;
+    private final AtomicInteger inMemorySize = new AtomicInteger();
+
+    private volatile EmbeddingStore<TextSegment> store;
+
+    /**
+     * @param store {@code null} to keep the entries in memory
+     * @param ttlMillis a value less than or equal to zero means entries never expire
+     */
+    SemanticResponseCache(EmbeddingModel embeddingModel, EmbeddingStore<TextSegment> store, String method,
+            int maxSize, long ttlMillis, double minScore) {
+        this.embeddingModel = embeddingModel;
+        this.method = method;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.minScore = minScore;
+        this.inMemory = store == null;
+        this.store = inMemory ? new InMemoryEmbeddingStore<>() : store;
+    }
+
+    Lookup lookup(String systemMessage, String userMessage) {
+        Embedding embedding = embeddingModel.embed(userMessage).content();
+        long now = System.currentTimeMillis();
+        // the matches are sorted by decreasing score
+        List<EmbeddingMatch<TextSegment>> matches = store.findRelevant(embedding, MAX_MATCHES, minScore);
+        for (EmbeddingMatch<TextSegment> match : matches) {
+            Metadata metadata = match.embedded() != null ? match.embedded().metadata() : null;
+            if ((metadata != null) && method.equals(metadata.get(METHOD))
+                    && systemMessage.equals(metadata.get(SYSTEM_MESSAGE)) && !isExpired(metadata, now)) {
+                return new Lookup(systemMessage, userMessage, embedding, metadata.get(RESULT));
+            }
+        }
+        return new Lookup(systemMessage, userMessage, embedding, null);
+    }
+
+    /**
+     * Stores the result obtained from the LLM after a lookup did not find any
+     */
+    void put(Lookup lookup, String result) {
+        if ((result == null) || (maxSize <= 0)) {
+            return;
+        }
+        if (inMemory && (inMemorySize.incrementAndGet() > maxSize)) {
+            store = new InMemoryEmbeddingStore<>();
+            inMemorySize.set(1);
+        }
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put(METHOD, method);
+        metadata.put(SYSTEM_MESSAGE, lookup.systemMessage);
+        metadata.put(RESULT, result);
+        metadata.put(WRITTEN_AT, Long.toString(System.currentTimeMillis()));
+        store.add(lookup.embedding, TextSegment.from(lookup.userMessage, Metadata.from(metadata)));
+    }
+
+    private boolean isExpired(Metadata metadata, long now) {
+        if (ttlMillis <= 0) {
+            return false;
+        }
+        String writtenAt = metadata.get(WRITTEN_AT);
+        try {
+            return (writtenAt == null) || (now - Long.parseLong(writtenAt) > ttlMillis);
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    static class Lookup {
+        private final String systemMessage;
+        private final String userMessage;
+        private final Embedding embedding;
+        private final String result;
+
+        private Lookup(String systemMessage, String userMessage, Embedding embedding, String result) {
+            this.systemMessage = systemMessage;
+            this.userMessage = userMessage;
+            this.embedding = embedding;
+            this.result = result;
+        }
+
+        /**
+         * @return the result of a previous invocation or {@code null} if no similar invocation was found
+         */
+        String result() {
+            return result;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.quarkiverse.langchain4j.runtime.aiservice;
 
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import jakarta.inject.Inject;
 
@@ -42,6 +43,35 @@ public class SpanWrapper implements AiServiceMethodImplementationSupport.Wrapper
             Function<AiServiceMethodImplementationSupport.Input, Object> fun) {
 
         Context parentContext = Context.current();
+        if (ReactiveMethodObservation.isReactive(input)) {
+            // the span stays open until the result terminates, and is the current span while the method assembles its
+            // result, so that the spans of the execution are its children
+            return ReactiveMethodObservation.wrap(input, fun, new Supplier<ReactiveMethodObservation>() {
+                @Override
+                public ReactiveMethodObservation get() {
+                    if (!instrumenter.shouldStart(parentContext, input)) {
+                        return new ReactiveMethodObservation() {
+                            @Override
+                            public void end(Throwable failure) {
+                            }
+                        };
+                    }
+                    Context spanContext = instrumenter.start(parentContext, input);
+                    Scope scope = spanContext.makeCurrent();
+                    return new ReactiveMethodObservation() {
+                        @Override
+                        public void assembled() {
+                            scope.close();
+                        }
+
+                        @Override
+                        public void end(Throwable failure) {
+                            instrumenter.end(spanContext, input, null, failure);
+                        }
+                    };
+                }
+            });
+        }
         Context spanContext = null;
         Scope scope = null;
         boolean shouldStart = instrumenter.shouldStart(parentContext, input);
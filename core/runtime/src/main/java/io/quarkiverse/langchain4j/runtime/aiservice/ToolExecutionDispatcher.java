@@ -0,0 +1,182 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import io.quarkiverse.langchain4j.audit.Audit;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InjectableContext;
+import io.quarkus.arc.ManagedContext;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Executes the tools requested by the LLM in a single response, either one after the other or concurrently
+ * depending on {@link ToolsConfig.ParallelExecution}.
+ * The results are always returned (and audited) in the order in which the tools were requested.
+ */
+class ToolExecutionDispatcher {
+
+    static final ToolExecutionDispatcher SERIAL = new ToolExecutionDispatcher(1);
+
+    private final int maxConcurrency;
+
+    private ToolExecutionDispatcher(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    static ToolExecutionDispatcher from(ToolsConfig config) {
+        ToolsConfig.ParallelExecution parallelExecution = config.parallelExecution();
+        if (!parallelExecution.enabled() || parallelExecution.maxConcurrency() <= 1) {
+            return SERIAL;
+        }
+        return new ToolExecutionDispatcher(parallelExecution.maxConcurrency());
+    }
+
+    List<ToolExecutionResultMessage> execute(QuarkusAiServiceContext context, List<ToolExecutionRequest> requests,
+            Object memoryId, Audit audit, InvocationInstrumentation instrumentation) {
+        ToolExecutionResultMessage[] results = new ToolExecutionResultMessage[requests.size()];
+        int workers = Math.min(maxConcurrency, requests.size());
+        if (workers <= 1) {
+            for (int i = 0; i < requests.size(); i++) {
+                results[i] = executeTool(context, requests.get(i), memoryId, instrumentation);
+            }
+        } else {
+            executeConcurrently(context, requests, memoryId, instrumentation, results, workers);
+        }
+
+        List<ToolExecutionResultMessage> resultList = Arrays.asList(results);
+        if (audit != null) {
+            for (ToolExecutionResultMessage result : resultList) {
+                audit.addApplicationToLLMMessage(result);
+            }
+        }
+        return resultList;
+    }
+
+    /**
+     * The calling thread takes part in the execution, so at most {@code workers - 1} additional worker threads are used.
+     * Each worker picks the next pending request until none are left.
+     * <p>
+     * The calling thread only waits for the helpers that started running: as it drains the pending requests itself,
+     * the helpers still queued when it is done have nothing left to do and are cancelled. A saturated worker pool
+     * therefore never has its threads waiting for tasks that are queued behind them.
+     */
+    private static void executeConcurrently(QuarkusAiServiceContext context, List<ToolExecutionRequest> requests,
+            Object memoryId, InvocationInstrumentation instrumentation, ToolExecutionResultMessage[] results, int workers) {
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                int i;
+                while ((i = next.getAndIncrement()) < requests.size()) {
+                    try {
+                        results[i] = executeTool(context, requests.get(i), memoryId, instrumentation);
+                    } catch (RuntimeException e) {
+                        // no point in starting the remaining tools
+                        next.set(requests.size());
+                        throw e;
+                    }
+                }
+            }
+        };
+
+        // tools are frequently request scoped beans, so they need to see the request of the caller
+        ManagedContext requestContext = Arc.container().requestContext();
+        InjectableContext.ContextState requestContextState = requestContext.isActive() ? requestContext.getState() : null;
+        List<Helper> helpers = new ArrayList<>(workers - 1);
+        for (int w = 1; w < workers; w++) {
+            Helper helper = new Helper(withRequestContext(worker, requestContext, requestContextState));
+            try {
+                helper.future = CompletableFuture.runAsync(helper, Infrastructure.getDefaultWorkerPool());
+            } catch (RejectedExecutionException e) {
+                // the calling thread executes the tools the helpers would have executed
+                break;
+            }
+            helpers.add(helper);
+        }
+
+        RuntimeException failure = null;
+        try {
+            worker.run();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (Helper helper : helpers) {
+            if (helper.started.compareAndSet(false, true)) {
+                // never started, and all the requests are taken
+                helper.future.cancel(false);
+                continue;
+            }
+            try {
+                helper.future.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static ToolExecutionResultMessage executeTool(QuarkusAiServiceContext context, ToolExecutionRequest request,
+            Object memoryId, InvocationInstrumentation instrumentation) {
+        long start = instrumentation.start();
+        try (AiServiceTracer.Scope ignored = instrumentation.restoreTracingContext()) {
+            ToolExecutionResultMessage result = AiServiceMethodImplementationSupport.executeTool(context, request, memoryId);
+            instrumentation.toolExecution(request.name(), start, null);
+            return result;
+        } catch (RuntimeException e) {
+            instrumentation.toolExecution(request.name(), start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * A task helping the calling thread, which does nothing if the calling thread claimed it first
+     */
+    private static class Helper implements Runnable {
+
+        private final Runnable task;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private CompletableFuture<Void> future;
+
+        private Helper(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (started.compareAndSet(false, true)) {
+                task.run();
+            }
+        }
+    }
+
+    private static Runnable withRequestContext(Runnable task, ManagedContext requestContext,
+            InjectableContext.ContextState state) {
+        if (state == null) {
+            return task;
+        }
+        return new Runnable() {
+            @Override
+            public void run() {
+                requestContext.activate(state);
+                try {
+                    task.run();
+                } finally {
+                    requestContext.deactivate();
+                }
+            }
+        };
+    }
+}
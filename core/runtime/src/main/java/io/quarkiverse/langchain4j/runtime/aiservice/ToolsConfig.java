@@ -0,0 +1,66 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
+
+import java.util.Map;
+import java.util.OptionalInt;
+
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigDocSection;
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigRoot(phase = RUN_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.tools")
+public interface ToolsConfig {
+
+    /**
+     * Configures how the tool executions requested by the LLM in a single response are performed
+     */
+    ParallelExecution parallelExecution();
+
+    /**
+     * The maximum number of characters of a tool result that is sent back to the LLM (and stored in the chat memory).
+     * Longer results are truncated and sent as a JSON string, to which a note about the truncation is appended.
+     * Must be positive, or {@code -1} for no limit. When not set, tool results are never truncated.
+     */
+    OptionalInt maxResultLength();
+
+    /**
+     * Configuration of individual tools, the key being the name of the tool method
+     */
+    @ConfigDocSection
+    @ConfigDocMapKey("tool-name")
+    Map<String, ToolConfig> tool();
+
+    @ConfigGroup
+    interface ToolConfig {
+
+        /**
+         * The maximum number of characters of the result of this tool that is sent back to the LLM.
+         * Takes precedence over {@code quarkus.langchain4j.tools.max-result-length}, {@code -1} meaning that the result
+         * of this tool is never truncated.
+         */
+        OptionalInt maxResultLength();
+    }
+
+    @ConfigGroup
+    interface ParallelExecution {
+
+        /**
+         * Whether the tool executions requested by the LLM in a single response are performed concurrently.
+         * When disabled, the tools are executed one after the other.
+         * Regardless of this setting, the results are always handed back to the LLM in the order they were requested.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The maximum number of tool executions of a single response that are performed concurrently
+         */
+        @WithDefault("4")
+        int maxConcurrency();
+    }
+}
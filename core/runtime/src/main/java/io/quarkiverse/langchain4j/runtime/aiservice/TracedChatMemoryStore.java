@@ -0,0 +1,62 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.List;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Decorates a {@link ChatMemoryStore} so that each load, store and delete of the messages of a memory id gets its own
+ * span.
+ * <p>
+ * When writes are buffered by a {@link WriteBehindChatMemoryStore}, it decorates the actual store, so that only the
+ * operations that reach it are traced.
+ */
+public class TracedChatMemoryStore implements ChatMemoryStore {
+
+    private final ChatMemoryStore delegate;
+    private final AiServiceTracer tracer;
+
+    public TracedChatMemoryStore(ChatMemoryStore delegate, AiServiceTracer tracer) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        AiServiceTracer.Span span = tracer.startChatMemoryOperation("load");
+        List<ChatMessage> result;
+        try (AiServiceTracer.Scope ignored = span.makeCurrent()) {
+            result = delegate.getMessages(memoryId);
+        } catch (RuntimeException e) {
+            span.end(e);
+            throw e;
+        }
+        span.end(null);
+        return result;
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        AiServiceTracer.Span span = tracer.startChatMemoryOperation("store");
+        try (AiServiceTracer.Scope ignored = span.makeCurrent()) {
+            delegate.updateMessages(memoryId, messages);
+        } catch (RuntimeException e) {
+            span.end(e);
+            throw e;
+        }
+        span.end(null);
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        AiServiceTracer.Span span = tracer.startChatMemoryOperation("delete");
+        try (AiServiceTracer.Scope ignored = span.makeCurrent()) {
+            delegate.deleteMessages(memoryId);
+        } catch (RuntimeException e) {
+            span.end(e);
+            throw e;
+        }
+        span.end(null);
+    }
+}
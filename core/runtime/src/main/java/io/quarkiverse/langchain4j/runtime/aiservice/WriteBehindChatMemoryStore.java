@@ -0,0 +1,164 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Decorates a {@link ChatMemoryStore} so that the updates of a memory id are buffered and only written to the
+ * delegate once the AiService invocation that made them ends.
+ * <p>
+ * Reads always see the buffered messages. Updates that are not flushed by the end of an invocation (which happens for
+ * streamed responses) are written after {@code maxDelay} at the latest, and all pending updates are written on
+ * shutdown.
+ */
+public class WriteBehindChatMemoryStore implements ChatMemoryStore {
+
+    private static final Logger log = Logger.getLogger(WriteBehindChatMemoryStore.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ChatMemoryStore delegate;
+    private final long maxDelayMillis;
+    private final Map<Object, List<ChatMessage>> pending = new ConcurrentHashMap<>();
+    private final Object[] writeLocks = new Object[LOCK_STRIPES];
+
+    public WriteBehindChatMemoryStore(ChatMemoryStore delegate, ChatMemoryConfig.WriteBehind config) {
+        this.delegate = delegate;
+        this.maxDelayMillis = config.maxDelay().toMillis();
+        if (maxDelayMillis <= 0) {
+            // updates that are not flushed by the end of an invocation would only be written on shutdown
+            throw new IllegalArgumentException("The maximum delay must be positive, but was " + config.maxDelay());
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            writeLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        List<ChatMessage> messages = pending.get(memoryId);
+        if (messages != null) {
+            return new ArrayList<>(messages);
+        }
+        return delegate.getMessages(memoryId);
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        if (pending.put(memoryId, new ArrayList<>(messages)) == null) {
+            scheduleFlush(memoryId);
+        }
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        synchronized (writeLock(memoryId)) {
+            pending.remove(memoryId);
+            delegate.deleteMessages(memoryId);
+        }
+    }
+
+    /**
+     * Writes the buffered messages of the memory id (if any) to the delegate.
+     * <p>
+     * Writes of the same memory id are serialized by a (striped) lock rather than performed inside a map operation,
+     * so a slow store never blocks the updates and reads of the buffer. As each write takes the latest buffered
+     * messages and only removes them from the buffer if they were not updated in the meantime, an update made during
+     * a write is written by the next flush and can never be overwritten by an older list of messages.
+     */
+    public void flush(Object memoryId) {
+        synchronized (writeLock(memoryId)) {
+            List<ChatMessage> messages = pending.get(memoryId);
+            if (messages == null) {
+                return;
+            }
+            delegate.updateMessages(memoryId, messages);
+            if (!pending.remove(memoryId, messages)) {
+                // the update made during the write did not schedule a flush, as the buffer was not empty
+                scheduleFlush(memoryId);
+            }
+        }
+    }
+
+    private void scheduleFlush(Object memoryId) {
+        Infrastructure.getDefaultWorkerPool().schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    flush(memoryId);
+                } catch (RuntimeException e) {
+                    log.warnf(e, "Unable to write the messages of memory id '%s'", memoryId);
+                }
+            }
+        }, maxDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void flushAll() {
+        for (Object memoryId : pending.keySet()) {
+            flush(memoryId);
+        }
+    }
+
+    private Object writeLock(Object memoryId) {
+        return writeLocks[Math.floorMod(memoryId.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * @return a {@link ChatMemory} whose pending updates can be written with {@link #flush(ChatMemory)}
+     */
+    public ChatMemory flushable(ChatMemory chatMemory) {
+        return new FlushableChatMemory(chatMemory, this);
+    }
+
+    /**
+     * Called at the end of each AiService invocation, does nothing when the memory is not backed by a
+     * {@link WriteBehindChatMemoryStore}
+     */
+    static void flush(ChatMemory chatMemory) {
+        if (chatMemory instanceof FlushableChatMemory) {
+            FlushableChatMemory flushableChatMemory = (FlushableChatMemory) chatMemory;
+            flushableChatMemory.store.flush(flushableChatMemory.id());
+        }
+    }
+
+    private static class FlushableChatMemory implements ChatMemory {
+
+        private final ChatMemory delegate;
+        private final WriteBehindChatMemoryStore store;
+
+        private FlushableChatMemory(ChatMemory delegate, WriteBehindChatMemoryStore store) {
+            this.delegate = delegate;
+            this.store = store;
+        }
+
+        @Override
+        public Object id() {
+            return delegate.id();
+        }
+
+        @Override
+        public void add(ChatMessage message) {
+            delegate.add(message);
+        }
+
+        @Override
+        public List<ChatMessage> messages() {
+            return delegate.messages();
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+    }
+}
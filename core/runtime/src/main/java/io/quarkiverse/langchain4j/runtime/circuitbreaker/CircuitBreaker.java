@@ -0,0 +1,324 @@
+package io.quarkiverse.langchain4j.runtime.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * A circuit breaker around the calls made to a base URL of a model provider.
+ * <p>
+ * While {@link State#CLOSED closed}, the outcome of the last calls is kept in a window, and the circuit opens when the
+ * proportion of failed calls, or of slow calls, reaches its threshold. While {@link State#OPEN open}, the calls are
+ * rejected right away with {@link CircuitBreakerOpenException}, instead of each waiting for the timeout of a provider
+ * that is not answering. Once the wait in the open state is over, the circuit is {@link State#HALF_OPEN half-open}: a
+ * few calls are let through to probe the provider, the circuit closing if they succeed and opening again otherwise.
+ * <p>
+ * Each call is tagged with the generation of the state it was admitted in, so that the calls ending after the state
+ * changed are only counted, and neither fill the window of a circuit that closed again nor take the place of the probes
+ * of a circuit that is half-open again.
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = Logger.getLogger(CircuitBreaker.class);
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String provider;
+    private final String baseUrl;
+    private final int minimumNumberOfCalls;
+    private final int failureRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int slowCallRateThreshold;
+    private final long waitDurationInOpenStateNanos;
+    private final int permittedCallsInHalfOpenState;
+    private final Predicate<Throwable> countsAsFailure;
+
+    /**
+     * The outcomes of the last calls made while closed, as a ring buffer
+     */
+    private final byte[] window;
+    private int next;
+    private int recorded;
+    private int failedInWindow;
+    private int slowInWindow;
+
+    private State state = State.CLOSED;
+    /**
+     * Incremented on each transition
+     */
+    private long generation;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenRecorded;
+    private int halfOpenFailed;
+    private int halfOpenSlow;
+
+    private final LongAdder successfulCalls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+    private final LongAdder notPermittedCalls = new LongAdder();
+
+    /**
+     * @param baseUrl {@code null} when the calls are not made to a specific base URL
+     */
+    public CircuitBreaker(String provider, String baseUrl, CircuitBreakerConfig.ProviderConfig config,
+            Predicate<Throwable> countsAsFailure) {
+        this.provider = provider;
+        this.baseUrl = baseUrl;
+        this.window = new byte[Math.max(1, config.windowSize())];
+        this.minimumNumberOfCalls = Math.max(1, Math.min(config.minimumNumberOfCalls(), window.length));
+        this.failureRateThreshold = config.failureRateThreshold();
+        this.slowCallDurationNanos = config.slowCallDurationThreshold().toNanos();
+        this.slowCallRateThreshold = config.slowCallRateThreshold();
+        this.waitDurationInOpenStateNanos = config.waitDurationInOpenState().toNanos();
+        this.permittedCallsInHalfOpenState = Math.max(1, config.permittedCallsInHalfOpenState());
+        this.countsAsFailure = countsAsFailure;
+    }
+
+    public String provider() {
+        return provider;
+    }
+
+    /**
+     * @return {@code null} when the calls are not made to a specific base URL
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public long successfulCalls() {
+        return successfulCalls.sum();
+    }
+
+    public long failedCalls() {
+        return failedCalls.sum();
+    }
+
+    public long slowCalls() {
+        return slowCalls.sum();
+    }
+
+    public long notPermittedCalls() {
+        return notPermittedCalls.sum();
+    }
+
+    /**
+     * Makes the call if the circuit allows it
+     *
+     * @throws CircuitBreakerOpenException if the circuit does not allow the call
+     */
+    public <T> T call(Supplier<T> call) {
+        long permit = acquirePermission();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return call.get();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            // also reached with errors, so that a half-open permit is never lost
+            onResult(permit, System.nanoTime() - start, failure);
+        }
+    }
+
+    /**
+     * Subscribes to {@code uni} if the circuit allows it when the returned {@link Uni} is subscribed to, failing with
+     * {@link CircuitBreakerOpenException} otherwise
+     */
+    public <T> Uni<T> apply(Uni<T> uni) {
+        return Uni.createFrom().deferred(new Supplier<Uni<? extends T>>() {
+            @Override
+            public Uni<? extends T> get() {
+                long permit = acquirePermission();
+                long start = System.nanoTime();
+                return uni
+                        .onItemOrFailure().invoke(new BiConsumer<T, Throwable>() {
+                            @Override
+                            public void accept(T item, Throwable failure) {
+                                onResult(permit, System.nanoTime() - start, failure);
+                            }
+                        })
+                        .onCancellation().invoke(new Runnable() {
+                            @Override
+                            public void run() {
+                                onCancellation(permit);
+                            }
+                        });
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #apply(Uni)} for a stream, whose outcome is known with its first item, or its failure before it
+     */
+    public <T> Multi<T> apply(Multi<T> multi) {
+        return Multi.createFrom().deferred(new Supplier<Multi<? extends T>>() {
+            @Override
+            public Multi<? extends T> get() {
+                long permit = acquirePermission();
+                long start = System.nanoTime();
+                AtomicBoolean done = new AtomicBoolean();
+                return multi
+                        .onItem().invoke(new Consumer<T>() {
+                            @Override
+                            public void accept(T item) {
+                                if (done.compareAndSet(false, true)) {
+                                    onResult(permit, System.nanoTime() - start, null);
+                                }
+                            }
+                        })
+                        .onFailure().invoke(new Consumer<Throwable>() {
+                            @Override
+                            public void accept(Throwable failure) {
+                                if (done.compareAndSet(false, true)) {
+                                    onResult(permit, System.nanoTime() - start, failure);
+                                }
+                            }
+                        })
+                        .onCompletion().invoke(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (done.compareAndSet(false, true)) {
+                                    onResult(permit, System.nanoTime() - start, null);
+                                }
+                            }
+                        })
+                        .onCancellation().invoke(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (done.compareAndSet(false, true)) {
+                                    onCancellation(permit);
+                                }
+                            }
+                        });
+            }
+        });
+    }
+
+    /**
+     * @return the generation of the state the call is admitted in, to be passed to {@link #onResult} or
+     *         {@link #onCancellation}
+     * @throws CircuitBreakerOpenException if the circuit does not allow a call
+     */
+    synchronized long acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < waitDurationInOpenStateNanos) {
+                notPermittedCalls.increment();
+                throw new CircuitBreakerOpenException(provider, baseUrl);
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= permittedCallsInHalfOpenState) {
+                notPermittedCalls.increment();
+                throw new CircuitBreakerOpenException(provider, baseUrl);
+            }
+            halfOpenPermitted++;
+        }
+        return generation;
+    }
+
+    synchronized void onResult(long permit, long durationNanos, Throwable failure) {
+        boolean failed = (failure != null) && countsAsFailure.test(failure);
+        boolean slow = durationNanos > slowCallDurationNanos;
+        if (failed) {
+            failedCalls.increment();
+        } else {
+            successfulCalls.increment();
+        }
+        if (slow) {
+            slowCalls.increment();
+        }
+
+        if (permit != generation) {
+            // admitted in an earlier state, for example before the circuit opened, so only counted
+            return;
+        }
+        if (state == State.CLOSED) {
+            byte evicted = window[next];
+            if (recorded == window.length) {
+                failedInWindow -= (evicted & FAILED);
+                slowInWindow -= (evicted & SLOW) >> 1;
+            } else {
+                recorded++;
+            }
+            window[next] = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+            next = (next + 1) % window.length;
+            failedInWindow += failed ? 1 : 0;
+            slowInWindow += slow ? 1 : 0;
+            if ((recorded >= minimumNumberOfCalls) && exceedsThresholds(recorded, failedInWindow, slowInWindow)) {
+                transitionTo(State.OPEN);
+            }
+        } else if (state == State.HALF_OPEN) {
+            halfOpenRecorded++;
+            halfOpenFailed += failed ? 1 : 0;
+            halfOpenSlow += slow ? 1 : 0;
+            if (exceedsThresholds(halfOpenRecorded, halfOpenFailed, halfOpenSlow)) {
+                transitionTo(State.OPEN);
+            } else if (halfOpenRecorded >= permittedCallsInHalfOpenState) {
+                transitionTo(State.CLOSED);
+            }
+        }
+    }
+
+    /**
+     * A probe that was cancelled lets another one through
+     */
+    synchronized void onCancellation(long permit) {
+        if ((permit == generation) && (state == State.HALF_OPEN) && (halfOpenPermitted > halfOpenRecorded)) {
+            halfOpenPermitted--;
+        }
+    }
+
+    private boolean exceedsThresholds(int calls, int failed, int slow) {
+        return (failed * 100 >= failureRateThreshold * calls) || (slow * 100 >= slowCallRateThreshold * calls);
+    }
+
+    private void transitionTo(State newState) {
+        log.debugf("The circuit breaker of provider '%s' at '%s' goes from %s to %s", provider, baseUrl, state,
+                newState);
+        if ((newState == State.OPEN) && (state == State.CLOSED)) {
+            log.warnf("The calls to provider '%s' at '%s' are failing or slow, they are rejected for the next %d ms",
+                    provider, baseUrl, waitDurationInOpenStateNanos / 1_000_000);
+        }
+        state = newState;
+        generation++;
+        switch (newState) {
+            case OPEN:
+                openedAt = System.nanoTime();
+                break;
+            case HALF_OPEN:
+                halfOpenPermitted = 0;
+                halfOpenRecorded = 0;
+                halfOpenFailed = 0;
+                halfOpenSlow = 0;
+                break;
+            case CLOSED:
+                next = 0;
+                recorded = 0;
+                failedInWindow = 0;
+                slowInWindow = 0;
+                break;
+        }
+    }
+}
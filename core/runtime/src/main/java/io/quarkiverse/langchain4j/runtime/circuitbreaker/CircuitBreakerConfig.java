@@ -0,0 +1,88 @@
+package io.quarkiverse.langchain4j.runtime.circuitbreaker;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigDocSection;
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithDefaults;
+import io.smallrye.config.WithParentName;
+
+@ConfigRoot(phase = RUN_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.circuit-breaker")
+public interface CircuitBreakerConfig {
+
+    /**
+     * Circuit breaker config of each model provider: {@code openai}, {@code azure-openai}, {@code watsonx}, {@code bam},
+     * {@code huggingface} or {@code ollama}.
+     * Each base URL of the provider gets its own circuit breaker with this config.
+     */
+    @ConfigDocSection
+    @ConfigDocMapKey("provider")
+    @WithParentName
+    @WithDefaults
+    Map<String, ProviderConfig> providers();
+
+    @ConfigGroup
+    interface ProviderConfig {
+
+        /**
+         * Whether the calls to the provider go through a circuit breaker, failing fast while the provider is failing
+         * instead of each waiting for the timeout
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The number of the last calls whose outcome is used to compute the failure and slow call rates
+         */
+        @WithDefault("20")
+        int windowSize();
+
+        /**
+         * The number of calls needed in the window before the rates are used to open the circuit
+         */
+        @WithDefault("10")
+        int minimumNumberOfCalls();
+
+        /**
+         * The percentage of failed calls in the window opening the circuit.
+         * The calls rejected by the provider because of the request itself (HTTP 4xx except 408 and 429) are not
+         * counted as failures.
+         */
+        @WithDefault("50")
+        int failureRateThreshold();
+
+        /**
+         * How long a call can take before being counted as slow
+         */
+        @WithDefault("60s")
+        Duration slowCallDurationThreshold();
+
+        /**
+         * The percentage of slow calls in the window opening the circuit
+         */
+        @WithDefault("100")
+        int slowCallRateThreshold();
+
+        /**
+         * How long the calls are rejected once the circuit is open, before some calls are let through to probe the
+         * provider
+         */
+        @WithDefault("30s")
+        Duration waitDurationInOpenState();
+
+        /**
+         * The number of calls let through to probe the provider once the wait in the open state is over, the circuit
+         * closing when they are neither failed nor slow in a proportion opening it
+         */
+        @WithDefault("3")
+        int permittedCallsInHalfOpenState();
+    }
+}
@@ -0,0 +1,28 @@
+package io.quarkiverse.langchain4j.runtime.circuitbreaker;
+
+/**
+ * Thrown instead of calling a model provider while its {@link CircuitBreaker} is open
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private final String provider;
+    private final String baseUrl;
+
+    public CircuitBreakerOpenException(String provider, String baseUrl) {
+        super("The circuit breaker of provider '" + provider + "'" + (baseUrl != null ? " at '" + baseUrl + "'" : "")
+                + " is open, the call was not made");
+        this.provider = provider;
+        this.baseUrl = baseUrl;
+    }
+
+    public String provider() {
+        return provider;
+    }
+
+    /**
+     * @return {@code null} when the call was not made to a specific base URL
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+}
@@ -0,0 +1,132 @@
+package io.quarkiverse.langchain4j.runtime.circuitbreaker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.quarkiverse.langchain4j.runtime.aiservice.HttpStatusResolver;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * The circuit breakers of the model providers, configured with {@code quarkus.langchain4j.circuit-breaker.<provider>}.
+ * <p>
+ * Each base URL of a provider has its own circuit breaker, so that a failing endpoint (such as an Azure OpenAI
+ * deployment, an Ollama server or a Hugging Face inference endpoint) does not make the calls to the healthy ones fail
+ * fast.
+ * <p>
+ * The provider clients go through {@link #call(String, String, Supplier)} or {@link #apply(String, String, Uni)}, which
+ * make the call directly when the circuit breaker of the provider is not enabled.
+ */
+public final class CircuitBreakers {
+
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private static final List<Consumer<CircuitBreaker>> creationListeners = new CopyOnWriteArrayList<>();
+
+    private static volatile CircuitBreakerConfig config;
+    private static volatile List<HttpStatusResolver> httpStatusResolvers;
+
+    private CircuitBreakers() {
+    }
+
+    public static void configure(CircuitBreakerConfig config) {
+        CircuitBreakers.config = config;
+        breakers.clear();
+    }
+
+    public static void clear() {
+        config = null;
+        httpStatusResolvers = null;
+        breakers.clear();
+        creationListeners.clear();
+    }
+
+    /**
+     * Notifies {@code listener} about the circuit breakers already created and the ones created later, as they are
+     * only created on the first call to each base URL
+     */
+    public static void onCreation(Consumer<CircuitBreaker> listener) {
+        creationListeners.add(listener);
+        for (CircuitBreaker circuitBreaker : breakers.values()) {
+            listener.accept(circuitBreaker);
+        }
+    }
+
+    /**
+     * @param baseUrl {@code null} when the client does not call a specific base URL
+     * @return the circuit breaker of {@code baseUrl}, {@code null} when the circuit breaker of {@code provider} is not
+     *         enabled
+     */
+    public static CircuitBreaker get(String provider, String baseUrl) {
+        CircuitBreakerConfig config = CircuitBreakers.config;
+        if (config == null) {
+            return null;
+        }
+        CircuitBreakerConfig.ProviderConfig providerConfig = config.providers().get(provider);
+        if ((providerConfig == null) || !providerConfig.enabled()) {
+            return null;
+        }
+        String key = baseUrl != null ? provider + ' ' + baseUrl : provider;
+        CircuitBreaker circuitBreaker = breakers.get(key);
+        if (circuitBreaker != null) {
+            return circuitBreaker;
+        }
+        boolean[] created = new boolean[1];
+        circuitBreaker = breakers.computeIfAbsent(key, new Function<String, CircuitBreaker>() {
+            @Override
+            public CircuitBreaker apply(String key) {
+                created[0] = true;
+                return new CircuitBreaker(provider, baseUrl, providerConfig, new Predicate<Throwable>() {
+                    @Override
+                    public boolean test(Throwable failure) {
+                        return HttpStatusResolver.isProviderFailure(httpStatusResolvers(), failure);
+                    }
+                });
+            }
+        });
+        if (created[0]) {
+            for (Consumer<CircuitBreaker> listener : creationListeners) {
+                listener.accept(circuitBreaker);
+            }
+        }
+        return circuitBreaker;
+    }
+
+    public static <T> T call(String provider, String baseUrl, Supplier<T> call) {
+        CircuitBreaker circuitBreaker = get(provider, baseUrl);
+        return circuitBreaker == null ? call.get() : circuitBreaker.call(call);
+    }
+
+    public static <T> Uni<T> apply(String provider, String baseUrl, Uni<T> uni) {
+        CircuitBreaker circuitBreaker = get(provider, baseUrl);
+        return circuitBreaker == null ? uni : circuitBreaker.apply(uni);
+    }
+
+    public static <T> Multi<T> apply(String provider, String baseUrl, Multi<T> multi) {
+        CircuitBreaker circuitBreaker = get(provider, baseUrl);
+        return circuitBreaker == null ? multi : circuitBreaker.apply(multi);
+    }
+
+    private static List<HttpStatusResolver> httpStatusResolvers() {
+        List<HttpStatusResolver> resolvers = httpStatusResolvers;
+        if (resolvers == null) {
+            resolvers = new ArrayList<>();
+            ArcContainer container = Arc.container();
+            if (container != null) {
+                for (HttpStatusResolver resolver : container.select(HttpStatusResolver.class)) {
+                    resolvers.add(resolver);
+                }
+            }
+            httpStatusResolvers = resolvers;
+        }
+        return resolvers;
+    }
+}
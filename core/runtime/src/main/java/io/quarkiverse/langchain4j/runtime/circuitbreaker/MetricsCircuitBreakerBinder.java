@@ -0,0 +1,86 @@
+package io.quarkiverse.langchain4j.runtime.circuitbreaker;
+
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the state of each circuit breaker as the {@code langchain4j.circuit.breaker.state} gauge, which is 1 for the
+ * current state and 0 for the others, along with the {@code langchain4j.circuit.breaker.calls} counter of the calls by
+ * outcome ({@code successful}, {@code failed} or {@code not_permitted}) and the
+ * {@code langchain4j.circuit.breaker.slow.calls} counter.
+ * <p>
+ * The meters of a circuit breaker are registered when it is created, on the first call to its base URL, and are tagged
+ * with the {@code provider} and the {@code base_url}.
+ */
+public class MetricsCircuitBreakerBinder implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CircuitBreakers.onCreation(new Consumer<CircuitBreaker>() {
+            @Override
+            public void accept(CircuitBreaker circuitBreaker) {
+                bind(registry, circuitBreaker);
+            }
+        });
+    }
+
+    private static void bind(MeterRegistry registry, CircuitBreaker circuitBreaker) {
+        Tags tags = Tags.of("provider", circuitBreaker.provider(), "base_url",
+                circuitBreaker.baseUrl() != null ? circuitBreaker.baseUrl() : "");
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("langchain4j.circuit.breaker.state", circuitBreaker, new ToDoubleFunction<CircuitBreaker>() {
+                @Override
+                public double applyAsDouble(CircuitBreaker circuitBreaker) {
+                    return circuitBreaker.state() == state ? 1 : 0;
+                }
+            })
+                    .description("Whether the circuit breaker is in this state")
+                    .tags(tags)
+                    .tag("state", state.name().toLowerCase())
+                    .register(registry);
+        }
+        callsCounter(registry, circuitBreaker, tags, "successful", new ToDoubleFunction<>() {
+            @Override
+            public double applyAsDouble(CircuitBreaker circuitBreaker) {
+                return circuitBreaker.successfulCalls();
+            }
+        });
+        callsCounter(registry, circuitBreaker, tags, "failed", new ToDoubleFunction<>() {
+            @Override
+            public double applyAsDouble(CircuitBreaker circuitBreaker) {
+                return circuitBreaker.failedCalls();
+            }
+        });
+        callsCounter(registry, circuitBreaker, tags, "not_permitted", new ToDoubleFunction<>() {
+            @Override
+            public double applyAsDouble(CircuitBreaker circuitBreaker) {
+                return circuitBreaker.notPermittedCalls();
+            }
+        });
+        FunctionCounter.builder("langchain4j.circuit.breaker.slow.calls", circuitBreaker,
+                new ToDoubleFunction<CircuitBreaker>() {
+                    @Override
+                    public double applyAsDouble(CircuitBreaker circuitBreaker) {
+                        return circuitBreaker.slowCalls();
+                    }
+                })
+                .description("Calls that took longer than the slow call duration threshold")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private static void callsCounter(MeterRegistry registry, CircuitBreaker circuitBreaker, Tags tags, String kind,
+            ToDoubleFunction<CircuitBreaker> count) {
+        FunctionCounter.builder("langchain4j.circuit.breaker.calls", circuitBreaker, count)
+                .description("Calls going through the circuit breaker")
+                .tags(tags)
+                .tag("kind", kind)
+                .register(registry);
+    }
+}
@@ -0,0 +1,415 @@
+package io.quarkiverse.langchain4j.runtime.router;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceTracer;
+import io.quarkiverse.langchain4j.runtime.aiservice.HttpStatusResolver;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InjectableContext;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * A {@link ChatLanguageModel} sending each call to one of several chat models, selected according to the
+ * {@link ChatModelRouterConfig.Policy} of the router.
+ * <p>
+ * A model whose calls fail {@code consecutive-failures} times in a row is ejected: it does not receive calls for
+ * {@code duration}, after which it gets calls again. A single failure then ejects it again, while a success makes it
+ * healthy again. Like for circuit breakers, the calls rejected because of the request itself are not failures of the
+ * model, see {@link HttpStatusResolver#isProviderFailure(List, Throwable)}.
+ * <p>
+ * When hedging is enabled, a call that takes longer than usual is also sent to another model, the first successful
+ * response being used, see {@link HedgedCall}.
+ */
+public class ChatModelRouter implements ChatLanguageModel {
+
+    private static final Logger log = Logger.getLogger(ChatModelRouter.class);
+
+    private final String name;
+    private final Target[] targets;
+    private final ChatModelRouterConfig.Policy policy;
+    private final double ewmaDecayNanos;
+    private final int maxConsecutiveFailures;
+    private final long ejectionNanos;
+    private final AtomicInteger rotation = new AtomicInteger();
+    private final HedgingPolicy hedging;
+    private final AiServiceTracer tracer;
+    private final List<HttpStatusResolver> httpStatusResolvers;
+
+    /**
+     * @param tracer {@code null} when tracing is not enabled
+     */
+    public ChatModelRouter(String name, Map<String, ChatLanguageModel> models, ChatModelRouterConfig.RouterConfig config,
+            AiServiceTracer tracer, List<HttpStatusResolver> httpStatusResolvers) {
+        if (models.isEmpty()) {
+            throw new ConfigurationException("Router '" + name + "' does not have any model");
+        }
+        this.name = name;
+        this.targets = new Target[models.size()];
+        int i = 0;
+        for (Map.Entry<String, ChatLanguageModel> entry : models.entrySet()) {
+            Integer weight = config.weights().get(entry.getKey());
+            if ((weight != null) && (weight < 0)) {
+                throw new ConfigurationException("The weight of model '" + entry.getKey() + "' of router '" + name
+                        + "' cannot be negative");
+            }
+            targets[i++] = new Target(entry.getKey(), entry.getValue(), weight != null ? weight : 1);
+        }
+        this.policy = config.policy();
+        this.ewmaDecayNanos = config.ewmaDecay().toNanos();
+        this.maxConsecutiveFailures = config.ejection().consecutiveFailures();
+        this.ejectionNanos = config.ejection().duration().toNanos();
+        this.hedging = config.hedging().enabled() ? new HedgingPolicy(config.hedging()) : null;
+        this.tracer = tracer;
+        this.httpStatusResolvers = httpStatusResolvers;
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        return route(new Function<>() {
+            @Override
+            public Response<AiMessage> apply(ChatLanguageModel model) {
+                return model.generate(messages);
+            }
+        });
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        return route(new Function<>() {
+            @Override
+            public Response<AiMessage> apply(ChatLanguageModel model) {
+                return model.generate(messages, toolSpecifications);
+            }
+        });
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, ToolSpecification toolSpecification) {
+        return route(new Function<>() {
+            @Override
+            public Response<AiMessage> apply(ChatLanguageModel model) {
+                return model.generate(messages, toolSpecification);
+            }
+        });
+    }
+
+    private Response<AiMessage> route(Function<ChatLanguageModel, Response<AiMessage>> call) {
+        Target target = select(System.nanoTime(), null);
+        long delayNanos = hedging != null ? hedging.called() : -1;
+        if (delayNanos < 0) {
+            return call(target, call, true);
+        }
+        return new HedgedCall(target, call).execute(delayNanos);
+    }
+
+    private static Response<AiMessage> join(CompletableFuture<Response<AiMessage>> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new RuntimeException(cause);
+    }
+
+    /**
+     * @param sampled whether the latency of the call is used by the hedging policy
+     */
+    private Response<AiMessage> call(Target target, Function<ChatLanguageModel, Response<AiMessage>> call,
+            boolean sampled) {
+        target.outstanding.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            Response<AiMessage> response = call.apply(target.model);
+            succeeded(target, System.nanoTime() - start, sampled);
+            return response;
+        } catch (RuntimeException e) {
+            failed(target, e);
+            throw e;
+        } finally {
+            target.outstanding.decrementAndGet();
+        }
+    }
+
+    private void succeeded(Target target, long latencyNanos, boolean sampled) {
+        target.succeeded(latencyNanos);
+        if (sampled && (hedging != null)) {
+            hedging.succeeded(latencyNanos);
+        }
+    }
+
+    /**
+     * @param excluded the model the call was already sent to when hedging it, {@code null} otherwise
+     * @return {@code null} if there is no other model than {@code excluded}
+     */
+    private Target select(long now, Target excluded) {
+        boolean anyAvailable = false;
+        for (Target target : targets) {
+            if ((target != excluded) && target.isAvailable(now)) {
+                anyAvailable = true;
+                break;
+            }
+        }
+        // when all the models are ejected, ejection is ignored rather than failing every call
+        boolean ignoreEjection = !anyAvailable;
+
+        if (policy == ChatModelRouterConfig.Policy.WEIGHTED_ROUND_ROBIN) {
+            return selectWeighted(now, ignoreEjection, excluded);
+        }
+
+        // ties are broken by starting from a different model on each call
+        int start = Math.floorMod(rotation.getAndIncrement(), targets.length);
+        Target best = null;
+        double bestScore = 0;
+        for (int i = 0; i < targets.length; i++) {
+            Target target = targets[(start + i) % targets.length];
+            if ((target == excluded) || (!ignoreEjection && !target.isAvailable(now))) {
+                continue;
+            }
+            double score = policy == ChatModelRouterConfig.Policy.EWMA_LATENCY
+                    ? target.ewmaLatency() * (target.outstanding.get() + 1)
+                    : target.outstanding.get();
+            if ((best == null) || (score < bestScore)) {
+                best = target;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Smooth weighted round-robin: each selection adds its weight to the current weight of each model, selects the model
+     * with the highest current weight and removes the total of the weights from it
+     */
+    private synchronized Target selectWeighted(long now, boolean ignoreEjection, Target excluded) {
+        Target best = null;
+        int total = 0;
+        for (Target target : targets) {
+            if ((target == excluded) || (!ignoreEjection && !target.isAvailable(now))) {
+                continue;
+            }
+            target.currentWeight += target.weight;
+            total += target.weight;
+            if ((best == null) || (target.currentWeight > best.currentWeight)) {
+                best = target;
+            }
+        }
+        if (best != null) {
+            best.currentWeight -= total;
+        }
+        return best;
+    }
+
+    private void failed(Target target, RuntimeException failure) {
+        if (!HttpStatusResolver.isProviderFailure(httpStatusResolvers, failure)) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (target.consecutiveFailures.incrementAndGet() >= maxConsecutiveFailures) {
+            if (!target.isEjected(now)) {
+                log.warnf("Model '%s' of router '%s' failed %d times in a row, it will not receive calls for %d ms",
+                        target.name, name, target.consecutiveFailures.get(), ejectionNanos / 1_000_000);
+            }
+            target.ejectedUntil = now + ejectionNanos;
+            target.ejected = true;
+        }
+    }
+
+    /**
+     * A call that is also sent to another model when it takes longer than usual.
+     * <p>
+     * The first attempt is performed on the calling thread, while the hedged attempt is started by a timer on a worker
+     * thread, with the request context and the tracing context of the caller. When the hedged attempt succeeds first,
+     * the calling thread is interrupted, which aborts the blocking request of the first attempt, otherwise the response
+     * of the hedged attempt is ignored.
+     */
+    private class HedgedCall implements Runnable {
+
+        private static final int RUNNING = 0;
+        private static final int HEDGING = 1;
+        private static final int COMPLETED = 2;
+        private static final int ABANDONING = 3;
+        private static final int ABANDONED = 4;
+
+        private final Target target;
+        private final Function<ChatLanguageModel, Response<AiMessage>> call;
+        private final Thread caller = Thread.currentThread();
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private final CompletableFuture<Response<AiMessage>> hedged = new CompletableFuture<>();
+        private final ManagedContext requestContext;
+        private final InjectableContext.ContextState requestContextState;
+        private final Object tracingContext;
+
+        private HedgedCall(Target target, Function<ChatLanguageModel, Response<AiMessage>> call) {
+            this.target = target;
+            this.call = call;
+            this.requestContext = Arc.container().requestContext();
+            this.requestContextState = requestContext.isActive() ? requestContext.getState() : null;
+            this.tracingContext = tracer != null ? tracer.currentContext() : null;
+        }
+
+        Response<AiMessage> execute(long delayNanos) {
+            ScheduledFuture<?> timer = Infrastructure.getDefaultWorkerPool().schedule(this, delayNanos,
+                    TimeUnit.NANOSECONDS);
+            Response<AiMessage> response = null;
+            RuntimeException failure = null;
+            target.outstanding.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                response = call.apply(target.model);
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                target.outstanding.decrementAndGet();
+            }
+            long latencyNanos = System.nanoTime() - start;
+            timer.cancel(false);
+
+            // once the hedged attempt started, hedged is always completed
+            boolean hedgeStarted;
+            if (state.compareAndSet(RUNNING, COMPLETED)) {
+                hedgeStarted = false;
+            } else if (state.compareAndSet(HEDGING, COMPLETED)) {
+                hedgeStarted = true;
+            } else {
+                // the hedged attempt succeeded first, and the interruption it caused is not meant for the caller
+                while (state.get() != ABANDONED) {
+                    Thread.onSpinWait();
+                }
+                Thread.interrupted();
+                return hedged.getNow(null);
+            }
+            if (failure == null) {
+                // the calls that were hedged are not samples, so that the delay only depends on the calls that were not
+                succeeded(target, latencyNanos, !hedgeStarted);
+                return response;
+            }
+            failed(target, failure);
+            if (!hedgeStarted) {
+                throw failure;
+            }
+            // the hedged attempt may still succeed
+            return join(hedged);
+        }
+
+        /**
+         * Starts the hedged attempt, once the delay elapsed
+         */
+        @Override
+        public void run() {
+            if ((state.get() != RUNNING) || !hedging.tryHedge()) {
+                return;
+            }
+            // the hedged attempt is claimed by the same operation that checks the first attempt is still running, so
+            // that it never starts once the first attempt completed
+            if (!state.compareAndSet(RUNNING, HEDGING)) {
+                hedging.cancelHedge();
+                return;
+            }
+            Target other = select(System.nanoTime(), target);
+            log.debugf("Hedging a call of router '%s' sent to model '%s'", name, target.name);
+
+            Response<AiMessage> response;
+            if (requestContextState != null) {
+                requestContext.activate(requestContextState);
+            }
+            try (AiServiceTracer.Scope ignored = tracingContext != null ? tracer.makeCurrent(tracingContext) : null) {
+                response = call(other != null ? other : target, call, false);
+            } catch (Throwable e) {
+                hedged.completeExceptionally(e);
+                return;
+            } finally {
+                if (requestContextState != null) {
+                    requestContext.deactivate();
+                }
+            }
+            hedged.complete(response);
+            if (state.compareAndSet(HEDGING, ABANDONING)) {
+                caller.interrupt();
+                state.set(ABANDONED);
+            }
+        }
+    }
+
+    private class Target {
+
+        private final String name;
+        private final ChatLanguageModel model;
+        private final int weight;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean ejected;
+        private volatile long ejectedUntil;
+        // guarded by the router
+        private int currentWeight;
+        // guarded by this
+        private double ewmaLatency;
+        private long lastLatencyUpdate;
+        private boolean hasLatency;
+
+        private Target(String name, ChatLanguageModel model, int weight) {
+            this.name = name;
+            this.model = model;
+            this.weight = weight;
+        }
+
+        boolean isAvailable(long now) {
+            return !isEjected(now);
+        }
+
+        boolean isEjected(long now) {
+            return ejected && (now - ejectedUntil < 0);
+        }
+
+        void succeeded(long latencyNanos) {
+            consecutiveFailures.set(0);
+            ejected = false;
+            long now = System.nanoTime();
+            synchronized (this) {
+                if (!hasLatency) {
+                    ewmaLatency = latencyNanos;
+                    hasLatency = true;
+                } else {
+                    double decay = Math.exp(-(now - lastLatencyUpdate) / ewmaDecayNanos);
+                    ewmaLatency = ewmaLatency * decay + latencyNanos * (1 - decay);
+                }
+                lastLatencyUpdate = now;
+            }
+        }
+
+        /**
+         * @return {@code 0} until a call succeeded, so that each model gets tried
+         */
+        synchronized double ewmaLatency() {
+            return hasLatency ? ewmaLatency : 0;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.quarkiverse.langchain4j.runtime.router;
+
+import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigDocSection;
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithDefaults;
+import io.smallrye.config.WithParentName;
+
+@ConfigRoot(phase = RUN_TIME)
+@ConfigMapping(prefix = "quarkus.langchain4j.router")
+public interface ChatModelRouterConfig {
+
+    /**
+     * Router config.
+     */
+    @ConfigDocSection
+    @ConfigDocMapKey("router-name")
+    @WithParentName
+    @WithDefaults
+    Map<String, RouterConfig> routers();
+
+    @ConfigGroup
+    interface RouterConfig {
+
+        /**
+         * How the model handling each call is selected among the healthy models of the router
+         */
+        @WithDefault("least-outstanding-requests")
+        Policy policy();
+
+        /**
+         * The weight of each model when the {@code weighted-round-robin} policy is used, the models without a weight have
+         * a weight of 1
+         */
+        @ConfigDocMapKey("model-name")
+        Map<String, Integer> weights();
+
+        /**
+         * How fast the latency measured by the {@code ewma-latency} policy forgets older calls: a call made this long
+         * ago weighs about a third of a call made now
+         */
+        @WithDefault("10s")
+        Duration ewmaDecay();
+
+        /**
+         * Configures when models are temporarily removed from the router
+         */
+        Ejection ejection();
+
+        /**
+         * Configures the sending of the calls that take longer than usual to a second model
+         */
+        Hedging hedging();
+    }
+
+    @ConfigGroup
+    interface Hedging {
+
+        /**
+         * Whether a call that did not complete after the {@code percentile} of the latency of the previous calls is also
+         * sent to another model of the router (or the same model when the router only has one), the first response
+         * being used
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The percentile of the latency of the previous successful calls after which a call is hedged
+         */
+        @WithDefault("95")
+        double percentile();
+
+        /**
+         * The maximum ratio of the calls that can be hedged, so that hedging does not add more than this ratio of load
+         * to the models when they are all slow
+         */
+        @WithDefault("0.05")
+        double budget();
+    }
+
+    @ConfigGroup
+    interface Ejection {
+
+        /**
+         * The number of consecutive failed calls after which a model stops receiving calls. The calls rejected because
+         * of the request itself (with an HTTP 4xx status other than 408 and 429) are not counted
+         */
+        @WithDefault("5")
+        int consecutiveFailures();
+
+        /**
+         * How long an ejected model stops receiving calls. When all the models of a router are ejected, calls are sent
+         * to all of them as if none was
+         */
+        @WithDefault("30s")
+        Duration duration();
+    }
+
+    enum Policy {
+        /**
+         * The model with the fewest calls in progress
+         */
+        LEAST_OUTSTANDING_REQUESTS,
+        /**
+         * The model with the lowest exponentially weighted moving average of its latency, multiplied by the number of
+         * calls in progress plus one
+         */
+        EWMA_LATENCY,
+        /**
+         * The models in turn, proportionally to their weight
+         */
+        WEIGHTED_ROUND_ROBIN
+    }
+}
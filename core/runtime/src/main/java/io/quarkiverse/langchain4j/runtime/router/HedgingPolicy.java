@@ -0,0 +1,88 @@
+package io.quarkiverse.langchain4j.runtime.router;
+
+import java.util.Arrays;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+/**
+ * Decides when the calls of a router are hedged: after a percentile of the latency of the recent successful calls, as
+ * long as the hedged calls stay within the budget.
+ * <p>
+ * The budget works like a token bucket: each call adds {@code budget} tokens and each hedged call takes one.
+ */
+class HedgingPolicy {
+
+    private static final int MAX_SAMPLES = 1000;
+    /**
+     * Calls are not hedged until there are enough samples for the percentile to mean something
+     */
+    private static final int MIN_SAMPLES = 20;
+    private static final int SAMPLES_PER_DELAY_UPDATE = 50;
+    /**
+     * Allows a few hedged calls in a row after a quiet period
+     */
+    private static final double MAX_TOKENS = 10;
+
+    private final double percentile;
+    private final double budget;
+
+    // guarded by this
+    private final long[] samples = new long[MAX_SAMPLES];
+    private int sampleCount;
+    private int nextSample;
+    private int samplesSinceDelayUpdate;
+    private long delayNanos = -1;
+    private double tokens;
+
+    HedgingPolicy(ChatModelRouterConfig.Hedging config) {
+        if ((config.percentile() <= 0) || (config.percentile() > 100)) {
+            throw new ConfigurationException("The hedging percentile needs to be between 0 and 100");
+        }
+        this.percentile = config.percentile();
+        this.budget = config.budget();
+    }
+
+    /**
+     * Records a call and returns after how long it should be hedged
+     *
+     * @return {@code -1} if the call should not be hedged
+     */
+    synchronized long called() {
+        tokens = Math.min(MAX_TOKENS, tokens + budget);
+        return delayNanos;
+    }
+
+    /**
+     * @return whether the budget allows to hedge a call
+     */
+    synchronized boolean tryHedge() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Gives back the token taken by {@link #tryHedge()} for a call that completed before it could be hedged
+     */
+    synchronized void cancelHedge() {
+        tokens = Math.min(MAX_TOKENS, tokens + 1);
+    }
+
+    synchronized void succeeded(long latencyNanos) {
+        samples[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % MAX_SAMPLES;
+        if (sampleCount < MAX_SAMPLES) {
+            sampleCount++;
+        }
+        if ((sampleCount >= MIN_SAMPLES) && (++samplesSinceDelayUpdate >= SAMPLES_PER_DELAY_UPDATE
+                || delayNanos < 0)) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sampleCount) - 1;
+            delayNanos = sorted[Math.max(0, index)];
+            samplesSinceDelayUpdate = 0;
+        }
+    }
+}
@@ -4,15 +4,17 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.jboss.logging.Logger;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import dev.langchain4j.agent.tool.ToolExecutor;
-import dev.langchain4j.internal.Json;
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
 import io.quarkiverse.langchain4j.runtime.prompt.Mappable;
 
@@ -20,7 +22,14 @@ public class QuarkusToolExecutor implements ToolExecutor {
 
     private static final Logger log = Logger.getLogger(QuarkusToolExecutor.class);
 
+    public static final int UNLIMITED_RESULT_LENGTH = -1;
+
+    // the key is the name of the generated invoker class
+    private static final Map<String, ResolvedInvoker> resolvedInvokers = new ConcurrentHashMap<>();
+
     private final Context context;
+    private final ResolvedInvoker resolvedInvoker;
+    private final int maxResultLength;
 
     public record Context(Object tool, String toolInvokerName, String methodName, String argumentMapperClassName) {
     }
@@ -32,13 +41,37 @@ public class QuarkusToolExecutor implements ToolExecutor {
     }
 
     public QuarkusToolExecutor(Context context) {
+        this(context, UNLIMITED_RESULT_LENGTH);
+    }
+
+    /**
+     * @param maxResultLength the maximum number of characters of the result handed back to the LLM, which must be
+     *        positive, or {@link #UNLIMITED_RESULT_LENGTH}
+     */
+    public QuarkusToolExecutor(Context context, int maxResultLength) {
+        if ((maxResultLength != UNLIMITED_RESULT_LENGTH) && (maxResultLength <= 0)) {
+            throw new IllegalArgumentException("The maximum result length of tool '" + context.methodName
+                    + "' must be positive or " + UNLIMITED_RESULT_LENGTH + ", but was " + maxResultLength);
+        }
         this.context = context;
+        this.maxResultLength = maxResultLength;
+        this.resolvedInvoker = resolvedInvokers.computeIfAbsent(context.toolInvokerName,
+                new Function<String, ResolvedInvoker>() {
+                    @Override
+                    public ResolvedInvoker apply(String toolInvokerName) {
+                        return new ResolvedInvoker(createInvokerInstance(), createArgumentReader());
+                    }
+                });
+    }
+
+    public static void clearResolvedInvokers() {
+        resolvedInvokers.clear();
     }
 
     public String execute(ToolExecutionRequest toolExecutionRequest, Object memoryId) {
         log.debugv("About to execute {0}", toolExecutionRequest);
 
-        ToolInvoker invokerInstance = createInvokerInstance();
+        ToolInvoker invokerInstance = resolvedInvoker.invoker;
 
         Object[] params = prepareArguments(toolExecutionRequest, invokerInstance.methodMetadata());
         try {
@@ -47,7 +80,7 @@ public class QuarkusToolExecutor implements ToolExecutor {
             }
             Object invocationResult = invokerInstance.invoke(context.tool,
                     params);
-            String result = handleResult(invokerInstance, invocationResult);
+            String result = truncate(handleResult(invokerInstance, invocationResult));
             log.debugv("Tool execution result: {0}", result);
             return result;
         } catch (Exception e) {
@@ -59,14 +92,33 @@ public class QuarkusToolExecutor implements ToolExecutor {
         }
     }
 
-    private static String handleResult(ToolInvoker invokerInstance, Object invocationResult) {
+    private static String handleResult(ToolInvoker invokerInstance, Object invocationResult) throws JsonProcessingException {
         if (invokerInstance.methodMetadata().isReturnsVoid()) {
             return "Success";
         }
-        return Json.toJson(invocationResult);
+        // the result is only read by the LLM, so there is no point in paying (in tokens) for pretty printing
+        return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.writeValueAsString(invocationResult);
+    }
+
+    /**
+     * A truncated result is not valid JSON anymore, so it is handed back to the LLM as a JSON string made of the
+     * beginning of the result and a note about the truncation
+     */
+    private String truncate(String result) throws JsonProcessingException {
+        if ((maxResultLength == UNLIMITED_RESULT_LENGTH) || (result.length() <= maxResultLength)) {
+            return result;
+        }
+        log.debugv("Truncating result of tool {0} from {1} to {2} characters", context.methodName, result.length(),
+                maxResultLength);
+        int end = maxResultLength;
+        if (Character.isHighSurrogate(result.charAt(end - 1))) {
+            // a surrogate pair is not split
+            end--;
+        }
+        return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.writeValueAsString(
+                result.substring(0, end) + "... [truncated " + (result.length() - end) + " characters]");
     }
 
-    // TODO: cache
     private ToolInvoker createInvokerInstance() {
         ToolInvoker invokerInstance;
         try {
@@ -115,15 +167,15 @@ public class QuarkusToolExecutor implements ToolExecutor {
         if (argumentsJsonStr == null || argumentsJsonStr.isEmpty()) {
             return Collections.emptyMap();
         }
-        Mappable mappable = QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue(argumentsJsonStr, loadMapperClass());
+        Mappable mappable = resolvedInvoker.argumentReader.readValue(argumentsJsonStr);
         return mappable.obtainFieldValuesMap();
     }
 
-    @SuppressWarnings("unchecked")
-    private Class<? extends Mappable> loadMapperClass() {
+    private ObjectReader createArgumentReader() {
         try {
-            return (Class<? extends Mappable>) Class.forName(context.argumentMapperClassName, true, Thread.currentThread()
+            Class<?> mapperClass = Class.forName(context.argumentMapperClassName, true, Thread.currentThread()
                     .getContextClassLoader());
+            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readerFor(mapperClass);
         } catch (ClassNotFoundException e) {
             throw new IllegalStateException(
                     "Unable to load argument mapper of '" + context.toolInvokerName
@@ -139,4 +191,17 @@ public class QuarkusToolExecutor implements ToolExecutor {
                 + "'");
     }
 
+    /**
+     * The generated invokers are stateless, so a single instance (along with the reader of its arguments)
+     * is shared by all executors of the same tool method
+     */
+    private static final class ResolvedInvoker {
+        private final ToolInvoker invoker;
+        private final ObjectReader argumentReader;
+
+        private ResolvedInvoker(ToolInvoker invoker, ObjectReader argumentReader) {
+            this.invoker = invoker;
+            this.argumentReader = argumentReader;
+        }
+    }
 }
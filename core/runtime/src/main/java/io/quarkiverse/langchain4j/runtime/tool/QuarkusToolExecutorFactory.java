@@ -1,12 +1,14 @@
 package io.quarkiverse.langchain4j.runtime.tool;
 
 import java.util.List;
+import java.util.OptionalInt;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 
 import jakarta.inject.Singleton;
 
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import io.quarkiverse.langchain4j.runtime.aiservice.ToolsConfig;
 import io.quarkus.arc.All;
 import io.quarkus.arc.Unremovable;
 
@@ -15,18 +17,21 @@ import io.quarkus.arc.Unremovable;
 public class QuarkusToolExecutorFactory {
 
     private final List<QuarkusToolExecutor.Wrapper> wrappers;
+    private final ToolsConfig toolsConfig;
 
-    public QuarkusToolExecutorFactory(@All List<QuarkusToolExecutor.Wrapper> wrappers) {
+    public QuarkusToolExecutorFactory(@All List<QuarkusToolExecutor.Wrapper> wrappers, ToolsConfig toolsConfig) {
         this.wrappers = wrappers;
+        this.toolsConfig = toolsConfig;
     }
 
     public QuarkusToolExecutor create(QuarkusToolExecutor.Context context) {
+        int maxResultLength = maxResultLength(context.methodName());
         if (wrappers.isEmpty()) {
-            return new QuarkusToolExecutor(context);
+            return new QuarkusToolExecutor(context, maxResultLength);
         }
 
-        return new QuarkusToolExecutor(context) {
-            final QuarkusToolExecutor originalTool = new QuarkusToolExecutor(context);
+        return new QuarkusToolExecutor(context, maxResultLength) {
+            final QuarkusToolExecutor originalTool = new QuarkusToolExecutor(context, maxResultLength);
 
             @Override
             public String execute(ToolExecutionRequest toolExecutionRequest, Object memoryId) {
@@ -53,4 +58,12 @@ public class QuarkusToolExecutorFactory {
             }
         };
     }
+
+    private int maxResultLength(String toolName) {
+        ToolsConfig.ToolConfig toolConfig = toolsConfig.tool().get(toolName);
+        OptionalInt maxResultLength = (toolConfig != null) && toolConfig.maxResultLength().isPresent()
+                ? toolConfig.maxResultLength()
+                : toolsConfig.maxResultLength();
+        return maxResultLength.orElse(QuarkusToolExecutor.UNLIMITED_RESULT_LENGTH);
+    }
 }
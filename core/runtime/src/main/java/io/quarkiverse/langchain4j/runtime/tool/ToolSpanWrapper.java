@@ -6,9 +6,12 @@ import jakarta.inject.Inject;
 
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
@@ -18,6 +21,10 @@ public class ToolSpanWrapper implements QuarkusToolExecutor.Wrapper {
 
     private static final String INSTRUMENTATION_NAME = "io.quarkus.opentelemetry";
 
+    private static final AttributeKey<String> OPERATION_NAME = AttributeKey.stringKey("gen_ai.operation.name");
+    private static final AttributeKey<String> TOOL_NAME = AttributeKey.stringKey("gen_ai.tool.name");
+    private static final AttributeKey<String> TOOL_CALL_ID = AttributeKey.stringKey("gen_ai.tool.call.id");
+
     private final Instrumenter<ToolExecutionRequest, Void> instrumenter;
 
     @Inject
@@ -27,8 +34,8 @@ public class ToolSpanWrapper implements QuarkusToolExecutor.Wrapper {
                 INSTRUMENTATION_NAME,
                 InputSpanNameExtractor.INSTANCE);
 
-        // TODO: there is probably more information here we need to set
         this.instrumenter = builder
+                .addAttributesExtractor(ToolAttributesExtractor.INSTANCE)
                 .buildInstrumenter(new SpanKindExtractor<>() {
                     @Override
                     public SpanKind extract(ToolExecutionRequest toolExecutionRequest) {
@@ -69,6 +76,26 @@ public class ToolSpanWrapper implements QuarkusToolExecutor.Wrapper {
         }
     }
 
+    private static class ToolAttributesExtractor implements AttributesExtractor<ToolExecutionRequest, Void> {
+
+        private static final ToolAttributesExtractor INSTANCE = new ToolAttributesExtractor();
+
+        @Override
+        public void onStart(AttributesBuilder attributes, Context parentContext,
+                ToolExecutionRequest toolExecutionRequest) {
+            attributes.put(OPERATION_NAME, "execute_tool");
+            attributes.put(TOOL_NAME, toolExecutionRequest.name());
+            if (toolExecutionRequest.id() != null) {
+                attributes.put(TOOL_CALL_ID, toolExecutionRequest.id());
+            }
+        }
+
+        @Override
+        public void onEnd(AttributesBuilder attributes, Context context, ToolExecutionRequest toolExecutionRequest,
+                Void unused, Throwable error) {
+        }
+    }
+
     private static class InputSpanNameExtractor implements SpanNameExtractor<ToolExecutionRequest> {
 
         private static final InputSpanNameExtractor INSTANCE = new InputSpanNameExtractor();
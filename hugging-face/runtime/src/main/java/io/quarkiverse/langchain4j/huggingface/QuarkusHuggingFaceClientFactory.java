@@ -18,6 +18,7 @@ import dev.langchain4j.model.huggingface.client.HuggingFaceClient;
 import dev.langchain4j.model.huggingface.client.TextGenerationRequest;
 import dev.langchain4j.model.huggingface.client.TextGenerationResponse;
 import dev.langchain4j.model.huggingface.spi.HuggingFaceClientFactory;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakers;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
@@ -47,17 +48,26 @@ public class QuarkusHuggingFaceClientFactory implements HuggingFaceClientFactory
         HuggingFaceRestApi restApi = builder
                 .build(HuggingFaceRestApi.class);
 
-        return new QuarkusHuggingFaceClient(restApi, input.apiKey());
+        return new QuarkusHuggingFaceClient(restApi, input.apiKey(), url.toString());
     }
 
     public static class QuarkusHuggingFaceClient implements HuggingFaceClient {
 
         private final HuggingFaceRestApi restApi;
         private final String token;
+        /**
+         * Each inference endpoint has its own circuit breaker
+         */
+        private final String baseUrl;
 
         public QuarkusHuggingFaceClient(HuggingFaceRestApi restApi, String token) {
+            this(restApi, token, null);
+        }
+
+        public QuarkusHuggingFaceClient(HuggingFaceRestApi restApi, String token, String baseUrl) {
             this.restApi = restApi;
             this.token = token;
+            this.baseUrl = baseUrl;
         }
 
         @Override
@@ -67,7 +77,7 @@ public class QuarkusHuggingFaceClientFactory implements HuggingFaceClientFactory
 
         @Override
         public TextGenerationResponse generate(TextGenerationRequest request) {
-            return toOneResponse(restApi.generate(request, token));
+            return toOneResponse(CircuitBreakers.call("huggingface", baseUrl, () -> restApi.generate(request, token)));
         }
 
         private static TextGenerationResponse toOneResponse(List<TextGenerationResponse> responses) {
@@ -81,7 +91,7 @@ public class QuarkusHuggingFaceClientFactory implements HuggingFaceClientFactory
 
         @Override
         public List<float[]> embed(EmbeddingRequest request) {
-            return restApi.embed(request, token);
+            return CircuitBreakers.call("huggingface", baseUrl, () -> restApi.embed(request, token));
         }
     }
 
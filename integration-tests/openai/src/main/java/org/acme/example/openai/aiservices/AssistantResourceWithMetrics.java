@@ -65,7 +65,7 @@ public class AssistantResourceWithMetrics {
     @RegisterAiService
     interface Assistant3 {
 
-        @SystemMessage("Template that never gets the proper {data}")
+        @SystemMessage("Template that never gets the proper {message.data}")
         String chat(String message);
     }
 }
@@ -7,13 +7,16 @@ import java.util.concurrent.TimeUnit;
 
 import org.jboss.resteasy.reactive.client.api.LoggingScope;
 
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakers;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
 
 public class OllamaClient {
 
     private final OllamaRestApi restApi;
+    private final String baseUrl;
 
     public OllamaClient(String baseUrl, Duration timeout, boolean logRequests, boolean logResponses) {
+        this.baseUrl = baseUrl;
         try {
             // TODO: cache?
             QuarkusRestClientBuilder builder = QuarkusRestClientBuilder.newBuilder()
@@ -32,10 +35,10 @@ public class OllamaClient {
     }
 
     public CompletionResponse completion(CompletionRequest request) {
-        return restApi.generate(request);
+        return CircuitBreakers.call("ollama", baseUrl, () -> restApi.generate(request));
     }
 
     public EmbeddingResponse embedding(EmbeddingRequest request) {
-        return restApi.embeddings(request);
+        return CircuitBreakers.call("ollama", baseUrl, () -> restApi.embeddings(request));
     }
 }
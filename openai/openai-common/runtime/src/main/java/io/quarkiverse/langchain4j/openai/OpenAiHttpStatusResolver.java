@@ -0,0 +1,28 @@
+package io.quarkiverse.langchain4j.openai;
+
+import java.util.OptionalInt;
+
+import jakarta.inject.Singleton;
+
+import dev.ai4j.openai4j.OpenAiHttpException;
+import io.quarkiverse.langchain4j.runtime.aiservice.HttpStatusResolver;
+
+/**
+ * Exposes the HTTP status of the failed requests to OpenAI compatible APIs, see {@link OpenAiRestApi#toException},
+ * and of the requests rejected by {@link OpenAiRateLimiter}
+ */
+@Singleton
+public class OpenAiHttpStatusResolver implements HttpStatusResolver {
+
+    @Override
+    public OptionalInt status(Throwable failure) {
+        if (failure instanceof OpenAiHttpException) {
+            return OptionalInt.of(((OpenAiHttpException) failure).code());
+        }
+        if (failure instanceof OpenAiRateLimitException) {
+            // rejected locally, but for the same reason OpenAI would have rejected it
+            return OptionalInt.of(429);
+        }
+        return OptionalInt.empty();
+    }
+}
@@ -0,0 +1,13 @@
+package io.quarkiverse.langchain4j.openai;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request to OpenAI is rejected locally by its {@link OpenAiRateLimiter}, without being sent
+ */
+public class OpenAiRateLimitException extends RuntimeException {
+
+    public OpenAiRateLimitException(String model, Duration maxWait) {
+        super("The rate limit of model '" + model + "' would not allow the request to be sent within " + maxWait);
+    }
+}
@@ -0,0 +1,288 @@
+package io.quarkiverse.langchain4j.openai;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+/**
+ * Limits the requests sent to OpenAI with one API key for one model, so that they stay within the requests per minute
+ * and the tokens per minute allowed by OpenAI instead of being answered with HTTP 429.
+ * <p>
+ * Both limits are token buckets refilled continuously, a request taking one request and the number of tokens it is
+ * estimated to use. The limits are either configured, or learned from the {@code x-ratelimit-limit-*} response headers,
+ * and the buckets never hold more than what the {@code x-ratelimit-remaining-*} response headers report, as other
+ * applications may be using the same API key.
+ * <p>
+ * The requests that cannot be sent yet wait in a FIFO queue, the first request of the queue holding the others until
+ * it can be sent, so that small requests do not starve the large ones. No thread waits: the requests of the queue are
+ * released by a timer set for when the bucket will hold what the first request needs. A request that would wait longer
+ * than the maximum wait is rejected with {@link OpenAiRateLimitException}.
+ */
+public class OpenAiRateLimiter {
+
+    private static final Logger log = Logger.getLogger(OpenAiRateLimiter.class);
+
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final Map<Key, OpenAiRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final String model;
+    private final Duration maxWait;
+    private final Bucket requests;
+    private final Bucket tokens;
+    // guarded by this
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private ScheduledFuture<?> timer;
+    private long timerDeadline;
+
+    OpenAiRateLimiter(String model, Optional<Integer> requestsPerMinute, Optional<Integer> tokensPerMinute,
+            Duration maxWait) {
+        this.model = model;
+        this.maxWait = maxWait;
+        long now = System.nanoTime();
+        this.requests = new Bucket(requestsPerMinute, now);
+        this.tokens = new Bucket(tokensPerMinute, now);
+    }
+
+    /**
+     * Limits the requests sent with {@code apiKey} for {@code model}, the models configured with the same API key and
+     * model name share the same limits
+     */
+    public static void register(String apiKey, String model, Optional<Integer> requestsPerMinute,
+            Optional<Integer> tokensPerMinute, Duration maxWait) {
+        limiters.putIfAbsent(new Key(apiKey, model),
+                new OpenAiRateLimiter(model, requestsPerMinute, tokensPerMinute, maxWait));
+    }
+
+    public static void clear() {
+        limiters.clear();
+    }
+
+    /**
+     * @return the limiter of the requests sent with {@code apiKey} for {@code model}, {@code null} when they are not
+     *         limited
+     */
+    static OpenAiRateLimiter get(String apiKey, String model) {
+        if (limiters.isEmpty() || (apiKey == null) || (model == null)) {
+            return null;
+        }
+        return limiters.get(new Key(apiKey, model));
+    }
+
+    /**
+     * Estimates the number of tokens of a request, a token being about 4 characters of the prompt, plus the maximum
+     * number of tokens of the response
+     */
+    static int estimateTokens(Object prompt, Integer maxTokens) {
+        int promptTokens = (prompt == null) ? 0 : (String.valueOf(prompt).length() + 3) / 4;
+        return promptTokens + ((maxTokens == null) ? 0 : maxTokens);
+    }
+
+    /**
+     * @param estimatedTokens the number of tokens the request is estimated to use
+     * @return a {@link Uni} completed once the request can be sent, or failed with {@link OpenAiRateLimitException} if
+     *         the request would have to wait longer than the maximum wait. Cancelling it removes the request from the
+     *         queue.
+     */
+    Uni<Void> acquire(int estimatedTokens) {
+        return Uni.createFrom().emitter(new Consumer<UniEmitter<? super Void>>() {
+            @Override
+            public void accept(UniEmitter<? super Void> emitter) {
+                Waiter waiter = new Waiter(estimatedTokens, System.nanoTime() + maxWait.toNanos(), emitter);
+                synchronized (OpenAiRateLimiter.this) {
+                    waiters.addLast(waiter);
+                }
+                // also called when the waiter is released or rejected, in which case it is not in the queue anymore
+                emitter.onTermination(new Runnable() {
+                    @Override
+                    public void run() {
+                        synchronized (OpenAiRateLimiter.this) {
+                            waiters.remove(waiter);
+                        }
+                    }
+                });
+                release();
+            }
+        });
+    }
+
+    /**
+     * Releases the requests of the queue that can be sent and rejects the ones that cannot be sent in time, the
+     * emitters being completed outside of the lock
+     */
+    private void release() {
+        List<Waiter> released = new ArrayList<>();
+        List<Waiter> rejected = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            Waiter first;
+            while ((first = waiters.peekFirst()) != null) {
+                long wait = Math.max(requests.waitFor(1, now), tokens.waitFor(first.estimatedTokens, now));
+                if (wait == 0) {
+                    requests.take(1);
+                    tokens.take(first.estimatedTokens);
+                    released.add(waiters.pollFirst());
+                    continue;
+                }
+                // the requests behind the first one cannot be sent before it
+                for (Iterator<Waiter> it = waiters.iterator(); it.hasNext();) {
+                    Waiter waiter = it.next();
+                    if (now + wait - waiter.deadline > 0) {
+                        it.remove();
+                        rejected.add(waiter);
+                    }
+                }
+                if (waiters.peekFirst() == first) {
+                    schedule(now, wait);
+                    break;
+                }
+            }
+        }
+        for (Waiter waiter : rejected) {
+            waiter.emitter.fail(new OpenAiRateLimitException(model, maxWait));
+        }
+        for (Waiter waiter : released) {
+            waiter.emitter.complete(null);
+        }
+    }
+
+    /**
+     * Sets the timer releasing the queue after {@code wait}, unless it is already set to fire earlier
+     */
+    private void schedule(long now, long wait) {
+        if ((timer != null) && !timer.isDone() && (timerDeadline - (now + wait) <= 0)) {
+            return;
+        }
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        log.debugf("Waiting %d ms for the rate limit of model '%s'", TimeUnit.NANOSECONDS.toMillis(wait), model);
+        timerDeadline = now + wait;
+        timer = Infrastructure.getDefaultWorkerPool().schedule(new Runnable() {
+            @Override
+            public void run() {
+                release();
+            }
+        }, wait, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gives back the tokens that were estimated but not used by a request, which may allow the waiting requests to be
+     * sent
+     */
+    void used(int estimatedTokens, Integer usedTokens) {
+        if ((usedTokens == null) || (usedTokens >= estimatedTokens)) {
+            return;
+        }
+        synchronized (this) {
+            tokens.give(estimatedTokens - usedTokens);
+        }
+        release();
+    }
+
+    /**
+     * Learns the limits and what remains of them from the {@code x-ratelimit-*} headers of a response
+     */
+    synchronized void learn(Long requestsLimit, Long remainingRequests, Long tokensLimit, Long remainingTokens) {
+        long now = System.nanoTime();
+        requests.learn(requestsLimit, remainingRequests, now);
+        tokens.learn(tokensLimit, remainingTokens, now);
+    }
+
+    private record Key(String apiKey, String model) {
+    }
+
+    private static class Waiter {
+
+        private final int estimatedTokens;
+        private final long deadline;
+        private final UniEmitter<? super Void> emitter;
+
+        private Waiter(int estimatedTokens, long deadline, UniEmitter<? super Void> emitter) {
+            this.estimatedTokens = estimatedTokens;
+            this.deadline = deadline;
+            this.emitter = emitter;
+        }
+    }
+
+    /**
+     * A token bucket refilled continuously with its capacity each minute, not limiting anything until its capacity is
+     * known
+     */
+    private static class Bucket {
+
+        private final boolean configured;
+        private long capacity;
+        private double available;
+        private long lastRefill;
+
+        private Bucket(Optional<Integer> perMinute, long now) {
+            this.configured = perMinute.isPresent();
+            this.capacity = perMinute.orElse(-1);
+            this.available = Math.max(capacity, 0);
+            this.lastRefill = now;
+        }
+
+        private void refill(long now) {
+            if (capacity > 0) {
+                available = Math.min(capacity, available + (double) (now - lastRefill) * capacity / MINUTE_NANOS);
+            }
+            lastRefill = now;
+        }
+
+        /**
+         * @return the nanoseconds to wait for the bucket to hold {@code amount}, a request larger than the bucket only
+         *         having to wait for a full bucket
+         */
+        private long waitFor(long amount, long now) {
+            if (capacity < 0) {
+                return 0;
+            }
+            refill(now);
+            double missing = Math.min(amount, capacity) - available;
+            if (missing <= 0) {
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil(missing * MINUTE_NANOS / Math.max(capacity, 1)));
+        }
+
+        private void take(long amount) {
+            if (capacity >= 0) {
+                available -= Math.min(amount, capacity);
+            }
+        }
+
+        private void give(long amount) {
+            if (capacity >= 0) {
+                available = Math.min(capacity, available + amount);
+            }
+        }
+
+        private void learn(Long limit, Long remaining, long now) {
+            if ((limit != null) && !configured && (limit != capacity)) {
+                refill(now);
+                available = (capacity < 0) ? limit : Math.min(available, limit);
+                capacity = limit;
+            }
+            if ((remaining != null) && (capacity >= 0)) {
+                refill(now);
+                available = Math.min(available, remaining);
+            }
+        }
+    }
+}
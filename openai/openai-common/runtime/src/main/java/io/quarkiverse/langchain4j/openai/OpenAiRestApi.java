@@ -9,6 +9,11 @@ import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
@@ -24,6 +29,9 @@ import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
@@ -78,6 +86,7 @@ import io.vertx.core.http.HttpClientResponse;
 @RegisterProvider(OpenAiRestApi.OpenAiRestApiJacksonWriter.class)
 @RegisterProvider(OpenAiRestApi.OpenAiRestApiReaderInterceptor.class)
 @RegisterProvider(OpenAiRestApi.OpenAiRestApiWriterInterceptor.class)
+@RegisterProvider(OpenAiRestApi.OpenAiRestApiRateLimitFilter.class)
 public interface OpenAiRestApi {
 
     /**
@@ -165,11 +174,106 @@ public interface OpenAiRestApi {
     @ClientExceptionMapper
     static RuntimeException toException(Response response) {
         if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+            Duration retryAfter = RetryAfterHeaders.retryAfter(response);
+            if (retryAfter != null) {
+                return new OpenAiRetryAfterHttpException(response.getStatus(), response.readEntity(String.class),
+                        retryAfter);
+            }
             return new OpenAiHttpException(response.getStatus(), response.readEntity(String.class));
         }
         return null;
     }
 
+    /**
+     * Reads how long to wait before retrying from the headers of a failed response
+     */
+    class RetryAfterHeaders {
+
+        private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+        private RetryAfterHeaders() {
+        }
+
+        /**
+         * @return the delay given by {@code retry-after-ms}, {@code Retry-After}, or the {@code x-ratelimit-reset-*} header
+         *         of the exhausted limits, {@code null} when the response gives none
+         */
+        static Duration retryAfter(Response response) {
+            String retryAfterMs = response.getHeaderString("retry-after-ms");
+            if (retryAfterMs != null) {
+                try {
+                    return Duration.ofMillis((long) Double.parseDouble(retryAfterMs.trim()));
+                } catch (NumberFormatException e) {
+                    // try the other headers
+                }
+            }
+            String retryAfter = response.getHeaderString(HttpHeaders.RETRY_AFTER);
+            if (retryAfter != null) {
+                Duration delay = parseRetryAfter(retryAfter.trim());
+                if (delay != null) {
+                    return delay;
+                }
+            }
+            Duration requestsReset = "0".equals(response.getHeaderString("x-ratelimit-remaining-requests"))
+                    ? parseReset(response.getHeaderString("x-ratelimit-reset-requests"))
+                    : null;
+            Duration tokensReset = "0".equals(response.getHeaderString("x-ratelimit-remaining-tokens"))
+                    ? parseReset(response.getHeaderString("x-ratelimit-reset-tokens"))
+                    : null;
+            if ((requestsReset != null) && (tokensReset != null)) {
+                return requestsReset.compareTo(tokensReset) > 0 ? requestsReset : tokensReset;
+            }
+            return requestsReset != null ? requestsReset : tokensReset;
+        }
+
+        /**
+         * {@code Retry-After} is either a number of seconds or an HTTP date
+         */
+        private static Duration parseRetryAfter(String value) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                try {
+                    Duration delay = Duration.between(Instant.now(),
+                            ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+                    return delay.isNegative() ? Duration.ZERO : delay;
+                } catch (DateTimeParseException ignored) {
+                    return null;
+                }
+            }
+        }
+
+        /**
+         * The {@code x-ratelimit-reset-*} headers look like {@code 6m0s}, {@code 1.5s} or {@code 20ms}
+         */
+        static Duration parseReset(String value) {
+            if (value == null) {
+                return null;
+            }
+            Matcher matcher = DURATION_PART.matcher(value);
+            double millis = 0;
+            boolean found = false;
+            while (matcher.find()) {
+                found = true;
+                double amount = Double.parseDouble(matcher.group(1));
+                switch (matcher.group(2)) {
+                    case "h":
+                        millis += amount * 3_600_000;
+                        break;
+                    case "m":
+                        millis += amount * 60_000;
+                        break;
+                    case "s":
+                        millis += amount * 1_000;
+                        break;
+                    default:
+                        millis += amount;
+                }
+            }
+            return found ? Duration.ofMillis((long) Math.ceil(millis)) : null;
+        }
+    }
+
     /**
      * Ensures that the terminal event sent by OpenAI is not processed (as it is not a valid json event)
      */
@@ -298,6 +402,59 @@ public interface OpenAiRestApi {
         }
     }
 
+    /**
+     * Lets the {@link OpenAiRateLimiter} of the request learn the limits and what remains of them from the
+     * {@code x-ratelimit-*} headers of the response
+     */
+    class OpenAiRestApiRateLimitFilter implements ClientResponseFilter {
+
+        @Override
+        public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+            String apiKey = apiKey(requestContext);
+            String model = model(requestContext.getEntity());
+            OpenAiRateLimiter rateLimiter = OpenAiRateLimiter.get(apiKey, model);
+            if (rateLimiter == null) {
+                return;
+            }
+            rateLimiter.learn(
+                    header(responseContext, "x-ratelimit-limit-requests"),
+                    header(responseContext, "x-ratelimit-remaining-requests"),
+                    header(responseContext, "x-ratelimit-limit-tokens"),
+                    header(responseContext, "x-ratelimit-remaining-tokens"));
+        }
+
+        private static String apiKey(ClientRequestContext requestContext) {
+            String authorization = requestContext.getHeaderString("Authorization");
+            if ((authorization != null) && authorization.startsWith("Bearer ")) {
+                return authorization.substring("Bearer ".length());
+            }
+            return requestContext.getHeaderString("api-key");
+        }
+
+        private static String model(Object entity) {
+            if (entity instanceof ChatCompletionRequest) {
+                return ((ChatCompletionRequest) entity).model();
+            } else if (entity instanceof CompletionRequest) {
+                return ((CompletionRequest) entity).model();
+            } else if (entity instanceof EmbeddingRequest) {
+                return ((EmbeddingRequest) entity).model();
+            }
+            return null;
+        }
+
+        private static Long header(ClientResponseContext responseContext, String name) {
+            String value = responseContext.getHeaderString(name);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
     /**
      * Introduce a custom logger as the stock one logs at the DEBUG level by default...
      */
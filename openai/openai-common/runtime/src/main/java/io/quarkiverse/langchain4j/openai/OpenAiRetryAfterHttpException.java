@@ -0,0 +1,23 @@
+package io.quarkiverse.langchain4j.openai;
+
+import java.time.Duration;
+
+import dev.ai4j.openai4j.OpenAiHttpException;
+
+/**
+ * A {@link OpenAiHttpException} whose response told how long to wait before retrying, with the {@code Retry-After},
+ * {@code retry-after-ms} or {@code x-ratelimit-reset-*} headers
+ */
+public class OpenAiRetryAfterHttpException extends OpenAiHttpException {
+
+    private final Duration retryAfter;
+
+    public OpenAiRetryAfterHttpException(int code, String message, Duration retryAfter) {
+        super(code, message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
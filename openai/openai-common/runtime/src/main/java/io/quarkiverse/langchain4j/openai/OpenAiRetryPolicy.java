@@ -0,0 +1,174 @@
+package io.quarkiverse.langchain4j.openai;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import dev.ai4j.openai4j.OpenAiHttpException;
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.VertxException;
+
+/**
+ * Retries the requests sent to OpenAI with one API key for one model, without blocking any thread between the attempts.
+ * <p>
+ * Only the failures that can succeed when retried are retried: timeouts, connection failures, HTTP 408, 409, 429 and
+ * 5xx, except the 429 telling that the quota is exhausted. The delay between the attempts follows the "decorrelated
+ * jitter" backoff, a random delay between the initial backoff and three times the previous delay, so that the clients
+ * failing at the same time, for example after an outage, do not retry at the same time. When the response tells how
+ * long to wait, see {@link OpenAiRetryAfterHttpException}, the retry never happens earlier, and the request is not
+ * retried when the wait is longer than the maximum backoff.
+ */
+public class OpenAiRetryPolicy {
+
+    private static final Logger log = Logger.getLogger(OpenAiRetryPolicy.class);
+
+    private static final Map<Key, OpenAiRetryPolicy> policies = new ConcurrentHashMap<>();
+
+    private final String configPrefix;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    OpenAiRetryPolicy(String configPrefix, int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.configPrefix = configPrefix;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = Math.max(1, initialBackoff.toNanos());
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, maxBackoff.toNanos());
+    }
+
+    /**
+     * Retries the requests sent with {@code apiKey} for {@code model}
+     *
+     * @param configPrefix the prefix of the configuration the policy comes from, only used to report conflicts
+     * @param maxAttempts the total number of attempts, like {@code RetryUtils#withRetry}
+     * @throws ConfigurationException if the requests sent with {@code apiKey} for {@code model} are already retried
+     *         with other settings, as the client cannot tell which configuration a request comes from
+     */
+    public static void register(String configPrefix, String apiKey, String model, int maxAttempts,
+            Duration initialBackoff, Duration maxBackoff) {
+        OpenAiRetryPolicy policy = new OpenAiRetryPolicy(configPrefix, maxAttempts, initialBackoff, maxBackoff);
+        OpenAiRetryPolicy existing = policies.putIfAbsent(new Key(apiKey, model), policy);
+        if ((existing != null) && !existing.hasSameSettings(policy)) {
+            throw new ConfigurationException("'" + existing.configPrefix + "' and '" + configPrefix
+                    + "' configure model '" + model + "' with the same API key but different 'max-retries', "
+                    + "'retry.initial-backoff' or 'retry.max-backoff', which is not supported as their requests "
+                    + "cannot be told apart");
+        }
+    }
+
+    public static void clear() {
+        policies.clear();
+    }
+
+    /**
+     * @return the policy of the requests sent with {@code apiKey} for {@code model}, {@code null} when they are not
+     *         retried by the client
+     */
+    static OpenAiRetryPolicy get(String apiKey, String model) {
+        if (policies.isEmpty() || (apiKey == null) || (model == null)) {
+            return null;
+        }
+        return policies.get(new Key(apiKey, model));
+    }
+
+    private boolean hasSameSettings(OpenAiRetryPolicy other) {
+        return (maxAttempts == other.maxAttempts) && (initialBackoffNanos == other.initialBackoffNanos)
+                && (maxBackoffNanos == other.maxBackoffNanos);
+    }
+
+    /**
+     * Resubscribes to {@code uni} when it fails with a failure that can be retried, each subscription to the returned
+     * {@link Uni} having its own attempts
+     */
+    <T> Uni<T> apply(Uni<T> uni) {
+        if (maxAttempts <= 1) {
+            return uni;
+        }
+        return uni.onFailure().retry().when(new Function<Multi<Throwable>, Flow.Publisher<?>>() {
+            @Override
+            public Flow.Publisher<?> apply(Multi<Throwable> failures) {
+                Backoff backoff = new Backoff();
+                return failures.onItem().transformToUniAndConcatenate(new Function<Throwable, Uni<?>>() {
+                    @Override
+                    public Uni<?> apply(Throwable failure) {
+                        Duration delay = backoff.next(failure);
+                        if (delay == null) {
+                            return Uni.createFrom().failure(failure);
+                        }
+                        log.debugf("Retrying the request to OpenAI in %d ms after: %s", delay.toMillis(),
+                                failure.getMessage());
+                        return Uni.createFrom().item(failure).onItem().delayIt().by(delay);
+                    }
+                });
+            }
+        });
+    }
+
+    static boolean isRetryable(Throwable failure) {
+        if (failure instanceof OpenAiHttpException) {
+            int code = ((OpenAiHttpException) failure).code();
+            if (code == 429) {
+                // the quota will not come back by retrying
+                String message = failure.getMessage();
+                return (message == null) || !message.contains("insufficient_quota");
+            }
+            return (code == 408) || (code == 409) || ((code >= 500) && (code != 501));
+        }
+        if ((failure instanceof OpenAiRateLimitException) || (failure instanceof OpenAiApiException)) {
+            return false;
+        }
+        Throwable cause = failure;
+        while (cause != null) {
+            if ((cause instanceof IOException) || (cause instanceof TimeoutException)
+                    || (cause instanceof VertxException)) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private record Key(String apiKey, String model) {
+    }
+
+    /**
+     * The attempts of one subscription
+     */
+    private class Backoff {
+
+        private int attempts = 1;
+        private long previousNanos = initialBackoffNanos;
+
+        /**
+         * @return the delay before the next attempt, {@code null} when there is none
+         */
+        private Duration next(Throwable failure) {
+            if ((attempts >= maxAttempts) || !isRetryable(failure)) {
+                return null;
+            }
+            attempts++;
+            long upper = Math.max(initialBackoffNanos + 1, Math.min(maxBackoffNanos, previousNanos * 3));
+            previousNanos = ThreadLocalRandom.current().nextLong(initialBackoffNanos, upper);
+            long delayNanos = previousNanos;
+            if (failure instanceof OpenAiRetryAfterHttpException) {
+                long retryAfterNanos = ((OpenAiRetryAfterHttpException) failure).retryAfter().toNanos();
+                if (retryAfterNanos > maxBackoffNanos) {
+                    return null;
+                }
+                // still spread the clients that were told to retry at the same time
+                delayNanos = Math.max(delayNanos,
+                        retryAfterNanos + ThreadLocalRandom.current().nextLong(initialBackoffNanos));
+            }
+            return Duration.ofNanos(delayNanos);
+        }
+    }
+}
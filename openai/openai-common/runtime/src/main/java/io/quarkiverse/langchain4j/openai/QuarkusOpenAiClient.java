@@ -12,6 +12,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.jboss.resteasy.reactive.client.api.LoggingScope;
@@ -38,6 +39,7 @@ import dev.ai4j.openai4j.moderation.ModerationRequest;
 import dev.ai4j.openai4j.moderation.ModerationResponse;
 import dev.ai4j.openai4j.moderation.ModerationResult;
 import dev.ai4j.openai4j.spi.OpenAiClientBuilderFactory;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakers;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
@@ -52,6 +54,14 @@ public class QuarkusOpenAiClient extends OpenAiClient {
     private final String openaiApiKey;
     private final String apiVersion;
     private final String organizationId;
+    /**
+     * The name of the provider in {@code quarkus.langchain4j.circuit-breaker.<provider>}
+     */
+    private final String provider;
+    /**
+     * Each base URL has its own circuit breaker
+     */
+    private final String baseUrl;
 
     private final OpenAiRestApi restApi;
 
@@ -67,6 +77,8 @@ public class QuarkusOpenAiClient extends OpenAiClient {
 
     public static void clearCache() {
         cache.clear();
+        OpenAiRateLimiter.clear();
+        OpenAiRetryPolicy.clear();
     }
 
     private QuarkusOpenAiClient(Builder builder) {
@@ -74,6 +86,8 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         this.openaiApiKey = builder.openAiApiKey;
         this.apiVersion = builder.apiVersion;
         this.organizationId = builder.organizationId;
+        this.provider = builder.azureApiKey != null ? "azure-openai" : "openai";
+        this.baseUrl = builder.baseUrl;
         // cache the client the builder could be called with the same parameters from multiple models
         this.restApi = cache.compute(builder, new BiFunction<Builder, OpenAiRestApi, OpenAiRestApi>() {
             @Override
@@ -113,14 +127,12 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         return new SyncOrAsyncOrStreaming<>() {
             @Override
             public CompletionResponse execute() {
-                return restApi.blockingCompletion(
-                        CompletionRequest.builder().from(request).stream(null).build(),
-                        OpenAiRestApi.ApiMetadata.builder()
-                                .azureApiKey(azureApiKey)
-                                .openAiApiKey(openaiApiKey)
-                                .apiVersion(apiVersion)
-                                .organizationId(organizationId)
-                                .build());
+                if (isManaged(request.model())) {
+                    return completionUni(CompletionRequest.builder().from(request).stream(null).build())
+                            .await().indefinitely();
+                }
+                return restApi.blockingCompletion(CompletionRequest.builder().from(request).stream(null).build(),
+                        apiMetadata());
             }
 
             @Override
@@ -129,13 +141,7 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Uni<CompletionResponse> get() {
-                                return restApi.completion(request,
-                                        OpenAiRestApi.ApiMetadata.builder()
-                                                .azureApiKey(azureApiKey)
-                                                .openAiApiKey(openaiApiKey)
-                                                .apiVersion(apiVersion)
-                                                .organizationId(organizationId)
-                                                .build());
+                                return completionUni(request);
                             }
                         },
                         responseHandler);
@@ -148,13 +154,14 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Multi<CompletionResponse> get() {
-                                return restApi.streamingCompletion(request,
-                                        OpenAiRestApi.ApiMetadata.builder()
-                                                .azureApiKey(azureApiKey)
-                                                .openAiApiKey(openaiApiKey)
-                                                .apiVersion(apiVersion)
-                                                .organizationId(organizationId)
-                                                .build());
+                                OpenAiRateLimiter rateLimiter = rateLimiter(request.model());
+                                Multi<CompletionResponse> response = CircuitBreakers.apply(provider, baseUrl,
+                                        restApi.streamingCompletion(request, apiMetadata()));
+                                if (rateLimiter == null) {
+                                    return response;
+                                }
+                                return rateLimited(rateLimiter,
+                                        OpenAiRateLimiter.estimateTokens(request.prompt(), request.maxTokens()), response);
                             }
                         }, partialResponseHandler);
             }
@@ -171,14 +178,12 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         return new SyncOrAsyncOrStreaming<>() {
             @Override
             public ChatCompletionResponse execute() {
-                return restApi.blockingChatCompletion(
-                        ChatCompletionRequest.builder().from(request).stream(null).build(),
-                        OpenAiRestApi.ApiMetadata.builder()
-                                .azureApiKey(azureApiKey)
-                                .openAiApiKey(openaiApiKey)
-                                .apiVersion(apiVersion)
-                                .organizationId(organizationId)
-                                .build());
+                if (isManaged(request.model())) {
+                    return chatCompletionUni(ChatCompletionRequest.builder().from(request).stream(null).build())
+                            .await().indefinitely();
+                }
+                return restApi.blockingChatCompletion(ChatCompletionRequest.builder().from(request).stream(null).build(),
+                        apiMetadata());
             }
 
             @Override
@@ -187,13 +192,7 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Uni<ChatCompletionResponse> get() {
-                                return restApi.createChatCompletion(request,
-                                        OpenAiRestApi.ApiMetadata.builder()
-                                                .azureApiKey(azureApiKey)
-                                                .openAiApiKey(openaiApiKey)
-                                                .apiVersion(apiVersion)
-                                                .organizationId(organizationId)
-                                                .build());
+                                return chatCompletionUni(request);
                             }
                         },
                         responseHandler);
@@ -206,13 +205,15 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Multi<ChatCompletionResponse> get() {
-                                return restApi.streamingChatCompletion(request,
-                                        OpenAiRestApi.ApiMetadata.builder()
-                                                .azureApiKey(azureApiKey)
-                                                .openAiApiKey(openaiApiKey)
-                                                .apiVersion(apiVersion)
-                                                .organizationId(organizationId)
-                                                .build());
+                                OpenAiRateLimiter rateLimiter = rateLimiter(request.model());
+                                Multi<ChatCompletionResponse> response = CircuitBreakers.apply(provider, baseUrl,
+                                        restApi.streamingChatCompletion(request, apiMetadata()));
+                                if (rateLimiter == null) {
+                                    return response;
+                                }
+                                return rateLimited(rateLimiter,
+                                        OpenAiRateLimiter.estimateTokens(request.messages(), request.maxTokens()),
+                                        response);
                             }
                         }, partialResponseHandler);
             }
@@ -228,15 +229,12 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         return new SyncOrAsyncOrStreaming<>() {
             @Override
             public String execute() {
-                return restApi
-                        .blockingChatCompletion(request,
-                                OpenAiRestApi.ApiMetadata.builder()
-                                        .azureApiKey(azureApiKey)
-                                        .openAiApiKey(openaiApiKey)
-                                        .apiVersion(apiVersion)
-                                        .organizationId(organizationId)
-                                        .build())
-                        .content();
+                return CircuitBreakers.call(provider, baseUrl, new Supplier<ChatCompletionResponse>() {
+                    @Override
+                    public ChatCompletionResponse get() {
+                        return restApi.blockingChatCompletion(request, apiMetadata());
+                    }
+                }).content();
             }
 
             @Override
@@ -245,15 +243,8 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Uni<String> get() {
-                                return restApi
-                                        .createChatCompletion(
-                                                ChatCompletionRequest.builder().from(request).stream(null).build(),
-                                                OpenAiRestApi.ApiMetadata.builder()
-                                                        .azureApiKey(azureApiKey)
-                                                        .openAiApiKey(openaiApiKey)
-                                                        .apiVersion(apiVersion)
-                                                        .organizationId(organizationId)
-                                                        .build())
+                                return CircuitBreakers.apply(provider, baseUrl, restApi.createChatCompletion(
+                                        ChatCompletionRequest.builder().from(request).stream(null).build(), apiMetadata()))
                                         .map(ChatCompletionResponse::content);
                             }
                         },
@@ -267,15 +258,8 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Multi<String> get() {
-                                return restApi
-                                        .streamingChatCompletion(
-                                                ChatCompletionRequest.builder().from(request).stream(true).build(),
-                                                OpenAiRestApi.ApiMetadata.builder()
-                                                        .azureApiKey(azureApiKey)
-                                                        .openAiApiKey(openaiApiKey)
-                                                        .apiVersion(apiVersion)
-                                                        .organizationId(organizationId)
-                                                        .build())
+                                return CircuitBreakers.apply(provider, baseUrl, restApi.streamingChatCompletion(
+                                        ChatCompletionRequest.builder().from(request).stream(true).build(), apiMetadata()))
                                         .filter(r -> {
                                             if (r.choices() != null) {
                                                 if (r.choices().size() == 1) {
@@ -300,13 +284,10 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         return new SyncOrAsync<>() {
             @Override
             public EmbeddingResponse execute() {
-                return restApi.blockingEmbedding(request,
-                        OpenAiRestApi.ApiMetadata.builder()
-                                .azureApiKey(azureApiKey)
-                                .openAiApiKey(openaiApiKey)
-                                .apiVersion(apiVersion)
-                                .organizationId(organizationId)
-                                .build());
+                if (isManaged(request.model())) {
+                    return embeddingUni(request).await().indefinitely();
+                }
+                return restApi.blockingEmbedding(request, apiMetadata());
             }
 
             @Override
@@ -315,13 +296,7 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Uni<EmbeddingResponse> get() {
-                                return restApi.embedding(request,
-                                        OpenAiRestApi.ApiMetadata.builder()
-                                                .azureApiKey(azureApiKey)
-                                                .openAiApiKey(openaiApiKey)
-                                                .apiVersion(apiVersion)
-                                                .organizationId(organizationId)
-                                                .build());
+                                return embeddingUni(request);
                             }
                         },
                         responseHandler);
@@ -337,14 +312,12 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         return new SyncOrAsync<>() {
             @Override
             public List<Float> execute() {
-                return restApi.blockingEmbedding(request,
-                        OpenAiRestApi.ApiMetadata.builder()
-                                .azureApiKey(azureApiKey)
-                                .openAiApiKey(openaiApiKey)
-                                .apiVersion(apiVersion)
-                                .organizationId(organizationId)
-                                .build())
-                        .embedding();
+                return CircuitBreakers.call(provider, baseUrl, new Supplier<EmbeddingResponse>() {
+                    @Override
+                    public EmbeddingResponse get() {
+                        return restApi.blockingEmbedding(request, apiMetadata());
+                    }
+                }).embedding();
             }
 
             @Override
@@ -353,13 +326,7 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Uni<List<Float>> get() {
-                                return restApi.embedding(request,
-                                        OpenAiRestApi.ApiMetadata.builder()
-                                                .azureApiKey(azureApiKey)
-                                                .openAiApiKey(openaiApiKey)
-                                                .apiVersion(apiVersion)
-                                                .organizationId(organizationId)
-                                                .build())
+                                return CircuitBreakers.apply(provider, baseUrl, restApi.embedding(request, apiMetadata()))
                                         .map(EmbeddingResponse::embedding);
                             }
                         },
@@ -373,13 +340,12 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         return new SyncOrAsync<>() {
             @Override
             public ModerationResponse execute() {
-                return restApi.blockingModeration(request,
-                        OpenAiRestApi.ApiMetadata.builder()
-                                .azureApiKey(azureApiKey)
-                                .openAiApiKey(openaiApiKey)
-                                .apiVersion(apiVersion)
-                                .organizationId(organizationId)
-                                .build());
+                return CircuitBreakers.call(provider, baseUrl, new Supplier<ModerationResponse>() {
+                    @Override
+                    public ModerationResponse get() {
+                        return restApi.blockingModeration(request, apiMetadata());
+                    }
+                });
             }
 
             @Override
@@ -388,13 +354,7 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Uni<ModerationResponse> get() {
-                                return restApi.moderation(request,
-                                        OpenAiRestApi.ApiMetadata.builder()
-                                                .azureApiKey(azureApiKey)
-                                                .openAiApiKey(openaiApiKey)
-                                                .apiVersion(apiVersion)
-                                                .organizationId(organizationId)
-                                                .build());
+                                return CircuitBreakers.apply(provider, baseUrl, restApi.moderation(request, apiMetadata()));
                             }
                         },
                         responseHandler);
@@ -411,14 +371,12 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         return new SyncOrAsync<>() {
             @Override
             public ModerationResult execute() {
-                return restApi.blockingModeration(request,
-                        OpenAiRestApi.ApiMetadata.builder()
-                                .azureApiKey(azureApiKey)
-                                .openAiApiKey(openaiApiKey)
-                                .apiVersion(apiVersion)
-                                .organizationId(organizationId)
-                                .build())
-                        .results().get(0);
+                return CircuitBreakers.call(provider, baseUrl, new Supplier<ModerationResponse>() {
+                    @Override
+                    public ModerationResponse get() {
+                        return restApi.blockingModeration(request, apiMetadata());
+                    }
+                }).results().get(0);
             }
 
             @Override
@@ -427,13 +385,7 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Uni<ModerationResult> get() {
-                                return restApi.moderation(request,
-                                        OpenAiRestApi.ApiMetadata.builder()
-                                                .azureApiKey(azureApiKey)
-                                                .openAiApiKey(openaiApiKey)
-                                                .apiVersion(apiVersion)
-                                                .organizationId(organizationId)
-                                                .build())
+                                return CircuitBreakers.apply(provider, baseUrl, restApi.moderation(request, apiMetadata()))
                                         .map(r -> r.results().get(0));
                             }
                         },
@@ -447,13 +399,12 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         return new SyncOrAsync<GenerateImagesResponse>() {
             @Override
             public GenerateImagesResponse execute() {
-                return restApi.blockingImagesGenerations(generateImagesRequest,
-                        OpenAiRestApi.ApiMetadata.builder()
-                                .azureApiKey(azureApiKey)
-                                .openAiApiKey(openaiApiKey)
-                                .apiVersion(apiVersion)
-                                .organizationId(organizationId)
-                                .build());
+                return CircuitBreakers.call(provider, baseUrl, new Supplier<GenerateImagesResponse>() {
+                    @Override
+                    public GenerateImagesResponse get() {
+                        return restApi.blockingImagesGenerations(generateImagesRequest, apiMetadata());
+                    }
+                });
             }
 
             @Override
@@ -462,13 +413,8 @@ public class QuarkusOpenAiClient extends OpenAiClient {
                         new Supplier<>() {
                             @Override
                             public Uni<GenerateImagesResponse> get() {
-                                return restApi.imagesGenerations(generateImagesRequest,
-                                        OpenAiRestApi.ApiMetadata.builder()
-                                                .azureApiKey(azureApiKey)
-                                                .openAiApiKey(openaiApiKey)
-                                                .apiVersion(apiVersion)
-                                                .organizationId(organizationId)
-                                                .build());
+                                return CircuitBreakers.apply(provider, baseUrl,
+                                        restApi.imagesGenerations(generateImagesRequest, apiMetadata()));
                             }
                         },
                         responseHandler);
@@ -476,6 +422,115 @@ public class QuarkusOpenAiClient extends OpenAiClient {
         };
     }
 
+    private Uni<CompletionResponse> completionUni(CompletionRequest request) {
+        Uni<CompletionResponse> response = CircuitBreakers.apply(provider, baseUrl, restApi.completion(request, apiMetadata()));
+        OpenAiRateLimiter rateLimiter = rateLimiter(request.model());
+        if (rateLimiter != null) {
+            int estimatedTokens = OpenAiRateLimiter.estimateTokens(request.prompt(), request.maxTokens());
+            response = rateLimited(rateLimiter, estimatedTokens, response)
+                    .invoke(new Consumer<>() {
+                        @Override
+                        public void accept(CompletionResponse r) {
+                            rateLimiter.used(estimatedTokens, r.usage() != null ? r.usage().totalTokens() : null);
+                        }
+                    });
+        }
+        return retried(request.model(), response);
+    }
+
+    private Uni<ChatCompletionResponse> chatCompletionUni(ChatCompletionRequest request) {
+        Uni<ChatCompletionResponse> response = CircuitBreakers.apply(provider, baseUrl,
+                restApi.createChatCompletion(request, apiMetadata()));
+        OpenAiRateLimiter rateLimiter = rateLimiter(request.model());
+        if (rateLimiter != null) {
+            int estimatedTokens = OpenAiRateLimiter.estimateTokens(request.messages(), request.maxTokens());
+            response = rateLimited(rateLimiter, estimatedTokens, response)
+                    .invoke(new Consumer<>() {
+                        @Override
+                        public void accept(ChatCompletionResponse r) {
+                            rateLimiter.used(estimatedTokens, r.usage() != null ? r.usage().totalTokens() : null);
+                        }
+                    });
+        }
+        return retried(request.model(), response);
+    }
+
+    private Uni<EmbeddingResponse> embeddingUni(EmbeddingRequest request) {
+        Uni<EmbeddingResponse> response = CircuitBreakers.apply(provider, baseUrl, restApi.embedding(request, apiMetadata()));
+        OpenAiRateLimiter rateLimiter = rateLimiter(request.model());
+        if (rateLimiter != null) {
+            response = rateLimited(rateLimiter, OpenAiRateLimiter.estimateTokens(request.input(), null), response);
+        }
+        return retried(request.model(), response);
+    }
+
+    private OpenAiRestApi.ApiMetadata apiMetadata() {
+        return OpenAiRestApi.ApiMetadata.builder()
+                .azureApiKey(azureApiKey)
+                .openAiApiKey(openaiApiKey)
+                .apiVersion(apiVersion)
+                .organizationId(organizationId)
+                .build();
+    }
+
+    /**
+     * Whether the requests sent for {@code model} are retried, rate limited or go through a circuit breaker, in which
+     * case the blocking calls wait for the result of the non-blocking request, so that no thread is blocked between the
+     * attempts or while waiting for the rate limit
+     */
+    private boolean isManaged(String model) {
+        return (retryPolicy(model) != null) || (rateLimiter(model) != null) || (CircuitBreakers.get(provider, baseUrl) != null);
+    }
+
+    /**
+     * Retries {@code response} according to the policy of {@code model}, each attempt being rate limited on its own
+     */
+    private <RESPONSE> Uni<RESPONSE> retried(String model, Uni<RESPONSE> response) {
+        OpenAiRetryPolicy retryPolicy = retryPolicy(model);
+        return retryPolicy == null ? response : retryPolicy.apply(response);
+    }
+
+    /**
+     * @return the retry policy of the requests sent for {@code model}, {@code null} when the client does not retry them
+     */
+    private OpenAiRetryPolicy retryPolicy(String model) {
+        return OpenAiRetryPolicy.get(openaiApiKey != null ? openaiApiKey : azureApiKey, model);
+    }
+
+    /**
+     * @return the limiter of the requests sent for {@code model}, {@code null} when they are not limited
+     */
+    private OpenAiRateLimiter rateLimiter(String model) {
+        return OpenAiRateLimiter.get(openaiApiKey != null ? openaiApiKey : azureApiKey, model);
+    }
+
+    /**
+     * Subscribes to {@code response} once the rate limiter allows it, without blocking any thread in the meantime
+     */
+    private static <RESPONSE> Uni<RESPONSE> rateLimited(OpenAiRateLimiter rateLimiter, int estimatedTokens,
+            Uni<RESPONSE> response) {
+        return rateLimiter.acquire(estimatedTokens).chain(new Supplier<Uni<? extends RESPONSE>>() {
+            @Override
+            public Uni<? extends RESPONSE> get() {
+                return response;
+            }
+        });
+    }
+
+    /**
+     * Subscribes to {@code response} once the rate limiter allows it, without blocking any thread in the meantime
+     */
+    private static <RESPONSE> Multi<RESPONSE> rateLimited(OpenAiRateLimiter rateLimiter, int estimatedTokens,
+            Multi<RESPONSE> response) {
+        return rateLimiter.acquire(estimatedTokens).onItem()
+                .transformToMulti(new Function<Void, Multi<? extends RESPONSE>>() {
+                    @Override
+                    public Multi<? extends RESPONSE> apply(Void unused) {
+                        return response;
+                    }
+                });
+    }
+
     @Override
     public void shutdown() {
 
@@ -0,0 +1,44 @@
+package io.quarkiverse.langchain4j.openai.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.exception.IllegalConfigurationException;
+import io.quarkiverse.langchain4j.CacheAiResult;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The results of services using the default chat memory depend on the conversation, so they can't be cached
+ */
+public class ResponseCacheWithChatMemoryTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(Assistant.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .assertException(t -> {
+                assertThat(t).satisfiesAnyOf(
+                        e -> assertThat(e).isInstanceOf(IllegalConfigurationException.class),
+                        e -> assertThat(e).hasRootCauseInstanceOf(IllegalConfigurationException.class));
+                assertThat(t).hasStackTraceContaining("NoChatMemoryProviderSupplier")
+                        .hasStackTraceContaining("Assistant#chat");
+            });
+
+    @RegisterAiService
+    interface Assistant {
+
+        @CacheAiResult
+        String chat(String message);
+    }
+
+    @Test
+    void test() {
+        fail("Should not be called");
+    }
+}
@@ -0,0 +1,46 @@
+package io.quarkiverse.langchain4j.openai.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class RetryPolicyConflictTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses())
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "sameKey")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.max-retries", "3")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.other.api-key", "sameKey")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.other.max-retries", "5")
+            .assertException(t -> {
+                assertThat(t).satisfiesAnyOf(
+                        e -> assertThat(e).isInstanceOf(ConfigurationException.class),
+                        e -> assertThat(e).hasRootCauseInstanceOf(ConfigurationException.class));
+                assertThat(t).hasStackTraceContaining("'quarkus.langchain4j.openai'")
+                        .hasStackTraceContaining("'quarkus.langchain4j.openai.other'");
+            });
+
+    @Inject
+    ChatLanguageModel model;
+
+    @Inject
+    @ModelName("other")
+    ChatLanguageModel otherModel;
+
+    @Test
+    void test() {
+        fail("Should not be called");
+    }
+}
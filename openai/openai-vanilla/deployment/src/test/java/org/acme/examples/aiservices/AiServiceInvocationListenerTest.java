@@ -0,0 +1,131 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceInvocationListener;
+import io.quarkiverse.langchain4j.runtime.aiservice.AiServiceMethodCreateInfo;
+import io.quarkiverse.langchain4j.runtime.aiservice.HttpStatusResolver;
+import io.quarkus.arc.All;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class AiServiceInvocationListenerTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.max-retries", "1");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        listener.tokenUsages.clear();
+        listener.toolIterations.clear();
+        listener.statuses.clear();
+    }
+
+    @RegisterAiService
+    @Singleton
+    interface Assistant {
+
+        String chat(String message);
+    }
+
+    @Singleton
+    public static class RecordingListener implements AiServiceInvocationListener {
+
+        final List<TokenUsage> tokenUsages = new CopyOnWriteArrayList<>();
+        final List<Integer> toolIterations = new CopyOnWriteArrayList<>();
+        final List<Integer> statuses = new CopyOnWriteArrayList<>();
+
+        @Inject
+        @All
+        List<HttpStatusResolver> httpStatusResolvers;
+
+        @Override
+        public void onModelResponse(AiServiceMethodCreateInfo createInfo, String modelName,
+                Response<AiMessage> response) {
+            tokenUsages.add(response.tokenUsage());
+        }
+
+        @Override
+        public void onModelFailure(AiServiceMethodCreateInfo createInfo, String modelName, Throwable failure) {
+            statuses.add(HttpStatusResolver.resolve(httpStatusResolvers, failure).orElse(-1));
+        }
+
+        @Override
+        public void onCompletion(AiServiceMethodCreateInfo createInfo, String modelName, int toolIterations) {
+            this.toolIterations.add(toolIterations);
+        }
+    }
+
+    @Inject
+    Assistant assistant;
+
+    @Inject
+    RecordingListener listener;
+
+    @Test
+    void should_notify_the_responses_of_the_model() {
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub());
+
+        assistant.chat("Hello");
+
+        assertThat(listener.tokenUsages).singleElement().satisfies(tokenUsage -> {
+            assertThat(tokenUsage.inputTokenCount()).isEqualTo(5);
+            assertThat(tokenUsage.outputTokenCount()).isEqualTo(7);
+        });
+        assertThat(listener.toolIterations).containsExactly(0);
+    }
+
+    @Test
+    void should_notify_the_http_status_of_failures() {
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping(WiremockUtils.DEFAULT_TOKEN)
+                .willReturn(WireMock.aResponse().withStatus(429).withBody("Rate limit reached")));
+
+        assertThatThrownBy(() -> assistant.chat("Hello")).isInstanceOf(RuntimeException.class);
+
+        assertThat(listener.statuses).containsExactly(429);
+        assertThat(listener.toolIterations).isEmpty();
+    }
+}
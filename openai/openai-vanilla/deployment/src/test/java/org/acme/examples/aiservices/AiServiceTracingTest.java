@@ -0,0 +1,236 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.quarkiverse.langchain4j.openai.test.WiremockUtils.DEFAULT_TOKEN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class AiServiceTracingTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+    private static final String SCENARIO = "tracing";
+    private static final String SECOND_STATE = "answer";
+    private static final String METHOD_SPAN = "langchain4j.aiservices.AiServiceTracingTest$Assistant.chat";
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideConfigKey("quarkus.otel.bsp.schedule.delay", "50ms")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", DEFAULT_TOKEN)
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.chat-model.model-name", "gpt-4-turbo");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        spanExporter.reset();
+    }
+
+    @RegisterAiService(tools = Calculator.class)
+    interface Assistant {
+
+        String chat(@MemoryId String memoryId, @UserMessage String message);
+    }
+
+    @ApplicationScoped
+    public static class Calculator {
+
+        @Tool("adds two numbers")
+        int add(int a, int b) {
+            return a + b;
+        }
+    }
+
+    @ApplicationScoped
+    public static class SpanExporterProducer {
+
+        @Produces
+        @Singleton
+        InMemorySpanExporter spanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Inject
+    Assistant assistant;
+
+    @Inject
+    InMemorySpanExporter spanExporter;
+
+    @Test
+    void should_create_the_spans_of_the_invocation() throws InterruptedException {
+        stubToolCall();
+
+        assertThat(assistant.chat("tracing", "What is 2 + 3?")).isEqualTo("The sum is 5");
+
+        List<SpanData> spans = finishedSpans();
+        SpanData methodSpan = span(spans, METHOD_SPAN);
+
+        List<SpanData> chatSpans = spans(spans, "chat gpt-4-turbo");
+        assertThat(chatSpans).hasSize(2).allSatisfy(chatSpan -> {
+            assertThat(chatSpan.getParentSpanId()).isEqualTo(methodSpan.getSpanId());
+            assertThat(chatSpan.getKind()).isEqualTo(SpanKind.CLIENT);
+            assertThat(chatSpan.getAttributes().get(AttributeKey.stringKey("gen_ai.operation.name"))).isEqualTo("chat");
+            assertThat(chatSpan.getAttributes().get(AttributeKey.stringKey("gen_ai.system"))).isEqualTo("openai");
+            assertThat(chatSpan.getAttributes().get(AttributeKey.stringKey("gen_ai.request.model")))
+                    .isEqualTo("gpt-4-turbo");
+        });
+        // the spans are exported when they end, so the one requesting the tool comes first
+        SpanData toolRequest = chatSpans.get(0);
+        assertThat(toolRequest.getAttributes().get(AttributeKey.longKey("gen_ai.usage.input_tokens"))).isEqualTo(65);
+        assertThat(toolRequest.getAttributes().get(AttributeKey.longKey("gen_ai.usage.output_tokens"))).isEqualTo(20);
+        assertThat(toolRequest.getAttributes().get(AttributeKey.stringArrayKey("gen_ai.response.finish_reasons")))
+                .containsExactly("tool_execution");
+        assertThat(toolRequest.getAttributes().get(AttributeKey.stringArrayKey("langchain4j.response.tool_names")))
+                .containsExactly("add");
+        SpanData answer = chatSpans.get(1);
+        assertThat(answer.getAttributes().get(AttributeKey.stringArrayKey("gen_ai.response.finish_reasons")))
+                .containsExactly("stop");
+
+        SpanData toolSpan = span(spans, "langchain4j.tools.add");
+        assertThat(toolSpan.getParentSpanId()).isEqualTo(methodSpan.getSpanId());
+        assertThat(toolSpan.getAttributes().get(AttributeKey.stringKey("gen_ai.tool.name"))).isEqualTo("add");
+        assertThat(toolSpan.getAttributes().get(AttributeKey.stringKey("gen_ai.tool.call.id"))).isEqualTo("call_1");
+    }
+
+    /**
+     * The span of the method is the last one to end, and spans are exported in batches
+     */
+    private List<SpanData> finishedSpans() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            List<SpanData> spans = spanExporter.getFinishedSpanItems();
+            if (!spans(spans, METHOD_SPAN).isEmpty()) {
+                return spans;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("The span of the method was not exported");
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        List<SpanData> named = spans(spans, name);
+        assertThat(named).hasSize(1);
+        return named.get(0);
+    }
+
+    private static List<SpanData> spans(List<SpanData> spans, String name) {
+        List<SpanData> result = new ArrayList<>();
+        for (SpanData span : spans) {
+            if (span.getName().equals(name)) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+
+    private void stubToolCall() {
+        String firstResponse = """
+                {
+                  "id": "chatcmpl-8D88Dag1gAKnOPP9Ed4bos7vSpaNz",
+                  "object": "chat.completion",
+                  "created": 1698140213,
+                  "model": "gpt-4-turbo",
+                  "choices": [
+                    {
+                      "index": 0,
+                      "message": {
+                        "role": "assistant",
+                        "content": null,
+                        "tool_calls": [
+                          {
+                            "id": "call_1",
+                            "type": "function",
+                            "function": {"name": "add", "arguments": "{\\"a\\": 2, \\"b\\": 3}"}
+                          }
+                        ]
+                      },
+                      "finish_reason": "tool_calls"
+                    }
+                  ],
+                  "usage": {
+                    "prompt_tokens": 65,
+                    "completion_tokens": 20,
+                    "total_tokens": 85
+                  }
+                }
+                """;
+        String secondResponse = """
+                {
+                  "id": "chatcmpl-8D88FIAUWSpwLaShFr0w8G1SWuVdl",
+                  "object": "chat.completion",
+                  "created": 1698140215,
+                  "model": "gpt-4-turbo",
+                  "choices": [
+                    {
+                      "index": 0,
+                      "message": {
+                        "role": "assistant",
+                        "content": "The sum is 5"
+                      },
+                      "finish_reason": "stop"
+                    }
+                  ],
+                  "usage": {
+                    "prompt_tokens": 102,
+                    "completion_tokens": 5,
+                    "total_tokens": 107
+                  }
+                }
+                """;
+
+        wireMockServer.stubFor(
+                WiremockUtils.chatCompletionMapping(DEFAULT_TOKEN)
+                        .inScenario(SCENARIO)
+                        .whenScenarioStateIs(Scenario.STARTED)
+                        .willReturn(WiremockUtils.CHAT_RESPONSE_WITHOUT_BODY.withBody(firstResponse))
+                        .willSetStateTo(SECOND_STATE));
+        wireMockServer.stubFor(
+                WiremockUtils.chatCompletionMapping(DEFAULT_TOKEN)
+                        .inScenario(SCENARIO)
+                        .whenScenarioStateIs(SECOND_STATE)
+                        .willReturn(WiremockUtils.CHAT_RESPONSE_WITHOUT_BODY.withBody(secondResponse)));
+        wireMockServer.setScenarioState(SCENARIO, Scenario.STARTED);
+    }
+}
@@ -0,0 +1,154 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.audit.Audit;
+import io.quarkiverse.langchain4j.audit.AuditService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkiverse.langchain4j.runtime.aiservice.AuditDispatcher;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class AsyncAuditBlockOverflowTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.audit.async.enabled", "true")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.audit.async.queue-size", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.audit.async.batch-size", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.audit.async.overflow-policy", "block");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub());
+    }
+
+    @RegisterAiService
+    @Singleton
+    interface Assistant {
+
+        String chat(String message);
+    }
+
+    /**
+     * Keeps the background thread busy with the first batch until {@link #release} is counted down
+     */
+    @Singleton
+    public static class BlockingAuditService implements AuditService {
+
+        final CountDownLatch delivering = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Semaphore delivered = new Semaphore(0);
+        final List<String> userMessages = new CopyOnWriteArrayList<>();
+        final List<String> completingThreads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Audit create(Audit.CreateInfo createInfo) {
+            return new RecordingAudit(createInfo);
+        }
+
+        @Override
+        public void complete(Audit audit) {
+            throw new IllegalStateException("Audits should be completed in batches");
+        }
+
+        @Override
+        public void completeAll(List<Audit> audits) {
+            delivering.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (Audit audit : audits) {
+                userMessages.add(((RecordingAudit) audit).userMessage);
+                completingThreads.add(Thread.currentThread().getName());
+            }
+            delivered.release(audits.size());
+        }
+    }
+
+    public static class RecordingAudit extends Audit {
+
+        String userMessage;
+
+        public RecordingAudit(CreateInfo createInfo) {
+            super(createInfo);
+        }
+
+        @Override
+        public void initialMessages(Optional<SystemMessage> systemMessage, UserMessage userMessage) {
+            this.userMessage = userMessage.text();
+        }
+    }
+
+    @Inject
+    Assistant assistant;
+
+    @Inject
+    BlockingAuditService auditService;
+
+    @Inject
+    AuditDispatcher auditDispatcher;
+
+    @Test
+    void should_block_the_invocation_until_the_audit_fits_in_the_queue() throws Exception {
+        assistant.chat("first");
+        assertThat(auditService.delivering.await(10, TimeUnit.SECONDS)).isTrue();
+        assistant.chat("second");
+
+        CompletableFuture<String> third = CompletableFuture.supplyAsync(() -> assistant.chat("third"));
+        assertThatThrownBy(() -> third.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        auditService.release.countDown();
+        third.get(10, TimeUnit.SECONDS);
+        assertThat(auditService.delivered.tryAcquire(3, 10, TimeUnit.SECONDS)).isTrue();
+        assertThat(auditService.userMessages).containsExactly("first", "second", "third");
+        assertThat(auditDispatcher.droppedCount()).isZero();
+    }
+}
@@ -0,0 +1,135 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.audit.Audit;
+import io.quarkiverse.langchain4j.audit.AuditService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class AsyncAuditServiceTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.audit.async.enabled", "true");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub());
+    }
+
+    @RegisterAiService
+    @Singleton
+    interface Assistant {
+
+        String chat(String message);
+    }
+
+    @Singleton
+    public static class BatchingAuditService implements AuditService {
+
+        final CountDownLatch completed = new CountDownLatch(1);
+        final List<RecordingAudit> audits = new CopyOnWriteArrayList<>();
+        volatile String completingThread;
+
+        @Override
+        public Audit create(Audit.CreateInfo createInfo) {
+            return new RecordingAudit(createInfo);
+        }
+
+        @Override
+        public void complete(Audit audit) {
+            throw new IllegalStateException("Audits should be completed in batches");
+        }
+
+        @Override
+        public void completeAll(List<Audit> audits) {
+            completingThread = Thread.currentThread().getName();
+            for (Audit audit : audits) {
+                this.audits.add((RecordingAudit) audit);
+            }
+            completed.countDown();
+        }
+    }
+
+    public static class RecordingAudit extends Audit {
+
+        String userMessage;
+        Object result;
+
+        public RecordingAudit(CreateInfo createInfo) {
+            super(createInfo);
+        }
+
+        @Override
+        public void initialMessages(Optional<SystemMessage> systemMessage, UserMessage userMessage) {
+            this.userMessage = userMessage.text();
+        }
+
+        @Override
+        public void onCompletion(Object result) {
+            this.result = result;
+        }
+    }
+
+    @Inject
+    Assistant assistant;
+
+    @Inject
+    BatchingAuditService auditService;
+
+    @Test
+    void should_deliver_audits_on_a_background_thread() throws InterruptedException {
+        String answer = assistant.chat("Hello");
+
+        assertThat(auditService.completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(auditService.completingThread).isNotEqualTo(Thread.currentThread().getName());
+        assertThat(auditService.audits).singleElement().satisfies(audit -> {
+            assertThat(audit.getCreateInfo().methodName()).isEqualTo("chat");
+            assertThat(audit.userMessage).isEqualTo("Hello");
+            assertThat(audit.result).isEqualTo(answer);
+        });
+    }
+}
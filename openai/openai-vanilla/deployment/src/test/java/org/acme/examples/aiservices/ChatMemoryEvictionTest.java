@@ -0,0 +1,124 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.acme.examples.aiservices.MessageAssertUtils.assertMultipleRequestMessage;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryEvictionListener;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class ChatMemoryEvictionTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(
+                    () -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class, MessageAssertUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-memory.max-entries", "1");
+
+    static WireMockServer wireMockServer;
+
+    static ObjectMapper mapper;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+
+        mapper = new ObjectMapper();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub());
+    }
+
+    @RegisterAiService
+    @ApplicationScoped
+    interface ChatWithSeparateMemoryForEachUser {
+
+        String chat(@MemoryId int memoryId, @UserMessage String userMessage);
+    }
+
+    @Singleton
+    public static class RecordingEvictionListener implements ChatMemoryEvictionListener {
+
+        final List<Object> evicted = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEviction(Class<?> aiServiceClass, Object memoryId, Cause cause) {
+            evicted.add(tuple(memoryId, cause));
+        }
+    }
+
+    @Inject
+    ChatWithSeparateMemoryForEachUser chat;
+
+    @Inject
+    RecordingEvictionListener listener;
+
+    @Test
+    void should_keep_messages_of_evicted_memory_in_store() throws IOException {
+        wireMockServer.stubFor(WiremockUtils.chatCompletionsMessageContent(Optional.empty(), "Nice to meet you Klaus"));
+        chat.chat(1, "Hello, my name is Klaus");
+
+        // only a single memory is kept, so this evicts the memory of the first user
+        wireMockServer.stubFor(WiremockUtils.chatCompletionsMessageContent(Optional.empty(), "Nice to meet you Francine"));
+        chat.chat(2, "Hello, my name is Francine");
+        assertThat(listener.evicted).containsExactly(tuple(1, ChatMemoryEvictionListener.Cause.SIZE));
+
+        wireMockServer.resetRequests();
+        wireMockServer.stubFor(WiremockUtils.chatCompletionsMessageContent(Optional.empty(), "Your name is Klaus"));
+        chat.chat(1, "What is my name?");
+
+        // the conversation of the first user continues where it left off
+        assertMultipleRequestMessage(getRequestAsMap(),
+                List.of(
+                        new MessageAssertUtils.MessageContent("user", "Hello, my name is Klaus"),
+                        new MessageAssertUtils.MessageContent("assistant", "Nice to meet you Klaus"),
+                        new MessageAssertUtils.MessageContent("user", "What is my name?")));
+        assertThat(listener.evicted).containsExactly(tuple(1, ChatMemoryEvictionListener.Cause.SIZE),
+                tuple(2, ChatMemoryEvictionListener.Cause.SIZE));
+    }
+
+    private Map<String, Object> getRequestAsMap() throws IOException {
+        assertThat(wireMockServer.getAllServeEvents()).hasSize(1);
+        return mapper.readValue(wireMockServer.getAllServeEvents().get(0).getRequest().getBody(),
+                MessageAssertUtils.MAP_TYPE_REF);
+    }
+}
@@ -0,0 +1,207 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkiverse.langchain4j.runtime.router.ChatModelRouter;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class ChatModelRouterTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideConfigKey("quarkus.langchain4j.router.balanced.models", "model1,model2")
+            .overrideConfigKey("quarkus.langchain4j.router.failover.models", "model3,model4")
+            .overrideConfigKey("quarkus.langchain4j.router.hedged.models", "model5,model6")
+            .overrideConfigKey("quarkus.langchain4j.router.strict.models", "model7,model8")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.router.balanced.policy", "weighted-round-robin")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.router.balanced.weights.model1", "2")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.router.failover.policy", "weighted-round-robin")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.router.failover.ejection.consecutive-failures", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.router.strict.policy", "weighted-round-robin")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.router.strict.ejection.consecutive-failures", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.router.hedged.policy", "weighted-round-robin")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.router.hedged.weights.model6", "0")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.router.hedged.hedging.enabled", "true")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model1.api-key", "key1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model1.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model1.max-retries", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model2.api-key", "key2")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model2.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model2.max-retries", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model3.api-key", "key3")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model3.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model3.max-retries", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model4.api-key", "key4")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model4.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model4.max-retries", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model5.api-key", "key5")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model5.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model5.timeout", "20s")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model6.api-key", "key6")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model6.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model7.api-key", "key7")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model7.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model7.max-retries", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model8.api-key", "key8")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model8.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.model8.max-retries", "1");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+    }
+
+    @RegisterAiService(modelName = "balanced")
+    interface BalancedAssistant {
+
+        String chat(String userMessage);
+    }
+
+    @RegisterAiService(modelName = "failover")
+    interface FailoverAssistant {
+
+        String chat(String userMessage);
+    }
+
+    @RegisterAiService(modelName = "hedged")
+    interface HedgedAssistant {
+
+        String chat(String userMessage);
+    }
+
+    @RegisterAiService(modelName = "strict")
+    interface StrictAssistant {
+
+        String chat(String userMessage);
+    }
+
+    @Inject
+    BalancedAssistant balancedAssistant;
+
+    @Inject
+    HedgedAssistant hedgedAssistant;
+
+    @Inject
+    FailoverAssistant failoverAssistant;
+
+    @Inject
+    StrictAssistant strictAssistant;
+
+    @Inject
+    @ModelName("balanced")
+    ChatLanguageModel balancedModel;
+
+    @Test
+    @ActivateRequestContext
+    void should_spread_the_calls_according_to_the_weights() {
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub("key1"));
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub("key2"));
+
+        assertThat(balancedModel).isInstanceOf(ChatModelRouter.class);
+        for (int i = 0; i < 6; i++) {
+            assertThat(balancedAssistant.chat("Hello")).isNotBlank();
+        }
+
+        wireMockServer.verify(4, WiremockUtils.chatCompletionRequestPattern("key1"));
+        wireMockServer.verify(2, WiremockUtils.chatCompletionRequestPattern("key2"));
+    }
+
+    @Test
+    @ActivateRequestContext
+    void should_stop_sending_calls_to_a_failing_model() {
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub("key3"));
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping("key4")
+                .willReturn(aResponse().withStatus(500)));
+
+        assertThat(failoverAssistant.chat("Hello")).isNotBlank();
+        assertThatThrownBy(() -> failoverAssistant.chat("Hello")).isInstanceOf(RuntimeException.class);
+        for (int i = 0; i < 4; i++) {
+            assertThat(failoverAssistant.chat("Hello")).isNotBlank();
+        }
+
+        wireMockServer.verify(5, WiremockUtils.chatCompletionRequestPattern("key3"));
+        wireMockServer.verify(1, WiremockUtils.chatCompletionRequestPattern("key4"));
+    }
+
+    @Test
+    @ActivateRequestContext
+    void should_not_eject_a_model_rejecting_the_request() {
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub("key7"));
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping("key8")
+                .willReturn(aResponse().withStatus(400)));
+
+        int rejected = 0;
+        for (int i = 0; i < 4; i++) {
+            try {
+                assertThat(strictAssistant.chat("Hello")).isNotBlank();
+            } catch (RuntimeException e) {
+                rejected++;
+            }
+        }
+
+        // a model ejected after its first failure would only have received one call
+        assertThat(rejected).isEqualTo(2);
+        wireMockServer.verify(2, WiremockUtils.chatCompletionRequestPattern("key7"));
+        wireMockServer.verify(2, WiremockUtils.chatCompletionRequestPattern("key8"));
+    }
+
+    @Test
+    @ActivateRequestContext
+    void should_hedge_a_call_that_takes_longer_than_usual() {
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub("key5"));
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub("key6"));
+        // the latency percentile is only known after a few calls
+        for (int i = 0; i < 20; i++) {
+            assertThat(hedgedAssistant.chat("Hello")).isNotBlank();
+        }
+        wireMockServer.verify(0, WiremockUtils.chatCompletionRequestPattern("key6"));
+
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping("key5")
+                .willReturn(aResponse().withFixedDelay(10_000)));
+        long start = System.nanoTime();
+        assertThat(hedgedAssistant.chat("Hello")).isNotBlank();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        // the first attempt, performed by this thread, was interrupted when the hedged attempt succeeded
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        wireMockServer.verify(1, WiremockUtils.chatCompletionRequestPattern("key6"));
+    }
+}
@@ -0,0 +1,178 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.ai4j.openai4j.OpenAiHttpException;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreaker;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakerConfig;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakerOpenException;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakers;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Uni;
+
+public class CircuitBreakerTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+    private static final String BASE_URL = "http://localhost:" + WIREMOCK_PORT + "/v1";
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", BASE_URL)
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.max-retries", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.circuit-breaker.openai.enabled", "true")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.circuit-breaker.openai.window-size", "2")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.circuit-breaker.openai.minimum-number-of-calls", "2")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.circuit-breaker.openai.wait-duration-in-open-state", "1m");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @Inject
+    ChatLanguageModel chatLanguageModel;
+
+    @Test
+    void should_reject_the_calls_once_the_provider_keeps_failing() {
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping(WiremockUtils.DEFAULT_TOKEN)
+                .willReturn(aResponse().withStatus(500).withBody("The server had an error")));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> chatLanguageModel.generate("Hello"))
+                    .satisfiesAnyOf(
+                            e -> assertThat(e).isInstanceOf(OpenAiHttpException.class),
+                            e -> assertThat(e).hasRootCauseInstanceOf(OpenAiHttpException.class));
+        }
+        assertThat(CircuitBreakers.get("openai", BASE_URL).state()).isEqualTo(CircuitBreaker.State.OPEN);
+        // the other base URLs of the provider have their own circuit breaker
+        assertThat(CircuitBreakers.get("openai", "http://localhost:" + WIREMOCK_PORT + "/other").state())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // the provider is not called anymore while the circuit is open
+        assertThatThrownBy(() -> chatLanguageModel.generate("Hello"))
+                .satisfiesAnyOf(
+                        e -> assertThat(e).isInstanceOf(CircuitBreakerOpenException.class),
+                        e -> assertThat(e).hasRootCauseInstanceOf(CircuitBreakerOpenException.class));
+        wireMockServer.verify(2, WiremockUtils.chatCompletionRequestPattern(WiremockUtils.DEFAULT_TOKEN));
+        assertThat(CircuitBreakers.get("openai", BASE_URL).notPermittedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void should_release_the_half_open_permit_when_a_probe_throws_an_error() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", null, new TestConfig(), e -> true);
+        open(circuitBreaker);
+
+        assertThatThrownBy(() -> circuitBreaker.call(() -> {
+            throw new AssertionError("probe");
+        })).isInstanceOf(AssertionError.class);
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // the next probe is let through, and closes the circuit
+        assertThat(circuitBreaker.call(() -> "ok")).isEqualTo("ok");
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void should_only_count_the_calls_admitted_in_an_earlier_state() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", null, new TestConfig(), e -> true);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        circuitBreaker.apply(Uni.createFrom().completionStage(pending)).subscribe().with(item -> {
+        }, failure -> {
+        });
+        open(circuitBreaker);
+        assertThat(circuitBreaker.call(() -> "ok")).isEqualTo("ok");
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // the call admitted before the circuit opened does not fill the window of the closed circuit
+        pending.completeExceptionally(new RuntimeException("late"));
+        assertThatThrownBy(() -> circuitBreaker.call(() -> {
+            throw new RuntimeException("failed");
+        })).hasMessage("failed");
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.failedCalls()).isEqualTo(4);
+    }
+
+    private static void open(CircuitBreaker circuitBreaker) {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> circuitBreaker.call(() -> {
+                throw new RuntimeException("failed");
+            })).hasMessage("failed");
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    /**
+     * Two calls in the window, a single probe and no wait in the open state
+     */
+    private static class TestConfig implements CircuitBreakerConfig.ProviderConfig {
+
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public int windowSize() {
+            return 2;
+        }
+
+        @Override
+        public int minimumNumberOfCalls() {
+            return 2;
+        }
+
+        @Override
+        public int failureRateThreshold() {
+            return 50;
+        }
+
+        @Override
+        public Duration slowCallDurationThreshold() {
+            return Duration.ofMinutes(1);
+        }
+
+        @Override
+        public int slowCallRateThreshold() {
+            return 100;
+        }
+
+        @Override
+        public Duration waitDurationInOpenState() {
+            return Duration.ZERO;
+        }
+
+        @Override
+        public int permittedCallsInHalfOpenState() {
+            return 1;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package org.acme.examples.aiservices;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static io.quarkiverse.langchain4j.openai.test.WiremockUtils.DEFAULT_TOKEN;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.enterprise.context.control.ActivateRequestContext;
@@ -22,9 +26,12 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 
+import dev.langchain4j.service.MemoryId;
 import dev.langchain4j.service.Moderate;
 import dev.langchain4j.service.ModerationException;
+import dev.langchain4j.service.UserMessage;
 import io.quarkiverse.langchain4j.RegisterAiService;
 import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
 import io.quarkus.test.QuarkusUnitTest;
@@ -75,6 +82,16 @@ public class ModerationModelTest {
     @Inject
     ChatWithModeration chatWithModeration;
 
+    @RegisterAiService(moderationModelSupplier = RegisterAiService.BeanModerationModelSupplier.class)
+    interface ChatWithMemoryAndModeration {
+
+        @Moderate
+        String chat(@MemoryId String memoryId, @UserMessage String message);
+    }
+
+    @Inject
+    ChatWithMemoryAndModeration chatWithMemoryAndModeration;
+
     @Test
     @ActivateRequestContext
     void should_throw_when_text_is_flagged() {
@@ -173,4 +190,44 @@ public class ModerationModelTest {
         String result = chatWithModeration.chat("I will hug you");
         assertThat(result).isNotBlank();
     }
+
+    @Test
+    @ActivateRequestContext
+    void should_only_moderate_new_messages_of_conversation() throws IOException {
+        wireMockServer.stubFor(WiremockUtils.moderationMapping(DEFAULT_TOKEN)
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(
+                                """
+                                        {
+                                            "id": "modr-8Bmx2bYNsgzuAsSuxaQRDCMKHgJbC",
+                                            "model": "text-moderation-006",
+                                            "results": [
+                                                {
+                                                    "flagged": false
+                                                }
+                                            ]
+                                        }
+                                        """)));
+
+        chatWithMemoryAndModeration.chat("1", "I will hug you");
+        chatWithMemoryAndModeration.chat("1", "And then I will hug you again");
+        chatWithMemoryAndModeration.chat("2", "I will hug you");
+
+        List<LoggedRequest> requests = wireMockServer.findAll(postRequestedFor(urlEqualTo("/v1/moderations")));
+        assertThat(requests).hasSize(3);
+        assertThat(moderationInput(requests.get(0))).containsExactly("I will hug you");
+        // the first user message already passed moderation, only the AI response and the new user message are sent
+        assertThat(moderationInput(requests.get(1))).hasSize(2)
+                .doesNotContain("I will hug you")
+                .contains("And then I will hug you again");
+        // different conversations are moderated independently
+        assertThat(moderationInput(requests.get(2))).containsExactly("I will hug you");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> moderationInput(LoggedRequest request) throws IOException {
+        Map<String, Object> body = mapper.readValue(request.getBodyAsString(), MAP_TYPE_REF);
+        return (List<String>) body.get("input");
+    }
 }
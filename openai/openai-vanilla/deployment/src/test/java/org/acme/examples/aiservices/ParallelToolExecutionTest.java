@@ -0,0 +1,286 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.quarkiverse.langchain4j.openai.test.WiremockUtils.DEFAULT_TOKEN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class ParallelToolExecutionTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+    private static final String SCENARIO = "parallel-tools";
+    private static final String SECOND_STATE = "answer";
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", DEFAULT_TOKEN)
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.tools.parallel-execution.enabled", "true")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.tools.parallel-execution.max-concurrency", "2");
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE_REF = new TypeReference<>() {
+    };
+
+    static WireMockServer wireMockServer;
+
+    static ObjectMapper mapper;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+
+        mapper = new ObjectMapper();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        tools.reset();
+    }
+
+    @RegisterAiService(tools = SlowTools.class)
+    interface Assistant {
+
+        String chat(@MemoryId String memoryId, @UserMessage String message);
+    }
+
+    @Inject
+    Assistant assistant;
+
+    @Inject
+    SlowTools tools;
+
+    @Inject
+    RequestState requestState;
+
+    @Test
+    @ActivateRequestContext
+    void results_follow_the_order_of_the_requests() throws IOException {
+        // the first tools take the longest, so they complete last
+        stubToolCalls(toolCall("call_1", "pause", "{\\\"n\\\": 1}"),
+                toolCall("call_2", "pause", "{\\\"n\\\": 2}"),
+                toolCall("call_3", "pause", "{\\\"n\\\": 3}"),
+                toolCall("call_4", "pause", "{\\\"n\\\": 4}"));
+
+        assertThat(assistant.chat("ordering", "Wait for me")).isEqualTo("All done");
+
+        assertThat(tools.completed).hasSize(4).startsWith(2);
+        assertThat(toolCallIdsOfSecondRequest()).containsExactly("call_1", "call_2", "call_3", "call_4");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void at_most_max_concurrency_tools_run_at_the_same_time() {
+        stubToolCalls(toolCall("call_1", "pause", "{\\\"n\\\": 4}"),
+                toolCall("call_2", "pause", "{\\\"n\\\": 4}"),
+                toolCall("call_3", "pause", "{\\\"n\\\": 4}"),
+                toolCall("call_4", "pause", "{\\\"n\\\": 4}"),
+                toolCall("call_5", "pause", "{\\\"n\\\": 4}"));
+
+        assertThat(assistant.chat("concurrency", "Wait for me")).isEqualTo("All done");
+
+        assertThat(tools.completed).hasSize(5);
+        assertThat(tools.maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void workers_see_the_request_context_of_the_caller() {
+        stubToolCalls(toolCall("call_1", "pause", "{\\\"n\\\": 3}"),
+                toolCall("call_2", "pause", "{\\\"n\\\": 4}"),
+                toolCall("call_3", "pause", "{\\\"n\\\": 4}"));
+
+        assertThat(assistant.chat("context", "Wait for me")).isEqualTo("All done");
+
+        assertThat(tools.requestIds).hasSize(3).containsOnly(requestState.id());
+        assertThat(tools.threads).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void failure_of_a_tool_is_propagated() {
+        stubToolCalls(toolCall("call_1", "pause", "{\\\"n\\\": 4}"),
+                toolCall("call_2", "pause", "not json"),
+                toolCall("call_3", "pause", "{\\\"n\\\": 4}"));
+
+        assertThatThrownBy(() -> assistant.chat("failure", "Wait for me"))
+                .hasStackTraceContaining("do not map onto the parameters");
+        // the answer is never requested
+        assertThat(wireMockServer.getAllServeEvents()).hasSize(1);
+    }
+
+    private void stubToolCalls(String... toolCalls) {
+        String firstResponse = """
+                {
+                  "id": "chatcmpl-8D88Dag1gAKnOPP9Ed4bos7vSpaNz",
+                  "object": "chat.completion",
+                  "created": 1698140213,
+                  "model": "gpt-3.5-turbo-0613",
+                  "choices": [
+                    {
+                      "index": 0,
+                      "message": {
+                        "role": "assistant",
+                        "content": null,
+                        "tool_calls": [%s]
+                      },
+                      "finish_reason": "tool_calls"
+                    }
+                  ],
+                  "usage": {
+                    "prompt_tokens": 65,
+                    "completion_tokens": 20,
+                    "total_tokens": 85
+                  }
+                }
+                """.formatted(String.join(",", toolCalls));
+        String secondResponse = """
+                {
+                  "id": "chatcmpl-8D88FIAUWSpwLaShFr0w8G1SWuVdl",
+                  "object": "chat.completion",
+                  "created": 1698140215,
+                  "model": "gpt-3.5-turbo-0613",
+                  "choices": [
+                    {
+                      "index": 0,
+                      "message": {
+                        "role": "assistant",
+                        "content": "All done"
+                      },
+                      "finish_reason": "stop"
+                    }
+                  ],
+                  "usage": {
+                    "prompt_tokens": 102,
+                    "completion_tokens": 3,
+                    "total_tokens": 105
+                  }
+                }
+                """;
+
+        wireMockServer.stubFor(
+                WiremockUtils.chatCompletionMapping(DEFAULT_TOKEN)
+                        .inScenario(SCENARIO)
+                        .whenScenarioStateIs(Scenario.STARTED)
+                        .willReturn(WiremockUtils.CHAT_RESPONSE_WITHOUT_BODY.withBody(firstResponse))
+                        .willSetStateTo(SECOND_STATE));
+        wireMockServer.stubFor(
+                WiremockUtils.chatCompletionMapping(DEFAULT_TOKEN)
+                        .inScenario(SCENARIO)
+                        .whenScenarioStateIs(SECOND_STATE)
+                        .willReturn(WiremockUtils.CHAT_RESPONSE_WITHOUT_BODY.withBody(secondResponse)));
+        wireMockServer.setScenarioState(SCENARIO, Scenario.STARTED);
+    }
+
+    private static String toolCall(String id, String name, String arguments) {
+        return """
+                {"id": "%s", "type": "function", "function": {"name": "%s", "arguments": "%s"}}
+                """.formatted(id, name, arguments);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> toolCallIdsOfSecondRequest() throws IOException {
+        // serve events are returned with the most recent first
+        assertThat(wireMockServer.getAllServeEvents()).hasSize(2);
+        Map<String, Object> request = mapper.readValue(wireMockServer.getAllServeEvents().get(0).getRequest().getBody(),
+                MAP_TYPE_REF);
+        List<String> ids = new ArrayList<>();
+        for (Map<String, Object> message : (List<Map<String, Object>>) request.get("messages")) {
+            if ("tool".equals(message.get("role"))) {
+                ids.add((String) message.get("tool_call_id"));
+            }
+        }
+        return ids;
+    }
+
+    @RequestScoped
+    public static class RequestState {
+
+        private final String id = UUID.randomUUID().toString();
+
+        public String id() {
+            return id;
+        }
+    }
+
+    @ApplicationScoped
+    public static class SlowTools {
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<Integer> completed = new CopyOnWriteArrayList<>();
+        final List<String> requestIds = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @Inject
+        RequestState requestState;
+
+        @Tool("waits for a while, the lower the number the longer")
+        String pause(int n) {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                requestIds.add(requestState.id());
+                if (!threads.contains(Thread.currentThread().getName())) {
+                    threads.add(Thread.currentThread().getName());
+                }
+                Thread.sleep((5 - n) * 100L);
+                completed.add(n);
+                return "waited " + n;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        void reset() {
+            running.set(0);
+            maxRunning.set(0);
+            completed.clear();
+            requestIds.clear();
+            threads.clear();
+        }
+    }
+}
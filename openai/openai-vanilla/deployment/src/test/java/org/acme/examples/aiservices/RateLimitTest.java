@@ -0,0 +1,120 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import io.quarkiverse.langchain4j.ModelName;
+import io.quarkiverse.langchain4j.openai.OpenAiRateLimitException;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class RateLimitTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.max-retries", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.rate-limit.enabled", "true")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.rate-limit.max-wait", "0")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.waiting.api-key", "waitingKey")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.waiting.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.waiting.max-retries", "1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.waiting.rate-limit.enabled", "true")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.waiting.rate-limit.max-wait", "5s");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        // the quota of requests is exhausted by this response
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping(WiremockUtils.DEFAULT_TOKEN)
+                .willReturn(ResponseDefinitionBuilder.like(WiremockUtils.defaultChatCompletionsStub().build().getResponse())
+                        .withHeader("x-ratelimit-limit-requests", "60")
+                        .withHeader("x-ratelimit-remaining-requests", "0")));
+        // a request is refilled every 100 ms
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping("waitingKey")
+                .willReturn(ResponseDefinitionBuilder.like(WiremockUtils.defaultChatCompletionsStub().build().getResponse())
+                        .withHeader("x-ratelimit-limit-requests", "600")
+                        .withHeader("x-ratelimit-remaining-requests", "0")));
+    }
+
+    @Inject
+    ChatLanguageModel chatLanguageModel;
+
+    @Inject
+    @ModelName("waiting")
+    ChatLanguageModel waitingChatLanguageModel;
+
+    @Test
+    void should_reject_the_requests_exceeding_the_learned_limits() {
+        assertThat(chatLanguageModel.generate("Hello")).isNotBlank();
+
+        // no request remains until one is refilled, in a second, and the requests cannot wait
+        assertThatThrownBy(() -> chatLanguageModel.generate("Hello again"))
+                .satisfiesAnyOf(
+                        e -> assertThat(e).isInstanceOf(OpenAiRateLimitException.class),
+                        e -> assertThat(e).hasRootCauseInstanceOf(OpenAiRateLimitException.class));
+        wireMockServer.verify(1, WiremockUtils.chatCompletionRequestPattern(WiremockUtils.DEFAULT_TOKEN));
+    }
+
+    @Test
+    void should_send_the_waiting_requests_in_order_once_the_limits_allow_them() throws Exception {
+        assertThat(waitingChatLanguageModel.generate("Hello")).isNotBlank();
+
+        List<CompletableFuture<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String message = "Hello " + i;
+            responses.add(CompletableFuture.supplyAsync(() -> waitingChatLanguageModel.generate(message)));
+            // makes the order in which the requests are made deterministic
+            Thread.sleep(10);
+        }
+        for (CompletableFuture<String> response : responses) {
+            assertThat(response.get(5, TimeUnit.SECONDS)).isNotBlank();
+        }
+
+        List<LoggedRequest> requests = wireMockServer.findAll(WiremockUtils.chatCompletionRequestPattern("waitingKey"));
+        assertThat(requests).hasSize(4);
+        assertThat(requests.subList(1, 4)).extracting(LoggedRequest::getBodyAsString)
+                .satisfiesExactly(
+                        body -> assertThat(body).contains("Hello 0"),
+                        body -> assertThat(body).contains("Hello 1"),
+                        body -> assertThat(body).contains("Hello 2"));
+    }
+}
@@ -0,0 +1,147 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+
+public class ReactiveDeclarativeAiServiceTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    private static final String STREAMING_BODY = """
+            data: {"id":"1","object":"chat.completion.chunk","created":1,"model":"gpt-3.5-turbo","choices":[{"index":0,"delta":{"role":"assistant","content":""},"finish_reason":null}]}
+
+            data: {"id":"1","object":"chat.completion.chunk","created":1,"model":"gpt-3.5-turbo","choices":[{"index":0,"delta":{"content":"Hello"},"finish_reason":null}]}
+
+            data: {"id":"1","object":"chat.completion.chunk","created":1,"model":"gpt-3.5-turbo","choices":[{"index":0,"delta":{"content":" there"},"finish_reason":null}]}
+
+            data: {"id":"1","object":"chat.completion.chunk","created":1,"model":"gpt-3.5-turbo","choices":[{"index":0,"delta":{},"finish_reason":"stop"}]}
+
+            data: [DONE]
+
+            """;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        chatMemoryStore.updatedOnEventLoop.clear();
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping(WiremockUtils.DEFAULT_TOKEN)
+                .willReturn(aResponse().withHeader("Content-Type", "text/event-stream").withBody(STREAMING_BODY)));
+    }
+
+    @RegisterAiService
+    interface Assistant {
+
+        Uni<String> chat(String message);
+
+        Multi<String> stream(String message);
+    }
+
+    @Inject
+    Assistant assistant;
+
+    @Inject
+    ThreadRecordingChatMemoryStore chatMemoryStore;
+
+    @Test
+    @ActivateRequestContext
+    public void test_uni() {
+        String result = assistant.chat("Hello").await().atMost(Duration.ofSeconds(10));
+        assertThat(result).isEqualTo("Hello there");
+        // the response is received on an event loop thread, but stored from a worker thread
+        assertThat(chatMemoryStore.updatedOnEventLoop).isNotEmpty().doesNotContain(true);
+    }
+
+    @Test
+    @ActivateRequestContext
+    public void test_nothing_happens_before_subscription() {
+        Uni<String> result = assistant.chat("Hello");
+        Multi<String> tokens = assistant.stream("Hello");
+
+        wireMockServer.verify(0, WiremockUtils.chatCompletionRequestPattern(WiremockUtils.DEFAULT_TOKEN));
+        assertThat(chatMemoryStore.updatedOnEventLoop).isEmpty();
+
+        assertThat(result.await().atMost(Duration.ofSeconds(10))).isEqualTo("Hello there");
+        assertThat(String.join("", tokens.collect().asList().await().atMost(Duration.ofSeconds(10))))
+                .isEqualTo("Hello there");
+        wireMockServer.verify(2, WiremockUtils.chatCompletionRequestPattern(WiremockUtils.DEFAULT_TOKEN));
+    }
+
+    @Test
+    @ActivateRequestContext
+    public void test_multi() {
+        List<String> tokens = assistant.stream("Hello").collect().asList().await().atMost(Duration.ofSeconds(10));
+        assertThat(String.join("", tokens)).isEqualTo("Hello there");
+        assertThat(chatMemoryStore.updatedOnEventLoop).isNotEmpty().doesNotContain(true);
+    }
+
+    @Singleton
+    public static class ThreadRecordingChatMemoryStore implements ChatMemoryStore {
+
+        final List<Boolean> updatedOnEventLoop = new CopyOnWriteArrayList<>();
+        private final InMemoryChatMemoryStore delegate = new InMemoryChatMemoryStore();
+
+        @Override
+        public List<ChatMessage> getMessages(Object memoryId) {
+            return delegate.getMessages(memoryId);
+        }
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            updatedOnEventLoop.add(Context.isOnEventLoopThread());
+            delegate.updateMessages(memoryId, messages);
+        }
+
+        @Override
+        public void deleteMessages(Object memoryId) {
+            delegate.deleteMessages(memoryId);
+        }
+    }
+}
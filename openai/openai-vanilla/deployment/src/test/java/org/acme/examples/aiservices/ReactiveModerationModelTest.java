@@ -0,0 +1,219 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.quarkiverse.langchain4j.openai.test.WiremockUtils.DEFAULT_TOKEN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.service.Moderate;
+import dev.langchain4j.service.ModerationException;
+import io.quarkiverse.langchain4j.ReactiveModerationModel;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.arc.ClientProxy;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Verifies that moderation uses the non-blocking API of the models implementing {@link ReactiveModerationModel}
+ * and falls back to calling the blocking API on a worker thread for the other models
+ */
+public class ReactiveModerationModelTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub());
+        NonBlockingModerationModel.asyncCalls.set(0);
+        BlockingModerationModel.threads.clear();
+    }
+
+    @RegisterAiService(moderationModelSupplier = NonBlockingModerationModelSupplier.class)
+    interface ChatWithReactiveModeration {
+
+        @Moderate
+        String chat(String message);
+    }
+
+    @Inject
+    ChatWithReactiveModeration chatWithReactiveModeration;
+
+    @RegisterAiService(moderationModelSupplier = BlockingModerationModelSupplier.class)
+    interface ChatWithBlockingModeration {
+
+        @Moderate
+        String chat(String message);
+    }
+
+    @Inject
+    ChatWithBlockingModeration chatWithBlockingModeration;
+
+    @Inject
+    ModerationModel openAiModerationModel;
+
+    @Test
+    @ActivateRequestContext
+    void should_use_the_non_blocking_api_when_available() {
+        assertThat(chatWithReactiveModeration.chat("I will hug you")).isNotBlank();
+        assertThat(NonBlockingModerationModel.asyncCalls).hasValue(1);
+
+        assertThatThrownBy(() -> chatWithReactiveModeration.chat("I WILL KILL YOU!!!"))
+                .isExactlyInstanceOf(ModerationException.class);
+        assertThat(NonBlockingModerationModel.asyncCalls).hasValue(2);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void should_offload_the_blocking_api_to_a_worker_thread() {
+        assertThat(chatWithBlockingModeration.chat("I will hug you")).isNotBlank();
+        assertThat(BlockingModerationModel.threads).hasSize(1)
+                .doesNotContain(Thread.currentThread().getName())
+                .allSatisfy(name -> assertThat(name).startsWith("executor-thread"));
+
+        assertThatThrownBy(() -> chatWithBlockingModeration.chat("I WILL KILL YOU!!!"))
+                .isExactlyInstanceOf(ModerationException.class);
+        assertThat(BlockingModerationModel.threads).hasSize(2);
+    }
+
+    @Test
+    void openai_moderation_model_is_non_blocking() {
+        wireMockServer.stubFor(WiremockUtils.moderationMapping(DEFAULT_TOKEN)
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                {
+                                    "id": "modr-8Bmx2bYNsgzuAsSuxaQRDCMKHgJbC",
+                                    "model": "text-moderation-006",
+                                    "results": [
+                                        {
+                                            "flagged": false
+                                        },
+                                        {
+                                            "flagged": true
+                                        }
+                                    ]
+                                }
+                                """)));
+
+        ModerationModel model = ClientProxy.unwrap(openAiModerationModel);
+        assertThat(model).isInstanceOf(ReactiveModerationModel.class);
+
+        Moderation moderation = ((ReactiveModerationModel) model)
+                .moderateAsync(List.of(UserMessage.from("I will hug you"), UserMessage.from("I WILL KILL YOU!!!")))
+                .await().indefinitely()
+                .content();
+
+        assertThat(moderation.flagged()).isTrue();
+        assertThat(moderation.flaggedText()).isEqualTo("I WILL KILL YOU!!!");
+        assertThat(wireMockServer.findAll(postRequestedFor(urlEqualTo("/v1/moderations")))).hasSize(1);
+    }
+
+    private static Moderation moderation(List<ChatMessage> messages) {
+        for (ChatMessage message : messages) {
+            if (message.text().contains("KILL")) {
+                return Moderation.flagged(message.text());
+            }
+        }
+        return Moderation.notFlagged();
+    }
+
+    public static class NonBlockingModerationModel implements ReactiveModerationModel {
+
+        static final AtomicInteger asyncCalls = new AtomicInteger();
+
+        @Override
+        public Uni<Response<Moderation>> moderateAsync(List<ChatMessage> messages) {
+            asyncCalls.incrementAndGet();
+            return Uni.createFrom().item(Response.from(moderation(messages)));
+        }
+
+        @Override
+        public Response<Moderation> moderate(String text) {
+            throw new UnsupportedOperationException("The blocking API should not be used");
+        }
+
+        @Override
+        public Response<Moderation> moderate(List<ChatMessage> messages) {
+            throw new UnsupportedOperationException("The blocking API should not be used");
+        }
+    }
+
+    public static class NonBlockingModerationModelSupplier implements Supplier<ModerationModel> {
+
+        @Override
+        public ModerationModel get() {
+            return new NonBlockingModerationModel();
+        }
+    }
+
+    public static class BlockingModerationModel implements ModerationModel {
+
+        static final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Response<Moderation> moderate(String text) {
+            return moderate(List.of(UserMessage.from(text)));
+        }
+
+        @Override
+        public Response<Moderation> moderate(List<ChatMessage> messages) {
+            threads.add(Thread.currentThread().getName());
+            return Response.from(moderation(messages));
+        }
+    }
+
+    public static class BlockingModerationModelSupplier implements Supplier<ModerationModel> {
+
+        @Override
+        public ModerationModel get() {
+            return new BlockingModerationModel();
+        }
+    }
+}
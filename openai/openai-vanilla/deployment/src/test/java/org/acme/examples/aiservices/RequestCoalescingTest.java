@@ -0,0 +1,166 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class RequestCoalescingTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+    private static final int CONCURRENT_INVOCATIONS = 4;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.request-coalescing.enabled", "true");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        // the delay makes sure the invocations overlap
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping(WiremockUtils.DEFAULT_TOKEN)
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(1000)
+                        .withBody(chatResponseBody())));
+    }
+
+    @RegisterAiService
+    interface Assistant {
+
+        String chat(String message);
+    }
+
+    @Inject
+    Assistant assistant;
+
+    @Test
+    void should_send_a_single_request_for_identical_concurrent_invocations() throws Exception {
+        List<String> results = invokeConcurrently("What is the trending product?");
+
+        assertThat(results).hasSize(CONCURRENT_INVOCATIONS).containsOnly(results.get(0));
+        assertThat(chatCompletionRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_coalesce_different_invocations() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(chatInRequestContext("first"));
+            Future<String> second = executor.submit(chatInRequestContext("second"));
+            first.get();
+            second.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(chatCompletionRequestCount()).isEqualTo(2);
+    }
+
+    private List<String> invokeConcurrently(String message) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_INVOCATIONS);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_INVOCATIONS; i++) {
+                futures.add(executor.submit(chatInRequestContext(message)));
+            }
+            List<String> results = new ArrayList<>();
+            for (Future<String> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Each invocation uses its own request context and therefore its own chat memory
+     */
+    private Callable<String> chatInRequestContext(String message) {
+        return new Callable<>() {
+            @Override
+            public String call() {
+                ManagedContext requestContext = Arc.container().requestContext();
+                requestContext.activate();
+                try {
+                    return assistant.chat(message);
+                } finally {
+                    requestContext.terminate();
+                }
+            }
+        };
+    }
+
+    private static String chatResponseBody() {
+        return """
+                {
+                  "id": "chatcmpl-8D88Dag1gAKnOPP9Ed4bos7vSpaNz",
+                  "object": "chat.completion",
+                  "created": 1698140213,
+                  "model": "gpt-3.5-turbo-0613",
+                  "choices": [
+                    {
+                      "index": 0,
+                      "message": {
+                        "role": "assistant",
+                        "content": "The trending product is a yellow umbrella"
+                      },
+                      "finish_reason": "stop"
+                    }
+                  ],
+                  "usage": {
+                    "prompt_tokens": 17,
+                    "completion_tokens": 8,
+                    "total_tokens": 25
+                  }
+                }
+                """;
+    }
+
+    private static int chatCompletionRequestCount() {
+        return wireMockServer.findAll(postRequestedFor(urlEqualTo("/v1/chat/completions"))).size();
+    }
+}
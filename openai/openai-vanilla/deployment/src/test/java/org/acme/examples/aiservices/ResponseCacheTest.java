@@ -0,0 +1,104 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+import io.quarkiverse.langchain4j.CacheAiResult;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class ResponseCacheTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub());
+    }
+
+    @RegisterAiService(chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    interface Classifier {
+
+        @CacheAiResult
+        @SystemMessage("You classify the sentiment of {language} texts")
+        @UserMessage("Classify: {text}")
+        String classify(@V("language") String language, @V("text") String text);
+
+        String uncached(String text);
+    }
+
+    @Inject
+    Classifier classifier;
+
+    @Test
+    @ActivateRequestContext
+    void should_only_call_llm_once_for_the_same_messages() {
+        String first = classifier.classify("english", "I love this product");
+        String second = classifier.classify("english", "I love this product");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(chatCompletionRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void should_call_llm_when_messages_differ() {
+        classifier.classify("english", "I hate this product");
+        classifier.classify("english", "I like this product");
+        classifier.classify("german", "I like this product");
+
+        assertThat(chatCompletionRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void should_not_cache_methods_without_annotation() {
+        classifier.uncached("hello");
+        classifier.uncached("hello");
+
+        assertThat(chatCompletionRequestCount()).isEqualTo(2);
+    }
+
+    private static int chatCompletionRequestCount() {
+        return wireMockServer.findAll(postRequestedFor(urlEqualTo("/v1/chat/completions"))).size();
+    }
+}
@@ -0,0 +1,160 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.retriever.Retriever;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.Moderate;
+import dev.langchain4j.service.ModerationException;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Verifies that the content added by the retrieval augmentor is moderated along with what the user sent, in a single
+ * moderation request
+ */
+public class RetrievalAugmentedModerationTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+    private static final String AUGMENTATION = "\n\nAnswer using the following information:\n";
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub());
+        RecordingModerationModel.moderatedTexts.clear();
+        RecordingModerationModel.requests.set(0);
+        SwitchableRetriever.content = "dummy";
+    }
+
+    @RegisterAiService(retriever = SwitchableRetriever.class, moderationModelSupplier = RecordingModerationModelSupplier.class)
+    interface ChatWithRetrieverAndModeration {
+
+        @Moderate
+        String chat(@MemoryId String memoryId, @dev.langchain4j.service.UserMessage String message);
+    }
+
+    @Inject
+    ChatWithRetrieverAndModeration chat;
+
+    @Test
+    @ActivateRequestContext
+    void should_moderate_the_retrieved_content() {
+        SwitchableRetriever.content = "I WILL KILL YOU!!!";
+
+        assertThatThrownBy(() -> chat.chat("flagged", "Tell me a story"))
+                .isExactlyInstanceOf(ModerationException.class)
+                .hasMessageContaining("I WILL KILL YOU!!!");
+        // what the user sent is only moderated as part of the augmented message
+        assertThat(RecordingModerationModel.moderatedTexts)
+                .containsExactly("Tell me a story" + AUGMENTATION + "I WILL KILL YOU!!!");
+        assertThat(RecordingModerationModel.requests).hasValue(1);
+    }
+
+    @Test
+    @ActivateRequestContext
+    void should_only_remember_the_moderated_messages() {
+        assertThat(chat.chat("passed", "Tell me a story")).isNotBlank();
+        assertThat(chat.chat("passed", "Tell me another one")).isNotBlank();
+
+        // the augmented messages were moderated once, and were not moderated again in the following turn
+        assertThat(RecordingModerationModel.moderatedTexts)
+                .containsOnlyOnce("Tell me a story" + AUGMENTATION + "dummy")
+                .containsOnlyOnce("Tell me another one" + AUGMENTATION + "dummy");
+        assertThat(RecordingModerationModel.requests).hasValue(2);
+    }
+
+    @Singleton
+    public static class SwitchableRetriever implements Retriever<TextSegment> {
+
+        static volatile String content;
+
+        @Override
+        public List<TextSegment> findRelevant(String text) {
+            return List.of(TextSegment.from(content));
+        }
+    }
+
+    public static class RecordingModerationModel implements ModerationModel {
+
+        static final List<String> moderatedTexts = new CopyOnWriteArrayList<>();
+        static final AtomicInteger requests = new AtomicInteger();
+
+        @Override
+        public Response<Moderation> moderate(String text) {
+            return moderate(List.of(UserMessage.from(text)));
+        }
+
+        @Override
+        public Response<Moderation> moderate(List<ChatMessage> messages) {
+            requests.incrementAndGet();
+            List<String> texts = new ArrayList<>(messages.size());
+            for (ChatMessage message : messages) {
+                texts.add(message.text());
+            }
+            moderatedTexts.addAll(texts);
+            for (String text : texts) {
+                if (text.contains("KILL")) {
+                    return Response.from(Moderation.flagged(text));
+                }
+            }
+            return Response.from(Moderation.notFlagged());
+        }
+    }
+
+    public static class RecordingModerationModelSupplier implements Supplier<ModerationModel> {
+
+        @Override
+        public ModerationModel get() {
+            return new RecordingModerationModel();
+        }
+    }
+}
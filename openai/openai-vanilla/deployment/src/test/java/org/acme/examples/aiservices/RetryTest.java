@@ -0,0 +1,91 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.ai4j.openai4j.OpenAiHttpException;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class RetryTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.max-retries", "3")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.retry.initial-backoff", "10ms")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.retry.max-backoff", "1s");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+    }
+
+    @Inject
+    ChatLanguageModel chatLanguageModel;
+
+    @Test
+    void should_retry_after_the_delay_given_by_the_response() {
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping(WiremockUtils.DEFAULT_TOKEN)
+                .inScenario("rate limit")
+                .whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(429).withHeader("retry-after-ms", "200")
+                        .withBody("Rate limit reached"))
+                .willSetStateTo("reset"));
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub()
+                .inScenario("rate limit")
+                .whenScenarioStateIs("reset"));
+
+        long start = System.nanoTime();
+        assertThat(chatLanguageModel.generate("Hello")).isNotBlank();
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(200_000_000L);
+        wireMockServer.verify(2, WiremockUtils.chatCompletionRequestPattern(WiremockUtils.DEFAULT_TOKEN));
+    }
+
+    @Test
+    void should_not_retry_the_requests_that_cannot_succeed() {
+        wireMockServer.stubFor(WiremockUtils.chatCompletionMapping(WiremockUtils.DEFAULT_TOKEN)
+                .willReturn(aResponse().withStatus(429)
+                        .withBody("{\"error\": {\"type\": \"insufficient_quota\"}}")));
+
+        assertThatThrownBy(() -> chatLanguageModel.generate("Hello"))
+                .satisfiesAnyOf(
+                        e -> assertThat(e).isInstanceOf(OpenAiHttpException.class),
+                        e -> assertThat(e).hasRootCauseInstanceOf(OpenAiHttpException.class));
+        wireMockServer.verify(1, WiremockUtils.chatCompletionRequestPattern(WiremockUtils.DEFAULT_TOKEN));
+    }
+}
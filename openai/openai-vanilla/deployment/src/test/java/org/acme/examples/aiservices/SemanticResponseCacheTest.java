@@ -0,0 +1,190 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.content.retriever.EmbeddingStoreContentRetriever;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import io.quarkiverse.langchain4j.CacheAiResult;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.ResponseCacheStore;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class SemanticResponseCacheTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub());
+        // every text gets the same embedding, which makes all user messages perfectly similar
+        wireMockServer.stubFor(post(urlEqualTo("/v1/embeddings"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                {
+                                  "object": "list",
+                                  "data": [
+                                    {
+                                      "object": "embedding",
+                                      "index": 0,
+                                      "embedding": [0.1, 0.2, 0.3]
+                                    }
+                                  ],
+                                  "model": "text-embedding-ada-002",
+                                  "usage": {
+                                    "prompt_tokens": 5,
+                                    "total_tokens": 5
+                                  }
+                                }
+                                """)));
+    }
+
+    @RegisterAiService(chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    interface FaqBot {
+
+        @CacheAiResult(semantic = true)
+        @SystemMessage("You answer questions about {product}")
+        @UserMessage("{question}")
+        String answer(@V("product") String product, @V("question") String question);
+    }
+
+    @RegisterAiService(chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    interface ProductBot {
+
+        @CacheAiResult(semantic = true)
+        String answer(String question);
+    }
+
+    public static class EmbeddingStoreProducer {
+
+        /**
+         * The embedding store of the application, as it would be used for RAG
+         */
+        @Singleton
+        @Produces
+        public EmbeddingStore<TextSegment> embeddingStore() {
+            return new InMemoryEmbeddingStore<>();
+        }
+
+        @Singleton
+        @Produces
+        @ResponseCacheStore
+        public EmbeddingStore<TextSegment> responseCacheStore() {
+            return new InMemoryEmbeddingStore<>();
+        }
+    }
+
+    @Inject
+    FaqBot faqBot;
+
+    @Inject
+    ProductBot productBot;
+
+    @Inject
+    EmbeddingStore<TextSegment> embeddingStore;
+
+    @Inject
+    @ResponseCacheStore
+    EmbeddingStore<TextSegment> responseCacheStore;
+
+    @Inject
+    EmbeddingModel embeddingModel;
+
+    @Test
+    @ActivateRequestContext
+    void should_reuse_result_of_similar_question() {
+        String first = faqBot.answer("Quarkus", "How do I get started?");
+        assertThat(chatCompletionRequestCount()).isEqualTo(1);
+
+        String second = faqBot.answer("Quarkus", "How can I start?");
+        assertThat(second).isEqualTo(first);
+        assertThat(chatCompletionRequestCount()).isEqualTo(1);
+
+        // the system message differs, so the previous result must not be used
+        faqBot.answer("Mutiny", "How can I start?");
+        assertThat(chatCompletionRequestCount()).isEqualTo(2);
+
+        // the user messages that were sent to the LLM are kept in the dedicated store
+        assertThat(cachedUserMessages()).contains("How do I get started?", "How can I start?");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void should_keep_cached_entries_out_of_the_embedding_store() {
+        TextSegment document = TextSegment.from("Quarkus starts in milliseconds");
+        embeddingStore.add(embeddingModel.embed(document).content(), document);
+
+        productBot.answer("How fast does Quarkus start?");
+        // the document of the application is as similar as the cached question, but does not prevent the cache hit
+        productBot.answer("How quickly does Quarkus start?");
+        assertThat(chatCompletionRequestCount()).isEqualTo(1);
+
+        List<Content> retrieved = new EmbeddingStoreContentRetriever(embeddingStore, embeddingModel)
+                .retrieve(Query.from("How fast does Quarkus start?"));
+        assertThat(retrieved).extracting(content -> content.textSegment().text())
+                .containsExactly("Quarkus starts in milliseconds");
+        assertThat(cachedUserMessages()).contains("How fast does Quarkus start?")
+                .doesNotContain("Quarkus starts in milliseconds");
+    }
+
+    private List<String> cachedUserMessages() {
+        return responseCacheStore.findRelevant(embeddingModel.embed("anything").content(), 100, 0).stream()
+                .map(match -> match.embedded().text())
+                .toList();
+    }
+
+    private static int chatCompletionRequestCount() {
+        return wireMockServer.findAll(postRequestedFor(urlEqualTo("/v1/chat/completions"))).size();
+    }
+}
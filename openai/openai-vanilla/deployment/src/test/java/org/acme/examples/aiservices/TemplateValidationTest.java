@@ -0,0 +1,98 @@
+package org.acme.examples.aiservices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.exception.IllegalConfigurationException;
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkus.test.QuarkusUnitTest;
+
+@DisplayName("AI service template validation")
+public class TemplateValidationTest {
+
+    @Nested
+    @DisplayName("Unknown parameter in @UserMessage")
+    class UnknownUserMessageParameter {
+
+        @RegisterExtension
+        static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+                .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(Translator.class))
+                .assertException(t -> assertThat(t)
+                        .hasRootCauseInstanceOf(IllegalConfigurationException.class)
+                        .rootCause()
+                        .hasMessageContaining("'language'")
+                        .hasMessageContaining("translate"));
+
+        @Test
+        void test() {
+            fail("Should not be called");
+        }
+    }
+
+    @Nested
+    @DisplayName("Unknown parameter in @SystemMessage")
+    class UnknownSystemMessageParameter {
+
+        @RegisterExtension
+        static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+                .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(Chef.class))
+                .assertException(t -> assertThat(t)
+                        .hasRootCauseInstanceOf(IllegalConfigurationException.class)
+                        .rootCause()
+                        .hasMessageContaining("'character'"));
+
+        @Test
+        void test() {
+            fail("Should not be called");
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid template syntax")
+    class InvalidSyntax {
+
+        @RegisterExtension
+        static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+                .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(Summarizer.class))
+                .assertException(t -> assertThat(t)
+                        .hasRootCauseInstanceOf(IllegalConfigurationException.class)
+                        .rootCause()
+                        .hasMessageContaining("Unable to parse the template of @UserMessage"));
+
+        @Test
+        void test() {
+            fail("Should not be called");
+        }
+    }
+
+    @RegisterAiService
+    interface Translator {
+
+        @UserMessage("Translate {text} into {language}")
+        String translate(@V("text") String text, @V("lang") String lang);
+    }
+
+    @RegisterAiService
+    interface Chef {
+
+        @SystemMessage("You are a very {{character}} chef")
+        String answer(@UserMessage String question);
+    }
+
+    @RegisterAiService
+    interface Summarizer {
+
+        @UserMessage("Summarize {#if text}{text}")
+        String summarize(String text);
+    }
+}
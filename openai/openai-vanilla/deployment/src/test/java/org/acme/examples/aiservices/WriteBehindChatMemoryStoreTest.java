@@ -0,0 +1,111 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static dev.langchain4j.data.message.ChatMessageType.AI;
+import static dev.langchain4j.data.message.ChatMessageType.SYSTEM;
+import static dev.langchain4j.data.message.ChatMessageType.USER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.openai.test.WiremockUtils;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class WriteBehindChatMemoryStoreTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(WiremockUtils.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.api-key", "whatever")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url", "http://localhost:" + WIREMOCK_PORT + "/v1")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-memory.write-behind.enabled", "true");
+
+    static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(WiremockUtils.defaultChatCompletionsStub());
+    }
+
+    @RegisterAiService
+    @ApplicationScoped
+    interface Assistant {
+
+        @SystemMessage("You are a helpful assistant")
+        String chat(@MemoryId int memoryId, @UserMessage String userMessage);
+    }
+
+    public static class CountingChatMemoryStore extends InMemoryChatMemoryStore {
+
+        final AtomicInteger updates = new AtomicInteger();
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            updates.incrementAndGet();
+            super.updateMessages(memoryId, messages);
+        }
+    }
+
+    public static class CountingChatMemoryStoreProducer {
+
+        @Singleton
+        @Produces
+        public ChatMemoryStore chatMemoryStore() {
+            return new CountingChatMemoryStore();
+        }
+    }
+
+    @Inject
+    ChatMemoryStore chatMemoryStore;
+
+    @Inject
+    Assistant assistant;
+
+    @Test
+    void should_write_the_messages_of_an_invocation_once() {
+        CountingChatMemoryStore store = (CountingChatMemoryStore) chatMemoryStore;
+
+        assistant.chat(1, "Hello");
+
+        // the system message, the user message and the response are written together
+        assertThat(store.updates).hasValue(1);
+        assertThat(store.getMessages(1)).extracting(ChatMessage::type).containsExactly(SYSTEM, USER, AI);
+    }
+}
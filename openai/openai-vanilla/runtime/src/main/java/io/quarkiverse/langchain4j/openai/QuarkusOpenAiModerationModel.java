@@ -0,0 +1,186 @@
+package io.quarkiverse.langchain4j.openai;
+
+import static dev.langchain4j.internal.RetryUtils.withRetry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import dev.ai4j.openai4j.moderation.ModerationRequest;
+import dev.ai4j.openai4j.moderation.ModerationResponse;
+import dev.ai4j.openai4j.moderation.ModerationResult;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.output.Response;
+import io.quarkiverse.langchain4j.ReactiveModerationModel;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+/**
+ * Same as {@link dev.langchain4j.model.openai.OpenAiModerationModel} but additionally supports moderating
+ * messages using the non-blocking API of the client
+ */
+public class QuarkusOpenAiModerationModel implements ReactiveModerationModel {
+    private final String modelName;
+    private final Integer maxRetries;
+
+    private final QuarkusOpenAiClient client;
+
+    public QuarkusOpenAiModerationModel(String baseUrl, String apiKey, String organizationId, String modelName,
+            Duration timeout, Integer maxRetries, Boolean logRequests, Boolean logResponses) {
+        this.modelName = modelName;
+        this.maxRetries = maxRetries;
+
+        this.client = QuarkusOpenAiClient.builder()
+                .baseUrl(baseUrl)
+                .openAiApiKey(apiKey)
+                .organizationId(organizationId)
+                .callTimeout(timeout)
+                .connectTimeout(timeout)
+                .readTimeout(timeout)
+                .writeTimeout(timeout)
+                .logRequests(logRequests)
+                .logResponses(logResponses)
+                .build();
+    }
+
+    @Override
+    public Response<Moderation> moderate(String text) {
+        return moderateInternal(List.of(text));
+    }
+
+    @Override
+    public Response<Moderation> moderate(ChatMessage message) {
+        return moderateInternal(List.of(message.text()));
+    }
+
+    @Override
+    public Response<Moderation> moderate(List<ChatMessage> messages) {
+        return moderateInternal(texts(messages));
+    }
+
+    @Override
+    public Uni<Response<Moderation>> moderateAsync(List<ChatMessage> messages) {
+        List<String> inputs = texts(messages);
+        ModerationRequest request = request(inputs);
+        Uni<ModerationResponse> response = Uni.createFrom().emitter(new Consumer<UniEmitter<? super ModerationResponse>>() {
+            @Override
+            public void accept(UniEmitter<? super ModerationResponse> emitter) {
+                client.moderation(request)
+                        .onResponse(new Consumer<ModerationResponse>() {
+                            @Override
+                            public void accept(ModerationResponse moderationResponse) {
+                                emitter.complete(moderationResponse);
+                            }
+                        })
+                        .onError(new Consumer<Throwable>() {
+                            @Override
+                            public void accept(Throwable throwable) {
+                                emitter.fail(throwable);
+                            }
+                        })
+                        .execute();
+            }
+        });
+        if ((maxRetries != null) && (maxRetries > 1)) {
+            // like RetryUtils#withRetry, maxRetries is the total number of attempts
+            response = response.onFailure().retry().atMost(maxRetries - 1);
+        }
+        return response.map(new Function<ModerationResponse, Response<Moderation>>() {
+            @Override
+            public Response<Moderation> apply(ModerationResponse moderationResponse) {
+                return toResponse(moderationResponse, inputs);
+            }
+        });
+    }
+
+    private Response<Moderation> moderateInternal(List<String> inputs) {
+        ModerationRequest request = request(inputs);
+        ModerationResponse response = withRetry(() -> client.moderation(request), maxRetries).execute();
+        return toResponse(response, inputs);
+    }
+
+    private ModerationRequest request(List<String> inputs) {
+        return ModerationRequest.builder()
+                .model(modelName)
+                .input(inputs)
+                .build();
+    }
+
+    private static List<String> texts(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::text).collect(Collectors.toList());
+    }
+
+    private static Response<Moderation> toResponse(ModerationResponse response, List<String> inputs) {
+        int i = 0;
+        for (ModerationResult moderationResult : response.results()) {
+            if (moderationResult.isFlagged()) {
+                return Response.from(Moderation.flagged(inputs.get(i)));
+            }
+            i++;
+        }
+        return Response.from(Moderation.notFlagged());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String baseUrl;
+        private String apiKey;
+        private String organizationId;
+        private String modelName;
+        private Duration timeout;
+        private Integer maxRetries;
+        private Boolean logRequests;
+        private Boolean logResponses;
+
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        public Builder apiKey(String apiKey) {
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        public Builder organizationId(String organizationId) {
+            this.organizationId = organizationId;
+            return this;
+        }
+
+        public Builder modelName(String modelName) {
+            this.modelName = modelName;
+            return this;
+        }
+
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder maxRetries(Integer maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public Builder logRequests(Boolean logRequests) {
+            this.logRequests = logRequests;
+            return this;
+        }
+
+        public Builder logResponses(Boolean logResponses) {
+            this.logResponses = logResponses;
+            return this;
+        }
+
+        public QuarkusOpenAiModerationModel build() {
+            return new QuarkusOpenAiModerationModel(baseUrl, apiKey, organizationId, modelName, timeout, maxRetries,
+                    logRequests, logResponses);
+        }
+    }
+}
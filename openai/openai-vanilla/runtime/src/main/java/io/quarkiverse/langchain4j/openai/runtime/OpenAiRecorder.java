@@ -9,15 +9,19 @@ import java.util.function.Supplier;
 
 import dev.langchain4j.model.openai.OpenAiChatModel;
 import dev.langchain4j.model.openai.OpenAiEmbeddingModel;
-import dev.langchain4j.model.openai.OpenAiModerationModel;
 import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
+import io.quarkiverse.langchain4j.openai.OpenAiRateLimiter;
+import io.quarkiverse.langchain4j.openai.OpenAiRetryPolicy;
 import io.quarkiverse.langchain4j.openai.QuarkusOpenAiClient;
 import io.quarkiverse.langchain4j.openai.QuarkusOpenAiImageModel;
+import io.quarkiverse.langchain4j.openai.QuarkusOpenAiModerationModel;
 import io.quarkiverse.langchain4j.openai.runtime.config.ChatModelConfig;
 import io.quarkiverse.langchain4j.openai.runtime.config.EmbeddingModelConfig;
 import io.quarkiverse.langchain4j.openai.runtime.config.ImageModelConfig;
 import io.quarkiverse.langchain4j.openai.runtime.config.Langchain4jOpenAiConfig;
 import io.quarkiverse.langchain4j.openai.runtime.config.ModerationModelConfig;
+import io.quarkiverse.langchain4j.openai.runtime.config.RateLimitConfig;
+import io.quarkiverse.langchain4j.openai.runtime.config.RetryConfig;
 import io.quarkiverse.langchain4j.runtime.NamedModelUtil;
 import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
@@ -39,7 +43,8 @@ public class OpenAiRecorder {
                 .baseUrl(openAiConfig.baseUrl())
                 .apiKey(apiKey)
                 .timeout(openAiConfig.timeout())
-                .maxRetries(openAiConfig.maxRetries())
+                // retried by the client, see registerRetryPolicy
+                .maxRetries(1)
                 .logRequests(firstOrDefault(false, chatModelConfig.logRequests(), openAiConfig.logRequests()))
                 .logResponses(firstOrDefault(false, chatModelConfig.logResponses(), openAiConfig.logResponses()))
                 .modelName(chatModelConfig.modelName())
@@ -50,6 +55,8 @@ public class OpenAiRecorder {
                 .responseFormat(chatModelConfig.responseFormat().orElse(null));
 
         openAiConfig.organizationId().ifPresent(builder::organizationId);
+        registerRateLimiter(openAiConfig, chatModelConfig.modelName());
+        registerRetryPolicy(modelName, openAiConfig, chatModelConfig.modelName());
 
         if (chatModelConfig.maxTokens().isPresent()) {
             builder.maxTokens(chatModelConfig.maxTokens().get());
@@ -84,6 +91,7 @@ public class OpenAiRecorder {
                 .responseFormat(chatModelConfig.responseFormat().orElse(null));
 
         openAiConfig.organizationId().ifPresent(builder::organizationId);
+        registerRateLimiter(openAiConfig, chatModelConfig.modelName());
 
         if (chatModelConfig.maxTokens().isPresent()) {
             builder.maxTokens(chatModelConfig.maxTokens().get());
@@ -108,7 +116,8 @@ public class OpenAiRecorder {
                 .baseUrl(openAiConfig.baseUrl())
                 .apiKey(apiKeyOpt)
                 .timeout(openAiConfig.timeout())
-                .maxRetries(openAiConfig.maxRetries())
+                // retried by the client, see registerRetryPolicy
+                .maxRetries(1)
                 .logRequests(firstOrDefault(false, embeddingModelConfig.logRequests(), openAiConfig.logRequests()))
                 .logResponses(firstOrDefault(false, embeddingModelConfig.logResponses(), openAiConfig.logResponses()))
                 .modelName(embeddingModelConfig.modelName());
@@ -118,6 +127,8 @@ public class OpenAiRecorder {
         }
 
         openAiConfig.organizationId().ifPresent(builder::organizationId);
+        registerRateLimiter(openAiConfig, embeddingModelConfig.modelName());
+        registerRetryPolicy(modelName, openAiConfig, embeddingModelConfig.modelName());
 
         return new Supplier<>() {
             @Override
@@ -134,7 +145,7 @@ public class OpenAiRecorder {
             throw new ConfigValidationException(createApiKeyConfigProblems(modelName));
         }
         ModerationModelConfig moderationModelConfig = openAiConfig.moderationModel();
-        var builder = OpenAiModerationModel.builder()
+        var builder = QuarkusOpenAiModerationModel.builder()
                 .baseUrl(openAiConfig.baseUrl())
                 .apiKey(apiKey)
                 .timeout(openAiConfig.timeout())
@@ -206,6 +217,27 @@ public class OpenAiRecorder {
 
     }
 
+    private void registerRateLimiter(Langchain4jOpenAiConfig.OpenAiConfig openAiConfig, String modelName) {
+        RateLimitConfig rateLimitConfig = openAiConfig.rateLimit();
+        if (rateLimitConfig.enabled()) {
+            OpenAiRateLimiter.register(openAiConfig.apiKey(), modelName, rateLimitConfig.requestsPerMinute(),
+                    rateLimitConfig.tokensPerMinute(), rateLimitConfig.maxWait());
+        }
+    }
+
+    /**
+     * The client retries the failed requests itself, without blocking any thread between the attempts, and only when they
+     * can succeed
+     */
+    private void registerRetryPolicy(String configName, Langchain4jOpenAiConfig.OpenAiConfig openAiConfig,
+            String modelName) {
+        RetryConfig retryConfig = openAiConfig.retry();
+        String configPrefix = NamedModelUtil.isDefault(configName) ? "quarkus.langchain4j.openai"
+                : "quarkus.langchain4j.openai." + configName;
+        OpenAiRetryPolicy.register(configPrefix, openAiConfig.apiKey(), modelName, openAiConfig.maxRetries(),
+                retryConfig.initialBackoff(), retryConfig.maxBackoff());
+    }
+
     private Langchain4jOpenAiConfig.OpenAiConfig correspondingOpenAiConfig(Langchain4jOpenAiConfig runtimeConfig,
             String modelName) {
         Langchain4jOpenAiConfig.OpenAiConfig openAiConfig;
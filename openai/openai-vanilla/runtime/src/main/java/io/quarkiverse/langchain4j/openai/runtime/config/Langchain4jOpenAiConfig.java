@@ -67,6 +67,11 @@ public interface Langchain4jOpenAiConfig {
         @WithDefault("3")
         Integer maxRetries();
 
+        /**
+         * Retries related settings
+         */
+        RetryConfig retry();
+
         /**
          * Whether the OpenAI client should log requests
          */
@@ -79,6 +84,11 @@ public interface Langchain4jOpenAiConfig {
         @ConfigDocDefault("false")
         Optional<Boolean> logResponses();
 
+        /**
+         * Client side rate limiting related settings
+         */
+        RateLimitConfig rateLimit();
+
         /**
          * Chat model related settings
          */
@@ -0,0 +1,39 @@
+package io.quarkiverse.langchain4j.openai.runtime.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.smallrye.config.WithDefault;
+
+@ConfigGroup
+public interface RateLimitConfig {
+
+    /**
+     * Whether the requests to the chat and embedding models should be limited locally, per API key and model, instead of
+     * being sent as fast as they are made and answered with HTTP 429 once the quota is exhausted
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * The maximum number of requests per minute.
+     * When not set, the limit is learned from the {@code x-ratelimit-limit-requests} header of the responses.
+     */
+    Optional<Integer> requestsPerMinute();
+
+    /**
+     * The maximum number of tokens per minute, a request being estimated to use the tokens of its prompt, about 4
+     * characters each, plus its {@code max_tokens}.
+     * When not set, the limit is learned from the {@code x-ratelimit-limit-tokens} header of the responses.
+     */
+    Optional<Integer> tokensPerMinute();
+
+    /**
+     * How long a request can wait for the limits to allow it, the requests waiting in the order they were made.
+     * A request that would wait longer is rejected without being sent, {@code 0} rejecting the requests that cannot be
+     * sent right away.
+     */
+    @WithDefault("30s")
+    Duration maxWait();
+}
@@ -0,0 +1,25 @@
+package io.quarkiverse.langchain4j.openai.runtime.config;
+
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.smallrye.config.WithDefault;
+
+@ConfigGroup
+public interface RetryConfig {
+
+    /**
+     * The smallest delay before retrying a failed request, the delays being random between it and three times the
+     * previous delay
+     */
+    @WithDefault("500ms")
+    Duration initialBackoff();
+
+    /**
+     * The largest delay before retrying a failed request.
+     * A request is not retried when the response asks to wait longer, with the {@code Retry-After} or
+     * {@code x-ratelimit-reset-*} headers.
+     */
+    @WithDefault("30s")
+    Duration maxBackoff();
+}
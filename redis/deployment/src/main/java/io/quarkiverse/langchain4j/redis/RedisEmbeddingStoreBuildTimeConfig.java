@@ -4,8 +4,10 @@ import static io.quarkus.runtime.annotations.ConfigPhase.BUILD_TIME;
 
 import java.util.Optional;
 
+import io.quarkus.runtime.annotations.ConfigGroup;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 
 @ConfigRoot(phase = BUILD_TIME)
 @ConfigMapping(prefix = "quarkus.langchain4j.redis")
@@ -16,4 +18,21 @@ public interface RedisEmbeddingStoreBuildTimeConfig {
      * If unspecified, it will use the default Redis client.
      */
     Optional<String> clientName();
+
+    /**
+     * Configures the Redis chat memory store
+     */
+    ChatMemoryStore chatMemoryStore();
+
+    @ConfigGroup
+    interface ChatMemoryStore {
+
+        /**
+         * Whether the messages of chat memories are stored in Redis.
+         * When enabled, the store is used instead of the default in-memory one by the
+         * {@link dev.langchain4j.memory.chat.ChatMemoryProvider} set up by the extension.
+         */
+        @WithDefault("false")
+        boolean enabled();
+    }
 }
@@ -2,15 +2,20 @@ package io.quarkiverse.langchain4j.redis;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.Instance;
 
 import org.jboss.jandex.AnnotationInstance;
 import org.jboss.jandex.ClassType;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.ParameterizedType;
+import org.jboss.jandex.Type;
 
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.ChatMessageCodec;
 import io.quarkiverse.langchain4j.deployment.EmbeddingStoreBuildItem;
+import io.quarkiverse.langchain4j.redis.runtime.RedisChatMemoryStoreRecorder;
 import io.quarkiverse.langchain4j.redis.runtime.RedisEmbeddingStoreConfig;
 import io.quarkiverse.langchain4j.redis.runtime.RedisEmbeddingStoreRecorder;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
@@ -27,6 +32,7 @@ import io.quarkus.redis.runtime.client.config.RedisConfig;
 public class RedisEmbeddingStoreProcessor {
 
     public static final DotName REDIS_EMBEDDING_STORE = DotName.createSimple(RedisEmbeddingStore.class);
+    public static final DotName REDIS_CHAT_MEMORY_STORE = DotName.createSimple(RedisChatMemoryStore.class);
 
     private static final String FEATURE = "langchain4j-redis";
 
@@ -49,14 +55,7 @@ public class RedisEmbeddingStoreProcessor {
             BuildProducer<EmbeddingStoreBuildItem> embeddingStoreProducer,
             RedisEmbeddingStoreBuildTimeConfig buildTimeConfig) {
         String clientName = buildTimeConfig.clientName().orElse(null);
-        AnnotationInstance redisClientQualifier;
-        if (clientName == null) {
-            redisClientQualifier = AnnotationInstance.builder(Default.class).build();
-        } else {
-            redisClientQualifier = AnnotationInstance.builder(RedisClientName.class)
-                    .add("value", clientName)
-                    .build();
-        }
+        AnnotationInstance redisClientQualifier = redisClientQualifier(clientName);
         beanProducer.produce(SyntheticBeanBuildItem
                 .configure(REDIS_EMBEDDING_STORE)
                 .types(ClassType.create(EmbeddingStore.class),
@@ -71,4 +70,39 @@ public class RedisEmbeddingStoreProcessor {
         embeddingStoreProducer.produce(new EmbeddingStoreBuildItem());
     }
 
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    public void createChatMemoryStoreBean(
+            BuildProducer<SyntheticBeanBuildItem> beanProducer,
+            RedisChatMemoryStoreRecorder recorder,
+            RedisEmbeddingStoreConfig config,
+            RedisEmbeddingStoreBuildTimeConfig buildTimeConfig) {
+        if (!buildTimeConfig.chatMemoryStore().enabled()) {
+            return;
+        }
+        String clientName = buildTimeConfig.clientName().orElse(null);
+        // not a default bean, as it needs to replace the in-memory store provided by the core extension
+        beanProducer.produce(SyntheticBeanBuildItem
+                .configure(REDIS_CHAT_MEMORY_STORE)
+                .types(ClassType.create(ChatMemoryStore.class))
+                .setRuntimeInit()
+                .scope(ApplicationScoped.class)
+                .addInjectionPoint(ClassType.create(DotName.createSimple(ReactiveRedisDataSource.class)),
+                        redisClientQualifier(clientName))
+                // the codec provided by the application, if any
+                .addInjectionPoint(ParameterizedType.create(DotName.createSimple(Instance.class),
+                        new Type[] { ClassType.create(DotName.createSimple(ChatMessageCodec.class)) }, null))
+                .createWith(recorder.chatMemoryStoreFunction(config, clientName))
+                .done());
+    }
+
+    private static AnnotationInstance redisClientQualifier(String clientName) {
+        if (clientName == null) {
+            return AnnotationInstance.builder(Default.class).build();
+        }
+        return AnnotationInstance.builder(RedisClientName.class)
+                .add("value", clientName)
+                .build();
+    }
+
 }
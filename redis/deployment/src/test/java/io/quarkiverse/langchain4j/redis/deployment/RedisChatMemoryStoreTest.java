@@ -0,0 +1,131 @@
+package io.quarkiverse.langchain4j.redis.deployment;
+
+import static dev.langchain4j.data.message.AiMessage.aiMessage;
+import static dev.langchain4j.data.message.SystemMessage.systemMessage;
+import static dev.langchain4j.data.message.UserMessage.userMessage;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.redis.RedisChatMemoryStore;
+import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class RedisChatMemoryStoreTest {
+
+    private static final String MEMORY_ID = "user";
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource(new StringAsset("quarkus.langchain4j.redis.dimension=384\n" +
+                            "quarkus.redis.devservices.image-name=redis/redis-stack:latest\n" +
+                            "quarkus.langchain4j.redis.chat-memory-store.enabled=true\n" +
+                            "quarkus.langchain4j.redis.chat-memory-store.max-messages=2"),
+                            "application.properties"));
+
+    @Inject
+    ChatMemoryStore chatMemoryStore;
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @AfterEach
+    public void cleanup() {
+        chatMemoryStore.deleteMessages(MEMORY_ID);
+    }
+
+    @Test
+    void should_append_new_messages_and_trim_old_ones() {
+        assertThat(chatMemoryStore).isInstanceOf(RedisChatMemoryStore.class);
+
+        List<ChatMessage> messages = new ArrayList<>(chatMemoryStore.getMessages(MEMORY_ID));
+        assertThat(messages).isEmpty();
+
+        messages.add(systemMessage("You are a helpful assistant"));
+        messages.add(userMessage("Hello"));
+        chatMemoryStore.updateMessages(MEMORY_ID, messages);
+
+        messages.add(aiMessage("Hi, how can I help?"));
+        messages.add(userMessage("What is Quarkus?"));
+        chatMemoryStore.updateMessages(MEMORY_ID, messages);
+
+        // the system message is kept, but only the last 2 other messages
+        assertThat(chatMemoryStore.getMessages(MEMORY_ID)).containsExactly(
+                systemMessage("You are a helpful assistant"),
+                aiMessage("Hi, how can I help?"),
+                userMessage("What is Quarkus?"));
+        assertThat(redisDataSource.list(String.class).llen("chat-memory:" + MEMORY_ID)).isEqualTo(2);
+    }
+
+    @Test
+    void should_keep_the_messages_written_by_another_instance() {
+        chatMemoryStore.updateMessages(MEMORY_ID, List.of(userMessage("Hello"), aiMessage("Hi")));
+
+        // a store that does not know what the list contains, as if it was running in another replica
+        RedisChatMemoryStore other = new RedisChatMemoryStore(redisDataSource.getReactive(), "chat-memory",
+                Optional.empty(), OptionalInt.empty());
+        assertThat(other.getMessages(MEMORY_ID)).containsExactly(userMessage("Hello"), aiMessage("Hi"));
+    }
+
+    @Test
+    void should_rewrite_the_list_when_another_instance_updated_it() {
+        RedisChatMemoryStore first = newStore();
+        RedisChatMemoryStore second = newStore();
+        first.updateMessages(MEMORY_ID, List.of(userMessage("Hello"), aiMessage("Hi")));
+        assertThat(second.getMessages(MEMORY_ID)).containsExactly(userMessage("Hello"), aiMessage("Hi"));
+
+        second.updateMessages(MEMORY_ID, List.of(userMessage("Hello"), aiMessage("Hi"), userMessage("From second")));
+        // the first store still remembers the two messages it wrote, appending to them would keep "From second"
+        first.updateMessages(MEMORY_ID, List.of(userMessage("Hello"), aiMessage("Hi"), userMessage("From first")));
+
+        assertThat(second.getMessages(MEMORY_ID)).containsExactly(userMessage("Hello"), aiMessage("Hi"),
+                userMessage("From first"));
+    }
+
+    @Test
+    void should_keep_the_list_consistent_when_two_instances_write_concurrently() {
+        RedisChatMemoryStore first = newStore();
+        RedisChatMemoryStore second = newStore();
+        List<ChatMessage> firstMessages = new ArrayList<>();
+        List<ChatMessage> secondMessages = new ArrayList<>();
+
+        CompletableFuture<Void> firstWrites = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 50; i++) {
+                firstMessages.add(userMessage("first " + i));
+                first.updateMessages(MEMORY_ID, firstMessages);
+            }
+        });
+        CompletableFuture<Void> secondWrites = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 50; i++) {
+                secondMessages.add(userMessage("second " + i));
+                second.updateMessages(MEMORY_ID, secondMessages);
+            }
+        });
+        CompletableFuture.allOf(firstWrites, secondWrites).join();
+
+        // whichever store wrote last, the list is exactly what it wrote and never a mix of both
+        assertThat(newStore().getMessages(MEMORY_ID)).satisfiesAnyOf(
+                messages -> assertThat(messages).isEqualTo(firstMessages),
+                messages -> assertThat(messages).isEqualTo(secondMessages));
+    }
+
+    private RedisChatMemoryStore newStore() {
+        return new RedisChatMemoryStore(redisDataSource.getReactive(), "chat-memory", Optional.empty(), OptionalInt.empty());
+    }
+}
@@ -0,0 +1,262 @@
+package io.quarkiverse.langchain4j.redis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.BinaryChatMessageCodec;
+import io.quarkiverse.langchain4j.ChatMessageCodec;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.redis.datasource.list.ReactiveTransactionalListCommands;
+import io.quarkus.redis.datasource.transactions.OptimisticLockingTransactionResult;
+import io.quarkus.redis.datasource.transactions.ReactiveTransactionalRedisDataSource;
+import io.quarkus.redis.datasource.transactions.TransactionResult;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * A {@link ChatMemoryStore} keeping the messages of each memory id in a Redis list, each message being encoded on its
+ * own.
+ * <p>
+ * As chat memories always update the store with the previous messages plus the new ones (minus the evicted ones), the
+ * store remembers what the list of each memory id contains and only appends the new messages, trimming the evicted
+ * ones on the server. The system message is kept under its own key, as chat memories never evict it.
+ * <p>
+ * Every write also stores a random version under a third key, and is performed in a transaction watching that key.
+ * New messages are only appended when the version read at the beginning of the transaction is the one of the content
+ * the store remembers, otherwise (for example after a restart, or when another replica updated the memory id) the
+ * whole list is rewritten. When another replica writes the same memory id concurrently, the transaction is discarded
+ * and retried.
+ * <p>
+ * Messages are encoded with a {@link ChatMessageCodec}, {@link BinaryChatMessageCodec} by default, which also reads the
+ * messages stored as JSON by previous versions.
+ */
+public class RedisChatMemoryStore implements ChatMemoryStore {
+
+    /**
+     * The number of memory ids whose content is remembered, losing it only costs rewriting the list once
+     */
+    private static final int MAX_SNAPSHOTS = 10_000;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final String SYSTEM_MESSAGE_SUFFIX = ":system";
+    private static final String VERSION_SUFFIX = ":version";
+
+    private final ReactiveRedisDataSource ds;
+    private final String prefix;
+    private final Optional<Duration> ttl;
+    private final OptionalInt maxMessages;
+    private final ChatMessageCodec codec;
+    private final Map<Object, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Snapshot> eldest) {
+            return size() > MAX_SNAPSHOTS;
+        }
+    };
+
+    public RedisChatMemoryStore(ReactiveRedisDataSource ds, String prefix, Optional<Duration> ttl,
+            OptionalInt maxMessages) {
+        this(ds, prefix, ttl, maxMessages, new BinaryChatMessageCodec());
+    }
+
+    public RedisChatMemoryStore(ReactiveRedisDataSource ds, String prefix, Optional<Duration> ttl,
+            OptionalInt maxMessages, ChatMessageCodec codec) {
+        this.ds = ds;
+        this.prefix = prefix.endsWith(":") ? prefix : prefix + ":";
+        this.ttl = ttl;
+        this.maxMessages = maxMessages;
+        this.codec = codec;
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        String key = key(memoryId);
+        String systemMessageKey = systemMessageKey(memoryId);
+        String versionKey = versionKey(memoryId);
+        // read in a transaction, so that the version is the one of the messages
+        TransactionResult stored = ds.withTransaction(tx -> tx.value(String.class).get(versionKey)
+                .chain(() -> tx.value(byte[].class).get(systemMessageKey))
+                .chain(() -> tx.list(byte[].class).lrange(key, 0, -1)))
+                .await().indefinitely();
+        String version = stored.get(0);
+        byte[] encodedSystemMessage = stored.get(1);
+        List<byte[]> encodedMessages = stored.get(2);
+
+        List<ChatMessage> result = new ArrayList<>(encodedMessages.size() + 1);
+        SystemMessage systemMessage = encodedSystemMessage != null
+                ? (SystemMessage) codec.decodeMessage(encodedSystemMessage)
+                : null;
+        if (systemMessage != null) {
+            result.add(systemMessage);
+        }
+        List<ChatMessage> messages = new ArrayList<>(encodedMessages.size());
+        for (byte[] encoded : encodedMessages) {
+            messages.add(codec.decodeMessage(encoded));
+        }
+        result.addAll(messages);
+        if (version != null) {
+            remember(memoryId, new Snapshot(version, systemMessage, messages));
+        } else {
+            forget(memoryId);
+        }
+        return result;
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        SystemMessage systemMessage = null;
+        List<ChatMessage> otherMessages = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            if (message instanceof SystemMessage) {
+                systemMessage = (SystemMessage) message;
+            } else {
+                otherMessages.add(message);
+            }
+        }
+        int keptMessages = maxMessages.isPresent() ? Math.min(maxMessages.getAsInt(), otherMessages.size())
+                : otherMessages.size();
+        List<ChatMessage> kept = List.copyOf(otherMessages.subList(otherMessages.size() - keptMessages,
+                otherMessages.size()));
+
+        String versionKey = versionKey(memoryId);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Snapshot snapshot = snapshot(memoryId);
+            String newVersion = UUID.randomUUID().toString();
+            SystemMessage finalSystemMessage = systemMessage;
+            OptimisticLockingTransactionResult<String> result = ds.withTransaction(
+                    rds -> rds.value(String.class).get(versionKey),
+                    (currentVersion, tx) -> {
+                        // the remembered content is only used when nobody wrote the memory id since it was read
+                        Snapshot base = (snapshot != null) && snapshot.version.equals(currentVersion) ? snapshot : null;
+                        return write(tx, memoryId, base, finalSystemMessage, kept, newVersion);
+                    },
+                    versionKey).await().indefinitely();
+            if (!result.discarded()) {
+                remember(memoryId, new Snapshot(newVersion, systemMessage, kept));
+                return;
+            }
+            // another instance wrote the memory id in the meantime
+            forget(memoryId);
+        }
+        throw new IllegalStateException("Unable to update the messages of memory id '" + memoryId + "' after "
+                + MAX_ATTEMPTS + " attempts, as it kept being updated concurrently");
+    }
+
+    /**
+     * When {@code base} is {@code null}, the list is entirely rewritten
+     */
+    private Uni<Void> write(ReactiveTransactionalRedisDataSource tx, Object memoryId, Snapshot base,
+            SystemMessage systemMessage, List<ChatMessage> kept, String newVersion) {
+        String key = key(memoryId);
+        String systemMessageKey = systemMessageKey(memoryId);
+        String versionKey = versionKey(memoryId);
+        List<ChatMessage> toAppend = base != null ? base.newMessages(kept) : kept;
+        boolean systemMessageChanged = (base == null) || !Objects.equals(base.systemMessage, systemMessage);
+
+        ReactiveTransactionalListCommands<String, byte[]> list = tx.list(byte[].class);
+        Uni<Void> result = Uni.createFrom().voidItem();
+        if (base == null) {
+            result = result.chain(() -> tx.key().del(key));
+        }
+        if (!toAppend.isEmpty()) {
+            byte[][] encoded = new byte[toAppend.size()][];
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = codec.encodeMessage(toAppend.get(i));
+            }
+            result = result.chain(() -> list.rpush(key, encoded));
+        }
+        if (kept.isEmpty()) {
+            result = result.chain(() -> tx.key().del(key));
+        } else {
+            result = result.chain(() -> list.ltrim(key, -kept.size(), -1));
+        }
+        if (systemMessageChanged) {
+            if (systemMessage != null) {
+                byte[] encodedSystemMessage = codec.encodeMessage(systemMessage);
+                result = result.chain(() -> tx.value(byte[].class).set(systemMessageKey, encodedSystemMessage));
+            } else {
+                result = result.chain(() -> tx.key().del(systemMessageKey));
+            }
+        }
+        result = result.chain(() -> tx.value(String.class).set(versionKey, newVersion));
+        if (ttl.isPresent()) {
+            result = result.chain(() -> tx.key().expire(key, ttl.get()))
+                    .chain(() -> tx.key().expire(systemMessageKey, ttl.get()))
+                    .chain(() -> tx.key().expire(versionKey, ttl.get()));
+        }
+        return result;
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        ds.key().del(key(memoryId), systemMessageKey(memoryId), versionKey(memoryId)).await().indefinitely();
+        forget(memoryId);
+    }
+
+    private String key(Object memoryId) {
+        return prefix + memoryId;
+    }
+
+    private String systemMessageKey(Object memoryId) {
+        return prefix + memoryId + SYSTEM_MESSAGE_SUFFIX;
+    }
+
+    private String versionKey(Object memoryId) {
+        return prefix + memoryId + VERSION_SUFFIX;
+    }
+
+    private Snapshot snapshot(Object memoryId) {
+        synchronized (snapshots) {
+            return snapshots.get(memoryId);
+        }
+    }
+
+    private void remember(Object memoryId, Snapshot snapshot) {
+        synchronized (snapshots) {
+            snapshots.put(memoryId, snapshot);
+        }
+    }
+
+    private void forget(Object memoryId) {
+        synchronized (snapshots) {
+            snapshots.remove(memoryId);
+        }
+    }
+
+    /**
+     * What the store last read from or wrote to Redis for a memory id, along with the version stored with it
+     */
+    private static class Snapshot {
+        private final String version;
+        private final SystemMessage systemMessage;
+        private final List<ChatMessage> messages;
+
+        private Snapshot(String version, SystemMessage systemMessage, List<ChatMessage> messages) {
+            this.version = version;
+            this.systemMessage = systemMessage;
+            this.messages = messages;
+        }
+
+        /**
+         * Finds the smallest number of evicted messages for which the remaining stored messages are the beginning of
+         * {@code messages}, the messages that follow them are the ones to append
+         */
+        List<ChatMessage> newMessages(List<ChatMessage> messages) {
+            int stored = this.messages.size();
+            for (int evicted = Math.max(0, stored - messages.size()); evicted < stored; evicted++) {
+                if (this.messages.subList(evicted, stored).equals(messages.subList(0, stored - evicted))) {
+                    return messages.subList(stored - evicted, messages.size());
+                }
+            }
+            // nothing in common, trimming the list after appending all the messages drops the stored ones
+            return messages;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.quarkiverse.langchain4j.redis.runtime;
+
+import java.util.function.Function;
+
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.util.TypeLiteral;
+
+import io.quarkiverse.langchain4j.BinaryChatMessageCodec;
+import io.quarkiverse.langchain4j.ChatMessageCodec;
+import io.quarkiverse.langchain4j.redis.RedisChatMemoryStore;
+import io.quarkus.arc.SyntheticCreationalContext;
+import io.quarkus.redis.client.RedisClientName;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class RedisChatMemoryStoreRecorder {
+
+    private static final TypeLiteral<Instance<ChatMessageCodec>> CHAT_MESSAGE_CODEC_TYPE_LITERAL = new TypeLiteral<>() {
+    };
+
+    public Function<SyntheticCreationalContext<RedisChatMemoryStore>, RedisChatMemoryStore> chatMemoryStoreFunction(
+            RedisEmbeddingStoreConfig config, String clientName) {
+        return new Function<>() {
+            @Override
+            public RedisChatMemoryStore apply(SyntheticCreationalContext<RedisChatMemoryStore> context) {
+                ReactiveRedisDataSource dataSource;
+                if (clientName == null) {
+                    dataSource = context.getInjectedReference(ReactiveRedisDataSource.class, new Default.Literal());
+                } else {
+                    dataSource = context.getInjectedReference(ReactiveRedisDataSource.class,
+                            new RedisClientName.Literal(clientName));
+                }
+                RedisEmbeddingStoreConfig.ChatMemoryStore chatMemoryStoreConfig = config.chatMemoryStore();
+                Instance<ChatMessageCodec> codecs = context.getInjectedReference(CHAT_MESSAGE_CODEC_TYPE_LITERAL);
+                ChatMessageCodec codec = codecs.isResolvable() ? codecs.get()
+                        : new BinaryChatMessageCodec(chatMemoryStoreConfig.compressionThreshold());
+                return new RedisChatMemoryStore(dataSource, chatMemoryStoreConfig.prefix(), chatMemoryStoreConfig.ttl(),
+                        chatMemoryStoreConfig.maxMessages(), codec);
+            }
+        };
+    }
+}
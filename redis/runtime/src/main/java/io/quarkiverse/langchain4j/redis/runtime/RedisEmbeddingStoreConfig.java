@@ -2,11 +2,14 @@ package io.quarkiverse.langchain4j.redis.runtime;
 
 import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 import io.quarkus.redis.datasource.search.DistanceMetric;
 import io.quarkus.redis.datasource.search.VectorAlgorithm;
+import io.quarkus.runtime.annotations.ConfigGroup;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
@@ -74,4 +77,44 @@ public interface RedisEmbeddingStoreConfig {
     @WithDefault("HNSW")
     VectorAlgorithm vectorAlgorithm();
 
+    /**
+     * Configuration of the Redis chat memory store, used when
+     * {@code quarkus.langchain4j.redis.chat-memory-store.enabled} is set to {@code true}
+     */
+    ChatMemoryStore chatMemoryStore();
+
+    @ConfigGroup
+    interface ChatMemoryStore {
+
+        /**
+         * Prefix applied to the keys holding the messages of each memory id.
+         * <p>
+         * If the configured prefix does not ends with {@code :}, it will be added automatically to follow the Redis
+         * convention.
+         */
+        @WithDefault("chat-memory:")
+        String prefix();
+
+        /**
+         * How long the messages of a memory id are kept after they were last updated.
+         * When not set, the messages are kept until the chat memory is cleared.
+         */
+        Optional<Duration> ttl();
+
+        /**
+         * The maximum number of messages (besides the system message) kept for each memory id, older messages are
+         * trimmed by Redis.
+         * When not set, only the chat memory decides which messages are kept.
+         */
+        OptionalInt maxMessages();
+
+        /**
+         * The size (in bytes) above which an encoded message is compressed, a negative value disables compression.
+         * Only used when the application does not provide its own {@link io.quarkiverse.langchain4j.ChatMessageCodec}
+         * bean.
+         */
+        @WithDefault("2048")
+        int compressionThreshold();
+    }
+
 }
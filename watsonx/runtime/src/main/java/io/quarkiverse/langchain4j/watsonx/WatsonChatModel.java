@@ -16,6 +16,7 @@ import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.output.FinishReason;
 import dev.langchain4j.model.output.Response;
 import dev.langchain4j.model.output.TokenUsage;
+import io.quarkiverse.langchain4j.runtime.circuitbreaker.CircuitBreakers;
 import io.quarkiverse.langchain4j.watsonx.bean.Parameters;
 import io.quarkiverse.langchain4j.watsonx.bean.TextGenerationRequest;
 import io.quarkiverse.langchain4j.watsonx.bean.TextGenerationResponse.Result;
@@ -38,6 +39,7 @@ public class WatsonChatModel implements ChatLanguageModel {
     private final Integer topK;
     private Double repetitionPenalty;
     private final WatsonRestApi client;
+    private final String baseUrl;
 
     public WatsonChatModel(Builder config) {
 
@@ -58,6 +60,7 @@ public class WatsonChatModel implements ChatLanguageModel {
         }
 
         this.client = builder.build(WatsonRestApi.class);
+        this.baseUrl = config.url.toString();
         this.modelId = config.modelId;
         this.version = config.version;
         this.projectId = config.projectId;
@@ -94,7 +97,8 @@ public class WatsonChatModel implements ChatLanguageModel {
         TextGenerationRequest request = new TextGenerationRequest(modelId, projectId, toInput(messages), parameters);
 
         // The response for will be always one.
-        Result result = retryOn(() -> client.chat(request, version)).results().get(0);
+        Result result = retryOn(() -> CircuitBreakers.call("watsonx", baseUrl, () -> client.chat(request, version)))
+                .results().get(0);
 
         var finishReason = toFinishReason(result.stopReason());
         var content = AiMessage.from(result.generatedText());
@@ -0,0 +1,23 @@
+package io.quarkiverse.langchain4j.watsonx;
+
+import java.util.OptionalInt;
+
+import jakarta.inject.Singleton;
+
+import io.quarkiverse.langchain4j.runtime.aiservice.HttpStatusResolver;
+import io.quarkiverse.langchain4j.watsonx.exception.WatsonException;
+
+/**
+ * Exposes the HTTP status of the failed requests to watsonx.ai
+ */
+@Singleton
+public class WatsonHttpStatusResolver implements HttpStatusResolver {
+
+    @Override
+    public OptionalInt status(Throwable failure) {
+        if ((failure instanceof WatsonException) && (((WatsonException) failure).statusCode() != null)) {
+            return OptionalInt.of(((WatsonException) failure).statusCode());
+        }
+        return OptionalInt.empty();
+    }
+}